@@ -32,6 +32,9 @@ public class ActivityController {
    * @param entityType optional filter by entity type (TASK, DOCUMENT, COMMENT, PROJECT_MEMBER,
    *     TIME_ENTRY)
    * @param since optional filter -- only events after this ISO 8601 timestamp
+   * @param before optional keyset cursor -- the occurredAt of the last item already loaded; with
+   *     {@code beforeId}, returns the items after it instead of seeking to {@code page}
+   * @param beforeId the id of the last item already loaded (used with {@code before})
    * @return a page of activity items ordered by occurredAt DESC
    */
   @GetMapping
@@ -41,11 +44,16 @@ public class ActivityController {
       @RequestParam(defaultValue = "20") int size,
       @RequestParam(required = false) String entityType,
       @RequestParam(required = false) Instant since,
+      @RequestParam(required = false) Instant before,
+      @RequestParam(required = false) UUID beforeId,
       ActorContext actor) {
 
     var pageable = PageRequest.of(page, Math.min(size, 50));
     var activity =
-        activityService.getProjectActivity(projectId, entityType, since, pageable, actor);
+        before != null && beforeId != null
+            ? activityService.getProjectActivityBefore(
+                projectId, entityType, since, before, beforeId, pageable, actor)
+            : activityService.getProjectActivity(projectId, entityType, since, pageable, actor);
 
     return ResponseEntity.ok(activity);
   }
@@ -74,6 +74,10 @@ public class ActivityMessageFormatter {
           "%s updated time entry on task \"%s\"".formatted(actorName, getTaskTitle(details));
       case "time_entry.deleted" ->
           "%s deleted time entry on task \"%s\"".formatted(actorName, getTaskTitle(details));
+      case "time_entry.imported" ->
+          "%s imported %s time entries (%s)"
+              .formatted(
+                  actorName, details.getOrDefault("entry_count", "?"), formatDuration(details));
       case "project_member.added" ->
           "%s added %s to the project"
               .formatted(actorName, details.getOrDefault("name", "a member"));
@@ -9,6 +9,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.portal.PortalContact;
 import io.b2mash.b2b.b2bstrawman.portal.PortalContactRepository;
 import java.time.Instant;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -77,6 +78,44 @@ public class ActivityService {
         auditEventRepository.findByProjectId(
             projectId.toString(), normalizedEntityType, since, pageable);
 
+    return new PageImpl<>(toItems(events.getContent()), pageable, events.getTotalElements());
+  }
+
+  /**
+   * Keyset variant of {@link #getProjectActivity(UUID, String, Instant, Pageable, ActorContext)}
+   * for "load more": returns the page of items that follow the item the caller already has last,
+   * identified by its {@code occurredAt} and {@code id}, without an OFFSET scan past the earlier
+   * pages. {@code pageable} supplies the page size and the page number echoed back; the total
+   * still counts the whole (filtered) feed so the page metadata stays comparable.
+   */
+  @Transactional(readOnly = true)
+  public Page<ActivityItem> getProjectActivityBefore(
+      UUID projectId,
+      String entityType,
+      Instant since,
+      Instant beforeOccurredAt,
+      UUID beforeId,
+      Pageable pageable,
+      ActorContext actor) {
+    projectAccessService.requireViewAccess(projectId, actor);
+    String normalizedEntityType = entityType != null ? entityType.toLowerCase(Locale.ROOT) : null;
+
+    List<AuditEvent> events =
+        auditEventRepository.findByProjectIdBefore(
+            projectId,
+            normalizedEntityType,
+            since,
+            beforeOccurredAt,
+            beforeId,
+            pageable.getPageSize());
+    long total =
+        auditEventRepository.countByProjectIdSince(
+            projectId.toString(), normalizedEntityType, since);
+
+    return new PageImpl<>(toItems(events), pageable, total);
+  }
+
+  private List<ActivityItem> toItems(List<AuditEvent> events) {
     // 4. Batch-resolve USER actor names from members table
     var memberActorIds =
         events.stream()
@@ -102,11 +141,8 @@ public class ActivityService {
             .collect(Collectors.toMap(PortalContact::getId, Function.identity()));
 
     // 6. Format each event using the actor maps
-    var items =
-        events.stream()
-            .map(event -> activityMessageFormatter.format(event, actorMap, portalContactMap))
-            .toList();
-
-    return new PageImpl<>(items, pageable, events.getTotalElements());
+    return events.stream()
+        .map(event -> activityMessageFormatter.format(event, actorMap, portalContactMap))
+        .toList();
   }
 }
@@ -0,0 +1,21 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+/**
+ * How strongly an audit event's write is tied to the business transaction that logged it. Derived
+ * from the static {@link AuditEventTypeRegistry} catalogue and <strong>never persisted</strong>.
+ */
+public enum AuditDurability {
+  /**
+   * Written in the logging transaction: the event commits if and only if the business change does.
+   * Every event type is transactional unless the registry lists it as buffered.
+   */
+  TRANSACTIONAL,
+
+  /**
+   * Handed to {@link AuditWriteBuffer} once the logging transaction commits and written by a
+   * background drain, when the buffer is enabled. Events still in memory are lost if the process
+   * dies, so only high-volume informational types qualify — never security, compliance, financial
+   * or data-protection events.
+   */
+  BUFFERED
+}
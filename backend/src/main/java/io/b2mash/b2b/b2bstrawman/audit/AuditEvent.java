@@ -10,6 +10,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -28,6 +29,10 @@ import org.hibernate.type.SqlTypes;
 @Table(name = "audit_events")
 public class AuditEvent {
 
+  private static final Pattern UUID_PATTERN =
+      Pattern.compile(
+          "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
@@ -63,6 +68,10 @@ public class AuditEvent {
   @Column(name = "occurred_at", nullable = false, updatable = false)
   private Instant occurredAt;
 
+  /** Typed copy of {@code details.project_id}, which the project activity queries filter on. */
+  @Column(name = "project_id", updatable = false)
+  private UUID projectId;
+
   protected AuditEvent() {}
 
   public AuditEvent(AuditEventRecord record) {
@@ -76,6 +85,20 @@ public class AuditEvent {
     this.userAgent = record.userAgent();
     this.details = record.details();
     this.occurredAt = Instant.now();
+    this.projectId = projectIdOf(record.details());
+  }
+
+  /**
+   * The project an event belongs to: {@code details.project_id} when it is a well-formed UUID, the
+   * same values the activity queries matched when they read the JSONB field (and the V143 backfill
+   * copied).
+   */
+  static UUID projectIdOf(Map<String, Object> details) {
+    Object value = details != null ? details.get("project_id") : null;
+    if (value == null || !UUID_PATTERN.matcher(value.toString()).matches()) {
+      return null;
+    }
+    return UUID.fromString(value.toString());
   }
 
   public UUID getId() {
@@ -121,4 +144,8 @@ public class AuditEvent {
   public Instant getOccurredAt() {
     return occurredAt;
   }
+
+  public UUID getProjectId() {
+    return projectId;
+  }
 }
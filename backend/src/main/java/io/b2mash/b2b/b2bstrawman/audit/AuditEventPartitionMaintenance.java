@@ -0,0 +1,243 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the monthly range partitions of {@code audit_events} (V142) in step with the calendar:
+ * creates them ahead of time and drops the ones retention has expired.
+ *
+ * <p>Partitions are named {@code audit_events_pYYYYMM} and bounded by UTC months. A daily job
+ * creates any missing partition through {@value #MONTHS_AHEAD} months ahead, so writes land in
+ * {@code audit_events_default} only if the job has been down for that long; a partition created for
+ * a month the default partition already holds rows of takes those rows over.
+ *
+ * <p>{@link #purgeBefore(Instant)} is the retention purge: whole months before the cutoff's month
+ * are detached and dropped as tables, and only the cutoff's own month (and any old rows in the
+ * default partition) is deleted row by row, with {@code kazi.audit_retention_purge} set so the
+ * append-only trigger lets the delete through. This class is the only code that may set that flag;
+ * V142 explains why retention deletes, unlike updates, are exempt from the trigger at runtime.
+ */
+@Component
+public class AuditEventPartitionMaintenance {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditEventPartitionMaintenance.class);
+
+  static final int MONTHS_AHEAD = 3;
+
+  private static final String PARTITION_PREFIX = "audit_events_p";
+  private static final String DEFAULT_PARTITION = "audit_events_default";
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private static final String MONTHLY_PARTITIONS_SQL =
+      """
+      SELECT c.relname
+      FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = to_regclass('audit_events')
+        AND c.relname ~ '^audit_events_p[0-9]{6}$'
+      ORDER BY c.relname
+      """;
+
+  /** Monthly tables already detached from {@code audit_events} but not yet dropped. */
+  private static final String DETACHED_PARTITIONS_SQL =
+      """
+      SELECT c.relname
+      FROM pg_class c
+      WHERE c.relnamespace = to_regnamespace(current_schema())
+        AND c.relkind = 'r'
+        AND NOT c.relispartition
+        AND c.relname ~ '^audit_events_p[0-9]{6}$'
+      ORDER BY c.relname
+      """;
+
+  private final EntityManager entityManager;
+  private final JobEnqueuer jobEnqueuer;
+  private final AuditFacetRollup facetRollup;
+  private final TransactionTemplate transactionTemplate;
+
+  public AuditEventPartitionMaintenance(
+      EntityManager entityManager,
+      JobEnqueuer jobEnqueuer,
+      AuditFacetRollup facetRollup,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.jobEnqueuer = jobEnqueuer;
+    this.facetRollup = facetRollup;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @SchedulerLock(name = "audit_partition_maintenance_execute", lockAtLeastFor = "5m")
+  @Scheduled(cron = "${audit.partition-maintenance.cron:0 15 2 * * *}")
+  public void execute() {
+    log.debug("Audit event partition maintenance started");
+    jobEnqueuer.fanOutToAllTenants("audit_partition_maintenance", null);
+  }
+
+  /**
+   * Creates the current tenant's missing partitions from this month through {@value #MONTHS_AHEAD}
+   * months ahead.
+   *
+   * @return the number of partitions created
+   */
+  int processTenant() {
+    YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+    Integer created =
+        transactionTemplate.execute(
+            tx -> ensurePartitions(thisMonth, thisMonth.plusMonths(MONTHS_AHEAD)));
+    return created != null ? created : 0;
+  }
+
+  /**
+   * Deletes every audit event that occurred before {@code cutoff}, and their facet day counts.
+   *
+   * <p>Must not run inside a transaction. Detaching a partition takes an exclusive lock on {@code
+   * audit_events}, which blocks every audit write until the detaching transaction ends, so each
+   * expired month is detached in a transaction of its own and only dropped in the next one, once
+   * the parent is free again. {@code DETACH PARTITION ... CONCURRENTLY} would avoid the lock but is
+   * refused while {@code audit_events_default} exists. A month left detached by an earlier failed
+   * purge is dropped on the next run.
+   *
+   * @return the number of events removed
+   */
+  public int purgeBefore(Instant cutoff) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException(
+          "Audit event purge must not run inside a transaction: detaching a partition would hold"
+              + " an exclusive lock on audit_events until it commits");
+    }
+    YearMonth cutoffMonth = YearMonth.from(cutoff.atOffset(ZoneOffset.UTC));
+    for (String partition : partitions(MONTHLY_PARTITIONS_SQL)) {
+      if (monthOf(partition).isBefore(cutoffMonth)) {
+        transactionTemplate.executeWithoutResult(
+            tx -> runSql("ALTER TABLE audit_events DETACH PARTITION " + partition));
+      }
+    }
+
+    int purged = 0;
+    for (String table : partitions(DETACHED_PARTITIONS_SQL)) {
+      if (monthOf(table).isBefore(cutoffMonth)) {
+        Integer rows =
+            transactionTemplate.execute(
+                tx -> {
+                  int count = countRows(table);
+                  runSql("DROP TABLE " + table);
+                  return count;
+                });
+        purged += rows != null ? rows : 0;
+        log.info("Dropped expired audit event partition {}", table);
+      }
+    }
+
+    Integer deleted =
+        transactionTemplate.execute(
+            tx -> {
+              setPurgeFlag(true);
+              int count =
+                  entityManager
+                      .createNativeQuery("DELETE FROM audit_events WHERE occurred_at < :cutoff")
+                      .setParameter("cutoff", cutoff)
+                      .executeUpdate();
+              setPurgeFlag(false);
+              facetRollup.forgetBefore(cutoff);
+              return count;
+            });
+    return purged + (deleted != null ? deleted : 0);
+  }
+
+  int ensurePartitions(YearMonth from, YearMonth through) {
+    Set<String> existing = new HashSet<>(monthlyPartitions());
+    int created = 0;
+    for (YearMonth month = from; !month.isAfter(through); month = month.plusMonths(1)) {
+      String partition = PARTITION_PREFIX + month.format(SUFFIX);
+      if (!existing.contains(partition)) {
+        createPartition(partition, month);
+        created++;
+      }
+    }
+    return created;
+  }
+
+  /**
+   * Creates one month's partition. Postgres refuses to add a partition while the default partition
+   * holds rows in its range, so any such rows are set aside first and re-inserted through the
+   * parent, which routes them into the new partition.
+   */
+  private void createPartition(String partition, YearMonth month) {
+    String lower = bound(month);
+    String upper = bound(month.plusMonths(1));
+    String inRange = " WHERE occurred_at >= %s AND occurred_at < %s".formatted(lower, upper);
+
+    boolean strays = countRows(DEFAULT_PARTITION + inRange) > 0;
+    if (strays) {
+      runSql(
+          "CREATE TEMP TABLE audit_events_strays ON COMMIT DROP AS SELECT * FROM "
+              + DEFAULT_PARTITION
+              + inRange);
+      setPurgeFlag(true);
+      runSql("DELETE FROM " + DEFAULT_PARTITION + inRange);
+      setPurgeFlag(false);
+    }
+    runSql(
+        "CREATE TABLE %s PARTITION OF audit_events FOR VALUES FROM (%s) TO (%s)"
+            .formatted(partition, lower, upper));
+    if (strays) {
+      runSql("INSERT INTO audit_events SELECT * FROM audit_events_strays");
+      runSql("DROP TABLE audit_events_strays");
+    }
+    log.info("Created audit event partition {}", partition);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> monthlyPartitions() {
+    return entityManager.createNativeQuery(MONTHLY_PARTITIONS_SQL).getResultList();
+  }
+
+  private List<String> partitions(String sql) {
+    @SuppressWarnings("unchecked")
+    List<String> names =
+        transactionTemplate.execute(tx -> entityManager.createNativeQuery(sql).getResultList());
+    return names != null ? names : List.of();
+  }
+
+  private int countRows(String from) {
+    Number count =
+        (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + from).getSingleResult();
+    return count.intValue();
+  }
+
+  private void setPurgeFlag(boolean on) {
+    entityManager
+        .createNativeQuery("SELECT set_config('kazi.audit_retention_purge', :value, true)")
+        .setParameter("value", on ? "on" : "off")
+        .getSingleResult();
+  }
+
+  private void runSql(String sql) {
+    entityManager.createNativeQuery(sql).executeUpdate();
+  }
+
+  private static YearMonth monthOf(String partition) {
+    return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+  }
+
+  /** First instant of {@code month} in UTC, as a timestamptz literal. */
+  private static String bound(YearMonth month) {
+    return "TIMESTAMPTZ '%s 00:00:00+00'".formatted(month.atDay(1));
+  }
+}
@@ -2,6 +2,8 @@ package io.b2mash.b2b.b2bstrawman.audit;
 
 import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -17,6 +19,13 @@ import org.springframework.data.repository.query.Param;
 
 public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
 
+  /** Typed projection for the most recent audit event of a project. */
+  interface ProjectLastActivity {
+    UUID getProjectId();
+
+    Instant getLastActivity();
+  }
+
   /** Typed projection for event-type count aggregation. */
   interface EventTypeCount {
     String getEventType();
@@ -50,24 +59,25 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       Pageable pageable);
 
   /**
-   * Finds audit events for a specific project using the JSONB details->>'project_id' field. Uses
-   * the expression index idx_audit_project for efficient lookups.
+   * Finds audit events for a specific project by the promoted {@code project_id} column (V143),
+   * newest first. Served by idx_audit_project_time; later pages of a feed should use {@link
+   * #findByProjectIdBefore} rather than an offset.
    */
   @Query(
       value =
           """
           SELECT * FROM audit_events
-          WHERE (details->>'project_id') = CAST(:projectId AS TEXT)
+          WHERE project_id = CAST(:projectId AS UUID)
             AND (:entityType IS NULL OR entity_type = :entityType)
-            AND (CAST(:since AS TIMESTAMPTZ) IS NULL OR occurred_at >= CAST(:since AS TIMESTAMPTZ))
-          ORDER BY occurred_at DESC
+            AND occurred_at >= COALESCE(CAST(:since AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+          ORDER BY occurred_at DESC, id DESC
           """,
       countQuery =
           """
           SELECT count(*) FROM audit_events
-          WHERE (details->>'project_id') = CAST(:projectId AS TEXT)
+          WHERE project_id = CAST(:projectId AS UUID)
             AND (:entityType IS NULL OR entity_type = :entityType)
-            AND (CAST(:since AS TIMESTAMPTZ) IS NULL OR occurred_at >= CAST(:since AS TIMESTAMPTZ))
+            AND occurred_at >= COALESCE(CAST(:since AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
           """,
       nativeQuery = true)
   Page<AuditEvent> findByProjectId(
@@ -76,36 +86,148 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       @Param("since") Instant since,
       Pageable pageable);
 
+  /**
+   * Keyset continuation of {@link #findByProjectId}: the {@code limit} events that follow the event
+   * ({@code beforeOccurredAt}, {@code beforeId}) in (occurred_at DESC, id DESC) order. A range scan
+   * of idx_audit_project_time, so its cost does not grow with how deep the feed is paged.
+   */
+  @Query(
+      value =
+          """
+          SELECT * FROM audit_events
+          WHERE project_id = :projectId
+            AND (:entityType IS NULL OR entity_type = :entityType)
+            AND occurred_at >= COALESCE(CAST(:since AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+            AND (occurred_at, id) < (CAST(:beforeOccurredAt AS TIMESTAMPTZ), CAST(:beforeId AS UUID))
+          ORDER BY occurred_at DESC, id DESC
+          LIMIT :limit
+          """,
+      nativeQuery = true)
+  List<AuditEvent> findByProjectIdBefore(
+      @Param("projectId") UUID projectId,
+      @Param("entityType") String entityType,
+      @Param("since") Instant since,
+      @Param("beforeOccurredAt") Instant beforeOccurredAt,
+      @Param("beforeId") UUID beforeId,
+      @Param("limit") int limit);
+
+  /** The total that {@link #findByProjectId} reports, for pages fetched by keyset. */
+  @Query(
+      value =
+          """
+          SELECT count(*) FROM audit_events
+          WHERE project_id = CAST(:projectId AS UUID)
+            AND (:entityType IS NULL OR entity_type = :entityType)
+            AND occurred_at >= COALESCE(CAST(:since AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+          """,
+      nativeQuery = true)
+  long countByProjectIdSince(
+      @Param("projectId") String projectId,
+      @Param("entityType") String entityType,
+      @Param("since") Instant since);
+
   /**
    * Counts audit events grouped by event type, ordered by count descending. Uses typed projection
-   * instead of Object[] for type safety.
+   * instead of Object[] for type safety. Days up to the {@link AuditFacetRollup} watermark come
+   * from {@code audit_event_type_day_counts}; only later events are counted one by one.
    */
   @Query(
-      "SELECT e.eventType AS eventType, COUNT(e) AS count FROM AuditEvent e"
-          + " GROUP BY e.eventType ORDER BY COUNT(e) DESC")
+      value =
+          """
+          SELECT u.event_type AS eventType, CAST(SUM(u.n) AS BIGINT) AS count
+          FROM (
+            SELECT c.event_type, c.event_count AS n
+            FROM audit_event_type_day_counts c
+            WHERE c.day <= (SELECT s.rolled_up_through FROM audit_facet_rollup_state s)
+            UNION ALL
+            SELECT ae.event_type, 1
+            FROM audit_events ae
+            WHERE ae.occurred_at >= COALESCE(
+                (SELECT CAST(s.rolled_up_through + 1 AS TIMESTAMP) AT TIME ZONE 'UTC'
+                 FROM audit_facet_rollup_state s),
+                CAST('-infinity' AS TIMESTAMPTZ))
+          ) u
+          GROUP BY u.event_type
+          ORDER BY count DESC
+          """,
+      nativeQuery = true)
   List<EventTypeCount> countByEventType();
 
   /**
-   * Finds the most recent audit event timestamp for a project. Uses native SQL to query the JSONB
-   * details->>'project_id' field. Compares as text (matching findByProjectId pattern). Tenant
-   * isolation is provided by the dedicated schema (search_path).
+   * Finds the most recent audit event timestamp for a project: events carrying its project_id, or
+   * events on the project itself. Each side is a single descending index probe
+   * (idx_audit_project_time and idx_audit_entity) instead of an OR across both.
    */
   @Query(
       value =
           """
-          SELECT MAX(ae.occurred_at) FROM audit_events ae
-          WHERE (ae.details->>'project_id') = CAST(:projectId AS TEXT)
-             OR (ae.entity_type = 'project' AND ae.entity_id = :projectId)
+          SELECT GREATEST(
+            (SELECT MAX(ae.occurred_at) FROM audit_events ae WHERE ae.project_id = :projectId),
+            (SELECT MAX(ae.occurred_at) FROM audit_events ae
+             WHERE ae.entity_type = 'project' AND ae.entity_id = :projectId))
           """,
       nativeQuery = true)
   Optional<Instant> findMostRecentByProject(@Param("projectId") UUID projectId);
 
+  /**
+   * {@link #findMostRecentByProject} for many projects in one query, one pair of index probes per
+   * project. Projects without audit events have no row.
+   */
+  @Query(
+      value =
+          """
+          SELECT a.projectId, a.lastActivity
+          FROM (
+            SELECT p.id AS projectId,
+                   GREATEST(
+                     (SELECT MAX(ae.occurred_at) FROM audit_events ae WHERE ae.project_id = p.id),
+                     (SELECT MAX(ae.occurred_at) FROM audit_events ae
+                      WHERE ae.entity_type = 'project' AND ae.entity_id = p.id)) AS lastActivity
+            FROM projects p
+            WHERE p.id IN (:projectIds)
+          ) a
+          WHERE a.lastActivity IS NOT NULL
+          """,
+      nativeQuery = true)
+  List<ProjectLastActivity> findMostRecentByProjects(
+      @Param("projectIds") Collection<UUID> projectIds);
+
+  /**
+   * Ids of the projects with audit events after {@code since} — the projects whose dashboard
+   * health inputs may have changed.
+   */
+  @Query(
+      value =
+          """
+          SELECT ae.project_id FROM audit_events ae
+          WHERE ae.occurred_at > :since AND ae.project_id IS NOT NULL
+          UNION
+          SELECT ae.entity_id FROM audit_events ae
+          WHERE ae.occurred_at > :since AND ae.entity_type = 'project'
+          """,
+      nativeQuery = true)
+  List<UUID> findProjectIdsWithActivitySince(@Param("since") Instant since);
+
+  /**
+   * Start of the oldest client transaction still open on this database, or now if there is none.
+   * An audit event a query cannot see yet belongs to a transaction open at that moment, so its
+   * occurred_at is no earlier than this (up to clock skew between the app and the database).
+   */
+  @Query(
+      value =
+          """
+          SELECT COALESCE(MIN(a.xact_start), NOW()) FROM pg_stat_activity a
+          WHERE a.datname = current_database() AND a.backend_type = 'client backend'
+          """,
+      nativeQuery = true)
+  Instant findOldestOpenTransactionStart();
+
   // --- Cross-project activity queries (Epic 76B) ---
 
   /**
    * Cross-project activity for admin/owner: returns recent events with actor and project names
-   * joined. Only returns events that have a project_id in their details. Tenant isolation is
-   * provided by the dedicated schema (search_path).
+   * joined. Only returns events that have a project_id, read newest first from
+   * idx_audit_project_recent. Tenant isolation is provided by the dedicated schema (search_path).
    */
   @Query(
       nativeQuery = true,
@@ -114,22 +236,24 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       SELECT ae.id AS eventId, ae.event_type AS eventType,
              ae.entity_type AS entityType,
              COALESCE(m.name, ae.details->>'actor_name', 'Unknown') AS actorName,
-             (ae.details->>'project_id')::uuid AS projectId,
+             ae.project_id AS projectId,
              p.name AS projectName,
              ae.occurred_at AS occurredAt
       FROM audit_events ae
       LEFT JOIN members m ON ae.actor_id = m.id
-      LEFT JOIN projects p ON (ae.details->>'project_id')::uuid = p.id
-      WHERE (ae.details->>'project_id') IS NOT NULL
-        AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
+      LEFT JOIN projects p ON ae.project_id = p.id
+      WHERE ae.project_id IS NOT NULL
       ORDER BY ae.occurred_at DESC
       LIMIT :limit
       """)
   List<CrossProjectActivityProjection> findCrossProjectActivity(@Param("limit") int limit);
 
   /**
-   * Cross-project activity for regular members: filtered to projects the member belongs to via
-   * project_members subquery. Tenant isolation is provided by the dedicated schema (search_path).
+   * Cross-project activity for regular members: filtered to projects the member belongs to. Takes
+   * the newest {@code limit} events of each of the member's projects (a keyset probe of
+   * idx_audit_project_time apiece) and merges them, so the cost is bounded by the member's project
+   * count rather than the size of the audit trail. Tenant isolation is provided by the dedicated
+   * schema (search_path).
    */
   @Query(
       nativeQuery = true,
@@ -138,25 +262,30 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       SELECT ae.id AS eventId, ae.event_type AS eventType,
              ae.entity_type AS entityType,
              COALESCE(m.name, ae.details->>'actor_name', 'Unknown') AS actorName,
-             (ae.details->>'project_id')::uuid AS projectId,
+             ae.project_id AS projectId,
              p.name AS projectName,
              ae.occurred_at AS occurredAt
-      FROM audit_events ae
+      FROM project_members pm
+      CROSS JOIN LATERAL (
+        SELECT * FROM audit_events e
+        WHERE e.project_id = pm.project_id
+        ORDER BY e.occurred_at DESC, e.id DESC
+        LIMIT :limit
+      ) ae
       LEFT JOIN members m ON ae.actor_id = m.id
-      LEFT JOIN projects p ON (ae.details->>'project_id')::uuid = p.id
-      WHERE (ae.details->>'project_id') IS NOT NULL
-        AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
-        AND (ae.details->>'project_id')::uuid IN (
-            SELECT pm.project_id FROM project_members pm WHERE pm.member_id = CAST(:memberId AS UUID)
-        )
+      LEFT JOIN projects p ON ae.project_id = p.id
+      WHERE pm.member_id = CAST(:memberId AS UUID)
       ORDER BY ae.occurred_at DESC
       LIMIT :limit
       """)
   List<CrossProjectActivityProjection> findCrossProjectActivityForMember(
       @Param("memberId") UUID memberId, @Param("limit") int limit);
 
-  @Query("SELECT e.id FROM AuditEvent e WHERE e.occurredAt < :before")
-  List<UUID> findIdsByOccurredAtBefore(@Param("before") Instant before);
+  /** Counts events older than {@code before}; retention purges them by partition, not by id. */
+  long countByOccurredAtBefore(Instant before);
+
+  /** Counts events in {@code [from, before)}, the retention warning window. */
+  long countByOccurredAtGreaterThanEqualAndOccurredAtBefore(Instant from, Instant before);
 
   /**
    * Finds a single audit event by exportId stored in the JSONB details column. Used by
@@ -176,9 +305,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       @Param("eventType") String eventType, @Param("exportId") String exportId);
 
   // --- Portal activity timeline queries (GAP-OBS-Portal-Activity / E4.3) ---
-  // Tenant isolation is provided by Hibernate search_path. The UUID-shape regex on the JSONB
-  // lookup mirrors findCrossProjectActivity (line 119) and is safety-critical: a malformed
-  // details->>'project_id' value would crash the ::uuid cast.
+  // Tenant isolation is provided by Hibernate search_path. Firm-side events are matched on the
+  // typed project_id column (V143), which only ever holds well-formed project ids.
 
   /**
    * Combined portal-contact + firm activity for a portal contact. Returns events the contact
@@ -197,9 +325,7 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
           WHERE (ae.actor_type = 'PORTAL_CONTACT' AND ae.actor_id = :portalContactId)
              OR (
                ae.event_type IN (:eventTypes)
-               AND (ae.details->>'project_id') IS NOT NULL
-               AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
-               AND (ae.details->>'project_id')::uuid IN (
+               AND ae.project_id IN (
                  SELECT project_id FROM customer_projects WHERE customer_id = :customerId
                )
              )
@@ -211,9 +337,7 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
           WHERE (ae.actor_type = 'PORTAL_CONTACT' AND ae.actor_id = :portalContactId)
              OR (
                ae.event_type IN (:eventTypes)
-               AND (ae.details->>'project_id') IS NOT NULL
-               AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
-               AND (ae.details->>'project_id')::uuid IN (
+               AND ae.project_id IN (
                  SELECT project_id FROM customer_projects WHERE customer_id = :customerId
                )
              )
@@ -257,9 +381,7 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
           SELECT * FROM audit_events ae
           WHERE ae.actor_type <> 'PORTAL_CONTACT'
             AND ae.event_type IN (:eventTypes)
-            AND (ae.details->>'project_id') IS NOT NULL
-            AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
-            AND (ae.details->>'project_id')::uuid IN (
+            AND ae.project_id IN (
               SELECT project_id FROM customer_projects WHERE customer_id = :customerId
             )
           ORDER BY ae.occurred_at DESC
@@ -269,9 +391,7 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
           SELECT count(*) FROM audit_events ae
           WHERE ae.actor_type <> 'PORTAL_CONTACT'
             AND ae.event_type IN (:eventTypes)
-            AND (ae.details->>'project_id') IS NOT NULL
-            AND (ae.details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$'
-            AND (ae.details->>'project_id')::uuid IN (
+            AND ae.project_id IN (
               SELECT project_id FROM customer_projects WHERE customer_id = :customerId
             )
           """)
@@ -305,6 +425,9 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
    * <p>All array params accept {@code null} to mean "constraint disabled". Pass {@code String[0]}
    * (empty) only when you want the predicate to match nothing — but callers typically short-circuit
    * to {@link Page#empty(Pageable)} instead of issuing a query that matches zero rows.
+   *
+   * <p>An absent time bound is widened to {@code -infinity} / {@code infinity} rather than OR-ed
+   * away, so the monthly partitions of {@code audit_events} are still pruned under a generic plan.
    */
   @Query(
       nativeQuery = true,
@@ -315,8 +438,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
             AND (CAST(:entityId AS UUID) IS NULL OR e.entity_id = CAST(:entityId AS UUID))
             AND (CAST(:actorId AS UUID) IS NULL OR e.actor_id = CAST(:actorId AS UUID))
             AND (CAST(:eventTypePrefix AS TEXT) IS NULL OR e.event_type LIKE CONCAT(CAST(:eventTypePrefix AS TEXT), '%'))
-            AND (CAST(:fromTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at >= CAST(:fromTs AS TIMESTAMPTZ))
-            AND (CAST(:toTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at < CAST(:toTs AS TIMESTAMPTZ))
+            AND e.occurred_at >= COALESCE(CAST(:fromTs AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+            AND e.occurred_at < COALESCE(CAST(:toTs AS TIMESTAMPTZ), CAST('infinity' AS TIMESTAMPTZ))
             AND (
               (CAST(:exactTypes AS TEXT[]) IS NOT NULL AND e.event_type = ANY(CAST(:exactTypes AS TEXT[])))
               OR (CAST(:prefixPatterns AS TEXT[]) IS NOT NULL AND e.event_type LIKE ANY(CAST(:prefixPatterns AS TEXT[])))
@@ -337,8 +460,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
             AND (CAST(:entityId AS UUID) IS NULL OR e.entity_id = CAST(:entityId AS UUID))
             AND (CAST(:actorId AS UUID) IS NULL OR e.actor_id = CAST(:actorId AS UUID))
             AND (CAST(:eventTypePrefix AS TEXT) IS NULL OR e.event_type LIKE CONCAT(CAST(:eventTypePrefix AS TEXT), '%'))
-            AND (CAST(:fromTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at >= CAST(:fromTs AS TIMESTAMPTZ))
-            AND (CAST(:toTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at < CAST(:toTs AS TIMESTAMPTZ))
+            AND e.occurred_at >= COALESCE(CAST(:fromTs AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+            AND e.occurred_at < COALESCE(CAST(:toTs AS TIMESTAMPTZ), CAST('infinity' AS TIMESTAMPTZ))
             AND (
               (CAST(:exactTypes AS TEXT[]) IS NOT NULL AND e.event_type = ANY(CAST(:exactTypes AS TEXT[])))
               OR (CAST(:prefixPatterns AS TEXT[]) IS NOT NULL AND e.event_type LIKE ANY(CAST(:prefixPatterns AS TEXT[])))
@@ -366,7 +489,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       Pageable pageable);
 
   /**
-   * Top-500 actor facet aggregates within {@code [from, to)}, LEFT JOINed to {@code members} so the
+   * Top-500 actor facet aggregates over an {@link AuditFacetRollup.Window}: day rows for its whole
+   * rolled-up days plus raw events in its head and tail. LEFT JOINed to {@code members} so the
    * service can short-circuit the §12.3.4 actor-display fallback for live members. Rows where the
    * member is missing (deleted) come back with {@code actorName = NULL} -- the service maps these
    * to {@code "Former member ({uuid})"} per the architecture spec.
@@ -376,61 +500,100 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
       value =
           """
           SELECT
-            ae.actor_id   AS actorId,
+            t.actor_id    AS actorId,
             m.name        AS actorName,
-            ae.actor_type AS actorType,
-            COUNT(*)      AS eventCount
-          FROM audit_events ae
-          LEFT JOIN members m ON m.id = ae.actor_id
-          WHERE ae.actor_id IS NOT NULL
-            AND ae.occurred_at >= :fromTs
-            AND ae.occurred_at <  :toTs
-          GROUP BY ae.actor_id, m.name, ae.actor_type
+            t.actor_type  AS actorType,
+            t.event_count AS eventCount
+          FROM (
+            SELECT u.actor_id, u.actor_type, CAST(SUM(u.n) AS BIGINT) AS event_count
+            FROM (
+              SELECT c.actor_id, c.actor_type, c.event_count AS n
+              FROM audit_actor_day_counts c
+              WHERE c.day >= :dayFrom AND c.day < :dayTo
+              UNION ALL
+              SELECT ae.actor_id, ae.actor_type, 1
+              FROM audit_events ae
+              WHERE ae.actor_id IS NOT NULL
+                AND ((ae.occurred_at >= :fromTs AND ae.occurred_at < :headEndTs)
+                  OR (ae.occurred_at >= :tailStartTs AND ae.occurred_at < :toTs))
+            ) u
+            GROUP BY u.actor_id, u.actor_type
+          ) t
+          LEFT JOIN members m ON m.id = t.actor_id
           ORDER BY eventCount DESC
           LIMIT 500
           """)
   List<ActorFacetProjection> projectActorFacets(
-      @Param("fromTs") Instant from, @Param("toTs") Instant to);
+      @Param("fromTs") Instant from,
+      @Param("headEndTs") Instant headEnd,
+      @Param("dayFrom") LocalDate dayFrom,
+      @Param("dayTo") LocalDate dayTo,
+      @Param("tailStartTs") Instant tailStart,
+      @Param("toTs") Instant to);
 
   /**
-   * Per-eventType counts within {@code [from, to)}. Service enriches with label/severity/group via
-   * {@link AuditEventTypeRegistry#resolve(String)}.
+   * Per-eventType counts over an {@link AuditFacetRollup.Window}. Service enriches with
+   * label/severity/group via {@link AuditEventTypeRegistry#resolve(String)}.
    */
   @Query(
       nativeQuery = true,
       value =
           """
           SELECT
-            ae.event_type AS eventType,
-            COUNT(*)      AS count
-          FROM audit_events ae
-          WHERE ae.occurred_at >= :fromTs
-            AND ae.occurred_at <  :toTs
-          GROUP BY ae.event_type
+            u.event_type                 AS eventType,
+            CAST(SUM(u.n) AS BIGINT)     AS count
+          FROM (
+            SELECT c.event_type, c.event_count AS n
+            FROM audit_event_type_day_counts c
+            WHERE c.day >= :dayFrom AND c.day < :dayTo
+            UNION ALL
+            SELECT ae.event_type, 1
+            FROM audit_events ae
+            WHERE (ae.occurred_at >= :fromTs AND ae.occurred_at < :headEndTs)
+               OR (ae.occurred_at >= :tailStartTs AND ae.occurred_at < :toTs)
+          ) u
+          GROUP BY u.event_type
           ORDER BY count DESC
           """)
   List<EventTypeFacetProjection> projectEventTypeFacets(
-      @Param("fromTs") Instant from, @Param("toTs") Instant to);
+      @Param("fromTs") Instant from,
+      @Param("headEndTs") Instant headEnd,
+      @Param("dayFrom") LocalDate dayFrom,
+      @Param("dayTo") LocalDate dayTo,
+      @Param("tailStartTs") Instant tailStart,
+      @Param("toTs") Instant to);
 
   /**
-   * Per-entityType counts within {@code [from, to)}. Service title-cases the {@code entity_type}
-   * for the {@code label} field.
+   * Per-entityType counts over an {@link AuditFacetRollup.Window}. Service title-cases the {@code
+   * entity_type} for the {@code label} field.
    */
   @Query(
       nativeQuery = true,
       value =
           """
           SELECT
-            ae.entity_type AS entityType,
-            COUNT(*)       AS count
-          FROM audit_events ae
-          WHERE ae.occurred_at >= :fromTs
-            AND ae.occurred_at <  :toTs
-          GROUP BY ae.entity_type
+            u.entity_type                AS entityType,
+            CAST(SUM(u.n) AS BIGINT)     AS count
+          FROM (
+            SELECT c.entity_type, c.event_count AS n
+            FROM audit_entity_type_day_counts c
+            WHERE c.day >= :dayFrom AND c.day < :dayTo
+            UNION ALL
+            SELECT ae.entity_type, 1
+            FROM audit_events ae
+            WHERE (ae.occurred_at >= :fromTs AND ae.occurred_at < :headEndTs)
+               OR (ae.occurred_at >= :tailStartTs AND ae.occurred_at < :toTs)
+          ) u
+          GROUP BY u.entity_type
           ORDER BY count DESC
           """)
   List<EntityTypeFacetProjection> projectEntityTypeFacets(
-      @Param("fromTs") Instant from, @Param("toTs") Instant to);
+      @Param("fromTs") Instant from,
+      @Param("headEndTs") Instant headEnd,
+      @Param("dayFrom") LocalDate dayFrom,
+      @Param("dayTo") LocalDate dayTo,
+      @Param("tailStartTs") Instant tailStart,
+      @Param("toTs") Instant to);
 
   // --- Epic 503A — streaming variants for CSV export ---
 
@@ -476,8 +639,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
             AND (CAST(:entityId AS UUID) IS NULL OR e.entity_id = CAST(:entityId AS UUID))
             AND (CAST(:actorId AS UUID) IS NULL OR e.actor_id = CAST(:actorId AS UUID))
             AND (CAST(:eventTypePrefix AS TEXT) IS NULL OR e.event_type LIKE CONCAT(CAST(:eventTypePrefix AS TEXT), '%'))
-            AND (CAST(:fromTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at >= CAST(:fromTs AS TIMESTAMPTZ))
-            AND (CAST(:toTs AS TIMESTAMPTZ) IS NULL OR e.occurred_at < CAST(:toTs AS TIMESTAMPTZ))
+            AND e.occurred_at >= COALESCE(CAST(:fromTs AS TIMESTAMPTZ), CAST('-infinity' AS TIMESTAMPTZ))
+            AND e.occurred_at < COALESCE(CAST(:toTs AS TIMESTAMPTZ), CAST('infinity' AS TIMESTAMPTZ))
             AND (
               (CAST(:exactTypes AS TEXT[]) IS NOT NULL AND e.event_type = ANY(CAST(:exactTypes AS TEXT[])))
               OR (CAST(:prefixPatterns AS TEXT[]) IS NOT NULL AND e.event_type LIKE ANY(CAST(:prefixPatterns AS TEXT[])))
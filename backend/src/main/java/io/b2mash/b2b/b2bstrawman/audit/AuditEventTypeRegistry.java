@@ -23,10 +23,20 @@ import org.springframework.stereotype.Component;
  *   <li>If nothing matches, synthesise a default with title-cased label, {@code severity=INFO},
  *       {@code group=STANDARD}.
  * </ol>
+ *
+ * <p>{@link #durability(String)} resolves the same way against the short list of {@link
+ * AuditDurability#BUFFERED} types; everything else is {@link AuditDurability#TRANSACTIONAL}.
  */
 @Component
 public class AuditEventTypeRegistry {
 
+  /**
+   * Event types (exact or {@code .*} prefix) that may be written through {@link AuditWriteBuffer}:
+   * per-call MCP read traffic, which dominates audit volume and records no business change. Each
+   * must resolve to INFO / STANDARD — enforced at construction.
+   */
+  static final Set<String> BUFFERED_TYPES = Set.of("mcp.tool.invoked", "mcp.session.opened");
+
   private final Map<String, AuditEventTypeMetadata> registry;
   private final List<AuditEventTypeMetadata> entriesList;
 
@@ -240,6 +250,30 @@ public class AuditEventTypeRegistry {
     validatePrefixSeverityInvariant(entries);
     this.registry = Collections.unmodifiableMap(map);
     this.entriesList = List.copyOf(entries);
+    validateBufferedTypes(BUFFERED_TYPES);
+  }
+
+  /**
+   * Enforces that every buffered event type is classified INFO / STANDARD, so a catalogue change
+   * that raises one to a security, compliance, financial or data-protection event cannot leave it
+   * on the path that may lose events on a crash.
+   */
+  void validateBufferedTypes(Set<String> bufferedTypes) {
+    for (var type : bufferedTypes) {
+      // resolve() also classifies a ".*" prefix: its exact entry, else its nearest parent prefix.
+      var metadata = resolve(type);
+      if (metadata.severity() != AuditSeverity.INFO
+          || metadata.group() != AuditEventGroup.STANDARD) {
+        throw new IllegalStateException(
+            "Buffered audit event type '"
+                + type
+                + "' resolves to "
+                + metadata.severity()
+                + "/"
+                + metadata.group()
+                + "; only INFO/STANDARD events may skip the transactional write.");
+      }
+    }
   }
 
   /**
@@ -317,6 +351,37 @@ public class AuditEventTypeRegistry {
     return defaultFor(eventType);
   }
 
+  /**
+   * Resolves how an event type is written: {@link AuditDurability#BUFFERED} when it or one of its
+   * {@code .*} prefixes is listed in {@link #BUFFERED_TYPES} and it still resolves to INFO /
+   * STANDARD (an exact catalogue entry under a buffered prefix can raise it), otherwise {@link
+   * AuditDurability#TRANSACTIONAL}.
+   */
+  public AuditDurability durability(String eventType) {
+    if (eventType == null || !listedAsBuffered(eventType)) {
+      return AuditDurability.TRANSACTIONAL;
+    }
+    var metadata = resolve(eventType);
+    return metadata.severity() == AuditSeverity.INFO
+            && metadata.group() == AuditEventGroup.STANDARD
+        ? AuditDurability.BUFFERED
+        : AuditDurability.TRANSACTIONAL;
+  }
+
+  private static boolean listedAsBuffered(String eventType) {
+    if (BUFFERED_TYPES.contains(eventType)) {
+      return true;
+    }
+    var s = eventType;
+    while (s.contains(".")) {
+      s = s.substring(0, s.lastIndexOf('.'));
+      if (BUFFERED_TYPES.contains(s + ".*")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Returns the full catalogue (excludes the synthesised default fallback). The list is
    * unmodifiable and stable across the lifetime of the bean.
@@ -0,0 +1,247 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the per-day audit event counts (V144) that the audit log facets and {@link
+ * AuditService#countEventsByType()} sum instead of grouping every event in their window.
+ *
+ * <p>A daily job counts each whole UTC day up to yesterday into {@code audit_actor_day_counts},
+ * {@code audit_event_type_day_counts} and {@code audit_entity_type_day_counts}, then moves the
+ * {@code audit_facet_rollup_state} watermark to the last day counted. Every run recounts the day
+ * before the watermark as well, so events that committed after a day was first counted are picked
+ * up. The first run for a tenant backfills from its oldest event, {@value #DAYS_PER_BATCH} days per
+ * transaction.
+ *
+ * <p>Counts are rebuilt in batches rather than bumped as events are written: a counter upsert in
+ * the writer's transaction would serialise every transaction logging the same event type on the
+ * same day on one row.
+ */
+@Component
+public class AuditFacetRollup {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditFacetRollup.class);
+
+  static final int DAYS_PER_BATCH = 31;
+
+  /** Days before the watermark that every run recounts. */
+  private static final int RECOUNT_DAYS = 1;
+
+  private static final List<String> REBUILD_SQL =
+      List.of(
+          """
+          INSERT INTO audit_actor_day_counts (day, actor_id, actor_type, event_count)
+          SELECT CAST(occurred_at AT TIME ZONE 'UTC' AS DATE), actor_id, actor_type, COUNT(*)
+          FROM audit_events
+          WHERE occurred_at >= :fromTs AND occurred_at < :toTs AND actor_id IS NOT NULL
+          GROUP BY 1, 2, 3
+          """,
+          """
+          INSERT INTO audit_event_type_day_counts (day, event_type, event_count)
+          SELECT CAST(occurred_at AT TIME ZONE 'UTC' AS DATE), event_type, COUNT(*)
+          FROM audit_events
+          WHERE occurred_at >= :fromTs AND occurred_at < :toTs
+          GROUP BY 1, 2
+          """,
+          """
+          INSERT INTO audit_entity_type_day_counts (day, entity_type, event_count)
+          SELECT CAST(occurred_at AT TIME ZONE 'UTC' AS DATE), entity_type, COUNT(*)
+          FROM audit_events
+          WHERE occurred_at >= :fromTs AND occurred_at < :toTs
+          GROUP BY 1, 2
+          """);
+
+  private static final List<String> COUNT_TABLES =
+      List.of(
+          "audit_actor_day_counts", "audit_event_type_day_counts", "audit_entity_type_day_counts");
+
+  /**
+   * How a {@code [from, to)} window splits between day rows and raw events: whole rolled-up days in
+   * {@code [dayFrom, dayTo)} come from the day rows; events in {@code [from, headEnd)} and {@code
+   * [tailStart, to)} are counted directly. When no whole rolled-up day fits, the day range is empty
+   * and the head covers the entire window.
+   */
+  record Window(
+      Instant from,
+      Instant headEnd,
+      LocalDate dayFrom,
+      LocalDate dayTo,
+      Instant tailStart,
+      Instant to) {
+
+    static Window of(Instant from, Instant to, @Nullable LocalDate rolledUpThrough) {
+      if (rolledUpThrough != null && from.isBefore(to)) {
+        LocalDate firstWholeDay = dayOf(from);
+        if (startOf(firstWholeDay).isBefore(from)) {
+          firstWholeDay = firstWholeDay.plusDays(1);
+        }
+        LocalDate endDay = dayOf(to);
+        if (endDay.isAfter(rolledUpThrough)) {
+          endDay = rolledUpThrough.plusDays(1);
+        }
+        if (firstWholeDay.isBefore(endDay)) {
+          return new Window(
+              from, startOf(firstWholeDay), firstWholeDay, endDay, startOf(endDay), to);
+        }
+      }
+      return new Window(from, to, LocalDate.EPOCH, LocalDate.EPOCH, to, to);
+    }
+  }
+
+  private final EntityManager entityManager;
+  private final JobEnqueuer jobEnqueuer;
+  private final TransactionTemplate transactionTemplate;
+
+  public AuditFacetRollup(
+      EntityManager entityManager,
+      JobEnqueuer jobEnqueuer,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.jobEnqueuer = jobEnqueuer;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @SchedulerLock(name = "audit_facet_rollup_execute", lockAtLeastFor = "5m")
+  @Scheduled(cron = "${audit.facet-rollup.cron:0 20 0 * * *}")
+  public void execute() {
+    log.debug("Audit facet rollup started");
+    jobEnqueuer.fanOutToAllTenants("audit_facet_rollup", null);
+  }
+
+  /**
+   * Counts the current tenant's days from the day before the watermark (or its oldest event, on the
+   * first run) through yesterday, one transaction per {@value #DAYS_PER_BATCH} days.
+   *
+   * @return the number of days counted
+   */
+  int processTenant() {
+    LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+    LocalDate through = transactionTemplate.execute(tx -> rolledUpThrough());
+    LocalDate start =
+        through != null
+            ? through.minusDays(RECOUNT_DAYS)
+            : transactionTemplate.execute(tx -> oldestEventDay());
+    if (start == null) {
+      // No events yet: nothing before today will ever need counting.
+      transactionTemplate.executeWithoutResult(tx -> saveRolledUpThrough(yesterday));
+      return 0;
+    }
+
+    int days = 0;
+    for (LocalDate batchStart = start;
+        !batchStart.isAfter(yesterday);
+        batchStart = batchStart.plusDays(DAYS_PER_BATCH)) {
+      LocalDate from = batchStart;
+      LocalDate batchEnd = minDay(from.plusDays(DAYS_PER_BATCH - 1), yesterday);
+      transactionTemplate.executeWithoutResult(
+          tx -> {
+            rebuild(from, batchEnd);
+            saveRolledUpThrough(batchEnd);
+          });
+      days += (int) (batchEnd.toEpochDay() - from.toEpochDay()) + 1;
+    }
+    log.debug("Rolled up {} days of audit facet counts through {}", days, yesterday);
+    return days;
+  }
+
+  /** Splits {@code [from, to)} between the day rows and raw events for the current tenant. */
+  Window window(Instant from, Instant to) {
+    return Window.of(from, to, rolledUpThrough());
+  }
+
+  /**
+   * Drops the day rows for days wholly before {@code cutoff} and recounts the cutoff's own day, for
+   * the retention purge once it has removed the events before {@code cutoff}. Must run inside the
+   * purge's transaction.
+   */
+  void forgetBefore(Instant cutoff) {
+    LocalDate cutoffDay = dayOf(cutoff);
+    for (String table : COUNT_TABLES) {
+      entityManager
+          .createNativeQuery("DELETE FROM " + table + " WHERE day < :day")
+          .setParameter("day", cutoffDay)
+          .executeUpdate();
+    }
+    LocalDate through = rolledUpThrough();
+    if (through != null && !cutoffDay.isAfter(through)) {
+      rebuild(cutoffDay, cutoffDay);
+    }
+  }
+
+  /** Replaces the day rows for {@code [firstDay, lastDay]} with fresh counts. */
+  private void rebuild(LocalDate firstDay, LocalDate lastDay) {
+    for (String table : COUNT_TABLES) {
+      entityManager
+          .createNativeQuery("DELETE FROM " + table + " WHERE day >= :firstDay AND day <= :lastDay")
+          .setParameter("firstDay", firstDay)
+          .setParameter("lastDay", lastDay)
+          .executeUpdate();
+    }
+    for (String sql : REBUILD_SQL) {
+      entityManager
+          .createNativeQuery(sql)
+          .setParameter("fromTs", startOf(firstDay))
+          .setParameter("toTs", startOf(lastDay.plusDays(1)))
+          .executeUpdate();
+    }
+  }
+
+  @Nullable
+  private LocalDate rolledUpThrough() {
+    List<?> rows =
+        entityManager
+            .createNativeQuery("SELECT rolled_up_through FROM audit_facet_rollup_state")
+            .getResultList();
+    return rows.isEmpty() ? null : toLocalDate(rows.getFirst());
+  }
+
+  private void saveRolledUpThrough(LocalDate day) {
+    entityManager
+        .createNativeQuery(
+            """
+            INSERT INTO audit_facet_rollup_state (id, rolled_up_through) VALUES (TRUE, :day)
+            ON CONFLICT (id) DO UPDATE SET rolled_up_through = EXCLUDED.rolled_up_through
+            """)
+        .setParameter("day", day)
+        .executeUpdate();
+  }
+
+  @Nullable
+  private LocalDate oldestEventDay() {
+    Object oldest =
+        entityManager
+            .createNativeQuery(
+                "SELECT CAST(MIN(occurred_at) AT TIME ZONE 'UTC' AS DATE) FROM audit_events")
+            .getSingleResult();
+    return oldest != null ? toLocalDate(oldest) : null;
+  }
+
+  private static LocalDate toLocalDate(Object value) {
+    return value instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+  }
+
+  private static LocalDate minDay(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static LocalDate dayOf(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private static Instant startOf(LocalDate day) {
+    return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+}
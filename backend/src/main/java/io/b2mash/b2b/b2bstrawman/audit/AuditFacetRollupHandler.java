@@ -0,0 +1,30 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler for rolling up a single tenant's audit facet day counts. Delegates to {@link
+ * AuditFacetRollup#processTenant()}.
+ */
+@Component
+public class AuditFacetRollupHandler implements JobHandler {
+
+  private final AuditFacetRollup rollup;
+
+  public AuditFacetRollupHandler(AuditFacetRollup rollup) {
+    this.rollup = rollup;
+  }
+
+  @Override
+  public String jobType() {
+    return "audit_facet_rollup";
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    rollup.processTenant();
+  }
+}
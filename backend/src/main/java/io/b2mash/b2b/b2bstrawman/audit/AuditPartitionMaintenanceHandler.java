@@ -0,0 +1,30 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler for creating a single tenant's upcoming audit event partitions. Delegates to {@link
+ * AuditEventPartitionMaintenance#processTenant()}.
+ */
+@Component
+public class AuditPartitionMaintenanceHandler implements JobHandler {
+
+  private final AuditEventPartitionMaintenance maintenance;
+
+  public AuditPartitionMaintenanceHandler(AuditEventPartitionMaintenance maintenance) {
+    this.maintenance = maintenance;
+  }
+
+  @Override
+  public String jobType() {
+    return "audit_partition_maintenance";
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    maintenance.processTenant();
+  }
+}
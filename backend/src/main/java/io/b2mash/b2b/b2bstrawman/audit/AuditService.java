@@ -23,6 +23,15 @@ public interface AuditService {
    */
   void log(AuditEventRecord record);
 
+  /**
+   * Opts the current transaction into batched audit writes: events it logs from here on are held
+   * in memory and inserted together, in one multi-row statement per 500 events, just before it
+   * commits. They still commit or roll back with the transaction, but are not visible to queries
+   * made inside it — callers must not read back their own audit events. Meant for transactions
+   * that log many events, such as billing run item generation. No-op outside a transaction.
+   */
+  void deferUntilCommit();
+
   /**
    * Queries audit events matching the given filter, scoped to the current tenant schema. All filter
    * fields are optional -- null means "no filter on this field".
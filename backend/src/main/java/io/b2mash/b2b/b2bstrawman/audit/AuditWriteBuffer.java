@@ -0,0 +1,159 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bounded in-memory hand-off for {@link AuditDurability#BUFFERED} audit events. Events are queued
+ * once the transaction that logged them commits (and dropped with it on rollback), then written by
+ * a background drain, one multi-row insert per tenant per pass.
+ *
+ * <p>When the queue is full, the committing thread drains it itself before queueing, so a burst
+ * slows its callers instead of losing events. Events still queued when the process dies are lost —
+ * the reason only INFO / STANDARD types are ever buffered. The buffer is per pod, so the drain is
+ * not behind a ShedLock.
+ */
+@Component
+@EnableConfigurationProperties(AuditWriteProperties.class)
+public class AuditWriteBuffer {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditWriteBuffer.class);
+
+  private final AuditEventBatchWriter writer;
+  private final AuditWriteProperties properties;
+  private final BlockingQueue<Pending> queue;
+  // The drain also runs from afterCommit, where a plain (REQUIRED) transaction would join the
+  // already-committed one and never commit on its own.
+  private final TransactionTemplate requiresNewTransactionTemplate;
+
+  public AuditWriteBuffer(
+      AuditEventBatchWriter writer,
+      AuditWriteProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.writer = writer;
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getBufferCapacity()));
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /** Whether buffered event types should be handed to {@link #submit} at all. */
+  public boolean isEnabled() {
+    return properties.isBufferEnabled();
+  }
+
+  /**
+   * Queues {@code event} for the current tenant once the current transaction commits, or right away
+   * outside a transaction.
+   */
+  void submit(AuditEvent event) {
+    var pending =
+        new Pending(
+            RequestScopes.requireTenantId(),
+            RequestScopes.getOrgIdOrNull(),
+            RequestScopes.getShardIdOrDefault(),
+            event);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      offer(List.of(pending));
+      return;
+    }
+    var handOff =
+        TransactionSynchronizationManager.getSynchronizations().stream()
+            .filter(HandOffAfterCommit.class::isInstance)
+            .map(HandOffAfterCommit.class::cast)
+            .findFirst()
+            .orElseGet(
+                () -> {
+                  var sync = new HandOffAfterCommit();
+                  TransactionSynchronizationManager.registerSynchronization(sync);
+                  return sync;
+                });
+    handOff.events.add(pending);
+  }
+
+  /**
+   * Writes up to {@code audit.write.drain-batch-size} queued events, grouped by tenant.
+   *
+   * @return the number of events taken off the queue
+   */
+  @Scheduled(fixedDelayString = "${audit.write.drain-interval-ms:1000}")
+  public int drain() {
+    var batch = new ArrayList<Pending>();
+    queue.drainTo(batch, Math.max(1, properties.getDrainBatchSize()));
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    var byTenant = new LinkedHashMap<String, List<Pending>>();
+    for (var pending : batch) {
+      byTenant.computeIfAbsent(pending.tenantId(), tenantId -> new ArrayList<>()).add(pending);
+    }
+    byTenant.forEach(this::write);
+    return batch.size();
+  }
+
+  /** Drains everything still queued before the application context closes. */
+  @PreDestroy
+  void flush() {
+    while (drain() > 0) {
+      // keep draining until the queue is empty
+    }
+  }
+
+  int queued() {
+    return queue.size();
+  }
+
+  private void offer(List<Pending> events) {
+    for (var pending : events) {
+      while (!queue.offer(pending)) {
+        log.debug("Audit write buffer full ({} events); draining on the caller", queue.size());
+        drain();
+      }
+    }
+  }
+
+  private void write(String tenantId, List<Pending> events) {
+    var first = events.getFirst();
+    try {
+      RequestScopes.runForTenantOnShard(
+          tenantId,
+          first.orgId(),
+          first.shardId(),
+          () ->
+              requiresNewTransactionTemplate.executeWithoutResult(
+                  tx -> writer.insert(events.stream().map(Pending::event).toList())));
+    } catch (RuntimeException e) {
+      log.error("Lost {} buffered audit events for tenant={}", events.size(), tenantId, e);
+    }
+  }
+
+  private record Pending(
+      String tenantId, @Nullable String orgId, String shardId, AuditEvent event) {}
+
+  private final class HandOffAfterCommit implements TransactionSynchronization {
+
+    private final List<Pending> events = new ArrayList<>();
+
+    @Override
+    public void afterCommit() {
+      offer(events);
+    }
+  }
+}
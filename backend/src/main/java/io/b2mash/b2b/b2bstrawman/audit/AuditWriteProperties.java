@@ -0,0 +1,50 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the buffered audit write path ({@link AuditWriteBuffer}). Bound from
+ * {@code audit.write} in application YAML.
+ */
+@ConfigurationProperties("audit.write")
+public class AuditWriteProperties {
+
+  /**
+   * Whether {@link AuditDurability#BUFFERED} event types go through the in-memory buffer. When
+   * false, every event is written in its logging transaction.
+   */
+  private boolean bufferEnabled = false;
+
+  /**
+   * Events the buffer holds before a committing transaction drains it itself instead of handing
+   * off, which bounds memory and applies back-pressure rather than dropping events.
+   */
+  private int bufferCapacity = 10_000;
+
+  /** Most events one drain pass writes; each tenant's share is one multi-row insert. */
+  private int drainBatchSize = 1_000;
+
+  public boolean isBufferEnabled() {
+    return bufferEnabled;
+  }
+
+  public void setBufferEnabled(boolean bufferEnabled) {
+    this.bufferEnabled = bufferEnabled;
+  }
+
+  public int getBufferCapacity() {
+    return bufferCapacity;
+  }
+
+  public void setBufferCapacity(int bufferCapacity) {
+    this.bufferCapacity = bufferCapacity;
+  }
+
+  public int getDrainBatchSize() {
+    return drainBatchSize;
+  }
+
+  public void setDrainBatchSize(int drainBatchSize) {
+    this.drainBatchSize = drainBatchSize;
+  }
+}
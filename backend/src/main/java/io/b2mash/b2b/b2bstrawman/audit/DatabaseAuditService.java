@@ -36,13 +36,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Database-backed implementation of {@link AuditService}. Delegates persistence and querying to
  * {@link AuditEventRepository}.
  *
  * <p>Transaction semantics: {@code log()} participates in the caller's transaction (no
- * REQUIRES_NEW). If the domain operation rolls back, the audit event rolls back too.
+ * REQUIRES_NEW). If the domain operation rolls back, the audit event rolls back too. Within that
+ * contract an event is written one of three ways: saved immediately (the default), collected and
+ * inserted in one batch just before commit ({@link #deferUntilCommit()}), or, for {@link
+ * AuditDurability#BUFFERED} types while {@link AuditWriteBuffer} is enabled, handed to the buffer
+ * after commit.
  */
 @Service
 @EnableConfigurationProperties(AuditRetentionProperties.class)
@@ -60,6 +66,9 @@ public class DatabaseAuditService implements AuditService {
   private final InformationRequestRepository informationRequestRepository;
   private final TrustTransactionRepository trustTransactionRepository;
   private final AcceptanceRequestRepository acceptanceRequestRepository;
+  private final AuditFacetRollup auditFacetRollup;
+  private final AuditEventBatchWriter auditEventBatchWriter;
+  private final AuditWriteBuffer auditWriteBuffer;
 
   public DatabaseAuditService(
       AuditEventRepository auditEventRepository,
@@ -71,7 +80,10 @@ public class DatabaseAuditService implements AuditService {
       ProposalRepository proposalRepository,
       InformationRequestRepository informationRequestRepository,
       TrustTransactionRepository trustTransactionRepository,
-      AcceptanceRequestRepository acceptanceRequestRepository) {
+      AcceptanceRequestRepository acceptanceRequestRepository,
+      AuditFacetRollup auditFacetRollup,
+      AuditEventBatchWriter auditEventBatchWriter,
+      AuditWriteBuffer auditWriteBuffer) {
     this.auditEventRepository = auditEventRepository;
     this.memberRepository = memberRepository;
     this.auditEventTypeRegistry = auditEventTypeRegistry;
@@ -82,6 +94,9 @@ public class DatabaseAuditService implements AuditService {
     this.informationRequestRepository = informationRequestRepository;
     this.trustTransactionRepository = trustTransactionRepository;
     this.acceptanceRequestRepository = acceptanceRequestRepository;
+    this.auditFacetRollup = auditFacetRollup;
+    this.auditEventBatchWriter = auditEventBatchWriter;
+    this.auditWriteBuffer = auditWriteBuffer;
   }
 
   @Override
@@ -89,7 +104,15 @@ public class DatabaseAuditService implements AuditService {
   public void log(AuditEventRecord record) {
     var enrichedRecord = enrichActorName(record);
     var event = new AuditEvent(enrichedRecord);
-    auditEventRepository.save(event);
+    var commitBatch = currentCommitBatch();
+    if (auditWriteBuffer.isEnabled()
+        && auditEventTypeRegistry.durability(record.eventType()) == AuditDurability.BUFFERED) {
+      auditWriteBuffer.submit(event);
+    } else if (commitBatch != null && !commitBatch.flushed) {
+      commitBatch.events.add(event);
+    } else {
+      auditEventRepository.save(event);
+    }
     log.debug(
         "Recorded audit event: type={}, entity={}/{}, actor={}",
         record.eventType(),
@@ -98,6 +121,25 @@ public class DatabaseAuditService implements AuditService {
         record.actorId());
   }
 
+  @Override
+  public void deferUntilCommit() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()
+        && currentCommitBatch() == null) {
+      TransactionSynchronizationManager.registerSynchronization(new CommitBatch());
+    }
+  }
+
+  private CommitBatch currentCommitBatch() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    return TransactionSynchronizationManager.getSynchronizations().stream()
+        .filter(CommitBatch.class::isInstance)
+        .map(CommitBatch.class::cast)
+        .findFirst()
+        .orElse(null);
+  }
+
   /**
    * Ensures the {@code actor_name} key is present in the record's details map. If the caller
    * already set it (e.g. PortalCommentService), the existing value is preserved. Otherwise, the
@@ -492,9 +534,18 @@ public class DatabaseAuditService implements AuditService {
   @Override
   @Transactional(readOnly = true)
   public FacetSnapshot facets(Instant from, Instant to) {
-    var actorRows = auditEventRepository.projectActorFacets(from, to);
-    var eventTypeRows = auditEventRepository.projectEventTypeFacets(from, to);
-    var entityTypeRows = auditEventRepository.projectEntityTypeFacets(from, to);
+    // Whole days up to the rollup watermark are summed from the day-count tables; only the
+    // partial days at either end and the days after the watermark are counted event by event.
+    var w = auditFacetRollup.window(from, to);
+    var actorRows =
+        auditEventRepository.projectActorFacets(
+            w.from(), w.headEnd(), w.dayFrom(), w.dayTo(), w.tailStart(), w.to());
+    var eventTypeRows =
+        auditEventRepository.projectEventTypeFacets(
+            w.from(), w.headEnd(), w.dayFrom(), w.dayTo(), w.tailStart(), w.to());
+    var entityTypeRows =
+        auditEventRepository.projectEntityTypeFacets(
+            w.from(), w.headEnd(), w.dayFrom(), w.dayTo(), w.tailStart(), w.to());
 
     // Actor facets — apply the §12.3.4 fallback chain. The query already LEFT-JOINed members so
     // live members carry an actorName; missing rows come back null and need the "Former member
@@ -577,4 +628,24 @@ public class DatabaseAuditService implements AuditService {
     }
     return out.toString();
   }
+
+  /**
+   * Events logged by a {@link #deferUntilCommit()} transaction, inserted just before commit. Once
+   * flushed, events the transaction still logs (from synchronizations that run after this one) are
+   * saved directly instead of being held for a flush that has already happened.
+   */
+  private final class CommitBatch implements TransactionSynchronization {
+
+    private final List<AuditEvent> events = new ArrayList<>();
+    private boolean flushed;
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      flushed = true;
+      if (!events.isEmpty()) {
+        auditEventBatchWriter.insert(events);
+        events.clear();
+      }
+    }
+  }
 }
@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.automation;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,4 +27,8 @@ public interface ActionExecutionRepository extends JpaRepository<ActionExecution
       nativeQuery = true)
   List<ActionExecution> findDueScheduledForUpdate(
       @Param("status") String status, @Param("before") Instant before);
+
+  /** Earliest {@code scheduledFor} among executions in {@code status}, if any. */
+  @Query("SELECT MIN(a.scheduledFor) FROM ActionExecution a WHERE a.status = :status")
+  Optional<Instant> findEarliestScheduledFor(@Param("status") ActionExecutionStatus status);
 }
@@ -6,6 +6,7 @@ import io.b2mash.b2b.b2bstrawman.automation.config.ActionResult;
 import io.b2mash.b2b.b2bstrawman.automation.config.ActionSuccess;
 import io.b2mash.b2b.b2bstrawman.automation.config.AutomationConfigDeserializer;
 import io.b2mash.b2b.b2bstrawman.automation.executor.ActionExecutor;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import java.time.Duration;
 import java.time.Instant;
@@ -49,12 +50,14 @@ public class AutomationActionExecutor {
   private final AutomationConfigDeserializer configDeserializer;
   private final ActionExecutionRepository actionExecutionRepository;
   private final TransactionTemplate actionTransactionTemplate;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public AutomationActionExecutor(
       List<ActionExecutor> executorList,
       AutomationConfigDeserializer configDeserializer,
       ActionExecutionRepository actionExecutionRepository,
-      PlatformTransactionManager transactionManager) {
+      PlatformTransactionManager transactionManager,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.executors =
         executorList.stream()
             .collect(Collectors.toMap(ActionExecutor::supportedType, Function.identity()));
@@ -63,6 +66,7 @@ public class AutomationActionExecutor {
     this.actionTransactionTemplate = new TransactionTemplate(transactionManager);
     this.actionTransactionTemplate.setPropagationBehavior(
         TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   /**
@@ -217,6 +221,7 @@ public class AutomationActionExecutor {
     actionExecution.storeContext(scheduledData);
 
     actionExecutionRepository.save(actionExecution);
+    pendingWorkRegistry.markDue(AutomationPollDelayedHandler.JOB_TYPE, scheduledFor);
 
     log.info(
         "Scheduled action {} (type {}) for execution at {}",
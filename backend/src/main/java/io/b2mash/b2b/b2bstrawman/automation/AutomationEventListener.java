@@ -1,14 +1,19 @@
 package io.b2mash.b2b.b2bstrawman.automation;
 
+import io.b2mash.b2b.b2bstrawman.automation.AutomationRuleIndex.CompiledRule;
 import io.b2mash.b2b.b2bstrawman.automation.config.ActionFailure;
 import io.b2mash.b2b.b2bstrawman.event.DomainEvent;
 import io.b2mash.b2b.b2bstrawman.notification.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,35 +33,50 @@ import org.springframework.transaction.annotation.Transactional;
  * action hitting an {@code @Transactional} guard with no AI provider configured) can only mark its
  * own transaction rollback-only — never the business transaction that published the event.
  * (OBS-505)
+ *
+ * <p>Rules come from the tenant's cached {@link AutomationRuleIndex}, already compiled, so an event
+ * that matches no rule costs one stamp read. With {@code
+ * kazi.automation.record-unmatched-executions=false}, evaluations whose conditions are not met are
+ * counted in {@code kazi_automation_evaluations_total} instead of being saved as rows.
  */
 @Component
+@EnableConfigurationProperties(AutomationProperties.class)
 public class AutomationEventListener {
 
   private static final Logger log = LoggerFactory.getLogger(AutomationEventListener.class);
 
-  private final AutomationRuleRepository ruleRepository;
+  private final AutomationRuleIndexService ruleIndexService;
   private final AutomationExecutionRepository executionRepository;
   private final AutomationActionRepository actionRepository;
   private final TriggerConfigMatcher triggerConfigMatcher;
   private final ConditionEvaluator conditionEvaluator;
   private final AutomationActionExecutor automationActionExecutor;
   private final NotificationService notificationService;
+  private final AutomationProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  // "<triggerType>:<outcome>" -> counter
+  private final ConcurrentHashMap<String, Counter> evaluationCounters = new ConcurrentHashMap<>();
 
   public AutomationEventListener(
-      AutomationRuleRepository ruleRepository,
+      AutomationRuleIndexService ruleIndexService,
       AutomationExecutionRepository executionRepository,
       AutomationActionRepository actionRepository,
       TriggerConfigMatcher triggerConfigMatcher,
       ConditionEvaluator conditionEvaluator,
       AutomationActionExecutor automationActionExecutor,
-      NotificationService notificationService) {
-    this.ruleRepository = ruleRepository;
+      NotificationService notificationService,
+      AutomationProperties properties,
+      MeterRegistry meterRegistry) {
+    this.ruleIndexService = ruleIndexService;
     this.executionRepository = executionRepository;
     this.actionRepository = actionRepository;
     this.triggerConfigMatcher = triggerConfigMatcher;
     this.conditionEvaluator = conditionEvaluator;
     this.automationActionExecutor = automationActionExecutor;
     this.notificationService = notificationService;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
   }
 
   @EventListener
@@ -92,8 +112,8 @@ public class AutomationEventListener {
       return;
     }
 
-    // Step 3: Query enabled rules for this trigger type
-    var rules = ruleRepository.findByEnabledAndTriggerType(true, triggerType);
+    // Step 3: Look up the compiled enabled rules for this trigger type
+    var rules = ruleIndexService.current().rulesFor(triggerType);
     if (rules.isEmpty()) {
       log.debug("No enabled rules for trigger type {}", triggerType);
       return;
@@ -106,23 +126,24 @@ public class AutomationEventListener {
         event.getClass().getSimpleName());
 
     // Step 4: Evaluate each rule independently
-    for (var rule : rules) {
+    for (var compiled : rules) {
       try {
-        evaluateRule(rule, event);
+        evaluateRule(compiled, event);
       } catch (Exception e) {
         log.error(
             "Failed to evaluate automation rule {} ({}): {}",
-            rule.getId(),
-            rule.getName(),
+            compiled.rule().getId(),
+            compiled.rule().getName(),
             e.getMessage(),
             e);
       }
     }
   }
 
-  private void evaluateRule(AutomationRule rule, DomainEvent event) {
+  private void evaluateRule(CompiledRule compiled, DomainEvent event) {
+    var rule = compiled.rule();
     // Validate trigger config against event data
-    if (!triggerConfigMatcher.matches(rule, event)) {
+    if (!triggerConfigMatcher.matches(compiled.triggerConfig(), event)) {
       log.debug("Trigger config does not match for rule {} ({})", rule.getId(), rule.getName());
       return;
     }
@@ -134,11 +155,16 @@ public class AutomationEventListener {
     // Build context and evaluate conditions
     TriggerType triggerType = rule.getTriggerType();
     Map<String, Map<String, Object>> context = AutomationContext.build(triggerType, event, rule);
-    boolean conditionsMet = conditionEvaluator.evaluate(rule.getConditions(), context);
+    boolean conditionsMet = conditionEvaluator.evaluateCompiled(compiled.conditions(), context);
 
     // Create execution record
     ExecutionStatus status =
         conditionsMet ? ExecutionStatus.TRIGGERED : ExecutionStatus.CONDITIONS_NOT_MET;
+    recordEvaluation(triggerType, status);
+    if (!conditionsMet && !properties.isRecordUnmatchedExecutions()) {
+      log.debug("Conditions not met for rule {} ({})", rule.getId(), rule.getName());
+      return;
+    }
 
     var execution =
         new AutomationExecution(
@@ -235,6 +261,19 @@ public class AutomationEventListener {
     }
   }
 
+  private void recordEvaluation(TriggerType triggerType, ExecutionStatus status) {
+    evaluationCounters
+        .computeIfAbsent(
+            triggerType + ":" + status,
+            key ->
+                Counter.builder("kazi_automation_evaluations_total")
+                    .tag("trigger_type", triggerType.name())
+                    .tag("outcome", status.name())
+                    .description("Automation rule evaluations that reached condition checking")
+                    .register(meterRegistry))
+        .increment();
+  }
+
   private boolean isCycleDetected(DomainEvent event) {
     // Primary check: use the DomainEvent interface method (ADR-146)
     if (event.automationExecutionId() != null) {
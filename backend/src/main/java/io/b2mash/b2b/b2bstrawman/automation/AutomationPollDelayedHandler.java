@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.automation;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import jakarta.annotation.Nullable;
 import java.time.Instant;
 import java.util.Map;
@@ -17,11 +18,15 @@ import tools.jackson.databind.ObjectMapper;
  * a scheduledFor timestamp in the past, validates the parent rule is still enabled, deserializes
  * the stored context, and delegates execution to the action executor.
  *
- * <p>Extracted from {@link AutomationScheduler#pollDelayedActions()}.
+ * <p>Extracted from {@link AutomationScheduler#pollDelayedActions()}. After each run the tenant's
+ * {@link PendingWorkRegistry} row is set to its earliest remaining {@code scheduledFor}, so the
+ * poll only reaches tenants with a delayed action due.
  */
 @Component
 public class AutomationPollDelayedHandler implements JobHandler {
 
+  static final String JOB_TYPE = "automation_poll_delayed";
+
   private static final Logger log = LoggerFactory.getLogger(AutomationPollDelayedHandler.class);
 
   private final ActionExecutionRepository actionExecutionRepository;
@@ -31,6 +36,7 @@ public class AutomationPollDelayedHandler implements JobHandler {
   private final AutomationActionExecutor automationActionExecutor;
   private final TransactionTemplate transactionTemplate;
   private final ObjectMapper objectMapper;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public AutomationPollDelayedHandler(
       ActionExecutionRepository actionExecutionRepository,
@@ -39,7 +45,8 @@ public class AutomationPollDelayedHandler implements JobHandler {
       AutomationActionRepository actionRepository,
       AutomationActionExecutor automationActionExecutor,
       TransactionTemplate transactionTemplate,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.actionExecutionRepository = actionExecutionRepository;
     this.executionRepository = executionRepository;
     this.ruleRepository = ruleRepository;
@@ -47,16 +54,26 @@ public class AutomationPollDelayedHandler implements JobHandler {
     this.automationActionExecutor = automationActionExecutor;
     this.transactionTemplate = transactionTemplate;
     this.objectMapper = objectMapper;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   @Override
   public String jobType() {
-    return "automation_poll_delayed";
+    return JOB_TYPE;
   }
 
   @Override
   public void execute(@Nullable JsonNode payload) {
+    long generation = pendingWorkRegistry.generation(JOB_TYPE);
     int processed = processTenant();
+    transactionTemplate.executeWithoutResult(
+        tx ->
+            pendingWorkRegistry.reschedule(
+                JOB_TYPE,
+                generation,
+                actionExecutionRepository
+                    .findEarliestScheduledFor(ActionExecutionStatus.SCHEDULED)
+                    .orElse(null)));
     if (processed > 0) {
       log.info("AutomationPollDelayedHandler: processed {} delayed actions", processed);
     }
@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.automation;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
 import io.b2mash.b2b.b2bstrawman.project.ProjectStatus;
@@ -10,16 +11,17 @@ import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Job handler for scheduled automation trigger cron pass. Evaluates all enabled SCHEDULED rules for
  * the current tenant, fires those whose next cron fire time has arrived, and updates their
- * lastRunAt.
+ * lastRunAt. Only enqueued for tenants the {@link AutomationScheduleIndexService} reports as due
+ * (plus the hourly reconcile fan-out); every run ends by recomputing the tenant's index row.
  *
  * <p>Extracted from {@link AutomationScheduler#pollScheduledTriggers()}.
  */
@@ -33,6 +35,7 @@ public class AutomationPollTriggersHandler implements JobHandler {
   private final AutomationEventListener automationEventListener;
   private final ConditionEvaluator conditionEvaluator;
   private final ProjectRepository projectRepository;
+  private final AutomationScheduleIndexService scheduleIndexService;
   private final TransactionTemplate transactionTemplate;
 
   public AutomationPollTriggersHandler(
@@ -41,12 +44,14 @@ public class AutomationPollTriggersHandler implements JobHandler {
       AutomationEventListener automationEventListener,
       ConditionEvaluator conditionEvaluator,
       ProjectRepository projectRepository,
+      AutomationScheduleIndexService scheduleIndexService,
       TransactionTemplate transactionTemplate) {
     this.ruleRepository = ruleRepository;
     this.actionRepository = actionRepository;
     this.automationEventListener = automationEventListener;
     this.conditionEvaluator = conditionEvaluator;
     this.projectRepository = projectRepository;
+    this.scheduleIndexService = scheduleIndexService;
     this.transactionTemplate = transactionTemplate;
   }
 
@@ -68,7 +73,7 @@ public class AutomationPollTriggersHandler implements JobHandler {
    * has a single source of truth (OBS-505 — eliminated the duplicate dead path in the scheduler).
    */
   int processScheduledTenant() {
-    record DueRule(AutomationRule rule, Instant now) {}
+    record DueRule(AutomationRule rule, Instant now, boolean projectScoped) {}
     List<DueRule> dueRules;
     {
       var result =
@@ -78,14 +83,14 @@ public class AutomationPollTriggersHandler implements JobHandler {
                 if (rules.isEmpty()) return List.<DueRule>of();
 
                 Instant now = Instant.now();
-                var due = new java.util.ArrayList<DueRule>();
+                var dueNow = new java.util.ArrayList<AutomationRule>();
 
                 for (var rule : rules) {
                   try {
                     if (shouldFire(rule, now)) {
                       rule.setLastRunAt(now);
                       ruleRepository.save(rule);
-                      due.add(new DueRule(rule, now));
+                      dueNow.add(rule);
                     }
                   } catch (Exception e) {
                     log.error(
@@ -96,7 +101,24 @@ public class AutomationPollTriggersHandler implements JobHandler {
                         e);
                   }
                 }
-                return due;
+                if (dueNow.isEmpty()) return List.<DueRule>of();
+
+                // One action lookup for every due rule
+                var actionsByRule =
+                    actionRepository
+                        .findByRuleIdInOrderBySortOrder(
+                            dueNow.stream().map(AutomationRule::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(AutomationAction::getRuleId));
+                return dueNow.stream()
+                    .map(
+                        rule ->
+                            new DueRule(
+                                rule,
+                                now,
+                                requiresProjectContext(
+                                    actionsByRule.getOrDefault(rule.getId(), List.of()))))
+                    .toList();
               });
       dueRules = result != null ? result : List.of();
     }
@@ -104,7 +126,7 @@ public class AutomationPollTriggersHandler implements JobHandler {
     int fired = 0;
     for (var due : dueRules) {
       try {
-        fireScheduledRule(due.rule(), due.now());
+        fireScheduledRule(due.rule(), due.now(), due.projectScoped());
         fired++;
       } catch (Exception e) {
         log.error(
@@ -115,28 +137,25 @@ public class AutomationPollTriggersHandler implements JobHandler {
             e);
       }
     }
+
+    // Write the tenant's exact next fire time over the due-scan lease
+    try {
+      transactionTemplate.executeWithoutResult(
+          tx -> scheduleIndexService.refresh(RequestScopes.requireTenantId()));
+    } catch (Exception e) {
+      log.error("Failed to refresh automation schedule index: {}", e.getMessage(), e);
+    }
     return fired;
   }
 
   private boolean shouldFire(AutomationRule rule, Instant now) {
-    Map<String, Object> triggerConfig = rule.getTriggerConfig();
-    if (triggerConfig == null) return false;
-
-    Object cronObj = triggerConfig.get("cronExpression");
-    if (cronObj == null) return false;
-    String cronExpr = cronObj.toString();
-
     try {
-      var cron = CronExpression.parse(cronExpr);
-      Instant baseTime = rule.getLastRunAt() != null ? rule.getLastRunAt() : rule.getCreatedAt();
-      var next = cron.next(baseTime.atZone(java.time.ZoneOffset.UTC).toLocalDateTime());
-      if (next == null) return false;
-      Instant nextFire = next.toInstant(java.time.ZoneOffset.UTC);
-      return !nextFire.isAfter(now);
+      Instant nextFire = AutomationScheduleIndexService.nextFireAt(rule);
+      return nextFire != null && !nextFire.isAfter(now);
     } catch (IllegalArgumentException e) {
       log.warn(
           "Invalid cron expression '{}' for rule {} ({}): {}",
-          cronExpr,
+          rule.getTriggerConfig().get("cronExpression"),
           rule.getId(),
           rule.getName(),
           e.getMessage());
@@ -144,11 +163,11 @@ public class AutomationPollTriggersHandler implements JobHandler {
     }
   }
 
-  private void fireScheduledRule(AutomationRule rule, Instant now) {
+  private void fireScheduledRule(AutomationRule rule, Instant now, boolean projectScoped) {
     // Project-scoped scheduled rules (e.g. weekly per-matter AI summaries) must fan out: one
     // execution per active project, each with a {{project.*}} context so contextRefs and conditions
     // resolve (OBS-505). Rules with no project-scoped action (e.g. SEND_NOTIFICATION) fire once.
-    if (requiresProjectContext(rule)) {
+    if (projectScoped) {
       fireScheduledRulePerActiveProject(rule, now);
       return;
     }
@@ -230,12 +249,8 @@ public class AutomationPollTriggersHandler implements JobHandler {
    * explicit {@code entityType=="project"} or an {@code entityId} template referencing {@code
    * {{project.}}}. Such rules need per-active-project fan-out; everything else fires once.
    */
-  private boolean requiresProjectContext(AutomationRule rule) {
-    // TODO(OBS-505): minor N+1 — one findByRuleIdOrderBySortOrder per due rule on each 60s tick.
-    // Bounded today since SCHEDULED rules are rare; if SCHEDULED-rule volume grows this could batch
-    // via the existing actionRepository.findByRuleIdInOrderBySortOrder(dueRuleIds). Not worth the
-    // refactor at current scale.
-    return actionRepository.findByRuleIdOrderBySortOrder(rule.getId()).stream()
+  private boolean requiresProjectContext(List<AutomationAction> actions) {
+    return actions.stream()
         .anyMatch(action -> actionTargetsProject(action.getActionConfig()));
   }
 
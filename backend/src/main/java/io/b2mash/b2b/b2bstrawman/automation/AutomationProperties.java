@@ -0,0 +1,27 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the automation engine ({@link AutomationEventListener}). Bound from
+ * {@code kazi.automation} in application YAML.
+ */
+@ConfigurationProperties("kazi.automation")
+public class AutomationProperties {
+
+  /**
+   * Whether an evaluation whose conditions are not met is saved as a {@code CONDITIONS_NOT_MET}
+   * {@link AutomationExecution} row. When false, such evaluations only increment the {@code
+   * kazi_automation_evaluations_total} counter, so events that trigger no automation write nothing
+   * to the tenant schema.
+   */
+  private boolean recordUnmatchedExecutions = true;
+
+  public boolean isRecordUnmatchedExecutions() {
+    return recordUnmatchedExecutions;
+  }
+
+  public void setRecordUnmatchedExecutions(boolean recordUnmatchedExecutions) {
+    this.recordUnmatchedExecutions = recordUnmatchedExecutions;
+  }
+}
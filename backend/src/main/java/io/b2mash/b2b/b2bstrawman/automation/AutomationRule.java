@@ -9,6 +9,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -112,6 +114,30 @@ public class AutomationRule {
     this.updatedAt = Instant.now();
   }
 
+  /**
+   * A copy of this rule that no persistence context manages, for {@link AutomationRuleIndex},
+   * which outlives the session the rule was loaded in. The copy is never saved.
+   */
+  AutomationRule snapshot() {
+    var copy = new AutomationRule();
+    copy.id = id;
+    copy.name = name;
+    copy.description = description;
+    copy.enabled = enabled;
+    copy.triggerType = triggerType;
+    copy.triggerConfig = triggerConfig != null ? new LinkedHashMap<>(triggerConfig) : null;
+    copy.conditions = conditions != null ? new ArrayList<>(conditions) : null;
+    copy.source = source;
+    copy.templateSlug = templateSlug;
+    copy.createdBy = createdBy;
+    copy.createdAt = createdAt;
+    copy.updatedAt = updatedAt;
+    copy.sourcePackInstallId = sourcePackInstallId;
+    copy.contentHash = contentHash;
+    copy.lastRunAt = lastRunAt;
+    return copy;
+  }
+
   public UUID getId() {
     return id;
   }
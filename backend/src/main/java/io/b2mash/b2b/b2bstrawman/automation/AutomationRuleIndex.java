@@ -0,0 +1,84 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import io.b2mash.b2b.b2bstrawman.automation.ConditionEvaluator.CompiledCondition;
+import io.b2mash.b2b.b2bstrawman.automation.config.TriggerConfig;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable snapshot of a tenant's enabled automation rules, pre-compiled for event dispatch and
+ * keyed by trigger type. Trigger configs are deserialized and conditions parsed once when the
+ * index is built, so evaluating a rule against an event does no parsing at all.
+ *
+ * <p>The {@link AutomationRule} held by each entry is a {@linkplain AutomationRule#snapshot()
+ * copy} taken when the index is built, not the entity loaded in the building session, so the index
+ * can be shared across sessions and threads. Callers read it but never modify or save it.
+ */
+public final class AutomationRuleIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(AutomationRuleIndex.class);
+
+  /** An enabled rule with its trigger config and conditions already compiled. */
+  public record CompiledRule(
+      AutomationRule rule, TriggerConfig triggerConfig, List<CompiledCondition> conditions) {}
+
+  private final UUID version;
+  private final Map<TriggerType, List<CompiledRule>> rulesByTrigger;
+
+  private AutomationRuleIndex(UUID version, Map<TriggerType, List<CompiledRule>> rulesByTrigger) {
+    this.version = version;
+    this.rulesByTrigger = rulesByTrigger;
+  }
+
+  /**
+   * Compiles the given enabled rules. A rule whose trigger config cannot be deserialized is left
+   * out and logged — it could never match an event.
+   */
+  static AutomationRuleIndex build(
+      UUID version,
+      List<AutomationRule> enabledRules,
+      TriggerConfigMatcher triggerConfigMatcher,
+      ConditionEvaluator conditionEvaluator) {
+    var grouped = new EnumMap<TriggerType, List<CompiledRule>>(TriggerType.class);
+    for (var loaded : enabledRules) {
+      var rule = loaded.snapshot();
+      TriggerConfig triggerConfig;
+      try {
+        triggerConfig = triggerConfigMatcher.compile(rule);
+      } catch (RuntimeException e) {
+        log.error(
+            "Skipping automation rule {} ({}): invalid trigger config: {}",
+            rule.getId(),
+            rule.getName(),
+            e.getMessage());
+        continue;
+      }
+      grouped
+          .computeIfAbsent(rule.getTriggerType(), type -> new ArrayList<>())
+          .add(
+              new CompiledRule(
+                  rule, triggerConfig, conditionEvaluator.compile(rule.getConditions())));
+    }
+    var frozen = new EnumMap<TriggerType, List<CompiledRule>>(TriggerType.class);
+    grouped.forEach((type, rules) -> frozen.put(type, List.copyOf(rules)));
+    return new AutomationRuleIndex(version, frozen);
+  }
+
+  UUID version() {
+    return version;
+  }
+
+  /** Enabled rules for the trigger type, in load order; empty if there are none. */
+  public List<CompiledRule> rulesFor(TriggerType triggerType) {
+    return rulesByTrigger.getOrDefault(triggerType, List.of());
+  }
+
+  int size() {
+    return rulesByTrigger.values().stream().mapToInt(List::size).sum();
+  }
+}
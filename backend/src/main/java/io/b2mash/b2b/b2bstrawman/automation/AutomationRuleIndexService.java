@@ -0,0 +1,65 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-tenant cache of {@link AutomationRuleIndex}. Each {@link #current()} call costs one
+ * single-row read of {@code automation_rule_versions}; the index is only recompiled when that
+ * stamp has moved. The stamp is replaced by a database trigger on every change to {@code
+ * automation_rules}, so rule CRUD on any pod — or a template pack install, or plain SQL —
+ * invalidates every pod's copy on its next lookup.
+ */
+@Service
+public class AutomationRuleIndexService {
+
+  private static final Logger log = LoggerFactory.getLogger(AutomationRuleIndexService.class);
+
+  // tenantSchema -> index of the last version seen on this pod
+  private final Cache<String, AutomationRuleIndex> indexes =
+      Caffeine.newBuilder().maximumSize(1_000).expireAfterAccess(Duration.ofMinutes(30)).build();
+
+  private final AutomationRuleVersionRepository versionRepository;
+  private final AutomationRuleRepository ruleRepository;
+  private final TriggerConfigMatcher triggerConfigMatcher;
+  private final ConditionEvaluator conditionEvaluator;
+
+  public AutomationRuleIndexService(
+      AutomationRuleVersionRepository versionRepository,
+      AutomationRuleRepository ruleRepository,
+      TriggerConfigMatcher triggerConfigMatcher,
+      ConditionEvaluator conditionEvaluator) {
+    this.versionRepository = versionRepository;
+    this.ruleRepository = ruleRepository;
+    this.triggerConfigMatcher = triggerConfigMatcher;
+    this.conditionEvaluator = conditionEvaluator;
+  }
+
+  /**
+   * Returns the current tenant's compiled rule index, recompiling it if the stored stamp has
+   * changed. Joins the caller's transaction, so rule changes the caller has already made are
+   * visible.
+   */
+  @Transactional(readOnly = true)
+  public AutomationRuleIndex current() {
+    String tenantId = RequestScopes.requireTenantId();
+    var version = versionRepository.currentVersion();
+    var cached = indexes.getIfPresent(tenantId);
+    if (cached != null && cached.version().equals(version)) {
+      return cached;
+    }
+
+    var index =
+        AutomationRuleIndex.build(
+            version, ruleRepository.findByEnabled(true), triggerConfigMatcher, conditionEvaluator);
+    indexes.put(tenantId, index);
+    log.debug("Compiled automation rule index for tenant {}: {} rules", tenantId, index.size());
+    return index;
+  }
+}
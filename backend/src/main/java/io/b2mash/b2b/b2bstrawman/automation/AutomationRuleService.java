@@ -42,6 +42,7 @@ public class AutomationRuleService {
   private final AuditService auditService;
   private final EntityManager entityManager;
   private final VerticalModuleGuard moduleGuard;
+  private final AutomationScheduleIndexService scheduleIndexService;
 
   public AutomationRuleService(
       AutomationRuleRepository ruleRepository,
@@ -51,7 +52,8 @@ public class AutomationRuleService {
       ConditionEvaluator conditionEvaluator,
       AuditService auditService,
       EntityManager entityManager,
-      VerticalModuleGuard moduleGuard) {
+      VerticalModuleGuard moduleGuard,
+      AutomationScheduleIndexService scheduleIndexService) {
     this.ruleRepository = ruleRepository;
     this.actionRepository = actionRepository;
     this.executionRepository = executionRepository;
@@ -60,6 +62,7 @@ public class AutomationRuleService {
     this.auditService = auditService;
     this.entityManager = entityManager;
     this.moduleGuard = moduleGuard;
+    this.scheduleIndexService = scheduleIndexService;
   }
 
   public AutomationRuleResponse createRule(CreateRuleRequest request) {
@@ -77,6 +80,7 @@ public class AutomationRuleService {
             null,
             memberId);
     rule = ruleRepository.save(rule);
+    refreshScheduleIndex(rule);
 
     var details = new HashMap<String, Object>();
     details.put("rule_name", rule.getName());
@@ -145,6 +149,7 @@ public class AutomationRuleService {
 
     var rule =
         ruleRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Rule", id));
+    boolean wasScheduled = rule.getTriggerType() == TriggerType.SCHEDULED;
     rule.update(
         request.name(),
         request.description(),
@@ -152,6 +157,11 @@ public class AutomationRuleService {
         request.triggerConfig(),
         request.conditions());
     rule = ruleRepository.save(rule);
+    if (wasScheduled) {
+      scheduleIndexService.refresh();
+    } else {
+      refreshScheduleIndex(rule);
+    }
 
     var details = new HashMap<String, Object>();
     details.put("rule_name", rule.getName());
@@ -219,6 +229,7 @@ public class AutomationRuleService {
     entityManager.flush();
     actionRepository.deleteByRuleId(id);
     ruleRepository.deleteById(id);
+    refreshScheduleIndex(rule);
   }
 
   public AutomationRuleResponse toggleRule(UUID id) {
@@ -228,6 +239,7 @@ public class AutomationRuleService {
         ruleRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Rule", id));
     rule.toggle();
     rule = ruleRepository.save(rule);
+    refreshScheduleIndex(rule);
 
     String eventType = rule.isEnabled() ? "automation_rule.enabled" : "automation_rule.disabled";
     var details = new HashMap<String, Object>();
@@ -263,6 +275,7 @@ public class AutomationRuleService {
             null,
             memberId);
     copy = ruleRepository.save(copy);
+    refreshScheduleIndex(copy);
 
     List<AutomationAction> copiedActions = new ArrayList<>();
     for (var action : originalActions) {
@@ -479,6 +492,13 @@ public class AutomationRuleService {
     return toExecutionResponsePage(executions);
   }
 
+  /** Only SCHEDULED rules affect the tenant's next fire time. */
+  private void refreshScheduleIndex(AutomationRule rule) {
+    if (rule.getTriggerType() == TriggerType.SCHEDULED) {
+      scheduleIndexService.refresh();
+    }
+  }
+
   // --- Response mapping ---
 
   private AutomationRuleResponse toRuleResponse(
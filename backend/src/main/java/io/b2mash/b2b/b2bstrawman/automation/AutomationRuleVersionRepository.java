@@ -0,0 +1,29 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import jakarta.persistence.EntityManager;
+import java.util.UUID;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the tenant's {@code automation_rule_versions} stamp for {@link AutomationRuleIndexService}.
+ * Uses EntityManager directly because the stamp does not map to an entity. Tenant isolation is
+ * provided by the dedicated schema (search_path set on connection checkout).
+ */
+@Repository
+public class AutomationRuleVersionRepository {
+
+  private final EntityManager entityManager;
+
+  public AutomationRuleVersionRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /** The current rule stamp; replaced by trigger whenever {@code automation_rules} changes. */
+  public UUID currentVersion() {
+    return (UUID)
+        entityManager
+            .createNativeQuery(
+                "SELECT version FROM automation_rule_versions WHERE id = 1", UUID.class)
+            .getSingleResult();
+  }
+}
@@ -0,0 +1,79 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Native access to {@code public.automation_schedule_index}, the global next-fire-time index for
+ * SCHEDULED automation rules. Uses EntityManager directly because the index has no entity. The
+ * table lives on the primary shard only, so callers run these statements in a primary-shard
+ * transaction: the public-schema scheduler does by default, and tenant-side refreshes go through
+ * {@link io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes#callOnPrimary}.
+ */
+@Repository
+public class AutomationScheduleIndexRepository {
+
+  private final EntityManager entityManager;
+
+  public AutomationScheduleIndexRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /** Inserts or replaces the tenant's earliest next fire time. */
+  public void upsert(String tenantSchema, Instant nextFireAt) {
+    entityManager
+        .createNativeQuery(
+            """
+            INSERT INTO public.automation_schedule_index (tenant_schema, next_fire_at, updated_at)
+            VALUES (:tenantSchema, :nextFireAt, NOW())
+            ON CONFLICT (tenant_schema)
+            DO UPDATE SET next_fire_at = EXCLUDED.next_fire_at, updated_at = NOW()
+            """)
+        .setParameter("tenantSchema", tenantSchema)
+        .setParameter("nextFireAt", nextFireAt)
+        .executeUpdate();
+  }
+
+  /** Removes the tenant from the index — it has no enabled SCHEDULED rule left. */
+  public void delete(String tenantSchema) {
+    entityManager
+        .createNativeQuery(
+            "DELETE FROM public.automation_schedule_index WHERE tenant_schema = :tenantSchema")
+        .setParameter("tenantSchema", tenantSchema)
+        .executeUpdate();
+  }
+
+  /**
+   * Claims every due tenant: pushes its {@code next_fire_at} out by {@code leaseSeconds} and
+   * returns its schema. The tenant poll then overwrites the lease with the exact next fire time;
+   * if that poll never runs, the tenant comes due again once the lease expires.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> claimDue(long leaseSeconds) {
+    return entityManager
+        .createNativeQuery(
+            """
+            UPDATE public.automation_schedule_index
+            SET next_fire_at = NOW() + make_interval(secs => :leaseSeconds), updated_at = NOW()
+            WHERE next_fire_at <= NOW()
+            RETURNING tenant_schema
+            """,
+            String.class)
+        .setParameter("leaseSeconds", leaseSeconds)
+        .getResultList();
+  }
+
+  /** Drops rows of tenants that no longer have a schema mapping. */
+  public int deleteOrphans() {
+    return entityManager
+        .createNativeQuery(
+            """
+            DELETE FROM public.automation_schedule_index s
+            WHERE NOT EXISTS (
+                SELECT 1 FROM public.org_schema_mapping m WHERE m.schema_name = s.tenant_schema)
+            """)
+        .executeUpdate();
+  }
+}
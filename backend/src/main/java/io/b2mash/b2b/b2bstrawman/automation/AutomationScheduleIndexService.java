@@ -0,0 +1,196 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import jakarta.annotation.Nullable;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains {@code public.automation_schedule_index}, the per-tenant earliest next fire time of
+ * enabled SCHEDULED rules, and turns it into work: {@link #enqueueDueTenants()} enqueues {@code
+ * automation_poll_triggers} only for tenants with a rule due now.
+ *
+ * <p>{@link #refresh()} recomputes the current tenant's row from its rules and is called in the
+ * same transaction as every rule change (create, update, toggle, duplicate, delete, template
+ * activation, pack seeding and uninstall) and after every tenant poll. Writes that bypass these
+ * paths are picked up by the hourly reconcile fan-out in {@link AutomationScheduler}, whose poll
+ * refreshes the row like any other.
+ */
+@Service
+public class AutomationScheduleIndexService {
+
+  private static final Logger log = LoggerFactory.getLogger(AutomationScheduleIndexService.class);
+
+  /**
+   * How far a claimed tenant's next fire time is pushed out until its poll writes the exact value.
+   * Bounds the delay before a tenant whose poll job failed is retried.
+   */
+  static final long DUE_LEASE_SECONDS = 300;
+
+  static final String POLL_JOB_TYPE = "automation_poll_triggers";
+
+  private final AutomationRuleRepository ruleRepository;
+  private final AutomationScheduleIndexRepository indexRepository;
+  private final JobEnqueuer jobEnqueuer;
+  private final TransactionTemplate requiresNewTransactionTemplate;
+
+  public AutomationScheduleIndexService(
+      AutomationRuleRepository ruleRepository,
+      AutomationScheduleIndexRepository indexRepository,
+      JobEnqueuer jobEnqueuer,
+      PlatformTransactionManager transactionManager) {
+    this.ruleRepository = ruleRepository;
+    this.indexRepository = indexRepository;
+    this.jobEnqueuer = jobEnqueuer;
+    // Index writes also run from afterCommit, where a plain (REQUIRED) transaction would join the
+    // already-committed one and never commit on its own.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /** Recomputes the current tenant's index row; see {@link #refresh(String)}. */
+  public void refresh() {
+    refresh(RequestScopes.requireTenantId());
+  }
+
+  /**
+   * Recomputes {@code tenantSchema}'s index row from its enabled SCHEDULED rules. Must run with
+   * that tenant's search_path. Rules with a missing or invalid cron expression never fire and are
+   * left out.
+   *
+   * <p>The rules are read in the caller's transaction, so the value includes its uncommitted rule
+   * changes. The row itself is written on the primary shard, where the index lives, in a separate
+   * transaction once the caller's commits (the last refresh of a transaction wins), or right away
+   * when there is no transaction. A rolled-back rule change therefore never reaches the index.
+   */
+  public void refresh(String tenantSchema) {
+    Instant earliest = earliestNextFireAt();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      writeIndexRow(tenantSchema, earliest);
+      return;
+    }
+    for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof WriteAfterCommit pending
+          && pending.tenantSchema.equals(tenantSchema)) {
+        pending.nextFireAt = earliest;
+        return;
+      }
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new WriteAfterCommit(tenantSchema, earliest));
+  }
+
+  @Nullable
+  private Instant earliestNextFireAt() {
+    Instant earliest = null;
+    for (var rule : ruleRepository.findByEnabledAndTriggerType(true, TriggerType.SCHEDULED)) {
+      Instant next;
+      try {
+        next = nextFireAt(rule);
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      if (next != null && (earliest == null || next.isBefore(earliest))) {
+        earliest = next;
+      }
+    }
+    return earliest;
+  }
+
+  /** Upserts (or, with no fire time, deletes) the tenant's row in its own primary-shard tx. */
+  private void writeIndexRow(String tenantSchema, @Nullable Instant nextFireAt) {
+    RequestScopes.callOnPrimary(
+        () ->
+            requiresNewTransactionTemplate.execute(
+                tx -> {
+                  if (nextFireAt != null) {
+                    indexRepository.upsert(tenantSchema, nextFireAt);
+                  } else {
+                    indexRepository.delete(tenantSchema);
+                  }
+                  return null;
+                }));
+  }
+
+  /**
+   * Claims every tenant with a due rule and enqueues its poll job, in one transaction — a claimed
+   * tenant always gets its job. Runs from the scheduler, outside any tenant scope.
+   *
+   * @return the number of jobs enqueued
+   */
+  @Transactional
+  public int enqueueDueTenants() {
+    var due = indexRepository.claimDue(DUE_LEASE_SECONDS);
+    if (due.isEmpty()) {
+      return 0;
+    }
+    int enqueued = jobEnqueuer.enqueueForTenants(POLL_JOB_TYPE, due, null);
+    log.debug(
+        "Scheduled trigger due-scan: {} tenant(s) due, {} job(s) enqueued", due.size(), enqueued);
+    return enqueued;
+  }
+
+  /** Drops index rows of deprovisioned tenants. */
+  @Transactional
+  public int deleteOrphans() {
+    return indexRepository.deleteOrphans();
+  }
+
+  /**
+   * The rule's next cron fire time after its last run (or its creation, if it has never run),
+   * evaluated in UTC. {@code null} if the rule has no cron expression or the expression never
+   * fires again.
+   *
+   * @throws IllegalArgumentException if the cron expression is invalid
+   */
+  @Nullable
+  static Instant nextFireAt(AutomationRule rule) {
+    Map<String, Object> triggerConfig = rule.getTriggerConfig();
+    if (triggerConfig == null) return null;
+
+    Object cronObj = triggerConfig.get("cronExpression");
+    if (cronObj == null) return null;
+
+    var cron = CronExpression.parse(cronObj.toString());
+    Instant baseTime = rule.getLastRunAt() != null ? rule.getLastRunAt() : rule.getCreatedAt();
+    var next = cron.next(baseTime.atZone(ZoneOffset.UTC).toLocalDateTime());
+    return next != null ? next.toInstant(ZoneOffset.UTC) : null;
+  }
+
+  /**
+   * Registered by the first {@link #refresh} of a transaction for a tenant. A failed write is only
+   * logged: the tenant's next poll, or the hourly reconcile fan-out, rewrites the row.
+   */
+  private final class WriteAfterCommit implements TransactionSynchronization {
+
+    private final String tenantSchema;
+    private @Nullable Instant nextFireAt;
+
+    private WriteAfterCommit(String tenantSchema, @Nullable Instant nextFireAt) {
+      this.tenantSchema = tenantSchema;
+      this.nextFireAt = nextFireAt;
+    }
+
+    @Override
+    public void afterCommit() {
+      try {
+        writeIndexRow(tenantSchema, nextFireAt);
+      } catch (RuntimeException e) {
+        log.warn("Failed to update automation schedule index for tenant={}", tenantSchema, e);
+      }
+    }
+  }
+}
@@ -23,7 +23,9 @@ public class AutomationScheduler {
 
   private static final Logger log = LoggerFactory.getLogger(AutomationScheduler.class);
   private static final long POLL_INTERVAL_MS = 900_000; // 15 minutes
+  private static final long DELAYED_RECONCILE_INTERVAL_MS = 21_600_000; // 6 hours
   private static final long CRON_POLL_INTERVAL_MS = 60_000; // 60 seconds
+  private static final long CRON_RECONCILE_INTERVAL_MS = 3_600_000; // 1 hour
 
   private final ActionExecutionRepository actionExecutionRepository;
   private final AutomationExecutionRepository executionRepository;
@@ -31,6 +33,7 @@ public class AutomationScheduler {
   private final AutomationActionRepository actionRepository;
   private final AutomationActionExecutor automationActionExecutor;
   private final AutomationPollTriggersHandler pollTriggersHandler;
+  private final AutomationScheduleIndexService scheduleIndexService;
   private final TransactionTemplate transactionTemplate;
   private final ObjectMapper objectMapper;
   private final JobEnqueuer jobEnqueuer;
@@ -42,6 +45,7 @@ public class AutomationScheduler {
       AutomationActionRepository actionRepository,
       AutomationActionExecutor automationActionExecutor,
       AutomationPollTriggersHandler pollTriggersHandler,
+      AutomationScheduleIndexService scheduleIndexService,
       TransactionTemplate transactionTemplate,
       ObjectMapper objectMapper,
       JobEnqueuer jobEnqueuer) {
@@ -51,27 +55,60 @@ public class AutomationScheduler {
     this.actionRepository = actionRepository;
     this.automationActionExecutor = automationActionExecutor;
     this.pollTriggersHandler = pollTriggersHandler;
+    this.scheduleIndexService = scheduleIndexService;
     this.transactionTemplate = transactionTemplate;
     this.objectMapper = objectMapper;
     this.jobEnqueuer = jobEnqueuer;
   }
 
+  /**
+   * Delayed-action pass: enqueues the per-tenant poll only for tenants whose earliest SCHEDULED
+   * action is due, as recorded in {@code PendingWorkRegistry} by {@link AutomationActionExecutor}
+   * and rewritten by {@link AutomationPollDelayedHandler} after each run.
+   */
   @SchedulerLock(name = "automation_poll_delayed_actions", lockAtLeastFor = "7m")
   @Scheduled(fixedDelay = POLL_INTERVAL_MS)
   public void pollDelayedActions() {
     log.debug("Automation scheduler started");
-    jobEnqueuer.fanOutToAllTenants("automation_poll_delayed", null);
+    jobEnqueuer.fanOutToTenantsWithDueWork(AutomationPollDelayedHandler.JOB_TYPE, null);
+  }
+
+  /**
+   * Safety net for the delayed-action registry: polls every tenant every 6 hours (and at startup),
+   * so actions scheduled before the registry existed, or past it, still run and get registered.
+   */
+  @SchedulerLock(name = "automation_reconcile_delayed_actions", lockAtLeastFor = "5m")
+  @Scheduled(fixedDelay = DELAYED_RECONCILE_INTERVAL_MS, initialDelay = 0)
+  public void reconcileDelayedActions() {
+    log.debug("Delayed action reconcile pass started");
+    jobEnqueuer.fanOutToAllTenants(AutomationPollDelayedHandler.JOB_TYPE, null);
   }
 
   /**
-   * Cron pass: fires SCHEDULED trigger rules whose next fire time has arrived. Runs every 60s,
-   * per-tenant. Missed-run policy: fire-once-on-resume, no flood-backfill (ADR-271).
+   * Cron pass: fires SCHEDULED trigger rules whose next fire time has arrived. Runs every 60s as
+   * one due-scan of {@code public.automation_schedule_index}, enqueuing the per-tenant poll only
+   * for tenants with a rule due now. Missed-run policy: fire-once-on-resume, no flood-backfill
+   * (ADR-271).
    */
   @SchedulerLock(name = "automation_poll_scheduled_triggers", lockAtLeastFor = "30s")
   @Scheduled(fixedDelay = CRON_POLL_INTERVAL_MS)
   public void pollScheduledTriggers() {
     log.debug("Scheduled trigger cron pass started");
-    jobEnqueuer.fanOutToAllTenants("automation_poll_triggers", null);
+    scheduleIndexService.enqueueDueTenants();
+  }
+
+  /**
+   * Safety net for the schedule index: polls every tenant once an hour, so a SCHEDULED rule written
+   * by a path that does not refresh the index still fires (at most an hour late) and gets indexed
+   * by that poll. Also seeds the index for tenants that predate it, and drops rows of deprovisioned
+   * tenants.
+   */
+  @SchedulerLock(name = "automation_reconcile_scheduled_triggers", lockAtLeastFor = "5m")
+  @Scheduled(fixedDelay = CRON_RECONCILE_INTERVAL_MS)
+  public void reconcileScheduledTriggers() {
+    log.debug("Scheduled trigger reconcile pass started");
+    scheduleIndexService.deleteOrphans();
+    jobEnqueuer.fanOutToAllTenants(AutomationScheduleIndexService.POLL_JOB_TYPE, null);
   }
 
   /**
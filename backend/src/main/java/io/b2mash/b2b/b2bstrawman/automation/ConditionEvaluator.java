@@ -24,6 +24,14 @@ public class ConditionEvaluator {
 
   private static final Logger log = LoggerFactory.getLogger(ConditionEvaluator.class);
 
+  /**
+   * A condition parsed once: operator resolved to the enum and field path split into its entity
+   * and field keys. {@code operator} is {@code null} when the raw condition was invalid, in which
+   * case it always evaluates as false.
+   */
+  public record CompiledCondition(
+      String field, String entityKey, String fieldKey, ConditionOperator operator, Object value) {}
+
   /**
    * Evaluates all conditions against the provided context using AND logic.
    *
@@ -33,44 +41,76 @@ public class ConditionEvaluator {
    */
   public boolean evaluate(
       List<Map<String, Object>> conditions, Map<String, Map<String, Object>> context) {
+    return evaluateCompiled(compile(conditions), context);
+  }
+
+  /**
+   * Parses raw condition maps into {@link CompiledCondition}s so repeated evaluation skips the map
+   * lookups, casts and {@code ConditionOperator.valueOf}. A null list compiles to an empty one.
+   */
+  public List<CompiledCondition> compile(List<Map<String, Object>> conditions) {
     if (conditions == null || conditions.isEmpty()) {
-      return true;
+      return List.of();
     }
-    return conditions.stream().allMatch(condition -> evaluateCondition(condition, context));
+    return conditions.stream().map(this::compileCondition).toList();
   }
 
-  private boolean evaluateCondition(
-      Map<String, Object> condition, Map<String, Map<String, Object>> context) {
+  /** Evaluates pre-compiled conditions with the same AND semantics as {@link #evaluate}. */
+  public boolean evaluateCompiled(
+      List<CompiledCondition> conditions, Map<String, Map<String, Object>> context) {
+    for (var condition : conditions) {
+      if (!evaluateCondition(condition, context)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private CompiledCondition compileCondition(Map<String, Object> condition) {
     String field = (String) condition.get("field");
     String operatorStr = (String) condition.get("operator");
     Object value = condition.get("value");
 
+    ConditionOperator operator = null;
     if (operatorStr == null) {
       log.warn("Missing 'operator' key in condition {}, evaluating as false", condition);
-      return false;
+    } else {
+      try {
+        operator = ConditionOperator.valueOf(operatorStr);
+      } catch (IllegalArgumentException e) {
+        log.warn("Unknown condition operator '{}', evaluating as false", operatorStr);
+      }
     }
 
-    ConditionOperator operator;
-    try {
-      operator = ConditionOperator.valueOf(operatorStr);
-    } catch (IllegalArgumentException e) {
-      log.warn("Unknown condition operator '{}', evaluating as false", operatorStr);
-      return false;
+    String entityKey = null;
+    String fieldKey = null;
+    if (field != null && field.contains(".")) {
+      String[] parts = field.split("\\.", 2);
+      entityKey = parts[0];
+      fieldKey = parts[1];
     }
+    return new CompiledCondition(field, entityKey, fieldKey, operator, value);
+  }
 
-    Object resolved = resolveField(field, context);
-    return applyOperator(operator, resolved, value);
+  private boolean evaluateCondition(
+      CompiledCondition condition, Map<String, Map<String, Object>> context) {
+    if (condition.operator() == null) {
+      return false;
+    }
+    Object resolved = resolveField(condition, context);
+    return applyOperator(condition.operator(), resolved, condition.value());
   }
 
-  private Object resolveField(String fieldPath, Map<String, Map<String, Object>> context) {
-    if (fieldPath == null || !fieldPath.contains(".")) {
+  private Object resolveField(
+      CompiledCondition condition, Map<String, Map<String, Object>> context) {
+    String fieldPath = condition.field();
+    if (condition.entityKey() == null) {
       log.warn("Invalid field path '{}' — expected dot-notation (e.g., 'entity.field')", fieldPath);
       return null;
     }
 
-    String[] parts = fieldPath.split("\\.", 2);
-    String entityKey = parts[0];
-    String fieldKey = parts[1];
+    String entityKey = condition.entityKey();
+    String fieldKey = condition.fieldKey();
 
     Map<String, Object> entityMap = context.get(entityKey);
     if (entityMap == null) {
@@ -40,9 +40,17 @@ public class TriggerConfigMatcher {
    * @return true if the trigger config matches, false otherwise
    */
   public boolean matches(AutomationRule rule, DomainEvent event) {
-    TriggerConfig config =
-        configDeserializer.deserializeTriggerConfig(rule.getTriggerType(), rule.getTriggerConfig());
+    return matches(compile(rule), event);
+  }
+
+  /** Deserializes the rule's raw trigger config, for callers that match it many times. */
+  public TriggerConfig compile(AutomationRule rule) {
+    return configDeserializer.deserializeTriggerConfig(
+        rule.getTriggerType(), rule.getTriggerConfig());
+  }
 
+  /** Returns {@code true} if an already-deserialized trigger config matches the given event. */
+  public boolean matches(TriggerConfig config, DomainEvent event) {
     return switch (config) {
       case StatusChangeTriggerConfig sc -> matchesStatusChange(sc, event);
       case BudgetThresholdTriggerConfig bt -> matchesBudgetThreshold(bt, event);
@@ -52,11 +52,12 @@ public final class TriggerTypeMapping {
    * mapped to any trigger.
    *
    * <p>For {@link TimeEntryChangedEvent}, only the {@code CREATED} action maps to {@link
-   * TriggerType#TIME_ENTRY_CREATED}. Updates and deletes return {@code null}, keeping the door open
-   * for future trigger types (e.g. TIME_ENTRY_UPDATED) without modifying the enum.
+   * TriggerType#TIME_ENTRY_CREATED}. Updates, deletes and bulk imports (one event per project, no
+   * single entry) return {@code null}, keeping the door open for future trigger types (e.g.
+   * TIME_ENTRY_UPDATED) without modifying the enum.
    */
   public static TriggerType getTriggerType(DomainEvent event) {
-    // TimeEntryChangedEvent carries an action field (CREATED/UPDATED/DELETED);
+    // TimeEntryChangedEvent carries an action field (CREATED/UPDATED/DELETED/IMPORTED);
     // only CREATED maps to TIME_ENTRY_CREATED — other actions are not yet wired.
     if (event instanceof TimeEntryChangedEvent te && !"CREATED".equals(te.action())) {
       return null;
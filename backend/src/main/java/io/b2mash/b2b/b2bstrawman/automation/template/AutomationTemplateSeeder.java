@@ -4,7 +4,9 @@ import io.b2mash.b2b.b2bstrawman.automation.AutomationAction;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationActionRepository;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRule;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRuleRepository;
+import io.b2mash.b2b.b2bstrawman.automation.AutomationScheduleIndexService;
 import io.b2mash.b2b.b2bstrawman.automation.RuleSource;
+import io.b2mash.b2b.b2bstrawman.automation.TriggerType;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateDefinition.AutomationTemplatePack;
 import io.b2mash.b2b.b2bstrawman.multitenancy.TenantTransactionHelper;
 import io.b2mash.b2b.b2bstrawman.seeder.AbstractPackSeeder;
@@ -26,17 +28,20 @@ public class AutomationTemplateSeeder extends AbstractPackSeeder<AutomationTempl
 
   private final AutomationRuleRepository ruleRepository;
   private final AutomationActionRepository actionRepository;
+  private final AutomationScheduleIndexService scheduleIndexService;
 
   public AutomationTemplateSeeder(
       ResourcePatternResolver resourceResolver,
       ObjectMapper objectMapper,
       AutomationRuleRepository ruleRepository,
       AutomationActionRepository actionRepository,
+      AutomationScheduleIndexService scheduleIndexService,
       OrgSettingsRepository orgSettingsRepository,
       TenantTransactionHelper tenantTransactionHelper) {
     super(resourceResolver, objectMapper, orgSettingsRepository, tenantTransactionHelper);
     this.ruleRepository = ruleRepository;
     this.actionRepository = actionRepository;
+    this.scheduleIndexService = scheduleIndexService;
   }
 
   @Override
@@ -111,6 +116,9 @@ public class AutomationTemplateSeeder extends AbstractPackSeeder<AutomationTempl
         actionRepository.save(action);
       }
     }
+    if (pack.templates().stream().anyMatch(t -> t.triggerType() == TriggerType.SCHEDULED)) {
+      scheduleIndexService.refresh(tenantId);
+    }
   }
 
   /**
@@ -4,7 +4,9 @@ import io.b2mash.b2b.b2bstrawman.automation.AutomationAction;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationActionRepository;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRule;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRuleRepository;
+import io.b2mash.b2b.b2bstrawman.automation.AutomationScheduleIndexService;
 import io.b2mash.b2b.b2bstrawman.automation.RuleSource;
+import io.b2mash.b2b.b2bstrawman.automation.TriggerType;
 import io.b2mash.b2b.b2bstrawman.automation.dto.AutomationDtos.AutomationActionResponse;
 import io.b2mash.b2b.b2bstrawman.automation.dto.AutomationDtos.AutomationRuleResponse;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateDefinition.AutomationTemplatePack;
@@ -38,18 +40,21 @@ public class AutomationTemplateService {
   private final AutomationRuleRepository ruleRepository;
   private final AutomationActionRepository actionRepository;
   private final VerticalModuleGuard moduleGuard;
+  private final AutomationScheduleIndexService scheduleIndexService;
 
   public AutomationTemplateService(
       ResourcePatternResolver resourceResolver,
       ObjectMapper objectMapper,
       AutomationRuleRepository ruleRepository,
       AutomationActionRepository actionRepository,
-      VerticalModuleGuard moduleGuard) {
+      VerticalModuleGuard moduleGuard,
+      AutomationScheduleIndexService scheduleIndexService) {
     this.resourceResolver = resourceResolver;
     this.objectMapper = objectMapper;
     this.ruleRepository = ruleRepository;
     this.actionRepository = actionRepository;
     this.moduleGuard = moduleGuard;
+    this.scheduleIndexService = scheduleIndexService;
   }
 
   @Transactional(readOnly = true)
@@ -96,6 +101,9 @@ public class AutomationTemplateService {
             template.slug(),
             memberId);
     rule = ruleRepository.save(rule);
+    if (rule.getTriggerType() == TriggerType.SCHEDULED) {
+      scheduleIndexService.refresh();
+    }
 
     List<AutomationAction> savedActions = new ArrayList<>();
     for (var actionDef : template.actions()) {
@@ -2,7 +2,6 @@ package io.b2mash.b2b.b2bstrawman.billingrate;
 
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
-import io.b2mash.b2b.b2bstrawman.customer.CustomerProjectRepository;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
 import io.b2mash.b2b.b2bstrawman.exception.ForbiddenException;
 import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
@@ -12,6 +11,8 @@ import io.b2mash.b2b.b2bstrawman.member.MemberRepository;
 import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndex;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import io.b2mash.b2b.b2bstrawman.security.Roles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -31,28 +32,28 @@ public class BillingRateService {
   private static final LocalDate FAR_FUTURE = LocalDate.of(9999, 12, 31);
 
   private final BillingRateRepository billingRateRepository;
-  private final CustomerProjectRepository customerProjectRepository;
   private final CustomerRepository customerRepository;
   private final ProjectRepository projectRepository;
   private final MemberRepository memberRepository;
   private final ProjectAccessService projectAccessService;
   private final AuditService auditService;
+  private final RateCardIndexService rateCardIndexService;
 
   public BillingRateService(
       BillingRateRepository billingRateRepository,
-      CustomerProjectRepository customerProjectRepository,
       CustomerRepository customerRepository,
       ProjectRepository projectRepository,
       MemberRepository memberRepository,
       ProjectAccessService projectAccessService,
-      AuditService auditService) {
+      AuditService auditService,
+      RateCardIndexService rateCardIndexService) {
     this.billingRateRepository = billingRateRepository;
-    this.customerProjectRepository = customerProjectRepository;
     this.customerRepository = customerRepository;
     this.projectRepository = projectRepository;
     this.memberRepository = memberRepository;
     this.projectAccessService = projectAccessService;
     this.auditService = auditService;
+    this.rateCardIndexService = rateCardIndexService;
   }
 
   /**
@@ -72,6 +73,11 @@ public class BillingRateService {
    *   <li>Member default (member only, no project or customer)
    * </ol>
    *
+   * <p>When no rate covers the date (e.g., backdated entries before the rate's effectiveFrom), the
+   * earliest open-ended rate at each level is used instead. Resolution runs against the tenant's
+   * in-memory {@link RateCardIndex}; callers resolving many entries should take the index from
+   * {@link RateCardIndexService#current()} once and query it directly.
+   *
    * @param memberId the member whose rate to resolve
    * @param projectId the project context for resolution
    * @param date the effective date to check against
@@ -79,76 +85,7 @@ public class BillingRateService {
    */
   @Transactional(readOnly = true)
   public Optional<ResolvedRate> resolveRate(UUID memberId, UUID projectId, LocalDate date) {
-    // 1. Try project override
-    var projectRates = billingRateRepository.findProjectOverride(memberId, projectId, date);
-    if (!projectRates.isEmpty()) {
-      var rate = projectRates.getFirst();
-      return Optional.of(
-          new ResolvedRate(
-              rate.getHourlyRate(), rate.getCurrency(), "PROJECT_OVERRIDE", rate.getId()));
-    }
-
-    // 2. Try customer override via CustomerProject join
-    var customerId = customerProjectRepository.findFirstCustomerByProjectId(projectId);
-    if (customerId.isPresent()) {
-      var customerRates =
-          billingRateRepository.findCustomerOverride(memberId, customerId.get(), date);
-      if (!customerRates.isEmpty()) {
-        var rate = customerRates.getFirst();
-        return Optional.of(
-            new ResolvedRate(
-                rate.getHourlyRate(), rate.getCurrency(), "CUSTOMER_OVERRIDE", rate.getId()));
-      }
-    }
-
-    // 3. Try member default
-    var defaultRates = billingRateRepository.findMemberDefault(memberId, date);
-    if (!defaultRates.isEmpty()) {
-      var rate = defaultRates.getFirst();
-      return Optional.of(
-          new ResolvedRate(
-              rate.getHourlyRate(), rate.getCurrency(), "MEMBER_DEFAULT", rate.getId()));
-    }
-
-    // 4. Fallback: no rate covers the entry date (e.g., backdated entries before the rate's
-    //    effectiveFrom). Try the earliest rate at each scope regardless of date.
-    return resolveRateFallback(memberId, projectId, customerId.orElse(null));
-  }
-
-  /**
-   * Fallback rate resolution when no rate covers the entry date. Checks the same three-level
-   * cascade but ignores effectiveFrom/effectiveTo constraints. Returns the earliest-dated rate
-   * found at the highest-priority scope.
-   */
-  private Optional<ResolvedRate> resolveRateFallback(
-      UUID memberId, UUID projectId, UUID customerId) {
-    var projectRates = billingRateRepository.findProjectOverrideEarliest(memberId, projectId);
-    if (!projectRates.isEmpty()) {
-      var rate = projectRates.getFirst();
-      return Optional.of(
-          new ResolvedRate(
-              rate.getHourlyRate(), rate.getCurrency(), "PROJECT_OVERRIDE", rate.getId()));
-    }
-
-    if (customerId != null) {
-      var customerRates = billingRateRepository.findCustomerOverrideEarliest(memberId, customerId);
-      if (!customerRates.isEmpty()) {
-        var rate = customerRates.getFirst();
-        return Optional.of(
-            new ResolvedRate(
-                rate.getHourlyRate(), rate.getCurrency(), "CUSTOMER_OVERRIDE", rate.getId()));
-      }
-    }
-
-    var defaultRates = billingRateRepository.findMemberDefaultEarliest(memberId);
-    if (!defaultRates.isEmpty()) {
-      var rate = defaultRates.getFirst();
-      return Optional.of(
-          new ResolvedRate(
-              rate.getHourlyRate(), rate.getCurrency(), "MEMBER_DEFAULT", rate.getId()));
-    }
-
-    return Optional.empty();
+    return rateCardIndexService.current().resolveBillingRate(memberId, projectId, date);
   }
 
   /**
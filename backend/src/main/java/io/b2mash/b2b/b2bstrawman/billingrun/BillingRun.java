@@ -105,6 +105,15 @@ public class BillingRun {
     this.updatedAt = Instant.now();
   }
 
+  /** Undoes {@link #startGeneration()} for a run whose generation job could not be enqueued. */
+  public void revertGenerationStart() {
+    if (this.status != BillingRunStatus.IN_PROGRESS) {
+      throw new IllegalStateException("Only IN_PROGRESS runs can revert to PREVIEW");
+    }
+    this.status = BillingRunStatus.PREVIEW;
+    this.updatedAt = Instant.now();
+  }
+
   public void complete(int totalInvoices, int totalFailed, BigDecimal totalAmount) {
     if (this.status != BillingRunStatus.IN_PROGRESS) {
       throw new IllegalStateException("Only IN_PROGRESS runs can be completed");
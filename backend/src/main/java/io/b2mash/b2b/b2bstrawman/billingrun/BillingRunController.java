@@ -4,7 +4,9 @@ import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchOperationRes
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchSendRequest;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunItemResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunPreviewResponse;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunProgressResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunResponse;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunSendResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.CreateBillingRunRequest;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.DisbursementResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.ExpenseResponse;
@@ -76,7 +78,19 @@ public class BillingRunController {
   @RequiresCapability("INVOICING")
   public ResponseEntity<BillingRunResponse> generate(@PathVariable UUID id) {
     UUID actorMemberId = RequestScopes.requireMemberId();
-    return ResponseEntity.ok(billingRunService.generate(id, actorMemberId));
+    var response = billingRunService.generate(id, actorMemberId);
+    if (response.status() == BillingRunStatus.IN_PROGRESS) {
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/billing-runs/" + id + "/progress"))
+          .body(response);
+    }
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/{id}/progress")
+  @RequiresCapability("INVOICING")
+  public ResponseEntity<BillingRunProgressResponse> getProgress(@PathVariable UUID id) {
+    return ResponseEntity.ok(billingRunService.getProgress(id));
   }
 
   @PostMapping("/{id}/preview")
@@ -152,10 +166,23 @@ public class BillingRunController {
 
   @PostMapping("/{id}/send")
   @RequiresCapability("INVOICING")
-  public ResponseEntity<BatchOperationResult> sendBatch(
+  public ResponseEntity<BillingRunSendResponse> sendBatch(
       @PathVariable UUID id, @RequestBody BatchSendRequest request) {
     UUID actorMemberId = RequestScopes.requireMemberId();
-    return ResponseEntity.ok(billingRunService.batchSend(id, request, actorMemberId));
+    var response = billingRunService.batchSend(id, request, actorMemberId);
+    if (response.status() != BillingRunSendStatus.COMPLETED) {
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/billing-runs/" + id + "/sends/" + response.id()))
+          .body(response);
+    }
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/{id}/sends/{sendId}")
+  @RequiresCapability("INVOICING")
+  public ResponseEntity<BillingRunSendResponse> getSend(
+      @PathVariable UUID id, @PathVariable UUID sendId) {
+    return ResponseEntity.ok(billingRunService.getSend(id, sendId));
   }
 
   @GetMapping("/{id}/retainer-preview")
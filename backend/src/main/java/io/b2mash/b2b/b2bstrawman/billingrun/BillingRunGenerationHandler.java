@@ -0,0 +1,66 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import jakarta.annotation.Nullable;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler that generates the invoices of one billing run, enqueued by {@link
+ * BillingRunGenerationService#generate(UUID, UUID)}. The payload carries the run and the member who
+ * started it; the member is bound as {@code MEMBER_ID} so invoices and audit events are attributed
+ * to them, as they were when generation ran inside the request.
+ *
+ * <p>A retry after a crash resumes the run: items already generated or failed are skipped. Once
+ * the job is dead-lettered the run is abandoned, so it does not stay IN_PROGRESS.
+ */
+@Component
+public class BillingRunGenerationHandler implements JobHandler {
+
+  private final BillingRunGenerationService generationService;
+  private final BillingRunProperties properties;
+
+  public BillingRunGenerationHandler(
+      BillingRunGenerationService generationService, BillingRunProperties properties) {
+    this.generationService = generationService;
+    this.properties = properties;
+  }
+
+  @Override
+  public String jobType() {
+    return BillingRunGenerationService.GENERATION_JOB_TYPE;
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    UUID billingRunId = billingRunId(payload);
+    UUID actorMemberId =
+        payload.hasNonNull("actorMemberId")
+            ? UUID.fromString(payload.get("actorMemberId").asText())
+            : null;
+
+    RequestScopes.callForTenantOnShardWithMember(
+        RequestScopes.requireTenantId(),
+        RequestScopes.getOrgIdOrNull(),
+        RequestScopes.getShardIdOrDefault(),
+        actorMemberId,
+        () ->
+            generationService.processRun(
+                billingRunId, actorMemberId, properties.getGenerationParallelism()));
+  }
+
+  @Override
+  public void onDeadLetter(@Nullable JsonNode payload, Exception cause) {
+    String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+    generationService.abandonRun(billingRunId(payload), "Invoice generation failed: " + reason);
+  }
+
+  private static UUID billingRunId(@Nullable JsonNode payload) {
+    if (payload == null || !payload.hasNonNull("billingRunId")) {
+      throw new IllegalArgumentException("billing_run_generate job requires a billingRunId");
+    }
+    return UUID.fromString(payload.get("billingRunId").asText());
+  }
+}
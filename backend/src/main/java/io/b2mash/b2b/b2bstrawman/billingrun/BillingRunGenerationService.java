@@ -1,53 +1,65 @@
 package io.b2mash.b2b.b2bstrawman.billingrun;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
 import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunCompletedEvent;
 import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunFailuresEvent;
-import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunSentEvent;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchFailure;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchOperationResult;
-import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchSendRequest;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunProgressResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunResponse;
 import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceConflictException;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
-import io.b2mash.b2b.b2bstrawman.invoice.Invoice;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueueProperties;
 import io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository;
 import io.b2mash.b2b.b2bstrawman.invoice.InvoiceService;
-import io.b2mash.b2b.b2bstrawman.invoice.InvoiceStatus;
 import io.b2mash.b2b.b2bstrawman.invoice.dto.CreateInvoiceRequest;
-import io.b2mash.b2b.b2bstrawman.invoice.dto.SendInvoiceRequest;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
-import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
- * Handles billing run invoice generation, batch approve, and batch send operations. Extracted from
- * BillingRunService as a focused collaborator.
+ * Handles billing run invoice generation and batch approve operations. Extracted from
+ * BillingRunService as a focused collaborator; batch send lives in {@link BillingRunSendService}.
  */
 @Service
+@EnableConfigurationProperties(BillingRunProperties.class)
 public class BillingRunGenerationService {
 
   private static final Logger log = LoggerFactory.getLogger(BillingRunGenerationService.class);
 
+  /** Job type of the tenant-scoped generation job; see {@link BillingRunGenerationHandler}. */
+  static final String GENERATION_JOB_TYPE = "billing_run_generate";
+
   private final BillingRunRepository billingRunRepository;
   private final BillingRunItemRepository billingRunItemRepository;
   private final AuditService auditService;
   private final InvoiceService invoiceService;
   private final InvoiceRepository invoiceRepository;
   private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate requiresNewTransactionTemplate;
   private final ApplicationEventPublisher eventPublisher;
-  private final OrgSettingsRepository orgSettingsRepository;
   private final BillingRunSelectionService selectionService;
+  private final JobEnqueuer jobEnqueuer;
+  private final JobQueueProperties jobQueueProperties;
+  private final BillingRunProperties properties;
 
   public BillingRunGenerationService(
       BillingRunRepository billingRunRepository,
@@ -57,8 +69,11 @@ public class BillingRunGenerationService {
       InvoiceRepository invoiceRepository,
       TransactionTemplate transactionTemplate,
       ApplicationEventPublisher eventPublisher,
-      OrgSettingsRepository orgSettingsRepository,
-      BillingRunSelectionService selectionService) {
+      BillingRunSelectionService selectionService,
+      JobEnqueuer jobEnqueuer,
+      JobQueueProperties jobQueueProperties,
+      BillingRunProperties properties,
+      PlatformTransactionManager transactionManager) {
     this.billingRunRepository = billingRunRepository;
     this.billingRunItemRepository = billingRunItemRepository;
     this.auditService = auditService;
@@ -66,16 +81,33 @@ public class BillingRunGenerationService {
     this.invoiceRepository = invoiceRepository;
     this.transactionTemplate = transactionTemplate;
     this.eventPublisher = eventPublisher;
-    this.orgSettingsRepository = orgSettingsRepository;
     this.selectionService = selectionService;
+    this.jobEnqueuer = jobEnqueuer;
+    this.jobQueueProperties = jobQueueProperties;
+    this.properties = properties;
+    // REQUIRES_NEW: the enqueue must commit on the primary shard on its own, whatever transaction
+    // the caller has open on the tenant's shard.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
   }
 
   /**
-   * Generates invoices for all PENDING items in the billing run. NOT @Transactional — each
-   * customer's invoice creation runs in its own transaction via TransactionTemplate for failure
-   * isolation.
+   * Starts invoice generation for a PREVIEW billing run. With async generation enabled and the job
+   * queue running, the run moves to IN_PROGRESS and, once that commits, a tenant-scoped {@value
+   * #GENERATION_JOB_TYPE} job is enqueued on the primary shard, where the job queue lives; if the
+   * tenant still has an active generation job the start is undone and a 409 returned. Poll {@link
+   * #getProgress(UUID)} for the run's state. Otherwise the items are generated inside the calling
+   * thread, one at a time, and the COMPLETED run is returned.
+   *
+   * <p>An IN_PROGRESS run that has made no progress for {@code
+   * kazi.billing-run.stale-generation-minutes} is abandoned first (see {@link #abandonRun}), so a
+   * run whose generation died cannot block every later run of the tenant.
    */
   public BillingRunResponse generate(UUID billingRunId, UUID actorMemberId) {
+    abandonStaleRuns();
+    boolean async = properties.isAsyncGeneration() && jobQueueProperties.isEnabled();
+
     var run =
         transactionTemplate.execute(
             status -> {
@@ -100,106 +132,121 @@ public class BillingRunGenerationService {
               return billingRunRepository.save(r);
             });
 
+    if (async) {
+      if (!enqueueGeneration(billingRunId, actorMemberId)) {
+        // The previous run's job has not been marked complete yet; undo the start.
+        revertGenerationStart(billingRunId);
+        throw new ResourceConflictException(
+            "Billing run conflict",
+            "Generation of the previous billing run is still finishing; try again shortly");
+      }
+      log.info("Queued invoice generation for billing run {}", billingRunId);
+      return BillingRunResponse.from(run);
+    }
+
+    return processRun(billingRunId, actorMemberId, 1);
+  }
+
+  /**
+   * Generates invoices for the PENDING items of an IN_PROGRESS billing run, then completes it. Up
+   * to {@code parallelism} items are generated at once on virtual threads; each item still runs in
+   * its own transaction via TransactionTemplate for failure isolation. Safe to repeat after a crash
+   * or job retry: an item is row-locked and only generated while still PENDING, and the run totals
+   * are recomputed from the items rather than counted in memory.
+   */
+  public BillingRunResponse processRun(UUID billingRunId, UUID actorMemberId, int parallelism) {
+    var run =
+        billingRunRepository
+            .findById(billingRunId)
+            .orElseThrow(() -> new ResourceNotFoundException("BillingRun", billingRunId));
+    if (run.getStatus() != BillingRunStatus.IN_PROGRESS) {
+      log.info("Billing run {} is {} — nothing to generate", billingRunId, run.getStatus());
+      return BillingRunResponse.from(run);
+    }
+
     var pendingItems =
         billingRunItemRepository.findByBillingRunIdAndStatus(
             billingRunId, BillingRunItemStatus.PENDING);
 
-    int successCount = 0;
-    int failureCount = 0;
-    BigDecimal totalAmount = BigDecimal.ZERO;
-
-    for (var item : pendingItems) {
-      try {
-        var invoiceTotal =
-            transactionTemplate.<BigDecimal>execute(
-                status -> {
-                  var freshItem = billingRunItemRepository.findById(item.getId()).orElseThrow();
-                  freshItem.markGenerating();
-                  billingRunItemRepository.save(freshItem);
-
-                  List<UUID> timeEntryIds = selectionService.resolveSelectedTimeEntryIds(freshItem);
-                  List<UUID> expenseIds = selectionService.resolveSelectedExpenseIds(freshItem);
-                  // OBS-2104c — attach cherry-picked legal disbursements directly during draft
-                  // creation so users no longer need to use the "Add Disbursements" modal in
-                  // step 4 as a workaround. The invoice creation pipeline already supports this
-                  // via CreateInvoiceRequest.disbursementIds (slice 487A).
-                  List<UUID> disbursementIds =
-                      selectionService.resolveSelectedDisbursementIds(freshItem);
-
-                  var invoiceRequest =
-                      new CreateInvoiceRequest(
-                          freshItem.getCustomerId(),
-                          run.getCurrency(),
-                          timeEntryIds.isEmpty() ? null : timeEntryIds,
-                          expenseIds.isEmpty() ? null : expenseIds,
-                          disbursementIds.isEmpty() ? null : disbursementIds,
-                          null,
-                          null,
-                          null,
-                          null,
-                          null,
-                          null,
-                          null);
-
-                  var invoiceResponse = invoiceService.createDraft(invoiceRequest, actorMemberId);
-
-                  var invoice = invoiceRepository.findById(invoiceResponse.id()).orElseThrow();
-                  invoice.setBillingRunId(billingRunId);
-                  invoiceRepository.save(invoice);
-
-                  freshItem.markGenerated(invoiceResponse.id());
-                  billingRunItemRepository.save(freshItem);
-
-                  return invoiceResponse.total();
-                });
-
-        successCount++;
-        if (invoiceTotal != null) {
-          totalAmount = totalAmount.add(invoiceTotal);
-        }
-      } catch (Exception e) {
-        failureCount++;
-        log.warn(
-            "Failed to generate invoice for item {} (customer {}): {}",
-            item.getId(),
-            item.getCustomerId(),
-            e.getMessage());
-
-        try {
-          String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
-          final String errorMessage = truncate(reason, 1000);
-          transactionTemplate.executeWithoutResult(
-              status -> {
-                var failedItem = billingRunItemRepository.findById(item.getId()).orElseThrow();
-                if (failedItem.getStatus() == BillingRunItemStatus.PENDING) {
-                  failedItem.markGenerating();
-                }
-                failedItem.markFailed(errorMessage);
-                billingRunItemRepository.save(failedItem);
-              });
-        } catch (Exception innerEx) {
-          log.error("Failed to mark item {} as FAILED: {}", item.getId(), innerEx.getMessage());
-        }
+    if (parallelism <= 1 || pendingItems.size() <= 1) {
+      for (var item : pendingItems) {
+        generateItem(run, item, actorMemberId);
       }
+    } else {
+      generateInParallel(run, pendingItems, actorMemberId, parallelism);
     }
 
-    final int finalSuccessCount = successCount;
-    final int finalFailureCount = failureCount;
-    final BigDecimal finalTotalAmount = totalAmount;
+    return completeRun(billingRunId);
+  }
+
+  /**
+   * Ends an IN_PROGRESS billing run whose generation will not finish — its job was dead-lettered,
+   * or it stopped making progress. Items still PENDING are marked FAILED with {@code reason} and
+   * the run is completed with the invoices generated so far, so its failures are reported and it
+   * can be approved, sent or cancelled like any other completed run. No-op for a run in any other
+   * state.
+   */
+  public BillingRunResponse abandonRun(UUID billingRunId, String reason) {
+    String failureReason = truncate(reason, 1000);
+    Integer failed =
+        transactionTemplate.execute(
+            status -> {
+              var r =
+                  billingRunRepository
+                      .findByIdForUpdate(billingRunId)
+                      .orElseThrow(() -> new ResourceNotFoundException("BillingRun", billingRunId));
+              if (r.getStatus() != BillingRunStatus.IN_PROGRESS) {
+                return null;
+              }
+              return billingRunItemRepository.failByBillingRunIdAndStatus(
+                  billingRunId,
+                  BillingRunItemStatus.PENDING,
+                  BillingRunItemStatus.FAILED,
+                  failureReason,
+                  Instant.now());
+            });
+    if (failed == null) {
+      return BillingRunResponse.from(billingRunRepository.findById(billingRunId).orElseThrow());
+    }
+    log.warn(
+        "Abandoning generation of billing run {} — {} unfinished items failed: {}",
+        billingRunId,
+        failed,
+        reason);
+    return completeRun(billingRunId);
+  }
 
+  /**
+   * Completes the billing run with totals recomputed from its items, then announces the outcome.
+   * Returns the run as it stands if it is no longer IN_PROGRESS (completed by a concurrent
+   * attempt).
+   */
+  private BillingRunResponse completeRun(UUID billingRunId) {
     var completedRun =
         transactionTemplate.execute(
             status -> {
-              var r = billingRunRepository.findById(billingRunId).orElseThrow();
-              r.complete(finalSuccessCount, finalFailureCount, finalTotalAmount);
+              var r = billingRunRepository.findByIdForUpdate(billingRunId).orElseThrow();
+              if (r.getStatus() != BillingRunStatus.IN_PROGRESS) {
+                return null; // completed by a concurrent attempt
+              }
+              var progress = billingRunItemRepository.summarizeProgress(billingRunId);
+              int generated = (int) progress.getGeneratedCount();
+              int failed = (int) progress.getFailedCount();
+              r.complete(generated, failed, progress.getGeneratedAmount());
               r = billingRunRepository.save(r);
 
-              auditService.log(
-                  AuditEventBuilder.billingRunGenerated(r, finalSuccessCount, finalFailureCount));
+              auditService.log(AuditEventBuilder.billingRunGenerated(r, generated, failed));
 
               return r;
             });
 
+    if (completedRun == null) {
+      return BillingRunResponse.from(billingRunRepository.findById(billingRunId).orElseThrow());
+    }
+
+    final int finalSuccessCount = completedRun.getTotalInvoices();
+    final int finalFailureCount = completedRun.getTotalFailed();
+
     String tenantId = RequestScopes.TENANT_ID.isBound() ? RequestScopes.TENANT_ID.get() : null;
     String orgId = RequestScopes.ORG_ID.isBound() ? RequestScopes.ORG_ID.get() : null;
     eventPublisher.publishEvent(
@@ -228,11 +275,131 @@ public class BillingRunGenerationService {
         billingRunId,
         finalSuccessCount,
         finalFailureCount,
-        finalTotalAmount);
+        completedRun.getTotalAmount());
 
     return BillingRunResponse.from(completedRun);
   }
 
+  /** Item counts and the running invoiced total of a billing run, read from the items. */
+  public BillingRunProgressResponse getProgress(UUID billingRunId) {
+    var run =
+        billingRunRepository
+            .findById(billingRunId)
+            .orElseThrow(() -> new ResourceNotFoundException("BillingRun", billingRunId));
+    return BillingRunProgressResponse.from(
+        run, billingRunItemRepository.summarizeProgress(billingRunId));
+  }
+
+  /**
+   * Fans the items out to virtual threads, at most {@code parallelism} in flight. Scoped values are
+   * not inherited by executor threads, so the tenant, shard and actor are captured here and rebound
+   * per item.
+   */
+  private void generateInParallel(
+      BillingRun run, List<BillingRunItem> items, UUID actorMemberId, int parallelism) {
+    String tenantId = RequestScopes.requireTenantId();
+    String orgId = RequestScopes.getOrgIdOrNull();
+    String shardId = RequestScopes.getShardIdOrDefault();
+    var permits = new Semaphore(parallelism);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var item : items) {
+        permits.acquireUninterruptibly();
+        executor.execute(
+            () -> {
+              try {
+                RequestScopes.callForTenantOnShardWithMember(
+                    tenantId,
+                    orgId,
+                    shardId,
+                    actorMemberId,
+                    () -> {
+                      generateItem(run, item, actorMemberId);
+                      return null;
+                    });
+              } finally {
+                permits.release();
+              }
+            });
+      }
+    }
+  }
+
+  /**
+   * Generates the draft invoice for one item in its own transaction, recording GENERATED or FAILED
+   * on the item. Never throws. Items no longer PENDING (handled by an earlier attempt) are skipped.
+   */
+  private void generateItem(BillingRun run, BillingRunItem item, UUID actorMemberId) {
+    UUID billingRunId = run.getId();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            // Write this item's audit events in one insert at commit; nothing here reads them back.
+            auditService.deferUntilCommit();
+            var freshItem = billingRunItemRepository.findByIdForUpdate(item.getId()).orElseThrow();
+            if (freshItem.getStatus() != BillingRunItemStatus.PENDING) {
+              return;
+            }
+            freshItem.markGenerating();
+            billingRunItemRepository.save(freshItem);
+
+            List<UUID> timeEntryIds = selectionService.resolveSelectedTimeEntryIds(freshItem);
+            List<UUID> expenseIds = selectionService.resolveSelectedExpenseIds(freshItem);
+            // OBS-2104c — attach cherry-picked legal disbursements directly during draft
+            // creation so users no longer need to use the "Add Disbursements" modal in
+            // step 4 as a workaround. The invoice creation pipeline already supports this
+            // via CreateInvoiceRequest.disbursementIds (slice 487A).
+            List<UUID> disbursementIds = selectionService.resolveSelectedDisbursementIds(freshItem);
+
+            var invoiceRequest =
+                new CreateInvoiceRequest(
+                    freshItem.getCustomerId(),
+                    run.getCurrency(),
+                    timeEntryIds.isEmpty() ? null : timeEntryIds,
+                    expenseIds.isEmpty() ? null : expenseIds,
+                    disbursementIds.isEmpty() ? null : disbursementIds,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null);
+
+            var invoiceResponse = invoiceService.createDraft(invoiceRequest, actorMemberId);
+
+            var invoice = invoiceRepository.findById(invoiceResponse.id()).orElseThrow();
+            invoice.setBillingRunId(billingRunId);
+            invoiceRepository.save(invoice);
+
+            freshItem.markGenerated(invoiceResponse.id());
+            billingRunItemRepository.save(freshItem);
+          });
+    } catch (Exception e) {
+      log.warn(
+          "Failed to generate invoice for item {} (customer {}): {}",
+          item.getId(),
+          item.getCustomerId(),
+          e.getMessage());
+
+      try {
+        String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        final String errorMessage = truncate(reason, 1000);
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              var failedItem = billingRunItemRepository.findById(item.getId()).orElseThrow();
+              if (failedItem.getStatus() == BillingRunItemStatus.PENDING) {
+                failedItem.markGenerating();
+              }
+              failedItem.markFailed(errorMessage);
+              billingRunItemRepository.save(failedItem);
+            });
+      } catch (Exception innerEx) {
+        log.error("Failed to mark item {} as FAILED: {}", item.getId(), innerEx.getMessage());
+      }
+    }
+  }
+
   /**
    * Approves all DRAFT invoices linked to GENERATED billing run items. Each invoice is approved
    * individually; failures are captured without aborting the batch.
@@ -287,128 +454,72 @@ public class BillingRunGenerationService {
     return new BatchOperationResult(successCount, failures.size(), failures);
   }
 
+  // --- Private helpers ---
+
   /**
-   * Sends all APPROVED invoices linked to a COMPLETED billing run in rate-limited bursts. Applies
-   * default due date and payment terms to invoices missing them before sending.
+   * Enqueues the generation job in a transaction of its own on the primary shard, after the run's
+   * move to IN_PROGRESS has committed, so the worker never claims the job before it can see the
+   * run. A crash between the two leaves a run with no job, which {@link #abandonStaleRuns} ends.
+   *
+   * @return false if the tenant already has an active generation job
    */
-  public BatchOperationResult batchSend(
-      UUID billingRunId, BatchSendRequest request, UUID actorMemberId) {
-    var run =
-        billingRunRepository
-            .findById(billingRunId)
-            .orElseThrow(() -> new ResourceNotFoundException("BillingRun", billingRunId));
-
-    if (run.getStatus() != BillingRunStatus.COMPLETED) {
-      throw new InvalidStateException(
-          "Cannot send billing run",
-          "Only COMPLETED billing runs can be sent. Current status: " + run.getStatus());
-    }
-
-    int rateLimit =
-        orgSettingsRepository
-            .findForCurrentTenant()
-            .map(s -> s.getBilling().getBillingEmailRateLimit())
-            .orElse(5);
-
-    var approvedInvoiceIds =
-        invoiceRepository.findByBillingRunIdAndStatus(billingRunId, InvoiceStatus.APPROVED).stream()
-            .map(Invoice::getId)
-            .toList();
-
-    if (approvedInvoiceIds.isEmpty()) {
-      return new BatchOperationResult(0, 0, List.of());
-    }
-
-    if (request != null) {
-      transactionTemplate.executeWithoutResult(
-          status -> {
-            var invoices = invoiceRepository.findAllById(approvedInvoiceIds);
-            for (Invoice invoice : invoices) {
-              invoice.applyDefaults(request.defaultDueDate(), request.defaultPaymentTerms());
-              invoiceRepository.save(invoice);
-            }
-          });
+  private boolean enqueueGeneration(UUID billingRunId, UUID actorMemberId) {
+    var payload =
+        JsonNodeFactory.instance
+            .objectNode()
+            .put("billingRunId", billingRunId.toString())
+            .put("actorMemberId", actorMemberId.toString());
+    String tenantId = RequestScopes.requireTenantId();
+    String orgId = RequestScopes.requireOrgId();
+    String shardId = RequestScopes.getShardIdOrDefault();
+    try {
+      return Boolean.TRUE.equals(
+          RequestScopes.callOnPrimary(
+              () ->
+                  requiresNewTransactionTemplate.execute(
+                      tx ->
+                          jobEnqueuer.enqueue(
+                              GENERATION_JOB_TYPE, tenantId, orgId, shardId, payload))));
+    } catch (UnexpectedRollbackException e) {
+      // The dedup index rejected the insert: a concurrent start enqueued the tenant's job first.
+      return false;
     }
+  }
 
-    List<List<UUID>> bursts = partition(approvedInvoiceIds, rateLimit);
-
-    int successCount = 0;
-    List<BatchFailure> failures = new ArrayList<>();
-
-    for (int i = 0; i < bursts.size(); i++) {
-      if (i > 0) {
-        try {
-          Thread.sleep(1000);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          break;
-        }
-      }
+  /** Moves a run whose generation job could not be enqueued back to PREVIEW. */
+  private void revertGenerationStart(UUID billingRunId) {
+    transactionTemplate.executeWithoutResult(
+        status ->
+            billingRunRepository
+                .findByIdForUpdate(billingRunId)
+                .filter(r -> r.getStatus() == BillingRunStatus.IN_PROGRESS)
+                .ifPresent(
+                    r -> {
+                      r.revertGenerationStart();
+                      billingRunRepository.save(r);
+                    }));
+  }
 
-      for (UUID invoiceId : bursts.get(i)) {
-        try {
-          invoiceService.send(invoiceId, new SendInvoiceRequest(true));
-          successCount++;
-        } catch (Exception e) {
-          String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
-          failures.add(new BatchFailure(invoiceId, reason));
-          log.warn(
-              "Failed to send invoice {} for billing run {}: {}", invoiceId, billingRunId, reason);
-        }
+  /** Abandons IN_PROGRESS runs with no item or run update for the configured stale period. */
+  private void abandonStaleRuns() {
+    Instant staleBefore =
+        Instant.now().minus(Duration.ofMinutes(properties.getStaleGenerationMinutes()));
+    for (var run : billingRunRepository.findByStatus(BillingRunStatus.IN_PROGRESS)) {
+      Instant lastProgress =
+          billingRunItemRepository
+              .findLastUpdatedAt(run.getId())
+              .filter(itemUpdate -> itemUpdate.isAfter(run.getUpdatedAt()))
+              .orElse(run.getUpdatedAt());
+      if (lastProgress.isBefore(staleBefore)) {
+        abandonRun(
+            run.getId(),
+            "Generation stopped making progress at " + lastProgress + " and was abandoned");
       }
-
-      final int currentSuccessCount = successCount;
-      transactionTemplate.executeWithoutResult(
-          status -> {
-            var freshRun = billingRunRepository.findById(billingRunId).orElseThrow();
-            freshRun.setTotalSent(currentSuccessCount);
-            billingRunRepository.save(freshRun);
-          });
     }
-
-    final int finalSuccessCount = successCount;
-    final String sendTenantId =
-        RequestScopes.TENANT_ID.isBound() ? RequestScopes.TENANT_ID.get() : null;
-    final String sendOrgId = RequestScopes.ORG_ID.isBound() ? RequestScopes.ORG_ID.get() : null;
-    transactionTemplate.executeWithoutResult(
-        status -> {
-          var freshRun = billingRunRepository.findById(billingRunId).orElseThrow();
-          auditService.log(AuditEventBuilder.billingRunSent(freshRun, finalSuccessCount));
-          eventPublisher.publishEvent(
-              new BillingRunSentEvent(
-                  billingRunId,
-                  freshRun.getName(),
-                  freshRun.getPeriodFrom(),
-                  freshRun.getPeriodTo(),
-                  finalSuccessCount,
-                  sendTenantId,
-                  sendOrgId));
-        });
-
-    log.info(
-        "Batch send for billing run {} — {} sent, {} failed",
-        billingRunId,
-        successCount,
-        failures.size());
-
-    return new BatchOperationResult(successCount, failures.size(), failures);
   }
 
-  // --- Private helpers ---
-
   private String truncate(String text, int maxLength) {
     if (text == null) return null;
     return text.length() <= maxLength ? text : text.substring(0, maxLength);
   }
-
-  static <T> List<List<T>> partition(List<T> list, int size) {
-    if (size <= 0) {
-      throw new IllegalArgumentException("Partition size must be positive");
-    }
-    List<List<T>> partitions = new ArrayList<>();
-    for (int i = 0; i < list.size(); i += size) {
-      partitions.add(list.subList(i, Math.min(i + size, list.size())));
-    }
-    return partitions;
-  }
 }
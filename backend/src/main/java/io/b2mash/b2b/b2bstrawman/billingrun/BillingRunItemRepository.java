@@ -1,8 +1,12 @@
 package io.b2mash.b2b.b2bstrawman.billingrun;
 
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +17,52 @@ public interface BillingRunItemRepository extends JpaRepository<BillingRunItem,
 
   List<BillingRunItem> findByBillingRunIdAndStatus(UUID billingRunId, BillingRunItemStatus status);
 
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i FROM BillingRunItem i WHERE i.id = :id")
+  Optional<BillingRunItem> findByIdForUpdate(@Param("id") UUID id);
+
+  /**
+   * Item counts per outcome plus the invoiced total of GENERATED items, in one row. Backs
+   * both the progress endpoint and the run totals written on completion, so a generation that was
+   * interrupted and resumed still reports every item exactly once.
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          """
+          SELECT COUNT(*) FILTER (WHERE i.status NOT IN ('EXCLUDED', 'CANCELLED')) AS totalCount,
+                 COUNT(*) FILTER (WHERE i.status = 'PENDING')    AS pendingCount,
+                 COUNT(*) FILTER (WHERE i.status = 'GENERATED')  AS generatedCount,
+                 COUNT(*) FILTER (WHERE i.status = 'FAILED')     AS failedCount,
+                 COALESCE(SUM(inv.total) FILTER (WHERE i.status = 'GENERATED'), 0)
+                                                                 AS generatedAmount
+          FROM billing_run_items i
+          LEFT JOIN invoices inv ON inv.id = i.invoice_id
+          WHERE i.billing_run_id = :billingRunId
+          """)
+  BillingRunProgressProjection summarizeProgress(@Param("billingRunId") UUID billingRunId);
+
+  /** When any item of the run last changed; empty if it has none. */
+  @Query("SELECT MAX(i.updatedAt) FROM BillingRunItem i WHERE i.billingRunId = :billingRunId")
+  Optional<Instant> findLastUpdatedAt(@Param("billingRunId") UUID billingRunId);
+
+  /**
+   * Marks the run's items in {@code oldStatus} as {@code failed} with {@code reason}. An item
+   * locked by an in-flight generation is updated only if it is still in {@code oldStatus} once that
+   * commits.
+   */
+  @Modifying(clearAutomatically = true)
+  @Query(
+      "UPDATE BillingRunItem i SET i.status = :failed, i.failureReason = :reason,"
+          + " i.updatedAt = :now"
+          + " WHERE i.billingRunId = :billingRunId AND i.status = :oldStatus")
+  int failByBillingRunIdAndStatus(
+      @Param("billingRunId") UUID billingRunId,
+      @Param("oldStatus") BillingRunItemStatus oldStatus,
+      @Param("failed") BillingRunItemStatus failed,
+      @Param("reason") String reason,
+      @Param("now") Instant now);
+
   @Modifying
   @Query("DELETE FROM BillingRunItem i WHERE i.billingRunId = :billingRunId")
   void deleteByBillingRunId(@Param("billingRunId") UUID billingRunId);
@@ -0,0 +1,20 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import java.math.BigDecimal;
+
+/**
+ * Spring Data projection for the single-row item summary of a billing run. Column aliases in
+ * {@link BillingRunItemRepository#summarizeProgress(java.util.UUID)} map onto these getters.
+ * EXCLUDED and CANCELLED items are not counted towards {@link #getTotalCount()}.
+ */
+public interface BillingRunProgressProjection {
+  long getTotalCount();
+
+  long getPendingCount();
+
+  long getGeneratedCount();
+
+  long getFailedCount();
+
+  BigDecimal getGeneratedAmount();
+}
@@ -0,0 +1,84 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for billing run invoice generation ({@link
+ * BillingRunGenerationService}) and batch send ({@link BillingRunSendService}). Bound from {@code
+ * kazi.billing-run} in application YAML.
+ */
+@ConfigurationProperties("kazi.billing-run")
+public class BillingRunProperties {
+
+  /**
+   * Whether {@code POST /api/billing-runs/{id}/generate} hands generation to the job queue and
+   * returns immediately. Only takes effect while the job queue is enabled; otherwise generation
+   * runs inside the request, one item at a time.
+   */
+  private boolean asyncGeneration = true;
+
+  /**
+   * Maximum number of billing run items generated concurrently by the generation job. Each item
+   * holds one connection from the tenant pool for the duration of its transaction.
+   */
+  private int generationParallelism = 4;
+
+  /**
+   * Minutes an IN_PROGRESS run may go without any item being generated before the next {@code
+   * generate} call abandons it, failing its remaining items. Longer than any single item takes, and
+   * than a generation job normally waits in the queue.
+   */
+  private int staleGenerationMinutes = 30;
+
+  /**
+   * Whether {@code POST /api/billing-runs/{id}/send} hands the send to the job queue and returns a
+   * tracking id immediately. Only takes effect while the job queue is enabled.
+   */
+  private boolean asyncSend = true;
+
+  /**
+   * How many invoices the send job prepares — marks SENT and renders the PDF of — ahead of the
+   * invoice it is emailing.
+   */
+  private int sendPrefetch = 4;
+
+  public boolean isAsyncGeneration() {
+    return asyncGeneration;
+  }
+
+  public void setAsyncGeneration(boolean asyncGeneration) {
+    this.asyncGeneration = asyncGeneration;
+  }
+
+  public int getGenerationParallelism() {
+    return generationParallelism;
+  }
+
+  public void setGenerationParallelism(int generationParallelism) {
+    this.generationParallelism = generationParallelism;
+  }
+
+  public int getStaleGenerationMinutes() {
+    return staleGenerationMinutes;
+  }
+
+  public void setStaleGenerationMinutes(int staleGenerationMinutes) {
+    this.staleGenerationMinutes = staleGenerationMinutes;
+  }
+
+  public boolean isAsyncSend() {
+    return asyncSend;
+  }
+
+  public void setAsyncSend(boolean asyncSend) {
+    this.asyncSend = asyncSend;
+  }
+
+  public int getSendPrefetch() {
+    return sendPrefetch;
+  }
+
+  public void setSendPrefetch(int sendPrefetch) {
+    this.sendPrefetch = sendPrefetch;
+  }
+}
@@ -17,6 +17,8 @@ public interface BillingRunRepository extends JpaRepository<BillingRun, UUID> {
 
   boolean existsByStatusIn(List<BillingRunStatus> statuses);
 
+  List<BillingRun> findByStatus(BillingRunStatus status);
+
   Page<BillingRun> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -0,0 +1,178 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * One batch send of a billing run's APPROVED invoices. Its id is the tracking id returned by the
+ * send endpoint, and its counters are the checkpoint the send job resumes from.
+ */
+@Entity
+@Table(name = "billing_run_sends")
+public class BillingRunSend {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "billing_run_id", nullable = false)
+  private UUID billingRunId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private BillingRunSendStatus status;
+
+  @Column(name = "total_count", nullable = false)
+  private int totalCount;
+
+  @Column(name = "sent_count", nullable = false)
+  private int sentCount;
+
+  @Column(name = "failed_count", nullable = false)
+  private int failedCount;
+
+  /** Invoice id → failure reason for every invoice this send gave up on. */
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "failures", nullable = false, columnDefinition = "jsonb")
+  private Map<String, String> failures = new HashMap<>();
+
+  /** Ids of invoices this send marked SENT whose email has not gone out yet. */
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "awaiting_email", nullable = false, columnDefinition = "jsonb")
+  private List<String> awaitingEmail = new ArrayList<>();
+
+  @Column(name = "created_by", nullable = false, updatable = false)
+  private UUID createdBy;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "completed_at")
+  private Instant completedAt;
+
+  protected BillingRunSend() {}
+
+  public BillingRunSend(UUID billingRunId, int totalCount, UUID createdBy) {
+    this.billingRunId = billingRunId;
+    this.status = BillingRunSendStatus.QUEUED;
+    this.totalCount = totalCount;
+    this.createdBy = createdBy;
+    this.createdAt = Instant.now();
+    this.updatedAt = Instant.now();
+  }
+
+  public void start() {
+    if (this.status == BillingRunSendStatus.COMPLETED) {
+      throw new IllegalStateException("Cannot restart a completed send");
+    }
+    this.status = BillingRunSendStatus.IN_PROGRESS;
+    this.updatedAt = Instant.now();
+  }
+
+  /** Records that the invoice was marked SENT and its email is still to be delivered. */
+  public void awaitEmail(UUID invoiceId) {
+    this.awaitingEmail.add(invoiceId.toString());
+    this.updatedAt = Instant.now();
+  }
+
+  public void recordSent(UUID invoiceId) {
+    this.awaitingEmail.remove(invoiceId.toString());
+    this.sentCount++;
+    this.updatedAt = Instant.now();
+  }
+
+  public void recordFailed(UUID invoiceId, String reason) {
+    this.awaitingEmail.remove(invoiceId.toString());
+    this.failures.put(invoiceId.toString(), reason);
+    this.failedCount = this.failures.size();
+    this.updatedAt = Instant.now();
+  }
+
+  /**
+   * Resets the sent count from the invoices still to send, for a send resumed after a crash: every
+   * invoice that is neither remaining, awaiting its email nor failed was sent, whether or not its
+   * checkpoint landed.
+   */
+  public void reconcileSentCount(int remainingCount) {
+    this.sentCount = Math.max(0, totalCount - failedCount - awaitingEmail.size() - remainingCount);
+    this.updatedAt = Instant.now();
+  }
+
+  public boolean hasFailed(UUID invoiceId) {
+    return failures.containsKey(invoiceId.toString());
+  }
+
+  public void complete() {
+    if (this.status != BillingRunSendStatus.IN_PROGRESS) {
+      throw new IllegalStateException("Only IN_PROGRESS sends can be completed");
+    }
+    this.status = BillingRunSendStatus.COMPLETED;
+    this.completedAt = Instant.now();
+    this.updatedAt = Instant.now();
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getBillingRunId() {
+    return billingRunId;
+  }
+
+  public BillingRunSendStatus getStatus() {
+    return status;
+  }
+
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  public int getSentCount() {
+    return sentCount;
+  }
+
+  public int getFailedCount() {
+    return failedCount;
+  }
+
+  public Map<String, String> getFailures() {
+    return failures;
+  }
+
+  public List<UUID> getAwaitingEmail() {
+    return awaitingEmail.stream().map(UUID::fromString).toList();
+  }
+
+  public UUID getCreatedBy() {
+    return createdBy;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Instant getCompletedAt() {
+    return completedAt;
+  }
+}
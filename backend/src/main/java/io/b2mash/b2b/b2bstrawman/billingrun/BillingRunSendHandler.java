@@ -0,0 +1,32 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler that sends billing run invoices, enqueued by {@link
+ * BillingRunSendService#startSend}. Every unfinished send of the tenant is processed, so a send
+ * started while this job was already pending is not left behind by the queue's per-tenant dedup. A
+ * retry after a crash resumes each send from its checkpoint.
+ */
+@Component
+public class BillingRunSendHandler implements JobHandler {
+
+  private final BillingRunSendService sendService;
+
+  public BillingRunSendHandler(BillingRunSendService sendService) {
+    this.sendService = sendService;
+  }
+
+  @Override
+  public String jobType() {
+    return BillingRunSendService.SEND_JOB_TYPE;
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    sendService.resumePendingSends();
+  }
+}
@@ -0,0 +1,24 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BillingRunSendRepository extends JpaRepository<BillingRunSend, UUID> {
+
+  Optional<BillingRunSend> findByIdAndBillingRunId(UUID id, UUID billingRunId);
+
+  List<BillingRunSend> findByBillingRunIdAndStatusIn(
+      UUID billingRunId, List<BillingRunSendStatus> statuses);
+
+  List<BillingRunSend> findByStatusInOrderByCreatedAtAsc(List<BillingRunSendStatus> statuses);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM BillingRunSend s WHERE s.id = :id")
+  Optional<BillingRunSend> findByIdForUpdate(@Param("id") UUID id);
+}
@@ -0,0 +1,529 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
+import io.b2mash.b2b.b2bstrawman.audit.AuditService;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunSentEvent;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchSendRequest;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunSendResponse;
+import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
+import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueueProperties;
+import io.b2mash.b2b.b2bstrawman.integration.email.EmailRateLimiter;
+import io.b2mash.b2b.b2bstrawman.invoice.DeferredInvoiceEmails;
+import io.b2mash.b2b.b2bstrawman.invoice.Invoice;
+import io.b2mash.b2b.b2bstrawman.invoice.InvoiceEmailService;
+import io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository;
+import io.b2mash.b2b.b2bstrawman.invoice.InvoiceService;
+import io.b2mash.b2b.b2bstrawman.invoice.InvoiceStatus;
+import io.b2mash.b2b.b2bstrawman.invoice.dto.SendInvoiceRequest;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
+import io.b2mash.b2b.b2bstrawman.template.DocumentTemplate;
+import io.b2mash.b2b.b2bstrawman.template.GeneratedDocumentService;
+import io.b2mash.b2b.b2bstrawman.template.PdfResult;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends the APPROVED invoices of a COMPLETED billing run. The request only records a {@link
+ * BillingRunSend} and enqueues a {@value #SEND_JOB_TYPE} job; the job emails the invoices one by
+ * one at the tenant's {@code billingEmailRateLimit}, paced by {@link EmailRateLimiter#reserve},
+ * while a preparer thread keeps the next few invoices ready: marked SENT (with their payment link)
+ * and their PDF rendered from the sent invoice, so the send loop never waits on PDF generation.
+ *
+ * <p>The send row is checkpointed after every invoice. An invoice is recorded as awaiting its email
+ * in the same transaction that marks it SENT, so a job that is retried after a crash emails those
+ * first and then resumes with the invoices that are still APPROVED and have not already failed.
+ * While the job queue is disabled the send runs inside the request, as it always did.
+ */
+@Service
+public class BillingRunSendService {
+
+  private static final Logger log = LoggerFactory.getLogger(BillingRunSendService.class);
+
+  /** Job type of the background send; the payload is empty, see {@link #resumePendingSends()}. */
+  static final String SEND_JOB_TYPE = "billing_run_send";
+
+  private static final List<BillingRunSendStatus> UNFINISHED =
+      List.of(BillingRunSendStatus.QUEUED, BillingRunSendStatus.IN_PROGRESS);
+
+  private final BillingRunRepository billingRunRepository;
+  private final BillingRunSendRepository sendRepository;
+  private final InvoiceRepository invoiceRepository;
+  private final InvoiceService invoiceService;
+  private final InvoiceEmailService invoiceEmailService;
+  private final GeneratedDocumentService generatedDocumentService;
+  private final DeferredInvoiceEmails deferredEmails;
+  private final EmailRateLimiter emailRateLimiter;
+  private final OrgSettingsRepository orgSettingsRepository;
+  private final AuditService auditService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate requiresNewTransactionTemplate;
+  private final JobEnqueuer jobEnqueuer;
+  private final JobQueueProperties jobQueueProperties;
+  private final BillingRunProperties properties;
+
+  public BillingRunSendService(
+      BillingRunRepository billingRunRepository,
+      BillingRunSendRepository sendRepository,
+      InvoiceRepository invoiceRepository,
+      InvoiceService invoiceService,
+      InvoiceEmailService invoiceEmailService,
+      GeneratedDocumentService generatedDocumentService,
+      DeferredInvoiceEmails deferredEmails,
+      EmailRateLimiter emailRateLimiter,
+      OrgSettingsRepository orgSettingsRepository,
+      AuditService auditService,
+      ApplicationEventPublisher eventPublisher,
+      TransactionTemplate transactionTemplate,
+      JobEnqueuer jobEnqueuer,
+      JobQueueProperties jobQueueProperties,
+      BillingRunProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.billingRunRepository = billingRunRepository;
+    this.sendRepository = sendRepository;
+    this.invoiceRepository = invoiceRepository;
+    this.invoiceService = invoiceService;
+    this.invoiceEmailService = invoiceEmailService;
+    this.generatedDocumentService = generatedDocumentService;
+    this.deferredEmails = deferredEmails;
+    this.emailRateLimiter = emailRateLimiter;
+    this.orgSettingsRepository = orgSettingsRepository;
+    this.auditService = auditService;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.jobEnqueuer = jobEnqueuer;
+    this.jobQueueProperties = jobQueueProperties;
+    this.properties = properties;
+    // REQUIRES_NEW: the enqueue must commit on the primary shard on its own, whatever transaction
+    // the caller has open on the tenant's shard.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Starts sending the APPROVED invoices of a COMPLETED billing run and returns the send, whose id
+   * is the tracking id for {@link #getSend(UUID, UUID)}. Default due date and payment terms are
+   * applied to invoices missing them up front. If a send of the run is still unfinished, that send
+   * is returned instead of starting another.
+   */
+  public BillingRunSendResponse startSend(
+      UUID billingRunId, BatchSendRequest request, UUID actorMemberId) {
+    var send =
+        transactionTemplate.execute(
+            status -> {
+              var run =
+                  billingRunRepository
+                      .findByIdForUpdate(billingRunId)
+                      .orElseThrow(() -> new ResourceNotFoundException("BillingRun", billingRunId));
+
+              if (run.getStatus() != BillingRunStatus.COMPLETED) {
+                throw new InvalidStateException(
+                    "Cannot send billing run",
+                    "Only COMPLETED billing runs can be sent. Current status: " + run.getStatus());
+              }
+
+              var unfinished =
+                  sendRepository.findByBillingRunIdAndStatusIn(billingRunId, UNFINISHED);
+              if (!unfinished.isEmpty()) {
+                return unfinished.getFirst();
+              }
+
+              var invoices =
+                  invoiceRepository.findByBillingRunIdAndStatus(
+                      billingRunId, InvoiceStatus.APPROVED);
+              if (request != null) {
+                for (Invoice invoice : invoices) {
+                  invoice.applyDefaults(request.defaultDueDate(), request.defaultPaymentTerms());
+                  invoiceRepository.save(invoice);
+                }
+              }
+
+              var s = new BillingRunSend(billingRunId, invoices.size(), actorMemberId);
+              if (invoices.isEmpty()) {
+                s.start();
+                s.complete();
+              }
+              return sendRepository.save(s);
+            });
+
+    if (send.getStatus() == BillingRunSendStatus.COMPLETED) {
+      return BillingRunSendResponse.from(send);
+    }
+
+    if (properties.isAsyncSend() && jobQueueProperties.isEnabled()) {
+      enqueueSend();
+      log.info("Queued send {} of billing run {}", send.getId(), billingRunId);
+      return BillingRunSendResponse.from(send);
+    }
+
+    return BillingRunSendResponse.from(processSend(send.getId()));
+  }
+
+  /**
+   * Enqueues the send job in a transaction of its own on the primary shard, where the job queue
+   * lives. A tenant that already has an active send job gets no second one: that job picks up the
+   * new send.
+   */
+  private void enqueueSend() {
+    String tenantId = RequestScopes.requireTenantId();
+    String orgId = RequestScopes.requireOrgId();
+    String shardId = RequestScopes.getShardIdOrDefault();
+    try {
+      RequestScopes.callOnPrimary(
+          () ->
+              requiresNewTransactionTemplate.execute(
+                  tx -> jobEnqueuer.enqueue(SEND_JOB_TYPE, tenantId, orgId, shardId, null)));
+    } catch (UnexpectedRollbackException e) {
+      // The dedup index rejected the insert: a concurrent start enqueued the tenant's job first.
+      log.debug("Send job for tenant {} was already enqueued", tenantId);
+    }
+  }
+
+  /**
+   * Processes every unfinished send of the current tenant, oldest first. The send job carries no
+   * payload because the job queue keeps at most one pending job per type and tenant — a send
+   * started while another is running is picked up by the same job.
+   */
+  public void resumePendingSends() {
+    var sends = sendRepository.findByStatusInOrderByCreatedAtAsc(UNFINISHED);
+    for (var send : sends) {
+      RequestScopes.callForTenantOnShardWithMember(
+          RequestScopes.requireTenantId(),
+          RequestScopes.getOrgIdOrNull(),
+          RequestScopes.getShardIdOrDefault(),
+          send.getCreatedBy(),
+          () -> processSend(send.getId()));
+    }
+  }
+
+  /**
+   * Sends the remaining invoices of one send and completes it. Safe to repeat: invoices already
+   * sent are no longer APPROVED, invoices marked SENT before a crash are still awaiting their email
+   * on the send, invoices that failed are recorded on the send and skipped, and the sent count is
+   * reconciled against all three before resuming.
+   */
+  public BillingRunSend processSend(UUID sendId) {
+    var send =
+        transactionTemplate.execute(
+            status -> {
+              var s =
+                  sendRepository
+                      .findByIdForUpdate(sendId)
+                      .orElseThrow(() -> new ResourceNotFoundException("BillingRunSend", sendId));
+              if (s.getStatus() == BillingRunSendStatus.COMPLETED) {
+                return s;
+              }
+              s.start();
+              return sendRepository.save(s);
+            });
+    if (send.getStatus() == BillingRunSendStatus.COMPLETED) {
+      return send;
+    }
+
+    UUID billingRunId = send.getBillingRunId();
+    var awaitingEmail = send.getAwaitingEmail();
+    var remaining =
+        invoiceRepository
+            .findByBillingRunIdAndStatus(billingRunId, InvoiceStatus.APPROVED)
+            .stream()
+            .map(Invoice::getId)
+            .filter(id -> !send.hasFailed(id))
+            .toList();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          var s = sendRepository.findByIdForUpdate(sendId).orElseThrow();
+          s.reconcileSentCount(remaining.size());
+          sendRepository.save(s);
+        });
+
+    if (!awaitingEmail.isEmpty() || !remaining.isEmpty()) {
+      sendInvoices(send, awaitingEmail, remaining);
+    }
+
+    var completed =
+        transactionTemplate.execute(
+            status -> {
+              var s = sendRepository.findByIdForUpdate(sendId).orElseThrow();
+              if (s.getStatus() == BillingRunSendStatus.COMPLETED) {
+                return null; // completed by a concurrent attempt
+              }
+              s.complete();
+              s = sendRepository.save(s);
+
+              var run = billingRunRepository.findById(billingRunId).orElseThrow();
+              run.setTotalSent(s.getSentCount());
+              run = billingRunRepository.save(run);
+              auditService.log(AuditEventBuilder.billingRunSent(run, s.getSentCount()));
+              eventPublisher.publishEvent(
+                  new BillingRunSentEvent(
+                      billingRunId,
+                      run.getName(),
+                      run.getPeriodFrom(),
+                      run.getPeriodTo(),
+                      s.getSentCount(),
+                      RequestScopes.getTenantIdOrNull(),
+                      RequestScopes.getOrgIdOrNull()));
+              return s;
+            });
+
+    if (completed == null) {
+      return sendRepository.findById(sendId).orElseThrow();
+    }
+    log.info(
+        "Batch send {} for billing run {} — {} sent, {} failed",
+        sendId,
+        billingRunId,
+        completed.getSentCount(),
+        completed.getFailedCount());
+    return completed;
+  }
+
+  public BillingRunSendResponse getSend(UUID billingRunId, UUID sendId) {
+    return sendRepository
+        .findByIdAndBillingRunId(sendId, billingRunId)
+        .map(BillingRunSendResponse::from)
+        .orElseThrow(() -> new ResourceNotFoundException("BillingRunSend", sendId));
+  }
+
+  // --- Private helpers ---
+
+  /**
+   * An invoice ready for its email: marked SENT, with its PDF rendered from the sent invoice and
+   * persisted as {@code documentId}, or a null {@code pdf} when no invoice template applies. A
+   * non-null {@code failure} means the invoice is not emailed and is recorded as failed.
+   */
+  private record PreparedInvoice(
+      UUID invoiceId,
+      @Nullable PdfResult pdf,
+      @Nullable UUID documentId,
+      @Nullable String failure) {}
+
+  private void sendInvoices(BillingRunSend send, List<UUID> awaitingEmail, List<UUID> toSend) {
+    String tenantId = RequestScopes.requireTenantId();
+    String orgId = RequestScopes.getOrgIdOrNull();
+    String shardId = RequestScopes.getShardIdOrDefault();
+    int rateLimit =
+        orgSettingsRepository
+            .findForCurrentTenant()
+            .map(s -> s.getBilling().getBillingEmailRateLimit())
+            .orElse(5);
+
+    BlockingQueue<PreparedInvoice> prepared =
+        new ArrayBlockingQueue<>(Math.max(1, properties.getSendPrefetch()));
+    try {
+      try (var preparer = Executors.newVirtualThreadPerTaskExecutor()) {
+        Future<Void> preparing =
+            preparer.submit(
+                () ->
+                    RequestScopes.callForTenantOnShardWithMember(
+                        tenantId,
+                        orgId,
+                        shardId,
+                        send.getCreatedBy(),
+                        () ->
+                            prepareAhead(
+                                send.getId(),
+                                awaitingEmail,
+                                toSend,
+                                prepared,
+                                send.getCreatedBy())));
+        try {
+          for (int i = 0; i < awaitingEmail.size() + toSend.size(); i++) {
+            var next = nextPrepared(prepared, preparing);
+            if (next.failure() == null) {
+              long waitNanos = emailRateLimiter.reserve(tenantId, rateLimit);
+              if (waitNanos > 0) {
+                Thread.sleep(Duration.ofNanos(waitNanos));
+              }
+            }
+            deliver(send, next);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while sending billing run invoices", e);
+        } finally {
+          preparer.shutdownNow();
+        }
+      }
+    } finally {
+      discardUndelivered(prepared);
+    }
+  }
+
+  /**
+   * Takes the next prepared invoice, failing instead of waiting forever once the preparer has
+   * stopped — including when it died with an {@link Error}.
+   */
+  private static PreparedInvoice nextPrepared(
+      BlockingQueue<PreparedInvoice> prepared, Future<Void> preparing) throws InterruptedException {
+    while (true) {
+      var next = prepared.poll(1, TimeUnit.SECONDS);
+      if (next != null) {
+        return next;
+      }
+      if (preparing.isDone()) {
+        next = prepared.poll();
+        if (next != null) {
+          return next;
+        }
+        Throwable cause =
+            preparing.state() == Future.State.FAILED ? preparing.exceptionNow() : null;
+        throw new IllegalStateException(
+            "Invoice preparation stopped before every invoice was sent", cause);
+      }
+    }
+  }
+
+  /**
+   * Prepares invoices for the send loop, staying at most {@code sendPrefetch} invoices ahead of
+   * it: first the invoices a crashed attempt already marked SENT, then the APPROVED ones, each
+   * marked SENT before its PDF is rendered through the same GeneratedDocument pipeline the invoice
+   * email listener uses, so the PDF shows the sent invoice and its payment link.
+   */
+  private Void prepareAhead(
+      UUID sendId,
+      List<UUID> awaitingEmail,
+      List<UUID> toSend,
+      BlockingQueue<PreparedInvoice> prepared,
+      UUID actorMemberId)
+      throws InterruptedException {
+    UUID templateId =
+        generatedDocumentService
+            .resolveDefaultInvoiceTemplate()
+            .map(DocumentTemplate::getId)
+            .orElse(null);
+
+    for (UUID invoiceId : awaitingEmail) {
+      prepared.put(render(templateId, invoiceId, actorMemberId));
+    }
+    for (UUID invoiceId : toSend) {
+      String failure = markSent(sendId, invoiceId);
+      prepared.put(
+          failure == null
+              ? render(templateId, invoiceId, actorMemberId)
+              : new PreparedInvoice(invoiceId, null, null, failure));
+    }
+    return null;
+  }
+
+  /**
+   * Marks the invoice SENT and records it as awaiting its email in one transaction, with the
+   * listener's email deferred to this send.
+   *
+   * @return the reason the invoice could not be sent, or null
+   */
+  @Nullable
+  private String markSent(UUID sendId, UUID invoiceId) {
+    deferredEmails.defer(invoiceId);
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            invoiceService.send(invoiceId, new SendInvoiceRequest(true));
+            var s = sendRepository.findByIdForUpdate(sendId).orElseThrow();
+            s.awaitEmail(invoiceId);
+            sendRepository.save(s);
+          });
+      return null;
+    } catch (RuntimeException e) {
+      String failure = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+      log.warn("Failed to send invoice {}: {}", invoiceId, failure);
+      return failure;
+    } finally {
+      deferredEmails.release(invoiceId);
+    }
+  }
+
+  /**
+   * Renders the PDF of a SENT invoice. A render failure is recorded against the invoice rather
+   * than emailing it without the PDF the client would expect.
+   */
+  private PreparedInvoice render(@Nullable UUID templateId, UUID invoiceId, UUID actorMemberId) {
+    if (templateId == null) {
+      // No suitable invoice template: email without an attachment, as the listener does.
+      return new PreparedInvoice(invoiceId, null, null, null);
+    }
+    try {
+      var result =
+          generatedDocumentService.generateDocument(
+              templateId, invoiceId, false, true, List.of(), actorMemberId);
+      return new PreparedInvoice(
+          invoiceId, result.pdfResult(), result.generatedDocument().getId(), null);
+    } catch (RuntimeException e) {
+      String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+      log.warn("Failed to render sent invoice {}: {}", invoiceId, reason);
+      return new PreparedInvoice(
+          invoiceId, null, null, "Invoice was sent but its PDF could not be rendered: " + reason);
+    }
+  }
+
+  private void deliver(BillingRunSend send, PreparedInvoice next) {
+    UUID invoiceId = next.invoiceId();
+    if (next.failure() == null) {
+      var invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+      invoiceEmailService.sendInvoiceEmail(
+          invoice, next.pdf() != null ? next.pdf().pdfBytes() : null);
+    } else {
+      log.warn(
+          "Failed to send invoice {} for billing run {}: {}",
+          invoiceId,
+          send.getBillingRunId(),
+          next.failure());
+    }
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          var s = sendRepository.findByIdForUpdate(send.getId()).orElseThrow();
+          if (next.failure() == null) {
+            s.recordSent(invoiceId);
+          } else {
+            s.recordFailed(invoiceId, next.failure());
+          }
+          sendRepository.save(s);
+
+          var run = billingRunRepository.findById(send.getBillingRunId()).orElseThrow();
+          run.setTotalSent(s.getSentCount());
+          billingRunRepository.save(run);
+        });
+  }
+
+  /**
+   * Deletes the documents rendered for invoices the send loop stopped before emailing. They stay
+   * awaiting their email on the send and are rendered again when it resumes.
+   */
+  private void discardUndelivered(BlockingQueue<PreparedInvoice> prepared) {
+    for (var undelivered = prepared.poll(); undelivered != null; undelivered = prepared.poll()) {
+      if (undelivered.documentId() == null) {
+        continue;
+      }
+      try {
+        generatedDocumentService.delete(undelivered.documentId());
+      } catch (RuntimeException e) {
+        log.warn(
+            "Could not delete document {} of undelivered invoice {}: {}",
+            undelivered.documentId(),
+            undelivered.invoiceId(),
+            e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+public enum BillingRunSendStatus {
+  QUEUED,
+  IN_PROGRESS,
+  COMPLETED
+}
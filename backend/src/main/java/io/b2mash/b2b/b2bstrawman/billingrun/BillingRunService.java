@@ -4,7 +4,9 @@ import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchOperationRes
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BatchSendRequest;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunItemResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunPreviewResponse;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunProgressResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunResponse;
+import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.BillingRunSendResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.CreateBillingRunRequest;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.DisbursementResponse;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos.ExpenseResponse;
@@ -24,7 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Facade that preserves the original BillingRunService public API while delegating to focused
  * collaborator services: BillingRunLifecycleService, BillingRunSelectionService,
- * BillingRunGenerationService, and RetainerBillingService.
+ * BillingRunGenerationService, BillingRunSendService, and RetainerBillingService.
  */
 @Service
 public class BillingRunService {
@@ -34,6 +36,7 @@ public class BillingRunService {
   private final BillingRunLifecycleService lifecycleService;
   private final BillingRunSelectionService selectionService;
   private final BillingRunGenerationService generationService;
+  private final BillingRunSendService sendService;
   private final RetainerBillingService retainerBillingService;
   private final VerticalModuleGuard moduleGuard;
 
@@ -41,11 +44,13 @@ public class BillingRunService {
       BillingRunLifecycleService lifecycleService,
       BillingRunSelectionService selectionService,
       BillingRunGenerationService generationService,
+      BillingRunSendService sendService,
       RetainerBillingService retainerBillingService,
       VerticalModuleGuard moduleGuard) {
     this.lifecycleService = lifecycleService;
     this.selectionService = selectionService;
     this.generationService = generationService;
+    this.sendService = sendService;
     this.retainerBillingService = retainerBillingService;
     this.moduleGuard = moduleGuard;
   }
@@ -155,17 +160,31 @@ public class BillingRunService {
     return generationService.generate(billingRunId, actorMemberId);
   }
 
+  @Transactional(readOnly = true)
+  public BillingRunProgressResponse getProgress(UUID billingRunId) {
+    moduleGuard.requireModule(MODULE_ID);
+
+    return generationService.getProgress(billingRunId);
+  }
+
   public BatchOperationResult batchApprove(UUID billingRunId, UUID actorMemberId) {
     moduleGuard.requireModule(MODULE_ID);
 
     return generationService.batchApprove(billingRunId, actorMemberId);
   }
 
-  public BatchOperationResult batchSend(
+  public BillingRunSendResponse batchSend(
       UUID billingRunId, BatchSendRequest request, UUID actorMemberId) {
     moduleGuard.requireModule(MODULE_ID);
 
-    return generationService.batchSend(billingRunId, request, actorMemberId);
+    return sendService.startSend(billingRunId, request, actorMemberId);
+  }
+
+  @Transactional(readOnly = true)
+  public BillingRunSendResponse getSend(UUID billingRunId, UUID sendId) {
+    moduleGuard.requireModule(MODULE_ID);
+
+    return sendService.getSend(billingRunId, sendId);
   }
 
   // --- Retainers ---
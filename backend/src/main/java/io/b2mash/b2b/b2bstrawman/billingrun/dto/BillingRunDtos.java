@@ -2,6 +2,9 @@ package io.b2mash.b2b.b2bstrawman.billingrun.dto;
 
 import io.b2mash.b2b.b2bstrawman.billingrun.BillingRun;
 import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunItemStatus;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunProgressProjection;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunSend;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunSendStatus;
 import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunStatus;
 import io.b2mash.b2b.b2bstrawman.billingrun.EntryType;
 import io.b2mash.b2b.b2bstrawman.expense.Expense;
@@ -72,6 +75,34 @@ public final class BillingRunDtos {
     }
   }
 
+  /**
+   * Live generation progress of a billing run. Items being generated right now still count as
+   * pending, since their status changes commit with the invoice. {@code generatedAmount} is the
+   * running total of the invoices generated so far; once the run is COMPLETED it equals {@code
+   * totalAmount} on the run.
+   */
+  public record BillingRunProgressResponse(
+      UUID billingRunId,
+      BillingRunStatus status,
+      long totalItems,
+      long pendingItems,
+      long generatedItems,
+      long failedItems,
+      BigDecimal generatedAmount) {
+
+    public static BillingRunProgressResponse from(
+        BillingRun run, BillingRunProgressProjection progress) {
+      return new BillingRunProgressResponse(
+          run.getId(),
+          run.getStatus(),
+          progress.getTotalCount(),
+          progress.getPendingCount(),
+          progress.getGeneratedCount(),
+          progress.getFailedCount(),
+          progress.getGeneratedAmount());
+    }
+  }
+
   public record LoadPreviewRequest(List<UUID> customerIds) {}
 
   public record BillingRunPreviewResponse(
@@ -209,6 +240,33 @@ public final class BillingRunDtos {
 
   public record BatchSendRequest(LocalDate defaultDueDate, String defaultPaymentTerms) {}
 
+  public record BillingRunSendResponse(
+      UUID id,
+      UUID billingRunId,
+      BillingRunSendStatus status,
+      int totalCount,
+      int successCount,
+      int failureCount,
+      List<BatchFailure> failures,
+      Instant createdAt,
+      Instant completedAt) {
+
+    public static BillingRunSendResponse from(BillingRunSend send) {
+      return new BillingRunSendResponse(
+          send.getId(),
+          send.getBillingRunId(),
+          send.getStatus(),
+          send.getTotalCount(),
+          send.getSentCount(),
+          send.getFailedCount(),
+          send.getFailures().entrySet().stream()
+              .map(e -> new BatchFailure(UUID.fromString(e.getKey()), e.getValue()))
+              .toList(),
+          send.getCreatedAt(),
+          send.getCompletedAt());
+    }
+  }
+
   public record RetainerPeriodPreview(
       UUID agreementId,
       UUID customerId,
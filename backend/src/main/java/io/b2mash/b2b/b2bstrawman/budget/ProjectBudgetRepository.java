@@ -1,5 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.budget;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,4 +14,8 @@ public interface ProjectBudgetRepository extends JpaRepository<ProjectBudget, UU
    */
   @Query("SELECT pb FROM ProjectBudget pb WHERE pb.projectId = :projectId")
   Optional<ProjectBudget> findByProjectId(@Param("projectId") UUID projectId);
+
+  /** Finds the budgets of many projects; projects without a budget have no entry. */
+  @Query("SELECT pb FROM ProjectBudget pb WHERE pb.projectId IN :projectIds")
+  List<ProjectBudget> findByProjectIdIn(@Param("projectIds") Collection<UUID> projectIds);
 }
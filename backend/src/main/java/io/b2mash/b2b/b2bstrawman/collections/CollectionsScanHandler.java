@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.collections;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Component;
 
 /**
  * Job handler for the daily collections scan (Phase 83, ADR-325). Tenant scope is pre-bound by the
- * {@code JobWorker}; this delegates to {@link CollectionsScanService#scanForTenant()}.
+ * {@code JobWorker}; this delegates to {@link CollectionsScanService#scanForTenant()} and then
+ * records the tenant's next scan time ({@link CollectionsScanService#nextScanDueAt()}) in {@link
+ * PendingWorkRegistry}.
  */
 @Component
 public class CollectionsScanHandler implements JobHandler {
@@ -17,19 +20,25 @@ public class CollectionsScanHandler implements JobHandler {
   private static final Logger log = LoggerFactory.getLogger(CollectionsScanHandler.class);
 
   private final CollectionsScanService scanService;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
-  public CollectionsScanHandler(CollectionsScanService scanService) {
+  public CollectionsScanHandler(
+      CollectionsScanService scanService, PendingWorkRegistry pendingWorkRegistry) {
     this.scanService = scanService;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   @Override
   public String jobType() {
-    return "collections_scan";
+    return CollectionsScanSignal.JOB_TYPE;
   }
 
   @Override
   public void execute(@Nullable JsonNode payload) {
+    long generation = pendingWorkRegistry.generation(CollectionsScanSignal.JOB_TYPE);
     var result = scanService.scanForTenant();
+    pendingWorkRegistry.reschedule(
+        CollectionsScanSignal.JOB_TYPE, generation, scanService.nextScanDueAt());
     log.info(
         "CollectionsScanHandler: scan finished — proposed={}, skipped={}, escalated={},"
             + " superseded={}",
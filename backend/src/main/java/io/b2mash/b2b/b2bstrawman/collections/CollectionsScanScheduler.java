@@ -9,9 +9,12 @@ import org.springframework.stereotype.Component;
 
 /**
  * Daily fanout for the collections scan (Phase 83, ADR-325). Enqueues one {@code collections_scan}
- * job per tenant via the Phase 75 job queue; per-tenant work happens in {@link
- * CollectionsScanHandler} with tenant scope pre-bound by {@code JobWorker}. No dual-mode: {@code
- * collections_scan} is a new job type with no legacy inline path to migrate.
+ * job per tenant with an open invoice overdue (or a policy change pending) according to {@code
+ * PendingWorkRegistry}, via the Phase 75 job queue; per-tenant work happens in {@link
+ * CollectionsScanHandler} with tenant scope pre-bound by {@code JobWorker}. A weekly full fan-out
+ * reconciles tenants whose invoices reached SENT without passing {@link CollectionsScanSignal}
+ * (seeders, imports). No dual-mode: {@code collections_scan} is a new job type with no legacy
+ * inline path to migrate.
  */
 @Component
 public class CollectionsScanScheduler {
@@ -28,6 +31,13 @@ public class CollectionsScanScheduler {
   @Scheduled(cron = "0 0 6 * * *")
   public void enqueueDailyScan() {
     log.debug("CollectionsScanScheduler: fanning out collections_scan");
-    jobEnqueuer.fanOutToAllTenants("collections_scan", null);
+    jobEnqueuer.fanOutToTenantsWithDueWork(CollectionsScanSignal.JOB_TYPE, null);
+  }
+
+  @SchedulerLock(name = "collections_scan_reconcile", lockAtLeastFor = "5m")
+  @Scheduled(cron = "0 30 5 * * MON")
+  public void enqueueWeeklyReconcile() {
+    log.debug("CollectionsScanScheduler: reconciling collections_scan across all tenants");
+    jobEnqueuer.fanOutToAllTenants(CollectionsScanSignal.JOB_TYPE, null);
   }
 }
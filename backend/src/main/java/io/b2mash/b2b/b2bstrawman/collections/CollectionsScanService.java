@@ -8,8 +8,11 @@ import io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository;
 import io.b2mash.b2b.b2bstrawman.notification.NotificationService;
 import io.b2mash.b2b.b2bstrawman.settings.CollectionsSettings;
 import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Tuple;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -338,6 +341,38 @@ public class CollectionsScanService {
     return new CandidateOutcome(proposed, skipped, escalated, superseded, pendingNotification);
   }
 
+  /**
+   * When the current tenant next needs a scan: the start of the first day its earliest-due open
+   * (SENT, non-exempt) invoice is overdue — a past instant while overdue invoices remain — or
+   * {@code null} if collections is disabled or no open invoice has a due date. Recorded by {@link
+   * CollectionsScanHandler} after each scan so the daily fan-out skips tenants with nothing to
+   * chase.
+   */
+  @Transactional(readOnly = true)
+  @Nullable
+  public Instant nextScanDueAt() {
+    var settings = orgSettingsRepository.findForCurrentTenant().orElse(null);
+    if (settings == null || !settings.getCollections().isCollectionsEnabled()) {
+      return null;
+    }
+    var earliestDueDate =
+        (LocalDate)
+            entityManager
+                .createNativeQuery(
+                    """
+                    SELECT MIN(i.due_date)
+                    FROM   invoices i
+                    JOIN   customers c ON c.id = i.customer_id
+                    WHERE  i.status = 'SENT'
+                      AND  c.collections_exempt = false
+                    """,
+                    LocalDate.class)
+                .getSingleResult();
+    return earliestDueDate != null
+        ? CollectionsScanSignal.firstOverdueScanAt(earliestDueDate)
+        : null;
+  }
+
   private List<Candidate> loadCandidates() {
     var query = entityManager.createNativeQuery(CANDIDATE_SQL, Tuple.class);
     @SuppressWarnings("unchecked")
@@ -0,0 +1,50 @@
+package io.b2mash.b2b.b2bstrawman.collections;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
+import jakarta.annotation.Nullable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the daily collections scan which tenants need it. The scan is only enqueued for tenants
+ * whose {@code collections_scan} row in {@link PendingWorkRegistry} is due; writers that can create
+ * a collections candidate call in here from their own transaction, and {@link
+ * CollectionsScanHandler} rewrites the row after every scan. Depends on nothing but the registry,
+ * so invoice, customer and settings services can use it without pulling in the scan machinery.
+ */
+@Component
+public class CollectionsScanSignal {
+
+  static final String JOB_TYPE = "collections_scan";
+
+  private final PendingWorkRegistry pendingWorkRegistry;
+
+  public CollectionsScanSignal(PendingWorkRegistry pendingWorkRegistry) {
+    this.pendingWorkRegistry = pendingWorkRegistry;
+  }
+
+  /**
+   * An invoice (re-)entered SENT: it becomes a candidate the day after {@code dueDate}. No-op for
+   * invoices without a due date, which are never candidates.
+   */
+  public void invoiceOpened(@Nullable LocalDate dueDate) {
+    if (dueDate != null) {
+      pendingWorkRegistry.markDue(JOB_TYPE, firstOverdueScanAt(dueDate));
+    }
+  }
+
+  /**
+   * The tenant's candidate set may have grown in a way only a scan can tell (collections enabled,
+   * a customer's exemption lifted): scan on the next run.
+   */
+  public void scanNextRun() {
+    pendingWorkRegistry.markDue(JOB_TYPE, Instant.now());
+  }
+
+  /** Start of the first UTC day on which an invoice due on {@code dueDate} is overdue. */
+  static Instant firstOverdueScanAt(LocalDate dueDate) {
+    return dueDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+}
@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.b2mash.b2b.b2bstrawman.multitenancy.SchemaAwareDataSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,11 +10,15 @@ import org.springframework.context.annotation.Primary;
 @Configuration
 public class DataSourceConfig {
 
+  /**
+   * The app pool tracks each connection's {@code search_path} so tenant checkouts skip redundant
+   * {@code SET search_path} round trips — see {@link SchemaAwareDataSource}.
+   */
   @Bean(name = "appDataSource")
   @Primary
   @ConfigurationProperties("spring.datasource.app")
   public HikariDataSource appDataSource() {
-    return new HikariDataSource();
+    return new SchemaAwareDataSource();
   }
 
   @Bean(name = "migrationDataSource")
@@ -9,6 +9,7 @@ import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
 import io.b2mash.b2b.b2bstrawman.member.MemberNameResolver;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import io.b2mash.b2b.b2bstrawman.security.Roles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -31,6 +32,7 @@ public class CostRateService {
   private final CostRateRepository costRateRepository;
   private final AuditService auditService;
   private final MemberNameResolver memberNameResolver;
+  private final RateCardIndexService rateCardIndexService;
 
   /**
    * Resolved cost rate result containing the hourly cost, currency, and the cost rate ID that was
@@ -41,15 +43,18 @@ public class CostRateService {
   public CostRateService(
       CostRateRepository costRateRepository,
       AuditService auditService,
-      MemberNameResolver memberNameResolver) {
+      MemberNameResolver memberNameResolver,
+      RateCardIndexService rateCardIndexService) {
     this.costRateRepository = costRateRepository;
     this.auditService = auditService;
     this.memberNameResolver = memberNameResolver;
+    this.rateCardIndexService = rateCardIndexService;
   }
 
   /**
    * Resolves the applicable cost rate for a member at a given date. Simple single-level lookup per
-   * ADR-043 -- no project/customer hierarchy.
+   * ADR-043 -- no project/customer hierarchy. Answered from the tenant's in-memory rate card
+   * index.
    *
    * @param memberId the member whose cost rate to resolve
    * @param date the effective date to check against
@@ -57,13 +62,7 @@ public class CostRateService {
    */
   @Transactional(readOnly = true)
   public Optional<ResolvedCostRate> resolveCostRate(UUID memberId, LocalDate date) {
-    var rates = costRateRepository.findByMemberIdAndDate(memberId, date);
-    if (!rates.isEmpty()) {
-      var rate = rates.getFirst();
-      return Optional.of(
-          new ResolvedCostRate(rate.getHourlyCost(), rate.getCurrency(), rate.getId()));
-    }
-    return Optional.empty();
+    return rateCardIndexService.current().resolveCostRate(memberId, date);
   }
 
   /**
@@ -1,5 +1,6 @@
 package io.b2mash.b2b.b2bstrawman.customer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,6 +11,13 @@ import org.springframework.data.repository.query.Param;
 
 public interface CustomerProjectRepository extends JpaRepository<CustomerProject, UUID> {
 
+  /** Typed projection pairing a project with the name of a linked customer. */
+  interface ProjectCustomerName {
+    UUID getProjectId();
+
+    String getCustomerName();
+  }
+
   List<CustomerProject> findByCustomerId(UUID customerId);
 
   boolean existsByCustomerId(UUID customerId);
@@ -40,4 +48,19 @@ public interface CustomerProjectRepository extends JpaRepository<CustomerProject
       LIMIT 1
       """)
   Optional<UUID> findFirstCustomerByProjectId(@Param("projectId") UUID projectId);
+
+  /**
+   * Customer names for many projects, oldest link first per project — the first row for a project
+   * is the customer {@link #findFirstCustomerByProjectId} resolves.
+   */
+  @Query(
+      """
+      SELECT cp.projectId AS projectId, c.name AS customerName
+      FROM CustomerProject cp
+      JOIN Customer c ON c.id = cp.customerId
+      WHERE cp.projectId IN :projectIds
+      ORDER BY cp.createdAt ASC
+      """)
+  List<ProjectCustomerName> findCustomerNamesByProjectIds(
+      @Param("projectIds") Collection<UUID> projectIds);
 }
@@ -4,6 +4,7 @@ import io.b2mash.b2b.b2bstrawman.audit.AuditDeltaBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
 import io.b2mash.b2b.b2bstrawman.checklist.ChecklistInstanceService;
+import io.b2mash.b2b.b2bstrawman.collections.CollectionsScanSignal;
 import io.b2mash.b2b.b2bstrawman.customer.dto.CollectionsExemptionResponse;
 import io.b2mash.b2b.b2bstrawman.customerbackend.event.CustomerCreatedEvent;
 import io.b2mash.b2b.b2bstrawman.customerbackend.event.CustomerUpdatedEvent;
@@ -56,6 +57,7 @@ public class CustomerService {
   private final RetainerAgreementRepository retainerAgreementRepository;
   private final io.b2mash.b2b.b2bstrawman.member.MemberNameResolver memberNameResolver;
   private final ChecklistInstanceService checklistInstanceService;
+  private final CollectionsScanSignal collectionsScanSignal;
 
   public CustomerService(
       CustomerRepository repository,
@@ -70,7 +72,8 @@ public class CustomerService {
       InvoiceRepository invoiceRepository,
       RetainerAgreementRepository retainerAgreementRepository,
       io.b2mash.b2b.b2bstrawman.member.MemberNameResolver memberNameResolver,
-      ChecklistInstanceService checklistInstanceService) {
+      ChecklistInstanceService checklistInstanceService,
+      CollectionsScanSignal collectionsScanSignal) {
     this.repository = repository;
     this.auditService = auditService;
     this.eventPublisher = eventPublisher;
@@ -84,6 +87,7 @@ public class CustomerService {
     this.retainerAgreementRepository = retainerAgreementRepository;
     this.memberNameResolver = memberNameResolver;
     this.checklistInstanceService = checklistInstanceService;
+    this.collectionsScanSignal = collectionsScanSignal;
   }
 
   @Transactional(readOnly = true)
@@ -484,8 +488,12 @@ public class CustomerService {
         repository
             .findById(customerId)
             .orElseThrow(() -> new ResourceNotFoundException("Customer", customerId));
+    boolean wasExempt = customer.isCollectionsExempt();
     customer.setCollectionsExempt(exempt);
     var saved = repository.save(customer);
+    if (wasExempt && !exempt) {
+      collectionsScanSignal.scanNextRun();
+    }
     return new CollectionsExemptionResponse(saved.getId(), saved.isCollectionsExempt());
   }
 
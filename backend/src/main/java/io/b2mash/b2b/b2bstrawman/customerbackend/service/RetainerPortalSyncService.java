@@ -23,9 +23,12 @@ import io.b2mash.b2b.b2bstrawman.retainer.event.RetainerPeriodRolloverEvent;
 import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsService;
 import io.b2mash.b2b.b2bstrawman.settings.PortalRetainerMemberDisplay;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
+import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryImportService;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -52,7 +55,8 @@ import org.springframework.transaction.support.TransactionTemplate;
  *       status).
  *   <li>{@link TimeEntryChangedEvent} — when the time entry belongs to a retainer-backed customer,
  *       upserts (or deletes) a consumption-entry row and re-snapshots the summary counters from the
- *       currently-open period.
+ *       currently-open period. A bulk import's per-project event upserts a row for every imported
+ *       entry it lists.
  *   <li>{@link RetainerPeriodRolloverEvent} — rolls the summary forward to the new period bounds.
  * </ul>
  *
@@ -77,6 +81,9 @@ public class RetainerPortalSyncService {
   /** Fallback for the portal description when the firm-side text is blank or [internal]-tagged. */
   private static final String DESCRIPTION_FALLBACK_LABEL = "TIME";
 
+  /** Imported entry ids per lookup, keeping the IN list well under the bind parameter limit. */
+  private static final int ENTRY_LOOKUP_CHUNK = 1_000;
+
   private final PortalRetainerSummaryRepository summaryRepo;
   private final PortalRetainerConsumptionEntryRepository entryRepo;
   private final RetainerAgreementRepository agreementRepository;
@@ -247,7 +254,8 @@ public class RetainerPortalSyncService {
    * consumption entry and re-snapshots the summary counters from the current open period.
    */
   private void syncTimeEntry(TimeEntryChangedEvent event) {
-    if (event.projectId() == null || event.entityId() == null) {
+    boolean imported = TimeEntryImportService.IMPORTED_ACTION.equals(event.action());
+    if (event.projectId() == null || (event.entityId() == null && !imported)) {
       return;
     }
 
@@ -276,6 +284,20 @@ public class RetainerPortalSyncService {
       return;
     }
     RetainerAgreement agreement = agreementOpt.get();
+    PortalRetainerMemberDisplay mode = orgSettingsService.getPortalRetainerMemberDisplay();
+
+    if (imported) {
+      // IMPORTED — one event per project for a bulk import, listing every imported entry.
+      List<UUID> entryIds = importedEntryIds(event);
+      for (int from = 0; from < entryIds.size(); from += ENTRY_LOOKUP_CHUNK) {
+        var chunk = entryIds.subList(from, Math.min(from + ENTRY_LOOKUP_CHUNK, entryIds.size()));
+        for (TimeEntry entry : timeEntryRepository.findAllById(chunk)) {
+          upsertEntry(agreement, customerId, entry, mode);
+        }
+      }
+      syncSummary(agreement.getId());
+      return;
+    }
 
     // CREATED / UPDATED — fetch the time entry, project + sanitise, upsert.
     var timeEntryOpt = timeEntryRepository.findById(event.entityId());
@@ -283,8 +305,30 @@ public class RetainerPortalSyncService {
       log.warn("Time entry not found during portal retainer sync — timeEntry={}", event.entityId());
       return;
     }
-    TimeEntry entry = timeEntryOpt.get();
+    upsertEntry(agreement, customerId, timeEntryOpt.get(), mode);
+    // Re-snapshot the summary counters from the current open period — the firm-side listener has
+    // already updated `consumedHours` / `remainingHours` on that period within the just-committed
+    // transaction, so reading the period now gives us the fresh absolute values.
+    syncSummary(agreement.getId());
+  }
 
+  private static List<UUID> importedEntryIds(TimeEntryChangedEvent event) {
+    Object ids =
+        event.details() != null
+            ? event.details().get(TimeEntryImportService.ENTRY_IDS_DETAIL)
+            : null;
+    if (!(ids instanceof Collection<?> entryIds)) {
+      return List.of();
+    }
+    return entryIds.stream().map(id -> UUID.fromString(id.toString())).toList();
+  }
+
+  /** Projects one time entry of a retainer-backed customer into the portal consumption history. */
+  private void upsertEntry(
+      RetainerAgreement agreement,
+      UUID customerId,
+      TimeEntry entry,
+      PortalRetainerMemberDisplay mode) {
     // Resolve member display string via the firm-wide privacy toggle. Use the time entry's owner
     // (who actually logged the time), NOT the event's actor (who may be an admin editing someone
     // else's entry) — otherwise an edit silently rewrites attribution to the editor.
@@ -295,7 +339,6 @@ public class RetainerPortalSyncService {
         (member != null && member.getOrgRoleEntity() != null)
             ? member.getOrgRoleEntity().getName()
             : null;
-    PortalRetainerMemberDisplay mode = orgSettingsService.getPortalRetainerMemberDisplay();
     String memberDisplay = memberDisplayResolver.resolve(member, roleName, mode);
 
     String sanitisedDescription =
@@ -314,10 +357,6 @@ public class RetainerPortalSyncService {
             null);
 
     portalTxTemplate.executeWithoutResult(status -> entryRepo.upsert(entryView));
-    // Re-snapshot the summary counters from the current open period — the firm-side listener has
-    // already updated `consumedHours` / `remainingHours` on that period within the just-committed
-    // transaction, so reading the period now gives us the fresh absolute values.
-    syncSummary(agreement.getId());
   }
 
   // ── Backfill ───────────────────────────────────────────────────────────
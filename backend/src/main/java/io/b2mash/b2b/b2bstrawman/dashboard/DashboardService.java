@@ -8,7 +8,6 @@ import io.b2mash.b2b.b2bstrawman.budget.ProjectBudget;
 import io.b2mash.b2b.b2bstrawman.budget.ProjectBudgetRepository;
 import io.b2mash.b2b.b2bstrawman.crm.PipelineSummaryService;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerProjectRepository;
-import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
 import io.b2mash.b2b.b2bstrawman.dashboard.dto.CrossProjectActivityItem;
 import io.b2mash.b2b.b2bstrawman.dashboard.dto.KpiResponse;
 import io.b2mash.b2b.b2bstrawman.dashboard.dto.KpiValues;
@@ -28,6 +27,7 @@ import io.b2mash.b2b.b2bstrawman.dashboard.dto.UtilizationSummary;
 import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
 import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
+import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
 import io.b2mash.b2b.b2bstrawman.project.ProjectStatus;
 import io.b2mash.b2b.b2bstrawman.project.ProjectWithRole;
@@ -48,10 +48,12 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -70,15 +72,18 @@ public class DashboardService {
   /** Upper bound for the activity-feed {@code limit} (clamped). */
   static final int MAX_ACTIVITY_LIMIT = 50;
 
+  /** Allowance for clock skew between the app, which stamps occurred_at, and the database. */
+  private static final Duration HEALTH_SNAPSHOT_CLOCK_SKEW = Duration.ofMinutes(1);
+
   private final TaskRepository taskRepository;
   private final TimeEntryRepository timeEntryRepository;
   private final AuditEventRepository auditEventRepository;
   private final ProjectBudgetRepository projectBudgetRepository;
   private final ProjectRepository projectRepository;
   private final CustomerProjectRepository customerProjectRepository;
-  private final CustomerRepository customerRepository;
   private final ProjectAccessService projectAccessService;
   private final PipelineSummaryService pipelineSummaryService;
+  private final ProjectHealthBatchLoader projectHealthBatchLoader;
 
   private final Cache<String, Object> projectCache =
       Caffeine.newBuilder().maximumSize(5_000).expireAfterWrite(Duration.ofMinutes(1)).build();
@@ -86,6 +91,17 @@ public class DashboardService {
   private final Cache<String, Object> orgCache =
       Caffeine.newBuilder().maximumSize(1_000).expireAfterWrite(Duration.ofMinutes(3)).build();
 
+  /** Per-tenant project health inputs; expiry bounds how long an unaudited change can hide. */
+  private final Cache<String, HealthSnapshot> healthSnapshots =
+      Caffeine.newBuilder().maximumSize(1_000).expireAfterWrite(Duration.ofMinutes(15)).build();
+
+  /**
+   * {@code facts} as of a refresh; every audit event that occurred before {@code completeBefore}
+   * was already committed, and so reflected in them, when they were loaded.
+   */
+  private record HealthSnapshot(
+      LocalDate day, Instant completeBefore, Map<UUID, ProjectHealthBatchLoader.Facts> facts) {}
+
   public DashboardService(
       TaskRepository taskRepository,
       TimeEntryRepository timeEntryRepository,
@@ -93,18 +109,18 @@ public class DashboardService {
       ProjectBudgetRepository projectBudgetRepository,
       ProjectRepository projectRepository,
       CustomerProjectRepository customerProjectRepository,
-      CustomerRepository customerRepository,
       ProjectAccessService projectAccessService,
-      PipelineSummaryService pipelineSummaryService) {
+      PipelineSummaryService pipelineSummaryService,
+      ProjectHealthBatchLoader projectHealthBatchLoader) {
     this.taskRepository = taskRepository;
     this.timeEntryRepository = timeEntryRepository;
     this.auditEventRepository = auditEventRepository;
     this.projectBudgetRepository = projectBudgetRepository;
     this.projectRepository = projectRepository;
     this.customerProjectRepository = customerProjectRepository;
-    this.customerRepository = customerRepository;
     this.projectAccessService = projectAccessService;
     this.pipelineSummaryService = pipelineSummaryService;
+    this.projectHealthBatchLoader = projectHealthBatchLoader;
   }
 
   /**
@@ -218,7 +234,8 @@ public class DashboardService {
 
   /**
    * Returns the project health list for accessible projects, sorted by severity (CRITICAL first),
-   * then by completion percent ascending (least complete first).
+   * then by completion percent ascending (least complete first). Health inputs are loaded in bulk
+   * and kept in a per-tenant snapshot that is refreshed only for projects touched since.
    *
    * @param tenantId the tenant schema for cache key isolation
    * @param actor the authenticated actor for access filtering and visibility
@@ -227,13 +244,17 @@ public class DashboardService {
   @SuppressWarnings("unchecked")
   @Transactional(readOnly = true)
   public List<ProjectHealth> getProjectHealthList(String tenantId, ActorContext actor) {
-    String key = tenantId + ":project-health:" + actor.orgRole();
+    // Regular members see only their own projects, so their lists are cached per member
+    String key =
+        isAdminOrOwner(actor.orgRole())
+            ? tenantId + ":project-health:all"
+            : tenantId + ":project-health:member:" + actor.memberId();
     List<ProjectHealth> cached = (List<ProjectHealth>) orgCache.getIfPresent(key);
     if (cached != null) {
       return cached;
     }
 
-    List<ProjectHealth> result = computeProjectHealthList(actor);
+    List<ProjectHealth> result = computeProjectHealthList(tenantId, actor);
     orgCache.put(key, result);
     return result;
   }
@@ -622,7 +643,7 @@ public class DashboardService {
     return computeKpiValues(prevFrom, prevTo);
   }
 
-  private List<ProjectHealth> computeProjectHealthList(ActorContext actor) {
+  private List<ProjectHealth> computeProjectHealthList(String tenantId, ActorContext actor) {
     // Get accessible projects based on role
     List<ProjectWithRole> projectsWithRoles;
     if (isAdminOrOwner(actor.orgRole())) {
@@ -631,71 +652,38 @@ public class DashboardService {
       projectsWithRoles = projectRepository.findProjectsForMember(actor.memberId());
     }
 
-    LocalDate today = LocalDate.now();
+    List<UUID> projectIds =
+        projectsWithRoles.stream().map(ProjectWithRole::project).map(Project::getId).toList();
+    Map<UUID, ProjectHealthBatchLoader.Facts> facts = healthFacts(tenantId, projectIds);
 
+    // First-linked customer per project (rows arrive oldest link first)
+    Map<UUID, String> customerNames = new HashMap<>();
+    if (!projectIds.isEmpty()) {
+      customerProjectRepository
+          .findCustomerNamesByProjectIds(projectIds)
+          .forEach(row -> customerNames.putIfAbsent(row.getProjectId(), row.getCustomerName()));
+    }
+
+    Instant now = Instant.now();
     return projectsWithRoles.stream()
         .map(
             projectWithRole -> {
               var project = projectWithRole.project();
-              UUID projectId = project.getId();
-
-              long totalTasks = taskRepository.countByProjectId(projectId);
-              long doneTasks = taskRepository.countByProjectIdAndStatus(projectId, TaskStatus.DONE);
-              long overdueTasks = taskRepository.countOverdueByProjectId(projectId, today);
-              double completionPercent = totalTasks > 0 ? (double) doneTasks / totalTasks * 100 : 0;
-
-              // Budget data
-              Double budgetConsumedPercent = null;
-              int alertThresholdPct = ProjectHealthCalculator.DEFAULT_BUDGET_ALERT_THRESHOLD;
-              var budgetOpt = projectBudgetRepository.findByProjectId(projectId);
-              if (budgetOpt.isPresent()) {
-                var budget = budgetOpt.get();
-                alertThresholdPct = budget.getAlertThresholdPct();
-                var budgetHours = budget.getBudgetHours();
-                if (budgetHours != null && budgetHours.compareTo(BigDecimal.ZERO) > 0) {
-                  var consumed =
-                      timeEntryRepository.budgetHoursConsumed(projectId).getHoursConsumed();
-                  budgetConsumedPercent =
-                      consumed
-                          .multiply(BigDecimal.valueOf(100))
-                          .divide(budgetHours, 2, RoundingMode.HALF_UP)
-                          .doubleValue();
-                }
-              }
-
-              int daysSinceLastActivity = computeDaysSinceLastActivity(projectId);
-
-              // Hours logged (all-time for the list view)
-              double hoursLogged =
-                  timeEntryRepository.projectTimeSummary(projectId, null, null).getTotalMinutes()
-                      / 60.0;
-
-              // Calculate health
-              var input =
-                  new ProjectHealthInput(
-                      (int) totalTasks,
-                      (int) doneTasks,
-                      (int) overdueTasks,
-                      budgetConsumedPercent,
-                      alertThresholdPct,
-                      completionPercent,
-                      daysSinceLastActivity);
-              var healthResult = ProjectHealthCalculator.calculate(input);
-
-              // Look up customer name
-              String customerName = lookupCustomerName(projectId);
+              var projectFacts = facts.get(project.getId());
+              var healthResult = ProjectHealthCalculator.calculate(projectFacts.toInput(now));
 
               return new ProjectHealth(
-                  projectId,
+                  project.getId(),
                   project.getName(),
-                  customerName,
+                  customerNames.get(project.getId()),
                   healthResult.status(),
                   healthResult.reasons(),
-                  (int) doneTasks,
-                  (int) totalTasks,
-                  completionPercent,
-                  budgetConsumedPercent,
-                  hoursLogged);
+                  projectFacts.doneTasks(),
+                  projectFacts.totalTasks(),
+                  projectFacts.completionPercent(),
+                  projectFacts.budgetConsumedPercent(),
+                  // Hours logged (all-time for the list view)
+                  projectFacts.totalMinutes() / 60.0);
             })
         .sorted(
             Comparator.comparingInt((ProjectHealth ph) -> ph.healthStatus().severity())
@@ -704,6 +692,39 @@ public class DashboardService {
         .toList();
   }
 
+  /**
+   * Health inputs for {@code projectIds}, served from the tenant's snapshot where possible. Only
+   * projects missing from the snapshot, or with audit events since it was last refreshed (task,
+   * time entry and budget changes are all audited with their project id), are reloaded. The
+   * snapshot is dropped when the day changes, as overdue counts are relative to today.
+   *
+   * <p>An event's occurred_at precedes its commit, by up to the length of its transaction, so the
+   * next refresh rescans from the start of the oldest transaction open now rather than from now:
+   * however long a transaction runs, its events are not missed.
+   */
+  private Map<UUID, ProjectHealthBatchLoader.Facts> healthFacts(
+      String tenantId, List<UUID> projectIds) {
+    LocalDate today = LocalDate.now();
+    Instant completeBefore = auditEventRepository.findOldestOpenTransactionStart();
+
+    Map<UUID, ProjectHealthBatchLoader.Facts> facts = new HashMap<>();
+    HealthSnapshot snapshot = healthSnapshots.getIfPresent(tenantId);
+    if (snapshot != null && snapshot.day().equals(today)) {
+      facts.putAll(snapshot.facts());
+      Set<UUID> touched =
+          new HashSet<>(
+              auditEventRepository.findProjectIdsWithActivitySince(
+                  snapshot.completeBefore().minus(HEALTH_SNAPSHOT_CLOCK_SKEW)));
+      facts.keySet().removeIf(touched::contains);
+    }
+
+    List<UUID> stale = projectIds.stream().filter(id -> !facts.containsKey(id)).toList();
+    facts.putAll(projectHealthBatchLoader.load(stale, today));
+
+    healthSnapshots.put(tenantId, new HealthSnapshot(today, completeBefore, Map.copyOf(facts)));
+    return facts;
+  }
+
   private List<TeamWorkloadEntry> computeTeamWorkload(
       ActorContext actor, LocalDate from, LocalDate to) {
     List<TeamWorkloadProjection> rows = timeEntryRepository.findTeamWorkload(from, to);
@@ -804,14 +825,6 @@ public class DashboardService {
     };
   }
 
-  private String lookupCustomerName(UUID projectId) {
-    return customerProjectRepository
-        .findFirstCustomerByProjectId(projectId)
-        .flatMap(customerRepository::findById)
-        .map(c -> c.getName())
-        .orElse(null);
-  }
-
   // --- Shared helpers ---
 
   private void requireValidDateRange(LocalDate from, LocalDate to) {
@@ -0,0 +1,138 @@
+package io.b2mash.b2b.b2bstrawman.dashboard;
+
+import io.b2mash.b2b.b2bstrawman.audit.AuditEventRepository;
+import io.b2mash.b2b.b2bstrawman.budget.ProjectBudget;
+import io.b2mash.b2b.b2bstrawman.budget.ProjectBudgetRepository;
+import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
+import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the inputs of {@link ProjectHealthCalculator} for many projects at once — one grouped query
+ * each for task counts, time logged, budgets and last activity — instead of a round of per-project
+ * queries. Used by the company dashboard's project health list (Epic 76A).
+ */
+@Component
+public class ProjectHealthBatchLoader {
+
+  private final TaskRepository taskRepository;
+  private final TimeEntryRepository timeEntryRepository;
+  private final ProjectBudgetRepository projectBudgetRepository;
+  private final AuditEventRepository auditEventRepository;
+
+  public ProjectHealthBatchLoader(
+      TaskRepository taskRepository,
+      TimeEntryRepository timeEntryRepository,
+      ProjectBudgetRepository projectBudgetRepository,
+      AuditEventRepository auditEventRepository) {
+    this.taskRepository = taskRepository;
+    this.timeEntryRepository = timeEntryRepository;
+    this.projectBudgetRepository = projectBudgetRepository;
+    this.auditEventRepository = auditEventRepository;
+  }
+
+  /**
+   * Health inputs of one project that do not depend on who is looking.
+   *
+   * @param budgetHours budgeted hours, null if no budget or no hours budget is configured
+   * @param lastActivity most recent audit event for the project, null if none
+   */
+  public record Facts(
+      int totalTasks,
+      int doneTasks,
+      int overdueTasks,
+      BigDecimal budgetHours,
+      int alertThresholdPct,
+      long totalMinutes,
+      Instant lastActivity) {
+
+    double completionPercent() {
+      return totalTasks > 0 ? (double) doneTasks / totalTasks * 100 : 0;
+    }
+
+    Double budgetConsumedPercent() {
+      if (budgetHours == null || budgetHours.compareTo(BigDecimal.ZERO) <= 0) {
+        return null;
+      }
+      // minutes * 100 / (hours * 60), in one division so nothing is rounded before the last step
+      return BigDecimal.valueOf(totalMinutes)
+          .multiply(BigDecimal.valueOf(100))
+          .divide(budgetHours.multiply(BigDecimal.valueOf(60)), 2, RoundingMode.HALF_UP)
+          .doubleValue();
+    }
+
+    int daysSinceLastActivity(Instant now) {
+      // No audit events — treat as fresh (not stale)
+      return lastActivity == null ? 0 : (int) Duration.between(lastActivity, now).toDays();
+    }
+
+    ProjectHealthInput toInput(Instant now) {
+      return new ProjectHealthInput(
+          totalTasks,
+          doneTasks,
+          overdueTasks,
+          budgetConsumedPercent(),
+          alertThresholdPct,
+          completionPercent(),
+          daysSinceLastActivity(now));
+    }
+  }
+
+  /**
+   * Loads the facts of {@code projectIds}, with tasks past their due date as of {@code today}
+   * counting as overdue. Every requested project gets an entry.
+   */
+  public Map<UUID, Facts> load(Collection<UUID> projectIds, LocalDate today) {
+    if (projectIds.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<UUID, TaskRepository.ProjectTaskCounts> taskCounts = new HashMap<>();
+    taskRepository
+        .countTasksByProjectIds(projectIds, today)
+        .forEach(row -> taskCounts.put(row.getProjectId(), row));
+
+    Map<UUID, Long> minutes = new HashMap<>();
+    timeEntryRepository
+        .sumMinutesByProjectIds(projectIds)
+        .forEach(row -> minutes.put(row.getProjectId(), row.getTotalMinutes()));
+
+    Map<UUID, ProjectBudget> budgets = new HashMap<>();
+    projectBudgetRepository
+        .findByProjectIdIn(projectIds)
+        .forEach(budget -> budgets.put(budget.getProjectId(), budget));
+
+    Map<UUID, Instant> lastActivity = new HashMap<>();
+    auditEventRepository
+        .findMostRecentByProjects(projectIds)
+        .forEach(row -> lastActivity.put(row.getProjectId(), row.getLastActivity()));
+
+    Map<UUID, Facts> facts = new HashMap<>();
+    for (UUID projectId : projectIds) {
+      var counts = taskCounts.get(projectId);
+      var budget = budgets.get(projectId);
+      facts.put(
+          projectId,
+          new Facts(
+              counts != null ? (int) counts.getTotalTasks() : 0,
+              counts != null ? (int) counts.getDoneTasks() : 0,
+              counts != null ? (int) counts.getOverdueTasks() : 0,
+              budget != null ? budget.getBudgetHours() : null,
+              budget != null
+                  ? budget.getAlertThresholdPct()
+                  : ProjectHealthCalculator.DEFAULT_BUDGET_ALERT_THRESHOLD,
+              minutes.getOrDefault(projectId, 0L),
+              lastActivity.get(projectId)));
+    }
+    return facts;
+  }
+}
@@ -13,6 +13,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.TenantTransactionHelper;
 import io.b2mash.b2b.b2bstrawman.orgrole.OrgRoleRepository;
 import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.task.Task;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
@@ -66,7 +67,8 @@ public class AccountingDemoDataSeeder extends BaseDemoDataSeeder {
       TimeEntryRepository timeEntryRepository,
       InvoiceRepository invoiceRepository,
       InvoiceLineRepository invoiceLineRepository,
-      ProjectMemberRepository projectMemberRepository) {
+      ProjectMemberRepository projectMemberRepository,
+      TimeEntryRollupService timeEntryRollupService) {
     super(
         tenantTransactionHelper,
         memberRepository,
@@ -77,7 +79,8 @@ public class AccountingDemoDataSeeder extends BaseDemoDataSeeder {
         timeEntryRepository,
         invoiceRepository,
         invoiceLineRepository,
-        projectMemberRepository);
+        projectMemberRepository,
+        timeEntryRollupService);
   }
 
   @Override
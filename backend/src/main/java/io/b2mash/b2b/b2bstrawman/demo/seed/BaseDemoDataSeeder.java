@@ -13,6 +13,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.TenantTransactionHelper;
 import io.b2mash.b2b.b2bstrawman.orgrole.OrgRole;
 import io.b2mash.b2b.b2bstrawman.orgrole.OrgRoleRepository;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
@@ -46,6 +47,7 @@ public abstract class BaseDemoDataSeeder {
   protected final InvoiceRepository invoiceRepository;
   protected final InvoiceLineRepository invoiceLineRepository;
   protected final ProjectMemberRepository projectMemberRepository;
+  protected final TimeEntryRollupService timeEntryRollupService;
 
   protected BaseDemoDataSeeder(
       TenantTransactionHelper tenantTransactionHelper,
@@ -57,7 +59,8 @@ public abstract class BaseDemoDataSeeder {
       TimeEntryRepository timeEntryRepository,
       InvoiceRepository invoiceRepository,
       InvoiceLineRepository invoiceLineRepository,
-      ProjectMemberRepository projectMemberRepository) {
+      ProjectMemberRepository projectMemberRepository,
+      TimeEntryRollupService timeEntryRollupService) {
     this.tenantTransactionHelper = tenantTransactionHelper;
     this.memberRepository = memberRepository;
     this.orgRoleRepository = orgRoleRepository;
@@ -68,6 +71,7 @@ public abstract class BaseDemoDataSeeder {
     this.invoiceRepository = invoiceRepository;
     this.invoiceLineRepository = invoiceLineRepository;
     this.projectMemberRepository = projectMemberRepository;
+    this.timeEntryRollupService = timeEntryRollupService;
   }
 
   /**
@@ -79,7 +83,13 @@ public abstract class BaseDemoDataSeeder {
   public void seed(String schemaName, UUID orgId) {
     log.info("Seeding demo data for schema {} (org {})", schemaName, orgId);
     tenantTransactionHelper.executeInTenantTransaction(
-        schemaName, orgId.toString(), t -> seedProfileData(schemaName, orgId));
+        schemaName,
+        orgId.toString(),
+        t -> {
+          seedProfileData(schemaName, orgId);
+          // Seeded time entries are saved directly, without TimeEntryChangedEvent
+          timeEntryRollupService.rebuild();
+        });
     log.info("Demo data seeding complete for schema {}", schemaName);
   }
 
@@ -21,6 +21,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.TenantTransactionHelper;
 import io.b2mash.b2b.b2bstrawman.orgrole.OrgRoleRepository;
 import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.task.Task;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
@@ -94,6 +95,7 @@ public class LegalDemoDataSeeder extends BaseDemoDataSeeder {
       InvoiceRepository invoiceRepository,
       InvoiceLineRepository invoiceLineRepository,
       ProjectMemberRepository projectMemberRepository,
+      TimeEntryRollupService timeEntryRollupService,
       VerticalModuleRegistry verticalModuleRegistry,
       TrustAccountRepository trustAccountRepository,
       TrustTransactionRepository trustTransactionRepository,
@@ -112,7 +114,8 @@ public class LegalDemoDataSeeder extends BaseDemoDataSeeder {
         timeEntryRepository,
         invoiceRepository,
         invoiceLineRepository,
-        projectMemberRepository);
+        projectMemberRepository,
+        timeEntryRollupService);
     this.verticalModuleRegistry = verticalModuleRegistry;
     this.trustAccountRepository = trustAccountRepository;
     this.trustTransactionRepository = trustTransactionRepository;
@@ -19,6 +19,7 @@ import io.b2mash.b2b.b2bstrawman.informationrequest.dto.InformationRequestDtos.D
 import io.b2mash.b2b.b2bstrawman.informationrequest.dto.InformationRequestDtos.FicaStatusResponse;
 import io.b2mash.b2b.b2bstrawman.informationrequest.dto.InformationRequestDtos.InformationRequestResponse;
 import io.b2mash.b2b.b2bstrawman.informationrequest.dto.InformationRequestDtos.UpdateInformationRequestRequest;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import io.b2mash.b2b.b2bstrawman.member.Member;
 import io.b2mash.b2b.b2bstrawman.member.MemberRepository;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
@@ -59,6 +60,7 @@ public class InformationRequestService {
   private final ApplicationEventPublisher eventPublisher;
   private final AuditService auditService;
   private final MemberRepository memberRepository;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public InformationRequestService(
       InformationRequestRepository requestRepository,
@@ -72,7 +74,8 @@ public class InformationRequestService {
       DocumentRepository documentRepository,
       ApplicationEventPublisher eventPublisher,
       AuditService auditService,
-      MemberRepository memberRepository) {
+      MemberRepository memberRepository,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.requestRepository = requestRepository;
     this.itemRepository = itemRepository;
     this.requestNumberService = requestNumberService;
@@ -85,6 +88,7 @@ public class InformationRequestService {
     this.eventPublisher = eventPublisher;
     this.auditService = auditService;
     this.memberRepository = memberRepository;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   private String resolveActorName() {
@@ -355,6 +359,12 @@ public class InformationRequestService {
     }
     request.send();
     var saved = requestRepository.save(request);
+    // Hint only: without a per-request interval the reminder job resolves the org default itself.
+    pendingWorkRegistry.markDue(
+        RequestReminderScheduler.JOB_TYPE,
+        saved.getReminderIntervalDays() != null
+            ? saved.getSentAt().plus(saved.getReminderIntervalDays(), ChronoUnit.DAYS)
+            : saved.getSentAt());
 
     var sentAuditDetails = new HashMap<String, Object>();
     sentAuditDetails.put("request_number", saved.getRequestNumber());
@@ -27,7 +27,7 @@ public class RequestReminderHandler implements JobHandler {
 
   @Override
   public String jobType() {
-    return "request_reminder_check";
+    return RequestReminderScheduler.JOB_TYPE;
   }
 
   @Override
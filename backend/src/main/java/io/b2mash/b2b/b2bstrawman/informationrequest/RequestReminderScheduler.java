@@ -4,11 +4,14 @@ import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueueProperties;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import io.b2mash.b2b.b2bstrawman.multitenancy.TenantScopedRunner;
 import io.b2mash.b2b.b2bstrawman.portal.PortalContactRepository;
 import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
+import jakarta.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -19,11 +22,21 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Sends reminder emails for open information requests whose reminder interval has elapsed. The
+ * 6-hour check enqueues {@code request_reminder_check} only for tenants with a reminder due in
+ * {@link PendingWorkRegistry}; {@link #processTenant()} records each tenant's next reminder time,
+ * and {@link InformationRequestService#send} marks newly sent requests. A daily full fan-out
+ * reconciles tenants the registry does not know about.
+ */
 @Component
 public class RequestReminderScheduler {
 
+  static final String JOB_TYPE = JOB_TYPE;
+
   private static final Logger log = LoggerFactory.getLogger(RequestReminderScheduler.class);
   private static final long CHECK_INTERVAL_MS = 21_600_000; // 6 hours
+  private static final long RECONCILE_INTERVAL_MS = 86_400_000; // 24 hours
   private static final int DEFAULT_REMINDER_INTERVAL_DAYS = 5;
 
   private final TenantScopedRunner tenantScopedRunner;
@@ -36,6 +49,7 @@ public class RequestReminderScheduler {
   private final TransactionTemplate transactionTemplate;
   private final JobEnqueuer jobEnqueuer;
   private final JobQueueProperties jobQueueProperties;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public RequestReminderScheduler(
       TenantScopedRunner tenantScopedRunner,
@@ -47,7 +61,8 @@ public class RequestReminderScheduler {
       AuditService auditService,
       TransactionTemplate transactionTemplate,
       JobEnqueuer jobEnqueuer,
-      JobQueueProperties jobQueueProperties) {
+      JobQueueProperties jobQueueProperties,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.tenantScopedRunner = tenantScopedRunner;
     this.orgSettingsRepository = orgSettingsRepository;
     this.informationRequestRepository = informationRequestRepository;
@@ -58,6 +73,7 @@ public class RequestReminderScheduler {
     this.transactionTemplate = transactionTemplate;
     this.jobEnqueuer = jobEnqueuer;
     this.jobQueueProperties = jobQueueProperties;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   @SchedulerLock(name = "request_reminder_check_request_reminders", lockAtLeastFor = "5m")
@@ -65,17 +81,39 @@ public class RequestReminderScheduler {
   public void checkRequestReminders() {
     log.debug("Request reminder scheduler started");
 
-    if (jobQueueProperties.isDualMode("request_reminder_check")) {
+    if (jobQueueProperties.isDualMode(JOB_TYPE)) {
       int[] remindersSent = {0};
       tenantScopedRunner.forEachTenant((tenantId, orgId) -> remindersSent[0] += processTenant());
 
       log.info("Request reminder scheduler completed: {} reminders sent", remindersSent[0]);
     }
 
-    jobEnqueuer.fanOutToAllTenants("request_reminder_check", null);
+    jobEnqueuer.fanOutToTenantsWithDueWork(JOB_TYPE, null);
+  }
+
+  /** Checks every tenant regardless of the registry, re-seeding it from the requests themselves. */
+  @SchedulerLock(name = "request_reminder_reconcile", lockAtLeastFor = "5m")
+  @Scheduled(fixedDelay = RECONCILE_INTERVAL_MS, initialDelay = 0)
+  public void reconcileRequestReminders() {
+    log.debug("Request reminder reconcile started");
+    jobEnqueuer.fanOutToAllTenants(JOB_TYPE, null);
   }
 
   int processTenant() {
+    long generation = pendingWorkRegistry.generation(JOB_TYPE);
+    var pass = processRequests();
+    transactionTemplate.executeWithoutResult(
+        tx -> pendingWorkRegistry.reschedule(JOB_TYPE, generation, pass.nextDueAt()));
+    return pass.sent();
+  }
+
+  /**
+   * Outcome of one tenant pass: reminders sent, and the earliest upcoming (or still unsent)
+   * reminder time — {@code null} if no open request remains.
+   */
+  private record ReminderPass(int sent, @Nullable Instant nextDueAt) {}
+
+  private ReminderPass processRequests() {
     var orgSettingsOpt =
         transactionTemplate.execute(tx -> orgSettingsRepository.findForCurrentTenant());
 
@@ -94,10 +132,11 @@ public class RequestReminderScheduler {
                     List.of(RequestStatus.SENT, RequestStatus.IN_PROGRESS)));
 
     if (requests == null || requests.isEmpty()) {
-      return 0;
+      return new ReminderPass(0, null);
     }
 
     int sent = 0;
+    Instant nextDueAt = null;
     for (var request : requests) {
       int intervalDays =
           request.getReminderIntervalDays() != null
@@ -113,15 +152,21 @@ public class RequestReminderScheduler {
         continue;
       }
 
-      long daysSince = Duration.between(referenceTime, Instant.now()).toDays();
+      Instant now = Instant.now();
+      Instant dueAt = referenceTime.plus(intervalDays, ChronoUnit.DAYS);
+      long daysSince = Duration.between(referenceTime, now).toDays();
       if (daysSince >= intervalDays) {
         if (sendReminder(request.getId(), intervalDays)) {
           sent++;
+          dueAt = now.plus(intervalDays, ChronoUnit.DAYS);
         }
       }
+      if (nextDueAt == null || dueAt.isBefore(nextDueAt)) {
+        nextDueAt = dueAt;
+      }
     }
 
-    return sent;
+    return new ReminderPass(sent, nextDueAt);
   }
 
   /** DTO to carry reminder data between transaction and email send. */
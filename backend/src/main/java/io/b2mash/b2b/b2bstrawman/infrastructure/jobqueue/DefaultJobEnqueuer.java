@@ -1,9 +1,8 @@
 package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
 import jakarta.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,8 +13,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Default implementation of {@link JobEnqueuer}. Reads all tenant mappings and creates job queue
- * entries, using a pre-filter and the dedup index as a safety net against double-enqueue.
+ * Default implementation of {@link JobEnqueuer}. Single-tenant enqueues use a pre-filter plus the
+ * dedup index as a safety net against double-enqueue; fan-outs are one server-side {@code INSERT
+ * ... SELECT} over {@code org_schema_mapping} that relies on the dedup index alone, so their cost
+ * stays flat as the tenant count grows.
  */
 @Component
 public class DefaultJobEnqueuer implements JobEnqueuer {
@@ -23,7 +24,6 @@ public class DefaultJobEnqueuer implements JobEnqueuer {
   private static final Logger log = LoggerFactory.getLogger(DefaultJobEnqueuer.class);
   private static final String DEFAULT_SHARD_ID = "primary";
 
-  private final OrgSchemaMappingRepository mappingRepository;
   private final JobQueueRepository jobQueueRepository;
   private final JobQueueProperties properties;
   private final @Nullable JobQueueMetrics metrics;
@@ -32,11 +32,9 @@ public class DefaultJobEnqueuer implements JobEnqueuer {
   private final Set<String> warnedDisabledTypes = ConcurrentHashMap.newKeySet();
 
   public DefaultJobEnqueuer(
-      OrgSchemaMappingRepository mappingRepository,
       JobQueueRepository jobQueueRepository,
       JobQueueProperties properties,
       @Nullable JobQueueMetrics metrics) {
-    this.mappingRepository = mappingRepository;
     this.jobQueueRepository = jobQueueRepository;
     this.properties = properties;
     this.metrics = metrics;
@@ -44,21 +42,21 @@ public class DefaultJobEnqueuer implements JobEnqueuer {
 
   @Override
   @Transactional
-  public void enqueue(
+  public boolean enqueue(
       String jobType, String tenantId, String orgId, String shardId, @Nullable JsonNode payload) {
     Objects.requireNonNull(jobType, "jobType must not be null");
     Objects.requireNonNull(tenantId, "tenantId must not be null");
     Objects.requireNonNull(orgId, "orgId must not be null");
 
     if (isQueueDisabled(jobType)) {
-      return;
+      return false;
     }
 
     // Pre-filter: skip if an active job already exists for this type + tenant
     var activeTenantIds = jobQueueRepository.findActiveTenantIdsByJobType(jobType);
     if (activeTenantIds.contains(tenantId)) {
       log.debug("Dedup pre-filter: job already active for type={}, tenant={}", jobType, tenantId);
-      return;
+      return false;
     }
 
     var job =
@@ -75,9 +73,12 @@ public class DefaultJobEnqueuer implements JobEnqueuer {
       if (metrics != null) {
         metrics.recordEnqueued(jobType);
       }
+      notifyWorkers();
       log.debug("Enqueued job: type={}, tenant={}", jobType, tenantId);
+      return true;
     } catch (DataIntegrityViolationException e) {
       log.debug("Dedup: job already active for type={}, tenant={} — skipped", jobType, tenantId);
+      return false;
     }
   }
 
@@ -96,71 +97,94 @@ public class DefaultJobEnqueuer implements JobEnqueuer {
       return 0;
     }
 
-    // Step 1: Pre-filter — find tenants that already have an active job of this type
-    var activeTenantIds = jobQueueRepository.findActiveTenantIdsByJobType(jobType);
+    int enqueued =
+        jobQueueRepository.insertForAllTenants(
+            jobType,
+            payload != null ? payload.toString() : null,
+            priority,
+            properties.getMaxRetriesDefault());
+    if (metrics != null) {
+      metrics.recordEnqueued(jobType, enqueued);
+    }
 
-    // Step 2: Build entities for tenants NOT in the skip set
-    var allMappings = mappingRepository.findAll();
-    var newJobs = new ArrayList<JobQueue>();
-    int skippedByPreFilter = 0;
-
-    for (var mapping : allMappings) {
-      String tenantId = mapping.getSchemaName();
-      if (activeTenantIds.contains(tenantId)) {
-        log.debug("Dedup pre-filter: skipping type={}, tenant={}", jobType, tenantId);
-        skippedByPreFilter++;
-        continue;
-      }
+    log.info("fanOutToAllTenants: type={}, enqueued={}", jobType, enqueued);
 
-      var job =
-          new JobQueue(
-              jobType,
-              tenantId,
-              mapping.getExternalOrgId(),
-              shardIdOrDefault(mapping.getShardId()),
-              payload,
-              properties.getMaxRetriesDefault());
-      job.setPriority(priority);
-      newJobs.add(job);
+    if (enqueued > 0) {
+      notifyWorkers();
     }
+    return enqueued;
+  }
 
-    if (newJobs.isEmpty()) {
-      log.debug("fanOutToAllTenants: no new jobs to enqueue for type={}", jobType);
+  @Override
+  @Transactional
+  public int enqueueForTenants(
+      String jobType, Collection<String> tenantIds, @Nullable JsonNode payload) {
+    Objects.requireNonNull(jobType, "jobType must not be null");
+    Objects.requireNonNull(tenantIds, "tenantIds must not be null");
+
+    if (tenantIds.isEmpty() || isQueueDisabled(jobType)) {
       return 0;
     }
 
-    // Step 3: Save one-by-one with individual dedup handling.
-    // This avoids the batch saveAll() problem where a DataIntegrityViolationException
-    // marks the entire transaction rollback-only, preventing the fallback from working.
-    int enqueued = 0;
-    int skippedByDedup = 0;
-    for (var job : newJobs) {
-      try {
-        jobQueueRepository.saveAndFlush(job);
-        if (metrics != null) {
-          metrics.recordEnqueued(jobType);
-        }
-        enqueued++;
-      } catch (DataIntegrityViolationException e) {
-        log.debug(
-            "Dedup: job already active for type={}, tenant={} — skipped",
+    int enqueued =
+        jobQueueRepository.insertForTenants(
             jobType,
-            job.getTenantId());
-        skippedByDedup++;
-      }
+            tenantIds,
+            payload != null ? payload.toString() : null,
+            0,
+            properties.getMaxRetriesDefault());
+    if (metrics != null) {
+      metrics.recordEnqueued(jobType, enqueued);
     }
 
-    log.info(
-        "fanOutToAllTenants: type={}, tenants={}, enqueued={}, skippedByPreFilter={}, skippedByDedup={}",
-        jobType,
-        allMappings.size(),
-        enqueued,
-        skippedByPreFilter,
-        skippedByDedup);
+    log.debug(
+        "enqueueForTenants: type={}, tenants={}, enqueued={}", jobType, tenantIds.size(), enqueued);
 
+    if (enqueued > 0) {
+      notifyWorkers();
+    }
     return enqueued;
   }
 
+  @Override
+  @Transactional
+  public int fanOutToTenantsWithDueWork(String jobType, @Nullable JsonNode payload) {
+    Objects.requireNonNull(jobType, "jobType must not be null");
+
+    if (isQueueDisabled(jobType)) {
+      return 0;
+    }
+
+    int enqueued =
+        jobQueueRepository.insertForTenantsWithDueWork(
+            jobType,
+            properties.getPendingWorkLeaseSeconds(),
+            payload != null ? payload.toString() : null,
+            0,
+            properties.getMaxRetriesDefault());
+    if (metrics != null) {
+      metrics.recordEnqueued(jobType, enqueued);
+    }
+
+    log.debug("fanOutToTenantsWithDueWork: type={}, enqueued={}", jobType, enqueued);
+
+    if (enqueued > 0) {
+      notifyWorkers();
+    }
+    return enqueued;
+  }
+
+  /**
+   * Emits a {@code NOTIFY} so idle workers claim the new rows immediately instead of on their next
+   * poll. Delivered by Postgres at commit of the enqueue transaction — see {@link
+   * JobQueueListener}.
+   */
+  private void notifyWorkers() {
+    if (properties.isNotifyEnabled()) {
+      jobQueueRepository.notifyWorkers();
+    }
+  }
+
   /**
    * Guards against silent queue accumulation: {@code JobWorker} is gated on {@code
    * kazi.job-queue.enabled}, so enqueuing while it is disabled would write rows that nothing ever
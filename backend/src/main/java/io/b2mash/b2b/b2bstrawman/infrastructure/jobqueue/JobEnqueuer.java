@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nullable;
+import java.util.Collection;
 
 /**
  * Enqueues jobs into the distributed job queue. The primary entry point for schedulers to fan out
@@ -17,8 +18,10 @@ public interface JobEnqueuer {
    * @param orgId the external organization ID
    * @param shardId the shard identifier
    * @param payload optional JSONB payload
+   * @return {@code true} if the job was enqueued; {@code false} if an active job of this type
+   *     already exists for the tenant, or the queue is disabled
    */
-  void enqueue(
+  boolean enqueue(
       String jobType, String tenantId, String orgId, String shardId, @Nullable JsonNode payload);
 
   /**
@@ -39,4 +42,26 @@ public interface JobEnqueuer {
    * @return the number of jobs actually enqueued (excludes dedup skips)
    */
   int fanOutToAllTenants(String jobType, @Nullable JsonNode payload, int priority);
+
+  /**
+   * Enqueues a job for each of the given tenants with default priority (0). Tenants without a
+   * schema mapping are skipped.
+   *
+   * @param jobType the type identifier for this job
+   * @param tenantIds the tenant schema names
+   * @param payload optional JSONB payload
+   * @return the number of jobs actually enqueued (excludes dedup skips)
+   */
+  int enqueueForTenants(String jobType, Collection<String> tenantIds, @Nullable JsonNode payload);
+
+  /**
+   * Fans out a job with default priority (0) only to tenants whose pending work for {@code jobType}
+   * is due in {@link PendingWorkRegistry}. The claimed tenants' registry rows are leased in the
+   * same transaction, so a claimed tenant always gets its job.
+   *
+   * @param jobType the type identifier for this job
+   * @param payload optional JSONB payload
+   * @return the number of jobs actually enqueued (excludes dedup skips)
+   */
+  int fanOutToTenantsWithDueWork(String jobType, @Nullable JsonNode payload);
 }
@@ -25,4 +25,15 @@ public interface JobHandler {
    * @param payload optional JSONB payload with job-type-specific data; may be null
    */
   void execute(@Nullable JsonNode payload);
+
+  /**
+   * Called once after the job's final attempt failed and it was moved to {@code DEAD_LETTER}, with
+   * the same tenant scope as {@link #execute(JsonNode)}. Handlers whose {@code execute} leaves
+   * domain state mid-transition override this to move it to a terminal or retryable state, since
+   * nothing will run the job again. Exceptions are logged and otherwise ignored. Default: no-op.
+   *
+   * @param payload the job's payload; may be null
+   * @param cause the exception thrown by the final attempt
+   */
+  default void onDeadLetter(@Nullable JsonNode payload, Exception cause) {}
 }
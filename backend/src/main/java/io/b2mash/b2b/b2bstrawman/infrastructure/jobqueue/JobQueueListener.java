@@ -0,0 +1,164 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds a dedicated Postgres connection that {@code LISTEN}s on {@link #CHANNEL} and wakes the
+ * {@link JobWorker} poll loop (via {@link JobWakeupSignal}) as soon as a job is enqueued on any
+ * pod. With the listener connected the worker only falls back to polling every {@code
+ * fallback-poll-interval-ms}; while it is disconnected the worker reverts to {@code
+ * poll-interval-ms}, so a lost connection degrades latency but never correctness.
+ *
+ * <p>The connection is opened outside the Hikari pool when possible: it is held for the lifetime
+ * of the pod, and taking it from the app pool would permanently shrink the pool the worker's
+ * parallelism guardrail is computed against.
+ *
+ * <p>Starts in a lower phase than {@link JobWorker} so the worker's first idle wait already sees
+ * the listener as connected.
+ */
+@Component
+@ConditionalOnProperty(name = "kazi.job-queue.enabled", havingValue = "true")
+public class JobQueueListener implements SmartLifecycle {
+
+  /** Postgres notification channel used by {@link JobQueueRepository#notifyWorkers()}. */
+  public static final String CHANNEL = "kazi_job_queue";
+
+  private static final Logger log = LoggerFactory.getLogger(JobQueueListener.class);
+
+  /** Upper bound on a single blocking read — keeps {@link #stop()} responsive. */
+  private static final int NOTIFICATION_TIMEOUT_MS = 10_000;
+
+  private static final long RECONNECT_BACKOFF_MS = 5_000;
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+  private volatile boolean running = false;
+  private Thread listenThread;
+  private volatile Connection connection;
+
+  private final DataSource dataSource;
+  private final JobWakeupSignal wakeupSignal;
+  private final JobQueueProperties properties;
+
+  public JobQueueListener(
+      DataSource dataSource, JobWakeupSignal wakeupSignal, JobQueueProperties properties) {
+    this.dataSource = dataSource;
+    this.wakeupSignal = wakeupSignal;
+    this.properties = properties;
+  }
+
+  @Override
+  public void start() {
+    if (running) {
+      return;
+    }
+    if (!properties.isNotifyEnabled()) {
+      log.info("JobQueueListener disabled (kazi.job-queue.notify-enabled=false) — polling only");
+      return;
+    }
+    running = true;
+    listenThread = Thread.ofVirtual().name("job-queue-listener").start(this::listenLoop);
+    log.info("JobQueueListener started — channel={}", CHANNEL);
+  }
+
+  private void listenLoop() {
+    while (running) {
+      try (var conn = openDedicatedConnection()) {
+        connection = conn;
+        try (var stmt = conn.createStatement()) {
+          stmt.execute("LISTEN " + CHANNEL);
+        }
+        var pgConnection = conn.unwrap(PGConnection.class);
+        wakeupSignal.setListening(true);
+        // Anything enqueued while we were disconnected was announced to nobody — poll once now.
+        wakeupSignal.signal();
+        log.debug("Listening for job queue notifications on channel={}", CHANNEL);
+
+        while (running) {
+          var notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+          if (notifications != null && notifications.length > 0) {
+            wakeupSignal.signal();
+          }
+        }
+      } catch (SQLException e) {
+        if (running) {
+          log.warn(
+              "Job queue LISTEN connection lost, reconnecting in {}ms: {}",
+              RECONNECT_BACKOFF_MS,
+              e.getMessage());
+        }
+      } finally {
+        connection = null;
+        wakeupSignal.setListening(false);
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_BACKOFF_MS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+  }
+
+  private Connection openDedicatedConnection() throws SQLException {
+    if (dataSource instanceof HikariDataSource hikari && hikari.getJdbcUrl() != null) {
+      return DriverManager.getConnection(
+          hikari.getJdbcUrl(), hikari.getUsername(), hikari.getPassword());
+    }
+    return dataSource.getConnection();
+  }
+
+  @Override
+  public void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    var conn = connection;
+    if (conn != null) {
+      try {
+        // Unblocks a pending getNotifications() read immediately.
+        conn.close();
+      } catch (SQLException e) {
+        log.debug("Error closing job queue LISTEN connection: {}", e.getMessage());
+      }
+    }
+    if (listenThread != null) {
+      listenThread.interrupt();
+      try {
+        listenThread.join(SHUTDOWN_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      listenThread = null;
+    }
+    log.info("JobQueueListener stopped");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return properties.isAutoStart();
+  }
+
+  @Override
+  public int getPhase() {
+    return Integer.MAX_VALUE - 20;
+  }
+}
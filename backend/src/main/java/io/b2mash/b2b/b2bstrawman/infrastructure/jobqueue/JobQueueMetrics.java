@@ -30,6 +30,7 @@ public class JobQueueMetrics {
 
   private final MeterRegistry registry;
   private final JobQueueRepository repository;
+  private final JobQueueProperties properties;
 
   private final ConcurrentHashMap<String, Counter> enqueuedCounters = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Counter> completedCounters = new ConcurrentHashMap<>();
@@ -37,13 +38,16 @@ public class JobQueueMetrics {
   private final ConcurrentHashMap<String, Counter> deadLetterCounters = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Timer> executionTimers = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Timer> claimWaitTimers = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Timer> tenantWaitTimers = new ConcurrentHashMap<>();
 
   private final AtomicLong pendingCount = new AtomicLong(0);
   private final AtomicLong claimedCount = new AtomicLong(0);
 
-  public JobQueueMetrics(MeterRegistry registry, JobQueueRepository repository) {
+  public JobQueueMetrics(
+      MeterRegistry registry, JobQueueRepository repository, JobQueueProperties properties) {
     this.registry = registry;
     this.repository = repository;
+    this.properties = properties;
 
     registry.gauge("kazi_job_queue_pending_count", pendingCount);
     registry.gauge("kazi_job_queue_claimed_count", claimedCount);
@@ -51,6 +55,14 @@ public class JobQueueMetrics {
 
   /** Increment the enqueued counter for the given job type. */
   public void recordEnqueued(String jobType) {
+    recordEnqueued(jobType, 1);
+  }
+
+  /** Add {@code count} to the enqueued counter for the given job type (set-based fan-out). */
+  public void recordEnqueued(String jobType, int count) {
+    if (count <= 0) {
+      return;
+    }
     enqueuedCounters
         .computeIfAbsent(
             jobType,
@@ -59,7 +71,7 @@ public class JobQueueMetrics {
                     .tag("job_type", type)
                     .description("Jobs enqueued")
                     .register(registry))
-        .increment();
+        .increment(count);
   }
 
   /** Increment the completed counter and record execution/claim-wait timers. */
@@ -108,6 +120,33 @@ public class JobQueueMetrics {
     recordExecutionTime(jobType, claimedAt);
   }
 
+  /**
+   * Records how long a job sat claimable before a worker claimed it ({@code next_attempt_at} to
+   * {@code claimed_at}) as a per-tenant percentile histogram — the signal for checking that small
+   * tenants' p99 queue latency stays flat under fair claiming. No-op unless {@code
+   * kazi.job-queue.tenant-wait-metrics-enabled} is set.
+   */
+  public void recordQueueWait(String tenantId, Instant dueAt, Instant claimedAt) {
+    if (!properties.isTenantWaitMetricsEnabled() || dueAt == null || claimedAt == null) {
+      return;
+    }
+    // A job claimed before its recorded due time (clock skew between pods) counts as no wait.
+    Duration duration = Duration.between(dueAt, claimedAt);
+    if (duration.isNegative()) {
+      duration = Duration.ZERO;
+    }
+    tenantWaitTimers
+        .computeIfAbsent(
+            tenantId,
+            tenant ->
+                Timer.builder("kazi_job_queue_tenant_wait_seconds")
+                    .tag("tenant_id", tenant)
+                    .description("Time from a job becoming claimable to being claimed, per tenant")
+                    .publishPercentileHistogram()
+                    .register(registry))
+        .record(duration.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
   /** Polls the database for current queue depths. Called every 30 seconds by the scheduler. */
   @Scheduled(fixedRate = 30_000)
   public void refreshGauges() {
@@ -20,12 +20,57 @@ public class JobQueueProperties {
   private int backoffBaseSeconds = 10;
 
   /**
-   * Maximum number of jobs from a claimed batch to execute concurrently within a single worker
-   * (pod). The effective parallelism is additionally capped at half the app DataSource pool size to
-   * avoid exhausting connections (see {@code JobWorker}). Set to 1 to disable in-pod parallelism.
+   * Number of execution slots in a single worker (pod): the maximum number of jobs running
+   * concurrently. The effective parallelism is additionally capped at half the app DataSource pool
+   * size to avoid exhausting connections (see {@code JobWorker}). Set to 1 to disable in-pod
+   * parallelism.
    */
   private int workerParallelism = 10;
 
+  /**
+   * Whether workers {@code LISTEN} for enqueue notifications (see {@code JobQueueListener}). When
+   * enabled and connected, an idle worker wakes immediately on enqueue and only polls every {@link
+   * #fallbackPollIntervalMs}; otherwise it polls every {@link #pollIntervalMs}.
+   */
+  private boolean notifyEnabled = true;
+
+  /** Idle poll interval used while the LISTEN connection is up — a safety net, not the hot path. */
+  private long fallbackPollIntervalMs = 30_000;
+
+  /**
+   * Per-pod concurrency caps by job type, e.g. {@code accounting_sync_drain: 2}. A capped type can
+   * occupy at most that many of the worker's execution slots at once, so heavy job types cannot
+   * starve the rest. Types without an entry are bounded only by the worker's parallelism.
+   */
+  private Map<String, Integer> typeConcurrency = new HashMap<>();
+
+  /**
+   * How workers pick rows to claim. {@link ClaimMode#PRIORITY} takes the globally highest-priority,
+   * oldest rows; {@link ClaimMode#FAIR} round-robins across tenants (and shards) so a burst from
+   * one tenant cannot starve the rest.
+   */
+  private ClaimMode claimMode = ClaimMode.PRIORITY;
+
+  /**
+   * Fleet-wide cap on CLAIMED jobs per tenant, applied in {@link ClaimMode#FAIR} only. {@code 0}
+   * means uncapped.
+   */
+  private int tenantInFlightCap = 0;
+
+  /**
+   * Whether to publish a per-tenant queue-wait histogram ({@code
+   * kazi_job_queue_tenant_wait_seconds}). Off by default: one histogram per tenant is
+   * high-cardinality, so enable it while validating fairness rather than permanently.
+   */
+  private boolean tenantWaitMetricsEnabled = false;
+
+  /**
+   * How far {@link JobEnqueuer#fanOutToTenantsWithDueWork} pushes out a claimed tenant's pending
+   * work until its job reschedules it. Bounds the delay before a tenant whose job failed is
+   * retried.
+   */
+  private long pendingWorkLeaseSeconds = 600;
+
   private Map<String, Boolean> dualMode = new HashMap<>();
 
   /**
@@ -104,6 +149,62 @@ public class JobQueueProperties {
     this.workerParallelism = workerParallelism;
   }
 
+  public boolean isNotifyEnabled() {
+    return notifyEnabled;
+  }
+
+  public void setNotifyEnabled(boolean notifyEnabled) {
+    this.notifyEnabled = notifyEnabled;
+  }
+
+  public long getFallbackPollIntervalMs() {
+    return fallbackPollIntervalMs;
+  }
+
+  public void setFallbackPollIntervalMs(long fallbackPollIntervalMs) {
+    this.fallbackPollIntervalMs = fallbackPollIntervalMs;
+  }
+
+  public Map<String, Integer> getTypeConcurrency() {
+    return typeConcurrency;
+  }
+
+  public void setTypeConcurrency(Map<String, Integer> typeConcurrency) {
+    this.typeConcurrency = typeConcurrency;
+  }
+
+  public ClaimMode getClaimMode() {
+    return claimMode;
+  }
+
+  public void setClaimMode(ClaimMode claimMode) {
+    this.claimMode = claimMode;
+  }
+
+  public int getTenantInFlightCap() {
+    return tenantInFlightCap;
+  }
+
+  public void setTenantInFlightCap(int tenantInFlightCap) {
+    this.tenantInFlightCap = tenantInFlightCap;
+  }
+
+  public boolean isTenantWaitMetricsEnabled() {
+    return tenantWaitMetricsEnabled;
+  }
+
+  public void setTenantWaitMetricsEnabled(boolean tenantWaitMetricsEnabled) {
+    this.tenantWaitMetricsEnabled = tenantWaitMetricsEnabled;
+  }
+
+  public long getPendingWorkLeaseSeconds() {
+    return pendingWorkLeaseSeconds;
+  }
+
+  public void setPendingWorkLeaseSeconds(long pendingWorkLeaseSeconds) {
+    this.pendingWorkLeaseSeconds = pendingWorkLeaseSeconds;
+  }
+
   public Map<String, Boolean> getDualMode() {
     return dualMode;
   }
@@ -111,4 +212,12 @@ public class JobQueueProperties {
   public void setDualMode(Map<String, Boolean> dualMode) {
     this.dualMode = dualMode;
   }
+
+  /** Claim ordering used by {@code JobWorker}. */
+  public enum ClaimMode {
+    /** {@code ORDER BY priority DESC, next_attempt_at ASC} across the whole queue. */
+    PRIORITY,
+    /** Round-robin across tenants and shards, with an optional per-tenant in-flight cap. */
+    FAIR
+  }
 }
@@ -1,12 +1,14 @@
 package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -29,6 +31,117 @@ public interface JobQueueRepository extends JpaRepository<JobQueue, UUID> {
       nativeQuery = true)
   List<JobQueue> findClaimable(@Param("limit") int limit);
 
+  /**
+   * Same as {@link #findClaimable(int)} but skips the given job types — used by the worker to
+   * leave rows of types that are at their per-pod concurrency cap for other pods.
+   */
+  @Query(
+      value =
+          """
+      SELECT * FROM public.job_queue
+      WHERE status = 'PENDING'
+        AND next_attempt_at <= NOW()
+        AND job_type NOT IN (:excludedTypes)
+      ORDER BY priority DESC, next_attempt_at ASC
+      LIMIT :limit
+      FOR UPDATE SKIP LOCKED
+      """,
+      nativeQuery = true)
+  List<JobQueue> findClaimableExcludingTypes(
+      @Param("limit") int limit, @Param("excludedTypes") Collection<String> excludedTypes);
+
+  /**
+   * Fair-share variant of {@link #findClaimable(int)}: claims round-robin across tenants instead
+   * of strictly by priority, so one tenant's burst cannot starve the others. Each tenant's ready
+   * jobs are ranked by {@code priority DESC, next_attempt_at ASC}; rows are then taken rank by rank
+   * (every tenant's first job, then every tenant's second, ...), interleaving shards within a
+   * rank. A tenant whose ready rank plus its fleet-wide CLAIMED count exceeds {@code tenantCap} is
+   * held back until some of its jobs finish.
+   *
+   * <p>The outer {@code status = 'PENDING'} is re-checked against the locked row version, so a row
+   * claimed by another pod between the CTE snapshot and the lock is skipped.
+   */
+  @Query(
+      value =
+          """
+      WITH ready AS (
+          SELECT id, tenant_id, shard_id, priority, next_attempt_at,
+                 ROW_NUMBER() OVER (
+                     PARTITION BY tenant_id
+                     ORDER BY priority DESC, next_attempt_at ASC) AS tenant_rank
+          FROM public.job_queue
+          WHERE status = 'PENDING'
+            AND next_attempt_at <= NOW()
+      ),
+      in_flight AS (
+          SELECT tenant_id, COUNT(*) AS claimed
+          FROM public.job_queue
+          WHERE status = 'CLAIMED'
+          GROUP BY tenant_id
+      ),
+      fair AS (
+          SELECT r.id, r.tenant_rank, r.priority, r.next_attempt_at,
+                 ROW_NUMBER() OVER (
+                     PARTITION BY r.shard_id, r.tenant_rank
+                     ORDER BY r.priority DESC, r.next_attempt_at ASC) AS shard_rank
+          FROM ready r
+          LEFT JOIN in_flight f ON f.tenant_id = r.tenant_id
+          WHERE r.tenant_rank + COALESCE(f.claimed, 0) <= :tenantCap
+      )
+      SELECT j.* FROM public.job_queue j
+      JOIN fair ON fair.id = j.id
+      WHERE j.status = 'PENDING'
+      ORDER BY fair.tenant_rank ASC, fair.shard_rank ASC, fair.priority DESC,
+               fair.next_attempt_at ASC
+      LIMIT :limit
+      FOR UPDATE OF j SKIP LOCKED
+      """,
+      nativeQuery = true)
+  List<JobQueue> findClaimableFair(@Param("limit") int limit, @Param("tenantCap") int tenantCap);
+
+  /** {@link #findClaimableFair(int, int)} minus the given (cap-saturated) job types. */
+  @Query(
+      value =
+          """
+      WITH ready AS (
+          SELECT id, tenant_id, shard_id, priority, next_attempt_at,
+                 ROW_NUMBER() OVER (
+                     PARTITION BY tenant_id
+                     ORDER BY priority DESC, next_attempt_at ASC) AS tenant_rank
+          FROM public.job_queue
+          WHERE status = 'PENDING'
+            AND next_attempt_at <= NOW()
+            AND job_type NOT IN (:excludedTypes)
+      ),
+      in_flight AS (
+          SELECT tenant_id, COUNT(*) AS claimed
+          FROM public.job_queue
+          WHERE status = 'CLAIMED'
+          GROUP BY tenant_id
+      ),
+      fair AS (
+          SELECT r.id, r.tenant_rank, r.priority, r.next_attempt_at,
+                 ROW_NUMBER() OVER (
+                     PARTITION BY r.shard_id, r.tenant_rank
+                     ORDER BY r.priority DESC, r.next_attempt_at ASC) AS shard_rank
+          FROM ready r
+          LEFT JOIN in_flight f ON f.tenant_id = r.tenant_id
+          WHERE r.tenant_rank + COALESCE(f.claimed, 0) <= :tenantCap
+      )
+      SELECT j.* FROM public.job_queue j
+      JOIN fair ON fair.id = j.id
+      WHERE j.status = 'PENDING'
+      ORDER BY fair.tenant_rank ASC, fair.shard_rank ASC, fair.priority DESC,
+               fair.next_attempt_at ASC
+      LIMIT :limit
+      FOR UPDATE OF j SKIP LOCKED
+      """,
+      nativeQuery = true)
+  List<JobQueue> findClaimableFairExcludingTypes(
+      @Param("limit") int limit,
+      @Param("tenantCap") int tenantCap,
+      @Param("excludedTypes") Collection<String> excludedTypes);
+
   /**
    * Finds jobs that were claimed but not completed within the expected time window. Used by the
    * stale job recovery task to reset abandoned jobs back to PENDING.
@@ -66,4 +179,106 @@ public interface JobQueueRepository extends JpaRepository<JobQueue, UUID> {
   @Query(
       "SELECT j.tenantId FROM JobQueue j WHERE j.jobType = :jobType AND j.status IN ('PENDING', 'CLAIMED')")
   Set<String> findActiveTenantIdsByJobType(@Param("jobType") String jobType);
+
+  /**
+   * Set-based fan-out: inserts one PENDING job of {@code jobType} per registered tenant in a single
+   * statement, straight from {@code public.org_schema_mapping} — no mappings are loaded into the
+   * JVM. Tenants that already have a PENDING or CLAIMED job of this type are skipped by the {@code
+   * idx_job_queue_dedup} partial unique index via {@code ON CONFLICT DO NOTHING}, which (unlike a
+   * caught constraint violation) leaves the surrounding transaction usable.
+   *
+   * @param payload JSON text of the payload, or {@code null}
+   * @return the number of rows actually inserted
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+      INSERT INTO public.job_queue
+          (job_type, tenant_id, org_id, shard_id, payload, priority, max_retries)
+      SELECT :jobType, m.schema_name, m.external_org_id,
+             COALESCE(NULLIF(m.shard_id, ''), 'primary'),
+             CAST(:payload AS jsonb), :priority, :maxRetries
+      FROM public.org_schema_mapping m
+      ON CONFLICT (job_type, tenant_id) WHERE status IN ('PENDING', 'CLAIMED') DO NOTHING
+      """,
+      nativeQuery = true)
+  int insertForAllTenants(
+      @Param("jobType") String jobType,
+      @Param("payload") String payload,
+      @Param("priority") int priority,
+      @Param("maxRetries") int maxRetries);
+
+  /**
+   * {@link #insertForAllTenants} restricted to the given tenant schemas — for schedulers that know
+   * which tenants have work instead of polling every tenant. Same dedup behavior.
+   *
+   * @param payload JSON text of the payload, or {@code null}
+   * @return the number of rows actually inserted
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+      INSERT INTO public.job_queue
+          (job_type, tenant_id, org_id, shard_id, payload, priority, max_retries)
+      SELECT :jobType, m.schema_name, m.external_org_id,
+             COALESCE(NULLIF(m.shard_id, ''), 'primary'),
+             CAST(:payload AS jsonb), :priority, :maxRetries
+      FROM public.org_schema_mapping m
+      WHERE m.schema_name IN (:tenantIds)
+      ON CONFLICT (job_type, tenant_id) WHERE status IN ('PENDING', 'CLAIMED') DO NOTHING
+      """,
+      nativeQuery = true)
+  int insertForTenants(
+      @Param("jobType") String jobType,
+      @Param("tenantIds") Collection<String> tenantIds,
+      @Param("payload") String payload,
+      @Param("priority") int priority,
+      @Param("maxRetries") int maxRetries);
+
+  /**
+   * {@link #insertForTenants} for the tenants whose {@code public.tenant_pending_work} row for
+   * {@code jobType} is due. Claims those rows in the same statement by pushing their due time out
+   * by {@code leaseSeconds}: the tenant job then rewrites the row via {@link PendingWorkRegistry},
+   * and if it never runs the tenant comes due again once the lease expires.
+   *
+   * @param payload JSON text of the payload, or {@code null}
+   * @return the number of rows actually inserted
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+      WITH due AS (
+          UPDATE public.tenant_pending_work
+          SET due_at = NOW() + make_interval(secs => :leaseSeconds), updated_at = NOW()
+          WHERE job_type = :jobType AND due_at <= NOW()
+          RETURNING tenant_schema
+      )
+      INSERT INTO public.job_queue
+          (job_type, tenant_id, org_id, shard_id, payload, priority, max_retries)
+      SELECT :jobType, m.schema_name, m.external_org_id,
+             COALESCE(NULLIF(m.shard_id, ''), 'primary'),
+             CAST(:payload AS jsonb), :priority, :maxRetries
+      FROM due
+      JOIN public.org_schema_mapping m ON m.schema_name = due.tenant_schema
+      ON CONFLICT (job_type, tenant_id) WHERE status IN ('PENDING', 'CLAIMED') DO NOTHING
+      """,
+      nativeQuery = true)
+  int insertForTenantsWithDueWork(
+      @Param("jobType") String jobType,
+      @Param("leaseSeconds") long leaseSeconds,
+      @Param("payload") String payload,
+      @Param("priority") int priority,
+      @Param("maxRetries") int maxRetries);
+
+  /**
+   * Wakes idle workers on every pod via {@link JobQueueListener#CHANNEL}. Postgres delivers the
+   * notification only when the surrounding transaction commits (and collapses duplicates within
+   * one transaction), so a worker never wakes before the new rows are visible to its claim query.
+   */
+  @Modifying
+  @Query(value = "NOTIFY " + JobQueueListener.CHANNEL, nativeQuery = true)
+  void notifyWorkers();
 }
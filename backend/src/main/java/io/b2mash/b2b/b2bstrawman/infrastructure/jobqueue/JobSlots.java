@@ -0,0 +1,103 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execution slots of one {@link JobWorker}: a pool of {@code parallelism} permits plus optional
+ * per-job-type concurrency caps ({@code kazi.job-queue.type-concurrency}). The worker blocks in
+ * {@link #awaitFree()} until at least one slot frees up, claims exactly that many rows, and hands
+ * unused permits back — so a slow job only ever occupies its own slot instead of holding up a
+ * whole batch.
+ *
+ * <p>Caps are per pod: a cap of 2 on a type allows at most two of its jobs in flight on each pod.
+ * Package-private — an implementation detail of the worker.
+ */
+final class JobSlots {
+
+  private final Semaphore permits;
+  private final Map<String, Integer> typeCaps;
+  private final ConcurrentHashMap<String, AtomicInteger> inFlightByType = new ConcurrentHashMap<>();
+
+  JobSlots(int parallelism, Map<String, Integer> typeCaps) {
+    this.permits = new Semaphore(Math.max(1, parallelism));
+    this.typeCaps = Map.copyOf(typeCaps);
+  }
+
+  /**
+   * Blocks until at least one slot is free, then takes every currently free slot.
+   *
+   * @return the number of slots taken (at least 1); return unused ones via {@link #release(int)}
+   */
+  int awaitFree() throws InterruptedException {
+    permits.acquire();
+    return 1 + permits.drainPermits();
+  }
+
+  /** Takes one slot, blocking until available — used when dispatching a pre-built batch. */
+  void acquireOne() throws InterruptedException {
+    permits.acquire();
+  }
+
+  void release(int slots) {
+    if (slots > 0) {
+      permits.release(slots);
+    }
+  }
+
+  /**
+   * Reserves a place for a job of {@code jobType} under its cap, if it has one.
+   *
+   * @return {@code false} if the type is already at its cap on this pod
+   */
+  boolean tryReserveType(String jobType) {
+    Integer cap = typeCaps.get(jobType);
+    var counter = inFlightByType.computeIfAbsent(jobType, t -> new AtomicInteger());
+    if (cap == null) {
+      counter.incrementAndGet();
+      return true;
+    }
+    while (true) {
+      int current = counter.get();
+      if (current >= cap) {
+        return false;
+      }
+      if (counter.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void releaseType(String jobType) {
+    var counter = inFlightByType.get(jobType);
+    if (counter != null) {
+      counter.decrementAndGet();
+    }
+  }
+
+  boolean isCapped(String jobType) {
+    return typeCaps.containsKey(jobType);
+  }
+
+  /** Job types currently at their cap — excluded from the next claim query. */
+  Set<String> saturatedTypes() {
+    var saturated = new HashSet<String>();
+    typeCaps.forEach(
+        (type, cap) -> {
+          var counter = inFlightByType.get(type);
+          if (counter != null && counter.get() >= cap) {
+            saturated.add(type);
+          }
+        });
+    return saturated;
+  }
+
+  int inFlight(String jobType) {
+    var counter = inFlightByType.get(jobType);
+    return counter != null ? counter.get() : 0;
+  }
+}
@@ -0,0 +1,110 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process wake-up latch between {@link JobQueueListener} and {@link JobWorker}. The listener
+ * {@link #signal() signals} whenever a {@code NOTIFY} arrives on the job queue channel; the worker
+ * parks in {@link #await(long)} while the queue is idle instead of sleeping a fixed poll interval.
+ *
+ * <p>Jobs that become claimable later (retry backoff sets a future {@code next_attempt_at}) cannot
+ * be announced by a {@code NOTIFY} at insert time, so the worker registers those instants via
+ * {@link #scheduleAt(Instant)} and {@link #await(long)} returns as soon as the earliest one is due.
+ * Retries scheduled by another pod are picked up by that pod, or by the fallback poll.
+ */
+@Component
+@ConditionalOnProperty(name = "kazi.job-queue.enabled", havingValue = "true")
+public class JobWakeupSignal {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition wakeup = lock.newCondition();
+
+  /** Guarded by {@link #lock}. Set by {@link #signal()}, consumed by {@link #await(long)}. */
+  private boolean pending = false;
+
+  /** Guarded by {@link #lock}. Future instants at which locally retried jobs become claimable. */
+  private final PriorityQueue<Instant> scheduled = new PriorityQueue<>();
+
+  /** Whether a LISTEN connection is currently established — drives the idle wait length. */
+  private volatile boolean listening = false;
+
+  /** Wakes the worker immediately (or makes its next {@link #await(long)} return at once). */
+  public void signal() {
+    lock.lock();
+    try {
+      pending = true;
+      wakeup.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Registers an instant at which the worker should wake to claim a job with a future attempt. */
+  public void scheduleAt(Instant instant) {
+    lock.lock();
+    try {
+      scheduled.add(instant);
+      // Let a parked waiter recompute its deadline against the new earliest instant.
+      wakeup.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Parks until signalled, until the earliest scheduled instant is due, or until {@code timeoutMs}
+   * elapses — whichever comes first.
+   *
+   * @return {@code true} if woken by a signal or a due scheduled instant, {@code false} on timeout
+   */
+  public boolean await(long timeoutMs) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    lock.lockInterruptibly();
+    try {
+      while (!pending) {
+        long remaining = deadline - System.nanoTime();
+        var earliest = scheduled.peek();
+        if (earliest != null) {
+          long untilDue = Duration.between(Instant.now(), earliest).toNanos();
+          if (untilDue <= 0) {
+            drainDue();
+            return true;
+          }
+          remaining = Math.min(remaining, untilDue);
+        }
+        if (remaining <= 0) {
+          return false;
+        }
+        wakeup.awaitNanos(remaining);
+      }
+      pending = false;
+      drainDue();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean isListening() {
+    return listening;
+  }
+
+  void setListening(boolean listening) {
+    this.listening = listening;
+  }
+
+  /** Drops every scheduled instant that is already due — one claim covers all of them. */
+  private void drainDue() {
+    var now = Instant.now();
+    while (!scheduled.isEmpty() && !scheduled.peek().isAfter(now)) {
+      scheduled.poll();
+    }
+  }
+}
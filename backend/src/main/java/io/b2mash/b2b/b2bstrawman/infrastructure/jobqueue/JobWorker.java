@@ -3,9 +3,13 @@ package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
 import com.zaxxer.hikari.HikariDataSource;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +25,10 @@ import org.springframework.transaction.support.TransactionTemplate;
  * threads for execution and {@code FOR UPDATE SKIP LOCKED} for contention-free claiming across
  * multiple pods.
  *
+ * <p>When the queue is idle the worker parks on {@link JobWakeupSignal} rather than sleeping a
+ * fixed interval: {@link JobQueueListener} wakes it as soon as a job is enqueued on any pod, and
+ * polling only continues as a slow fallback while the LISTEN connection is up.
+ *
  * <p>Implements {@link SmartLifecycle} with a high phase value to ensure the poll loop stops before
  * the DataSource pool closes during shutdown.
  */
@@ -39,12 +47,28 @@ public class JobWorker implements SmartLifecycle {
   /** Resolved at {@link #start()}: bounded by both config and the connection pool. */
   private volatile int effectiveParallelism = 1;
 
+  /** Created at {@link #start()} with {@link #effectiveParallelism} permits. */
+  private JobSlots slots;
+
+  /** Long-lived virtual-thread executor the dispatcher submits claimed jobs to. */
+  private ExecutorService executor;
+
+  /** Whether the last claim left claimable rows behind because of a per-type cap. */
+  private volatile boolean deferredByCap = false;
+
+  /**
+   * How many candidate rows the last claim query returned, claimed or not. Only the poll thread
+   * reads and writes it.
+   */
+  private int lastCandidateCount = 0;
+
   private final JobQueueRepository repository;
   private final JobHandlerRegistry handlerRegistry;
   private final JobQueueProperties properties;
   private final PlatformTransactionManager transactionManager;
   private final JobQueueMetrics metrics;
   private final DataSource dataSource;
+  private final JobWakeupSignal wakeupSignal;
 
   public JobWorker(
       JobQueueRepository repository,
@@ -52,13 +76,15 @@ public class JobWorker implements SmartLifecycle {
       JobQueueProperties properties,
       PlatformTransactionManager transactionManager,
       JobQueueMetrics metrics,
-      DataSource dataSource) {
+      DataSource dataSource,
+      JobWakeupSignal wakeupSignal) {
     this.repository = repository;
     this.handlerRegistry = handlerRegistry;
     this.properties = properties;
     this.transactionManager = transactionManager;
     this.metrics = metrics;
     this.dataSource = dataSource;
+    this.wakeupSignal = wakeupSignal;
   }
 
   @Override
@@ -69,12 +95,18 @@ public class JobWorker implements SmartLifecycle {
     }
     running = true;
     effectiveParallelism = computeEffectiveParallelism();
+    slots = new JobSlots(effectiveParallelism, properties.getTypeConcurrency());
+    executor = Executors.newVirtualThreadPerTaskExecutor();
     pollThread = Thread.ofVirtual().name("job-worker-poll").start(this::pollLoop);
     log.info(
-        "JobWorker started — pollInterval={}ms, batchSize={}, parallelism={}",
+        "JobWorker started — pollInterval={}ms, fallbackPollInterval={}ms, batchSize={},"
+            + " parallelism={}, typeConcurrency={}, claimMode={}",
         properties.getPollIntervalMs(),
+        properties.getFallbackPollIntervalMs(),
         properties.getBatchSize(),
-        effectiveParallelism);
+        effectiveParallelism,
+        properties.getTypeConcurrency(),
+        properties.getClaimMode());
   }
 
   /**
@@ -105,13 +137,34 @@ public class JobWorker implements SmartLifecycle {
     return Math.min(c, Math.max(1, hikariMaxPoolSize / 2));
   }
 
+  /**
+   * Continuous slot-based dispatch: block until at least one execution slot is free, claim exactly
+   * as many rows as there are free slots, hand each to its own virtual thread, repeat. There is no
+   * batch barrier — a slow job occupies one slot while the others keep cycling. When the claim
+   * query comes back short the queue is (for now) drained, and the loop parks on {@link
+   * JobWakeupSignal}; a full query that only yielded fewer jobs because of per-type caps is
+   * followed by an immediate re-claim instead.
+   */
   private void pollLoop() {
     while (running) {
       try {
-        List<JobQueue> claimed = claimBatch();
-        processBatch(claimed);
-        if (claimed.isEmpty()) {
-          Thread.sleep(properties.getPollIntervalMs());
+        int free = slots.awaitFree();
+        int limit = Math.min(free, Math.max(1, properties.getBatchSize()));
+        List<JobQueue> claimed = List.of();
+        try {
+          claimed = claim(limit);
+        } finally {
+          // Unused slots go straight back; claimed ones are released as each job finishes.
+          slots.release(free - claimed.size());
+        }
+        for (var job : claimed) {
+          executor.submit(() -> runInSlot(job));
+        }
+        // Park only when the query itself came back short. Rows skipped for a full type cap
+        // still counted toward the limit, and that type is excluded from the immediate
+        // re-claim, so uncapped work behind them does not wait out the idle interval.
+        if (lastCandidateCount < limit) {
+          wakeupSignal.await(idleWaitMs());
         }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -129,68 +182,130 @@ public class JobWorker implements SmartLifecycle {
   }
 
   /**
-   * Executes a claimed batch with bounded in-pod parallelism. Each job runs on its own virtual
-   * thread with its own transaction, tenant scope and MDC; {@link #processJob} is self-contained
-   * and never throws, so a failing job cannot abort its siblings. The {@link Semaphore} bounds
-   * in-flight jobs to {@link #effectiveParallelism} to protect the connection pool, and the
-   * try-with-resources {@code close()} awaits all submitted jobs before the next poll.
-   *
-   * <p>Execution order within a batch is <em>not</em> guaranteed under parallel execution —
-   * handlers must not assume the claim order (priority only determines which rows are claimed into
-   * the batch, not the order they run). At-most-once-per-claim is unaffected: each job is claimed
-   * exactly once via {@code FOR UPDATE SKIP LOCKED} before it reaches this method.
+   * How long an idle worker parks before re-polling: the slow fallback interval while the LISTEN
+   * connection is up (enqueues wake it directly), the regular poll interval otherwise.
    */
-  private void processBatch(List<JobQueue> claimed) {
-    processBatch(claimed, effectiveParallelism);
+  private long idleWaitMs() {
+    return wakeupSignal.isListening()
+        ? Math.max(properties.getPollIntervalMs(), properties.getFallbackPollIntervalMs())
+        : properties.getPollIntervalMs();
   }
 
-  /** Package-private overload taking an explicit parallelism, for deterministic testing. */
-  void processBatch(List<JobQueue> claimed, int parallelism) {
-    if (claimed.isEmpty()) {
-      return;
-    }
-    if (parallelism <= 1 || claimed.size() == 1) {
-      for (var job : claimed) {
-        processJob(job);
+  /**
+   * Executes one claimed job in the slot it was dispatched into. {@link #processJob} is
+   * self-contained and never throws, so a failing job cannot affect the others; the slot and the
+   * job type's cap reservation are always returned.
+   *
+   * <p>If this job's type is capped and the last claim had to leave rows of a saturated type
+   * behind, the freed capacity is announced via {@link JobWakeupSignal} so those rows do not wait
+   * for the next poll.
+   *
+   * <p>Execution order is <em>not</em> guaranteed — handlers must not assume the claim order
+   * (priority only determines which rows are claimed first). At-most-once-per-claim is unaffected:
+   * each job is claimed exactly once via {@code FOR UPDATE SKIP LOCKED} before it reaches here.
+   */
+  private void runInSlot(JobQueue job) {
+    try {
+      processJob(job);
+    } finally {
+      slots.releaseType(job.getJobType());
+      slots.release(1);
+      if (deferredByCap && slots.isCapped(job.getJobType())) {
+        wakeupSignal.signal();
       }
-      return;
     }
+  }
 
-    var permits = new Semaphore(parallelism);
-    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-      for (var job : claimed) {
-        permits.acquireUninterruptibly();
-        executor.submit(
+  /**
+   * Runs a pre-built list of jobs through a fresh slot pool of the given size and waits for them
+   * to finish — the production execution path minus claiming. Package-private for deterministic
+   * testing (the test connection pool pins {@link #effectiveParallelism} to 1).
+   */
+  void processBatch(List<JobQueue> jobs, int parallelism) {
+    var batchSlots = new JobSlots(parallelism, Map.of());
+    try (var batchExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var job : jobs) {
+        batchSlots.acquireOne();
+        batchExecutor.submit(
             () -> {
               try {
                 processJob(job);
               } finally {
-                permits.release();
+                batchSlots.release(1);
               }
             });
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
-    // try-with-resources close() blocks until every submitted job finishes, so a batch always
-    // completes before the next poll (matching the previous sequential behaviour on shutdown).
   }
 
-  private List<JobQueue> claimBatch() {
+  /**
+   * Claims up to {@code limit} jobs, honouring per-type concurrency caps. Types already at their
+   * cap are excluded in SQL; rows of a partially saturated type beyond its remaining headroom are
+   * simply not marked CLAIMED, so they stay PENDING and their row lock is released at commit for
+   * another pod (or a later claim) to pick up.
+   */
+  private List<JobQueue> claim(int limit) {
+    var reserved = new ArrayList<JobQueue>();
     var tt = new TransactionTemplate(transactionManager);
-    var result =
-        tt.execute(
-            status -> {
-              var jobs = repository.findClaimable(properties.getBatchSize());
-              var now = Instant.now();
-              String pod = podId();
-              for (var job : jobs) {
-                job.setStatus(JobStatus.CLAIMED);
-                job.setClaimedBy(pod);
-                job.setClaimedAt(now);
-              }
-              repository.flush();
-              return jobs;
-            });
-    return result != null ? result : List.of();
+    try {
+      var result =
+          tt.execute(
+              status -> {
+                var saturated = slots.saturatedTypes();
+                var candidates = findCandidates(limit, saturated);
+                lastCandidateCount = candidates.size();
+                boolean deferred = !saturated.isEmpty();
+                var now = Instant.now();
+                String pod = podId();
+                for (var job : candidates) {
+                  if (!slots.tryReserveType(job.getJobType())) {
+                    deferred = true;
+                    continue;
+                  }
+                  reserved.add(job);
+                  job.setStatus(JobStatus.CLAIMED);
+                  job.setClaimedBy(pod);
+                  job.setClaimedAt(now);
+                }
+                repository.flush();
+                deferredByCap = deferred;
+                return List.copyOf(reserved);
+              });
+      if (result == null) {
+        return List.of();
+      }
+      for (var job : result) {
+        metrics.recordQueueWait(job.getTenantId(), job.getNextAttemptAt(), job.getClaimedAt());
+      }
+      return result;
+    } catch (RuntimeException e) {
+      // The claim rolled back — none of the reserved jobs will run, so undo their reservations.
+      for (var job : reserved) {
+        slots.releaseType(job.getJobType());
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Locks claim candidates in the configured {@link JobQueueProperties.ClaimMode}, leaving out job
+   * types already at their per-pod cap.
+   */
+  private List<JobQueue> findCandidates(int limit, Set<String> saturatedTypes) {
+    if (properties.getClaimMode() == JobQueueProperties.ClaimMode.FAIR) {
+      int tenantCap =
+          properties.getTenantInFlightCap() > 0
+              ? properties.getTenantInFlightCap()
+              : Integer.MAX_VALUE;
+      return saturatedTypes.isEmpty()
+          ? repository.findClaimableFair(limit, tenantCap)
+          : repository.findClaimableFairExcludingTypes(limit, tenantCap, saturatedTypes);
+    }
+    return saturatedTypes.isEmpty()
+        ? repository.findClaimable(limit)
+        : repository.findClaimableExcludingTypes(limit, saturatedTypes);
   }
 
   private void processJob(JobQueue job) {
@@ -220,7 +335,9 @@ public class JobWorker implements SmartLifecycle {
           });
       markCompleted(job);
     } catch (Exception e) {
-      handleFailure(job, e);
+      if (handleFailure(job, e)) {
+        notifyDeadLetter(job, e);
+      }
     } finally {
       MDC.remove("tenantId");
       MDC.remove("orgId");
@@ -241,7 +358,13 @@ public class JobWorker implements SmartLifecycle {
     metrics.recordCompleted(job.getJobType(), job.getCreatedAt(), job.getClaimedAt());
   }
 
-  private void handleFailure(JobQueue job, Exception e) {
+  /**
+   * Records a failed attempt: schedules a retry with backoff, or dead-letters the job once its
+   * retries are used up.
+   *
+   * @return {@code true} if the job was dead-lettered
+   */
+  private boolean handleFailure(JobQueue job, Exception e) {
     Instant claimedAt = job.getClaimedAt();
     var tt = new TransactionTemplate(transactionManager);
     tt.executeWithoutResult(
@@ -287,8 +410,29 @@ public class JobWorker implements SmartLifecycle {
     int retryCount = job.getRetryCount();
     if (retryCount >= job.getMaxRetries()) {
       metrics.recordDeadLettered(job.getJobType(), claimedAt);
-    } else {
-      metrics.recordFailed(job.getJobType(), claimedAt);
+      return true;
+    }
+    metrics.recordFailed(job.getJobType(), claimedAt);
+    // No NOTIFY fires when the backoff elapses, so wake this pod ourselves at next_attempt_at.
+    wakeupSignal.scheduleAt(job.getNextAttemptAt());
+    return false;
+  }
+
+  /** Lets the handler of a dead-lettered job clean up, in the job's tenant scope. */
+  private void notifyDeadLetter(JobQueue job, Exception cause) {
+    try {
+      RequestScopes.runForTenantOnShard(
+          job.getTenantId(),
+          job.getOrgId(),
+          job.getShardId(),
+          () -> handlerRegistry.getHandler(job.getJobType()).onDeadLetter(job.getPayload(), cause));
+    } catch (Exception e) {
+      log.error(
+          "Dead-letter handling failed: id={}, type={}, tenant={}",
+          job.getId(),
+          job.getJobType(),
+          job.getTenantId(),
+          e);
     }
   }
 
@@ -312,6 +456,20 @@ public class JobWorker implements SmartLifecycle {
       }
       pollThread = null;
     }
+    if (executor != null) {
+      // Let in-flight jobs finish; anything still running after the timeout stays CLAIMED and is
+      // reset by StaleJobRecoveryTask.
+      executor.shutdown();
+      try {
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          log.warn(
+              "JobWorker jobs still in flight after {}ms shutdown timeout", SHUTDOWN_TIMEOUT_MS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      executor = null;
+    }
     log.info("JobWorker stopped");
   }
 
@@ -0,0 +1,223 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Records which tenants have work pending for a job type, and when it comes due, in {@code
+ * public.tenant_pending_work}. Schedulers use it through {@link
+ * JobEnqueuer#fanOutToTenantsWithDueWork} to enqueue only tenants with due work.
+ *
+ * <p>Protocol per job type:
+ *
+ * <ol>
+ *   <li>Domain services call {@link #markDue} in the transaction that creates the work; the mark is
+ *       written once that transaction commits. The row's due time only ever moves earlier, and its
+ *       generation is bumped.
+ *   <li>The tenant job takes a {@link #generation} snapshot before it reads its work, and when done
+ *       calls {@link #reschedule} with the next due time it found (or {@code null} if none). If no
+ *       {@code markDue} happened in between, the row is replaced (or deleted); otherwise the newer
+ *       mark wins, so work marked while the job ran is never lost.
+ * </ol>
+ *
+ * <p>The table lives on the primary shard, so every statement runs in its own short transaction
+ * bound there by {@link RequestScopes#callOnPrimary} — never on the tenant's connection, which may
+ * belong to a secondary shard, and never holding the row lock for the length of a business
+ * transaction. Marks lost to a crash right after commit, and writes that bypass {@code markDue},
+ * are picked up by each scheduler's periodic full fan-out.
+ */
+@Component
+public class PendingWorkRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(PendingWorkRegistry.class);
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate requiresNewTransactionTemplate;
+
+  public PendingWorkRegistry(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    // Callers are usually inside a tenant transaction; the registry's own statements must not join
+    // it, since that transaction is bound to the tenant's connection.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Marks the current tenant as having {@code jobType} work due at {@code dueAt}. Inside a
+   * transaction the mark is written after it commits, once per job type at the earliest due time
+   * marked, so a rolled-back change marks nothing. Outside one it is written right away.
+   */
+  public void markDue(String jobType, Instant dueAt) {
+    String tenantSchema = RequestScopes.requireTenantId();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      writeMark(jobType, tenantSchema, dueAt);
+      return;
+    }
+    for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof MarkDueAfterCommit pending
+          && pending.tenantSchema.equals(tenantSchema)) {
+        pending.mark(jobType, dueAt);
+        return;
+      }
+    }
+    var pending = new MarkDueAfterCommit(tenantSchema);
+    pending.mark(jobType, dueAt);
+    TransactionSynchronizationManager.registerSynchronization(pending);
+  }
+
+  private void writeMark(String jobType, String tenantSchema, Instant dueAt) {
+    onPrimary(
+        tx ->
+            entityManager
+                .createNativeQuery(
+                    """
+                    INSERT INTO public.tenant_pending_work
+                        (job_type, tenant_schema, due_at, generation, updated_at)
+                    VALUES (:jobType, :tenantSchema, :dueAt, 1, NOW())
+                    ON CONFLICT (job_type, tenant_schema)
+                    DO UPDATE SET due_at = LEAST(tenant_pending_work.due_at, EXCLUDED.due_at),
+                                  generation = tenant_pending_work.generation + 1,
+                                  updated_at = NOW()
+                    """)
+                .setParameter("jobType", jobType)
+                .setParameter("tenantSchema", tenantSchema)
+                .setParameter("dueAt", dueAt)
+                .executeUpdate());
+  }
+
+  /**
+   * The current tenant's generation for {@code jobType}, or {@code 0} if it has no row. Taken by a
+   * tenant job before it reads its work and passed back to {@link #reschedule}.
+   */
+  public long generation(String jobType) {
+    String tenantSchema = RequestScopes.requireTenantId();
+    List<?> rows =
+        onPrimary(
+            tx ->
+                entityManager
+                    .createNativeQuery(
+                        """
+                        SELECT generation FROM public.tenant_pending_work
+                        WHERE job_type = :jobType AND tenant_schema = :tenantSchema
+                        """)
+                    .setParameter("jobType", jobType)
+                    .setParameter("tenantSchema", tenantSchema)
+                    .getResultList());
+    return rows.isEmpty() ? 0L : ((Number) rows.getFirst()).longValue();
+  }
+
+  /**
+   * Records the outcome of a tenant job: the next time the current tenant has {@code jobType} work
+   * due, or {@code null} if it has none left. Applied only if the row is still at {@code
+   * generation}; if work was marked since, the earlier of the two due times is kept instead and the
+   * row is never deleted.
+   */
+  public void reschedule(String jobType, long generation, @Nullable Instant nextDueAt) {
+    String tenantSchema = RequestScopes.requireTenantId();
+    if (nextDueAt == null) {
+      onPrimary(
+          tx ->
+              entityManager
+                  .createNativeQuery(
+                      """
+                      DELETE FROM public.tenant_pending_work
+                      WHERE job_type = :jobType AND tenant_schema = :tenantSchema
+                        AND generation = :generation
+                      """)
+                  .setParameter("jobType", jobType)
+                  .setParameter("tenantSchema", tenantSchema)
+                  .setParameter("generation", generation)
+                  .executeUpdate());
+      return;
+    }
+    onPrimary(
+        tx ->
+            entityManager
+                .createNativeQuery(
+                    """
+                    INSERT INTO public.tenant_pending_work
+                        (job_type, tenant_schema, due_at, generation, updated_at)
+                    VALUES (:jobType, :tenantSchema, :dueAt, :generation, NOW())
+                    ON CONFLICT (job_type, tenant_schema)
+                    DO UPDATE SET due_at = CASE
+                                      WHEN tenant_pending_work.generation = EXCLUDED.generation
+                                          THEN EXCLUDED.due_at
+                                      ELSE LEAST(tenant_pending_work.due_at, EXCLUDED.due_at)
+                                  END,
+                                  updated_at = NOW()
+                    """)
+                .setParameter("jobType", jobType)
+                .setParameter("tenantSchema", tenantSchema)
+                .setParameter("dueAt", nextDueAt)
+                .setParameter("generation", generation)
+                .executeUpdate());
+  }
+
+  /** Drops rows of tenants that no longer have a schema mapping. */
+  public int deleteOrphans() {
+    Integer deleted =
+        onPrimary(
+            tx ->
+                entityManager
+                    .createNativeQuery(
+                        """
+                        DELETE FROM public.tenant_pending_work w
+                        WHERE NOT EXISTS (
+                            SELECT 1 FROM public.org_schema_mapping m
+                            WHERE m.schema_name = w.tenant_schema)
+                        """)
+                    .executeUpdate());
+    return deleted != null ? deleted : 0;
+  }
+
+  private <T> T onPrimary(TransactionCallback<T> action) {
+    return RequestScopes.callOnPrimary(() -> requiresNewTransactionTemplate.execute(action));
+  }
+
+  /**
+   * Registered by the first {@link #markDue} of a transaction for a tenant; holds the earliest due
+   * time marked per job type. A failed write is only logged: the scheduler's full fan-out still
+   * finds the work.
+   */
+  private final class MarkDueAfterCommit implements TransactionSynchronization {
+
+    private final String tenantSchema;
+    private final Map<String, Instant> dueAtByJobType = new HashMap<>();
+
+    private MarkDueAfterCommit(String tenantSchema) {
+      this.tenantSchema = tenantSchema;
+    }
+
+    private void mark(String jobType, Instant dueAt) {
+      dueAtByJobType.merge(jobType, dueAt, (a, b) -> a.isBefore(b) ? a : b);
+    }
+
+    @Override
+    public void afterCommit() {
+      dueAtByJobType.forEach(
+          (jobType, dueAt) -> {
+            try {
+              writeMark(jobType, tenantSchema, dueAt);
+            } catch (RuntimeException e) {
+              log.warn("Failed to mark {} work due for tenant={}", jobType, tenantSchema, e);
+            }
+          });
+    }
+  }
+}
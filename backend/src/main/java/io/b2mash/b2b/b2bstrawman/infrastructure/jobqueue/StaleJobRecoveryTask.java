@@ -16,6 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>Stale recovery does NOT increment {@code retry_count} because the job was never actually
  * executed — the claiming pod died before completing it.
+ *
+ * <p>Also prunes {@link PendingWorkRegistry} rows left behind by deprovisioned tenants, which would
+ * otherwise be re-claimed by every due-work fan-out.
  */
 @Component
 @ConditionalOnProperty(name = "kazi.job-queue.enabled", havingValue = "true")
@@ -25,10 +28,15 @@ public class StaleJobRecoveryTask {
 
   private final JobQueueRepository repository;
   private final JobQueueProperties properties;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
-  public StaleJobRecoveryTask(JobQueueRepository repository, JobQueueProperties properties) {
+  public StaleJobRecoveryTask(
+      JobQueueRepository repository,
+      JobQueueProperties properties,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.repository = repository;
     this.properties = properties;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   @Scheduled(fixedDelay = 60_000)
@@ -49,7 +57,19 @@ public class StaleJobRecoveryTask {
       job.setClaimedAt(null);
     }
     repository.flush();
+    if (properties.isNotifyEnabled()) {
+      repository.notifyWorkers();
+    }
 
     log.warn("Recovered {} stale job(s) back to PENDING", staleJobs.size());
   }
+
+  @Scheduled(fixedDelay = 3_600_000)
+  @SchedulerLock(name = "pending_work_orphan_prune", lockAtLeastFor = "5m")
+  public void pruneOrphanedPendingWork() {
+    int deleted = pendingWorkRegistry.deleteOrphans();
+    if (deleted > 0) {
+      log.info("Pruned {} pending-work row(s) of deprovisioned tenants", deleted);
+    }
+  }
 }
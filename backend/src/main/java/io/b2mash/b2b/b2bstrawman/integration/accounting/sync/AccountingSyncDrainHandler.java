@@ -27,7 +27,7 @@ public class AccountingSyncDrainHandler implements JobHandler {
 
   @Override
   public String jobType() {
-    return "accounting_sync_drain";
+    return AccountingSyncWorker.DRAIN_JOB_TYPE;
   }
 
   @Override
@@ -29,6 +29,17 @@ public interface AccountingSyncEntryRepository extends JpaRepository<AccountingS
       """)
   List<AccountingSyncEntry> findDrainableEntries(@Param("now") Instant now, Pageable pageable);
 
+  /** Next time the worker has anything to drain: earliest next_attempt_at of actionable entries. */
+  @Query(
+      """
+      SELECT MIN(e.nextAttemptAt) FROM AccountingSyncEntry e
+      WHERE e.state IN (
+          io.b2mash.b2b.b2bstrawman.integration.accounting.sync.SyncState.PENDING,
+          io.b2mash.b2b.b2bstrawman.integration.accounting.sync.SyncState.FAILED_RETRYING
+      )
+      """)
+  Optional<Instant> findEarliestNextAttemptAt();
+
   /** Lookup: latest sync entry for an entity (invoice/customer status chip). */
   @Query(
       """
@@ -5,6 +5,7 @@ import io.b2mash.b2b.b2bstrawman.audit.AuditService;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
 import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import io.b2mash.b2b.b2bstrawman.integration.IntegrationDomain;
 import io.b2mash.b2b.b2bstrawman.integration.IntegrationRegistry;
 import io.b2mash.b2b.b2bstrawman.integration.accounting.AccountingPaymentSource;
@@ -52,6 +53,7 @@ public class AccountingSyncService {
   private final TrustBoundaryGuard trustBoundaryGuard;
   private final InvoiceTransitionService invoiceTransitionService;
   private final PaymentEventRepository paymentEventRepository;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public AccountingSyncService(
       AccountingSyncEntryRepository syncEntryRepository,
@@ -65,7 +67,8 @@ public class AccountingSyncService {
       AuditService auditService,
       TrustBoundaryGuard trustBoundaryGuard,
       InvoiceTransitionService invoiceTransitionService,
-      PaymentEventRepository paymentEventRepository) {
+      PaymentEventRepository paymentEventRepository,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.syncEntryRepository = syncEntryRepository;
     this.xeroConnectionRepository = xeroConnectionRepository;
     this.integrationRegistry = integrationRegistry;
@@ -78,6 +81,7 @@ public class AccountingSyncService {
     this.trustBoundaryGuard = trustBoundaryGuard;
     this.invoiceTransitionService = invoiceTransitionService;
     this.paymentEventRepository = paymentEventRepository;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   /**
@@ -203,6 +207,7 @@ public class AccountingSyncService {
             trigger,
             "KAZI-INV-" + invoiceId);
     syncEntryRepository.save(entry);
+    markDrainDue(entry);
     log.info("Enqueued invoice push: invoiceId={}, trigger={}", invoiceId, trigger);
   }
 
@@ -233,6 +238,7 @@ public class AccountingSyncService {
             trigger,
             "KAZI-CUST-" + customerId);
     syncEntryRepository.save(entry);
+    markDrainDue(entry);
     log.info("Enqueued customer push: customerId={}, trigger={}", customerId, trigger);
   }
 
@@ -245,6 +251,7 @@ public class AccountingSyncService {
             .orElseThrow(() -> new ResourceNotFoundException("AccountingSyncEntry", syncEntryId));
     entry.resetForRetry();
     syncEntryRepository.save(entry);
+    markDrainDue(entry);
     log.info("Reset sync entry {} from DEAD_LETTER to PENDING for retry", syncEntryId);
   }
 
@@ -537,6 +544,11 @@ public class AccountingSyncService {
    * Resolves a reconciliation drift entry by marking it as COMPLETED. Only entries in
    * RECONCILE_DRIFT state can be resolved — throws if the entry is in any other state.
    */
+  /** Wakes the tenant's drain for an entry just queued or re-queued for its next attempt. */
+  private void markDrainDue(AccountingSyncEntry entry) {
+    pendingWorkRegistry.markDue(AccountingSyncWorker.DRAIN_JOB_TYPE, entry.getNextAttemptAt());
+  }
+
   @Transactional
   public void resolveReconcileDrift(UUID syncEntryId, String resolution) {
     var entry =
@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.integration.accounting.sync;
 
 import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
 import io.b2mash.b2b.b2bstrawman.integration.IntegrationDomain;
 import io.b2mash.b2b.b2bstrawman.integration.IntegrationRegistry;
 import io.b2mash.b2b.b2bstrawman.integration.accounting.AccountingProvider;
@@ -23,12 +24,20 @@ import org.springframework.transaction.support.TransactionTemplate;
 /**
  * Scheduled worker that drains pending accounting sync entries across all tenants. Processes
  * entries with exponential back-off and dead-letter after 5 failed attempts.
+ *
+ * <p>The 30-second drain only enqueues tenants whose earliest actionable entry is due in {@link
+ * PendingWorkRegistry}; {@link AccountingSyncService} marks a tenant when it queues or re-queues an
+ * entry, and {@link #drainForTenant()} records the next attempt time it leaves behind. An hourly
+ * full fan-out reconciles tenants whose entries were written past the registry.
  */
 @Service
 public class AccountingSyncWorker {
 
   private static final Logger log = LoggerFactory.getLogger(AccountingSyncWorker.class);
 
+  static final String DRAIN_JOB_TYPE = "accounting_sync_drain";
+
+  private static final long RECONCILE_INTERVAL_MS = 3_600_000; // 1 hour
   private static final int BATCH_SIZE = 25;
   private static final int MAX_ATTEMPTS = 5;
   private static final Duration RATE_LIMIT_DELAY = Duration.ofSeconds(60);
@@ -47,6 +56,7 @@ public class AccountingSyncWorker {
   private final ApplicationEventPublisher eventPublisher;
   private final TransactionTemplate transactionTemplate;
   private final JobEnqueuer jobEnqueuer;
+  private final PendingWorkRegistry pendingWorkRegistry;
 
   public AccountingSyncWorker(
       AccountingSyncEntryRepository syncEntryRepository,
@@ -54,23 +64,45 @@ public class AccountingSyncWorker {
       AccountingSyncService syncService,
       ApplicationEventPublisher eventPublisher,
       TransactionTemplate transactionTemplate,
-      JobEnqueuer jobEnqueuer) {
+      JobEnqueuer jobEnqueuer,
+      PendingWorkRegistry pendingWorkRegistry) {
     this.syncEntryRepository = syncEntryRepository;
     this.integrationRegistry = integrationRegistry;
     this.syncService = syncService;
     this.eventPublisher = eventPublisher;
     this.transactionTemplate = transactionTemplate;
     this.jobEnqueuer = jobEnqueuer;
+    this.pendingWorkRegistry = pendingWorkRegistry;
   }
 
   @SchedulerLock(name = "accounting_sync_drain_pending_entries", lockAtLeastFor = "15s")
   @Scheduled(fixedDelay = 30_000)
   public void drainPendingEntries() {
     log.debug("AccountingSyncWorker: starting drain cycle");
-    jobEnqueuer.fanOutToAllTenants("accounting_sync_drain", null);
+    jobEnqueuer.fanOutToTenantsWithDueWork(DRAIN_JOB_TYPE, null);
+  }
+
+  /** Drains every tenant regardless of the registry, re-seeding it from the entries themselves. */
+  @SchedulerLock(name = "accounting_sync_reconcile_pending_entries", lockAtLeastFor = "5m")
+  @Scheduled(fixedDelay = RECONCILE_INTERVAL_MS, initialDelay = 0)
+  public void reconcilePendingEntries() {
+    log.debug("AccountingSyncWorker: reconciling all tenants");
+    jobEnqueuer.fanOutToAllTenants(DRAIN_JOB_TYPE, null);
   }
 
   int drainForTenant() {
+    long generation = pendingWorkRegistry.generation(DRAIN_JOB_TYPE);
+    int processed = drainBatch();
+    transactionTemplate.executeWithoutResult(
+        tx ->
+            pendingWorkRegistry.reschedule(
+                DRAIN_JOB_TYPE,
+                generation,
+                syncEntryRepository.findEarliestNextAttemptAt().orElse(null)));
+    return processed;
+  }
+
+  private int drainBatch() {
     var entries =
         syncEntryRepository.findDrainableEntries(Instant.now(), PageRequest.of(0, BATCH_SIZE));
     int processed = 0;
@@ -17,6 +17,8 @@ public class EmailRateLimiter {
   private final int platformAggregateLimit;
   private final Cache<String, AtomicInteger> tenantCounters;
   private final Cache<String, AtomicInteger> aggregateCounter;
+  private final Cache<String, SendPacer> tenantPacers;
+  private final Ticker ticker;
 
   private static final String PLATFORM_AGGREGATE_KEY = "platform-aggregate";
 
@@ -46,6 +48,13 @@ public class EmailRateLimiter {
             .maximumSize(10)
             .ticker(ticker)
             .build();
+    this.tenantPacers =
+        Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .maximumSize(10_000)
+            .ticker(ticker)
+            .build();
+    this.ticker = ticker;
   }
 
   /**
@@ -81,6 +90,22 @@ public class EmailRateLimiter {
     return true;
   }
 
+  /**
+   * Reserves one send slot from the tenant's token bucket and returns how long the caller must wait
+   * before sending, in nanoseconds (0 when a token is available now). The bucket refills at {@code
+   * permitsPerSecond} and holds at most one second's worth, so a burst is followed by an even
+   * cadence. Reservations are handed out in order and may run ahead of the refill, which makes the
+   * bucket shared: concurrent bulk senders in one tenant split the rate instead of each getting it.
+   *
+   * <p>Pacing only — the hourly quota is still enforced per message by {@link #tryAcquire}.
+   */
+  public long reserve(String tenantSchema, int permitsPerSecond) {
+    int rate = Math.max(1, permitsPerSecond);
+    return tenantPacers
+        .get("pacer:" + tenantSchema, k -> new SendPacer(ticker.read()))
+        .reserve(ticker.read(), rate);
+  }
+
   public RateLimitStatus getStatus(String tenantSchema, String providerSlug) {
     int limit = getLimitForProvider(providerSlug);
     String tenantKey = "tenant:" + tenantSchema + ":" + providerSlug;
@@ -94,5 +119,27 @@ public class EmailRateLimiter {
     return "smtp".equals(providerSlug) ? smtpLimit : byoakLimit;
   }
 
+  /** Token bucket whose balance may go negative: a deficit is time already promised to waiters. */
+  private static final class SendPacer {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    SendPacer(long nowNanos) {
+      this.tokens = Double.POSITIVE_INFINITY; // clamped to a full bucket on first reserve
+      this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized long reserve(long nowNanos, int rate) {
+      double refill = (nowNanos - lastRefillNanos) * rate / NANOS_PER_SECOND;
+      tokens = Math.min(rate, tokens + refill);
+      lastRefillNanos = nowNanos;
+      tokens -= 1;
+      return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / rate);
+    }
+  }
+
   public record RateLimitStatus(int currentCount, int limit, boolean allowed) {}
 }
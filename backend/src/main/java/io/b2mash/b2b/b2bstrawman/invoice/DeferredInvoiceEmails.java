@@ -0,0 +1,32 @@
+package io.b2mash.b2b.b2bstrawman.invoice;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invoices whose email a bulk sender delivers itself. The sender defers the invoice right before
+ * calling {@code InvoiceService.send}, renders the PDF from the sent invoice through the same
+ * GeneratedDocument pipeline {@link InvoiceEmailEventListener} uses, and emails it at the tenant's
+ * send rate; the listener, which runs on the same thread once the send commits, skips a deferred
+ * invoice instead of rendering and emailing it too. Entries live only for the duration of one send;
+ * callers {@link #release} in a finally.
+ */
+@Component
+public class DeferredInvoiceEmails {
+
+  private final Set<UUID> deferred = ConcurrentHashMap.newKeySet();
+
+  public void defer(UUID invoiceId) {
+    deferred.add(invoiceId);
+  }
+
+  public boolean isDeferred(UUID invoiceId) {
+    return deferred.contains(invoiceId);
+  }
+
+  public void release(UUID invoiceId) {
+    deferred.remove(invoiceId);
+  }
+}
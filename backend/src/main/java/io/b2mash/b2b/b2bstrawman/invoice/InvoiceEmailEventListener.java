@@ -22,16 +22,19 @@ public class InvoiceEmailEventListener {
   private final InvoiceRepository invoiceRepository;
   private final InvoiceEmailService invoiceEmailService;
   private final GeneratedDocumentService generatedDocumentService;
+  private final DeferredInvoiceEmails deferredEmails;
   private final TransactionTemplate requiresNewTransactionTemplate;
 
   public InvoiceEmailEventListener(
       InvoiceRepository invoiceRepository,
       InvoiceEmailService invoiceEmailService,
       GeneratedDocumentService generatedDocumentService,
+      DeferredInvoiceEmails deferredEmails,
       PlatformTransactionManager transactionManager) {
     this.invoiceRepository = invoiceRepository;
     this.invoiceEmailService = invoiceEmailService;
     this.generatedDocumentService = generatedDocumentService;
+    this.deferredEmails = deferredEmails;
     // The listener runs AFTER_COMMIT, where the originating transaction is already complete. A
     // plain (REQUIRES) transaction started here does not commit independently, so the persisted
     // GeneratedDocument would never reach the database. REQUIRES_NEW forces a fresh, independently
@@ -51,6 +54,11 @@ public class InvoiceEmailEventListener {
   }
 
   private void handleInvoiceSent(InvoiceSentEvent event) {
+    // Bulk sends (see BillingRunSendService) render the PDF from the sent invoice and email it
+    // themselves, paced at the tenant's send rate.
+    if (deferredEmails.isDeferred(event.entityId())) {
+      return;
+    }
     try {
       // 1. Load invoice
       var invoice = invoiceRepository.findById(event.entityId()).orElse(null);
@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.invoice;
 
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
+import io.b2mash.b2b.b2bstrawman.collections.CollectionsScanSignal;
 import io.b2mash.b2b.b2bstrawman.customerbackend.event.InvoiceSyncEvent;
 import io.b2mash.b2b.b2bstrawman.customerbackend.event.TaxContext;
 import io.b2mash.b2b.b2bstrawman.event.InvoiceApprovedEvent;
@@ -59,6 +60,7 @@ public class InvoiceTransitionService {
   private final OrgSettingsRepository orgSettingsRepository;
   private final TaxCalculationService taxCalculationService;
   private final InvoiceRenderingService invoiceRenderingService;
+  private final CollectionsScanSignal collectionsScanSignal;
 
   public InvoiceTransitionService(
       InvoiceRepository invoiceRepository,
@@ -75,7 +77,8 @@ public class InvoiceTransitionService {
       PaymentLinkService paymentLinkService,
       OrgSettingsRepository orgSettingsRepository,
       TaxCalculationService taxCalculationService,
-      InvoiceRenderingService invoiceRenderingService) {
+      InvoiceRenderingService invoiceRenderingService,
+      CollectionsScanSignal collectionsScanSignal) {
     this.invoiceRepository = invoiceRepository;
     this.lineRepository = lineRepository;
     this.timeEntryRepository = timeEntryRepository;
@@ -91,6 +94,7 @@ public class InvoiceTransitionService {
     this.orgSettingsRepository = orgSettingsRepository;
     this.taxCalculationService = taxCalculationService;
     this.invoiceRenderingService = invoiceRenderingService;
+    this.collectionsScanSignal = collectionsScanSignal;
   }
 
   @Transactional
@@ -223,6 +227,7 @@ public class InvoiceTransitionService {
     }
 
     invoice = invoiceRepository.save(invoice);
+    collectionsScanSignal.invoiceOpened(invoice.getDueDate());
     log.info("Marked invoice {} as sent", invoiceId);
 
     paymentLinkService.generatePaymentLink(invoice);
@@ -231,11 +236,12 @@ public class InvoiceTransitionService {
 
     // Derive the matter from the invoice lines (the invoice has no direct project_id column).
     // Single-matter invoices resolve to one project; spanning/empty invoices yield "". The
-    // details.project_id field is load-bearing — the matter Activity feed
+    // details.project_id field is load-bearing — DatabaseAuditService copies it into the
+    // audit_events.project_id column, which the matter Activity feed
     // (AuditEventRepository.findByProjectId) and the portal Firm-actions trail
-    // (findActivityFirmForCustomer) both scope on details->>'project_id', so without it this
-    // client-safe milestone is silently dropped from both feeds (OBS-8801). Mirrors the
-    // portal.invoice.paid emission in PaymentReconciliationService.
+    // (findActivityFirmForCustomer) both scope on, so without it this client-safe milestone is
+    // silently dropped from both feeds (OBS-8801). Mirrors the portal.invoice.paid emission in
+    // PaymentReconciliationService.
     var sentProjectIds = lineRepository.findDistinctProjectIdsByInvoiceId(invoice.getId());
     String sentProjectId = sentProjectIds.size() == 1 ? sentProjectIds.getFirst().toString() : "";
 
@@ -613,6 +619,7 @@ public class InvoiceTransitionService {
         throw new ResourceConflictException("Invalid status transition", e.getMessage());
       }
       invoice = invoiceRepository.save(invoice);
+      collectionsScanSignal.invoiceOpened(invoice.getDueDate());
 
       log.info(
           "Reversed payment {} on invoice {} — flipping PAID -> SENT (no other completed payments)",
@@ -1,6 +1,5 @@
 package io.b2mash.b2b.b2bstrawman.invoice;
 
-import io.b2mash.b2b.b2bstrawman.billingrate.BillingRateService;
 import io.b2mash.b2b.b2bstrawman.billingrun.dto.BillingRunDtos;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
@@ -14,6 +13,8 @@ import io.b2mash.b2b.b2bstrawman.invoice.dto.UnbilledTimeResponse;
 import io.b2mash.b2b.b2bstrawman.prerequisite.PrerequisiteContext;
 import io.b2mash.b2b.b2bstrawman.prerequisite.PrerequisiteService;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndex;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
 import io.b2mash.b2b.b2bstrawman.verticals.VerticalModuleGuard;
 import io.b2mash.b2b.b2bstrawman.verticals.legal.disbursement.DisbursementRepository;
@@ -47,7 +48,7 @@ public class UnbilledTimeService {
   private final OrgSettingsRepository orgSettingsRepository;
   private final ExpenseRepository expenseRepository;
   private final PrerequisiteService prerequisiteService;
-  private final BillingRateService billingRateService;
+  private final RateCardIndexService rateCardIndexService;
   private final DisbursementRepository disbursementRepository;
   private final VerticalModuleGuard moduleGuard;
 
@@ -58,7 +59,7 @@ public class UnbilledTimeService {
       OrgSettingsRepository orgSettingsRepository,
       ExpenseRepository expenseRepository,
       PrerequisiteService prerequisiteService,
-      BillingRateService billingRateService,
+      RateCardIndexService rateCardIndexService,
       DisbursementRepository disbursementRepository,
       VerticalModuleGuard moduleGuard) {
     this.customerRepository = customerRepository;
@@ -67,7 +68,7 @@ public class UnbilledTimeService {
     this.orgSettingsRepository = orgSettingsRepository;
     this.expenseRepository = expenseRepository;
     this.prerequisiteService = prerequisiteService;
-    this.billingRateService = billingRateService;
+    this.rateCardIndexService = rateCardIndexService;
     this.disbursementRepository = disbursementRepository;
     this.moduleGuard = moduleGuard;
   }
@@ -217,6 +218,7 @@ public class UnbilledTimeService {
 
     Map<UUID, List<UnbilledTimeEntry>> grouped = new LinkedHashMap<>();
     Map<UUID, String> projectNames = new LinkedHashMap<>();
+    RateCardIndex rateCard = null;
 
     for (Tuple row : rows) {
       UUID projectId = row.get("project_id", UUID.class);
@@ -237,11 +239,12 @@ public class UnbilledTimeService {
 
       String rateSource = null;
       if (rate == null) {
-        // TODO: N+1 — resolveRate is called per entry. Batch rate resolution would
-        // pre-load rates for all (memberId, projectId) pairs in one query.
-        // Fall back to live rate card resolution for null-snapshot entries
+        // Fall back to live rate card resolution for null-snapshot entries, in memory
+        if (rateCard == null) {
+          rateCard = rateCardIndexService.current();
+        }
         UUID memberId = row.get("te_member_id", UUID.class);
-        var resolved = billingRateService.resolveRate(memberId, projectId, entryDate);
+        var resolved = rateCard.resolveBillingRate(memberId, projectId, entryDate);
         if (resolved.isPresent()) {
           rate = resolved.get().hourlyRate();
           currency = resolved.get().currency();
@@ -3,9 +3,13 @@ package io.b2mash.b2b.b2bstrawman.member;
 import io.b2mash.b2b.b2bstrawman.exception.ForbiddenException;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
+import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
 import io.b2mash.b2b.b2bstrawman.security.Roles;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,6 +81,27 @@ public class ProjectAccessService {
     return access;
   }
 
+  /**
+   * Returns the subset of {@code projectIds} the caller can view, in one query — the set-based
+   * counterpart of {@link #requireViewAccess} for callers that check many projects at once.
+   */
+  @Transactional(readOnly = true)
+  public Set<UUID> filterViewable(Collection<UUID> projectIds, ActorContext actor) {
+    if (projectIds.isEmpty()) {
+      return Set.of();
+    }
+    if (Roles.ORG_OWNER.equals(actor.orgRole()) || Roles.ORG_ADMIN.equals(actor.orgRole())) {
+      return projectRepository.findAllById(projectIds).stream()
+          .map(Project::getId)
+          .collect(Collectors.toSet());
+    }
+    var requested = Set.copyOf(projectIds);
+    return projectMemberRepository.findByMemberId(actor.memberId()).stream()
+        .map(ProjectMember::getProjectId)
+        .filter(requested::contains)
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Verifies the project exists in the current tenant schema using a JPQL query scoped via
    * search_path.
@@ -176,7 +176,7 @@ public class DefaultShardRegistry implements ShardRegistry, SmartInitializingSin
       return null;
     }
 
-    HikariDataSource ds = new HikariDataSource();
+    HikariDataSource ds = new SchemaAwareDataSource();
     ds.setJdbcUrl(url);
     ds.setUsername(username);
     ds.setPassword(password);
@@ -274,6 +274,59 @@ public final class RequestScopes {
     }
   }
 
+  /**
+   * Variant of {@link #callForTenantOnShard} that additionally binds {@link #MEMBER_ID} when {@code
+   * memberId} is non-null. Shard-aware counterpart of {@link #runForTenantWithMember}, for work
+   * handed to other threads on behalf of a member — ScopedValue bindings are not inherited by
+   * executor threads, so the caller captures and rebinds them per task.
+   *
+   * @throws IllegalArgumentException if {@code tenantId} is null or blank.
+   * @throws NullPointerException if {@code action} is null.
+   */
+  public static <T> T callForTenantOnShardWithMember(
+      String tenantId,
+      @Nullable String orgId,
+      @Nullable String shardId,
+      @Nullable UUID memberId,
+      Callable<T> action) {
+    Objects.requireNonNull(action, "action");
+    requireValidTenantId(tenantId);
+    var carrier = bindTenantScope(tenantId, orgId, shardId);
+    if (memberId != null) {
+      carrier = carrier.where(MEMBER_ID, memberId);
+    }
+    ScopedValue.CallableOp<T, Exception> op = action::call;
+    try {
+      return carrier.call(op);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Calls {@code action} with {@link #TENANT_ID} bound to {@link #DEFAULT_TENANT} and {@link
+   * #SHARD_ID} to the primary shard, so transactions it opens run on a primary-shard connection.
+   * For writes to global {@code public} tables made on behalf of a tenant: the tenant's own
+   * connection may belong to a secondary shard, whose {@code public} schema is not the global one.
+   * A transaction already open on the caller's connection is not rerouted — {@code action} must
+   * start its own. Checked exceptions are wrapped as in {@link #callForTenant}.
+   *
+   * @throws NullPointerException if {@code action} is null.
+   */
+  public static <T> T callOnPrimary(Callable<T> action) {
+    Objects.requireNonNull(action, "action");
+    ScopedValue.CallableOp<T, Exception> op = action::call;
+    try {
+      return bindTenantScope(DEFAULT_TENANT, null, ShardAndSchema.DEFAULT.shardId()).call(op);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private static ScopedValue.Carrier bindTenantScope(String tenantId, @Nullable String orgId) {
     return bindTenantScope(tenantId, orgId, null);
   }
@@ -0,0 +1,42 @@
+package io.b2mash.b2b.b2bstrawman.multitenancy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hikari pool that hands out connections already pointed at a requested schema, using {@link
+ * SearchPathTracker} to skip the {@code SET search_path} when the pooled connection is already
+ * there. The tenant connection providers check out via {@link #getConnection(String)} and return
+ * connections <em>without</em> resetting them to {@code public}; instead every plain {@link
+ * #getConnection()} (JdbcTemplate, ShedLock, Hibernate bootstrap) lazily ensures {@code public}.
+ * Consecutive requests for the same tenant — or consecutive public-schema users — therefore pay no
+ * extra round trips, while a connection previously used by a tenant can never leak that tenant's
+ * {@code search_path} to a caller that expects {@code public}.
+ */
+public class SchemaAwareDataSource extends HikariDataSource {
+
+  private static final String PUBLIC_SCHEMA = "public";
+
+  /** Checks out a connection whose {@code search_path} is {@code public}. */
+  @Override
+  public Connection getConnection() throws SQLException {
+    return getConnection(PUBLIC_SCHEMA);
+  }
+
+  /**
+   * Checks out a connection whose {@code search_path} is {@code schema}. The schema must already
+   * be validated against the {@code public | tenant_[0-9a-f]{12}} allowlist by the caller.
+   */
+  public Connection getConnection(String schema) throws SQLException {
+    Connection connection = super.getConnection();
+    try {
+      SearchPathTracker.ensure(connection, schema);
+    } catch (SQLException e) {
+      // Release connection on setup failure to prevent pool leak
+      connection.close();
+      throw e;
+    }
+    return connection;
+  }
+}
@@ -37,9 +37,13 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
 
   @Override
   public Connection getConnection(String tenantIdentifier) throws SQLException {
+    String schema = sanitizeSchema(tenantIdentifier);
+    if (dataSource instanceof SchemaAwareDataSource schemaAware) {
+      return schemaAware.getConnection(schema);
+    }
     Connection connection = getAnyConnection();
     try {
-      setSearchPath(connection, tenantIdentifier);
+      setSearchPath(connection, schema);
     } catch (SQLException e) {
       // Release connection on setup failure to prevent pool leak
       releaseAnyConnection(connection);
@@ -48,9 +52,19 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
     return connection;
   }
 
+  /**
+   * Returns the connection to the pool. A {@link SchemaAwareDataSource} connection is returned
+   * as-is — it stays on the tenant schema so the next checkout for the same tenant can skip the
+   * {@code SET}, and plain checkouts re-point it at {@code public} lazily. Any other pool gets the
+   * eager reset.
+   */
   @Override
   public void releaseConnection(String tenantIdentifier, Connection connection)
       throws SQLException {
+    if (dataSource instanceof SchemaAwareDataSource) {
+      releaseAnyConnection(connection);
+      return;
+    }
     try {
       resetSearchPath(connection);
     } catch (SQLException e) {
@@ -105,7 +119,7 @@ public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectio
 
   private void setSearchPath(Connection connection, String schema) throws SQLException {
     try (var stmt = connection.createStatement()) {
-      stmt.execute("SET search_path TO " + sanitizeSchema(schema));
+      stmt.execute("SET search_path TO " + schema);
     }
   }
 
@@ -0,0 +1,66 @@
+package io.b2mash.b2b.b2bstrawman.multitenancy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers the {@code search_path} last applied to each <em>physical</em> connection so that a
+ * checkout for the schema a connection is already on can skip the {@code SET search_path} round
+ * trip. Keyed weakly by the driver connection underneath any pool proxy, so entries disappear when
+ * the pool evicts a connection and a fresh physical connection always starts as "unknown".
+ *
+ * <p>Only values set with autocommit on are recorded: inside a transaction a {@code SET} is rolled
+ * back with it, so the recorded value could otherwise diverge from the real one. Any code that
+ * changes {@code search_path} out of band must call {@link #forget(Connection)} — an unknown
+ * connection is always re-{@code SET}, never trusted.
+ *
+ * @see SchemaAwareDataSource
+ */
+public final class SearchPathTracker {
+
+  private static final Map<Connection, String> CURRENT_SCHEMA =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private SearchPathTracker() {}
+
+  /**
+   * Points the connection's {@code search_path} at {@code schema}, unless it is already known to
+   * be there. The schema must already be validated against the tenant schema allowlist.
+   *
+   * @return {@code true} if a {@code SET} was issued, {@code false} if it was skipped
+   */
+  public static boolean ensure(Connection connection, String schema) throws SQLException {
+    Connection physical = physical(connection);
+    if (schema.equals(CURRENT_SCHEMA.get(physical))) {
+      return false;
+    }
+    // Drop the old value first: if the SET fails the connection's state is unknown.
+    CURRENT_SCHEMA.remove(physical);
+    try (var stmt = connection.createStatement()) {
+      stmt.execute("SET search_path TO " + schema);
+    }
+    if (connection.getAutoCommit()) {
+      CURRENT_SCHEMA.put(physical, schema);
+    }
+    return true;
+  }
+
+  /** Marks the connection's {@code search_path} as unknown so the next checkout re-applies it. */
+  public static void forget(Connection connection) throws SQLException {
+    CURRENT_SCHEMA.remove(physical(connection));
+  }
+
+  /** The schema recorded for this connection, or {@code null} if unknown. */
+  static String current(Connection connection) throws SQLException {
+    return CURRENT_SCHEMA.get(physical(connection));
+  }
+
+  private static Connection physical(Connection connection) throws SQLException {
+    return connection.isWrapperFor(Connection.class)
+        ? connection.unwrap(Connection.class)
+        : connection;
+  }
+}
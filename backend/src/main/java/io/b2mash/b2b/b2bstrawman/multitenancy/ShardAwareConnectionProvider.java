@@ -56,7 +56,11 @@ public class ShardAwareConnectionProvider implements MultiTenantConnectionProvid
   @Override
   public Connection getConnection(String tenantIdentifier) throws SQLException {
     ShardAndSchema parsed = ShardAndSchema.parse(tenantIdentifier);
-    Connection connection = shardRegistry.getDataSource(parsed.shardId()).getConnection();
+    DataSource shardDataSource = shardRegistry.getDataSource(parsed.shardId());
+    if (shardDataSource instanceof SchemaAwareDataSource schemaAware) {
+      return schemaAware.getConnection(parsed.schemaName());
+    }
+    Connection connection = shardDataSource.getConnection();
     try {
       setSearchPath(connection, parsed.schemaName());
     } catch (SQLException e) {
@@ -67,9 +71,18 @@ public class ShardAwareConnectionProvider implements MultiTenantConnectionProvid
     return connection;
   }
 
+  /**
+   * Returns the connection to its shard pool. Connections from a {@link SchemaAwareDataSource} are
+   * not reset to {@code public} — see {@link
+   * SchemaMultiTenantConnectionProvider#releaseConnection(String, Connection)}.
+   */
   @Override
   public void releaseConnection(String tenantIdentifier, Connection connection)
       throws SQLException {
+    if (isSchemaAware(tenantIdentifier)) {
+      connection.close();
+      return;
+    }
     try {
       resetSearchPath(connection);
     } catch (SQLException e) {
@@ -127,6 +140,16 @@ public class ShardAwareConnectionProvider implements MultiTenantConnectionProvid
     throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
   }
 
+  private boolean isSchemaAware(String tenantIdentifier) {
+    try {
+      return shardRegistry.getDataSource(ShardAndSchema.parse(tenantIdentifier).shardId())
+          instanceof SchemaAwareDataSource;
+    } catch (IllegalArgumentException e) {
+      // Shard deregistered since checkout — fall back to the eager reset.
+      return false;
+    }
+  }
+
   /**
    * Sets the connection's search_path to the given schema. The schema name is already validated by
    * {@link ShardAndSchema#parse(String)} (compact constructor rejects anything outside the {@code
@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.multitenancy;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.b2mash.b2b.b2bstrawman.provisioning.TenantMigrationTracker;
 import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
 import io.b2mash.b2b.b2bstrawman.security.JwtUtils;
 import jakarta.servlet.FilterChain;
@@ -26,19 +27,25 @@ public class TenantFilter extends OncePerRequestFilter {
 
   private static final Logger log = LoggerFactory.getLogger(TenantFilter.class);
 
+  /** Seconds a client is asked to wait while its tenant schema is still being migrated. */
+  private static final String MIGRATION_RETRY_AFTER_SECONDS = "30";
+
   private final OrgSchemaMappingRepository mappingRepository;
   private final ObjectProvider<TenantProvisioningService> provisioningService;
   private final boolean jitProvisioningEnabled;
+  private final TenantMigrationTracker migrationTracker;
   private final Cache<String, TenantMapping> tenantCache =
       Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofHours(1)).build();
 
   public TenantFilter(
       OrgSchemaMappingRepository mappingRepository,
       ObjectProvider<TenantProvisioningService> provisioningService,
-      @Value("${app.jit-provisioning.enabled:false}") boolean jitProvisioningEnabled) {
+      @Value("${app.jit-provisioning.enabled:false}") boolean jitProvisioningEnabled,
+      TenantMigrationTracker migrationTracker) {
     this.mappingRepository = mappingRepository;
     this.provisioningService = provisioningService;
     this.jitProvisioningEnabled = jitProvisioningEnabled;
+    this.migrationTracker = migrationTracker;
   }
 
   /** Evicts the cached schema name for the given Clerk org ID. */
@@ -60,6 +67,13 @@ public class TenantFilter extends OncePerRequestFilter {
       if (orgId != null) {
         TenantMapping mapping = resolveTenant(orgId);
         if (mapping != null) {
+          if (migrationTracker.isPending(mapping.schemaName())) {
+            // Startup migration is still running for this schema (await-completion=false)
+            response.setHeader("Retry-After", MIGRATION_RETRY_AFTER_SECONDS);
+            response.sendError(
+                HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Organization is being upgraded");
+            return;
+          }
           ScopedFilterChain.runScoped(buildCarrier(mapping, orgId), filterChain, request, response);
           return;
         } else {
@@ -3,6 +3,7 @@ package io.b2mash.b2b.b2bstrawman.multitenancy;
 import jakarta.persistence.EntityManagerFactory;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
@@ -91,6 +92,9 @@ public class TenantTransactionHelper {
               + "forceSearchPath must be called inside a transaction");
     }
     em.createNativeQuery("SET search_path TO " + schema).executeUpdate();
+    // This SET bypasses SearchPathTracker (and is undone on rollback), so the tracked value for
+    // this connection can no longer be trusted — force the next checkout to re-apply it.
+    em.unwrap(Session.class).doWork(SearchPathTracker::forget);
     log.debug("Forced search_path to {} for tenant seeding", schema);
   }
 
@@ -1,11 +1,15 @@
 package io.b2mash.b2b.b2bstrawman.notification;
 
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.notification.stream.NotificationStreamPublisher;
+import io.b2mash.b2b.b2bstrawman.notification.stream.NotificationStreamRegistry;
 import java.time.Instant;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,15 +18,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
   private final NotificationService notificationService;
+  private final NotificationStreamRegistry streamRegistry;
 
-  public NotificationController(NotificationService notificationService) {
+  public NotificationController(
+      NotificationService notificationService, NotificationStreamRegistry streamRegistry) {
     this.notificationService = notificationService;
+    this.streamRegistry = streamRegistry;
   }
 
   @GetMapping
@@ -46,6 +54,22 @@ public class NotificationController {
     return ResponseEntity.ok(new UnreadCountResponse(count));
   }
 
+  /**
+   * Server-sent event stream of the member's new notifications and unread-count changes (see
+   * {@link NotificationStreamPublisher}), opened with the current unread count — replaces polling
+   * {@code /unread-count}. Returns 503 when this pod already holds its maximum number of streams.
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> stream() {
+    String tenantId = RequestScopes.requireTenantId();
+    UUID memberId = RequestScopes.requireMemberId();
+    long unreadCount = notificationService.getUnreadCount(memberId);
+    return streamRegistry
+        .subscribe(tenantId, memberId, unreadCount)
+        .map(emitter -> ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+  }
+
   @PutMapping("/{id}/read")
   public ResponseEntity<Void> markAsRead(@PathVariable UUID id) {
     UUID memberId = RequestScopes.requireMemberId();
@@ -21,17 +21,11 @@ import io.b2mash.b2b.b2bstrawman.event.TaskCancelledEvent;
 import io.b2mash.b2b.b2bstrawman.event.TaskClaimedEvent;
 import io.b2mash.b2b.b2bstrawman.event.TaskRecurrenceCreatedEvent;
 import io.b2mash.b2b.b2bstrawman.event.TaskStatusChangedEvent;
-import io.b2mash.b2b.b2bstrawman.member.Member;
-import io.b2mash.b2b.b2bstrawman.member.MemberRepository;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
-import io.b2mash.b2b.b2bstrawman.notification.channel.NotificationDispatcher;
+import io.b2mash.b2b.b2bstrawman.notification.outbox.NotificationOutboxService;
 import io.b2mash.b2b.b2bstrawman.schedule.event.RecurringProjectCreatedEvent;
 import io.b2mash.b2b.b2bstrawman.schedule.event.ScheduleCompletedEvent;
 import io.b2mash.b2b.b2bstrawman.schedule.event.ScheduleSkippedEvent;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
@@ -40,533 +34,163 @@ import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * Listens to domain events and creates notifications for relevant recipients. All handler methods
- * run AFTER_COMMIT in a new transaction, ensuring:
+ * Listens to domain events and records them in the notification outbox. Transactional handlers run
+ * BEFORE_COMMIT, so the outbox entry commits atomically with the domain change: notifications are
+ * only created for committed changes, and an entry is never lost to a crash after commit. Fan-out
+ * and delivery happen later, off the request thread, when {@link NotificationOutboxService} drains
+ * the outbox.
  *
- * <ol>
- *   <li>Notifications are only created for committed domain changes.
- *   <li>Notification failures do not affect the domain transaction.
- * </ol>
+ * <p>Each handler binds the tenant ScopedValue from the event's tenantId and orgId. Recording
+ * failures (including events without a tenant) are logged and dropped so they never roll back the
+ * domain transaction.
  *
- * <p>Each handler binds the tenant ScopedValue from the event's tenantId so that the dedicated
- * schema is selected correctly via {@code search_path} in the new transaction.
+ * <p>The billing-run completion and failure events are published outside a transaction, so their
+ * handlers are plain {@link EventListener}s and record in a transaction of their own.
  */
 @Component
 public class NotificationEventHandler {
 
   private static final Logger log = LoggerFactory.getLogger(NotificationEventHandler.class);
 
-  private final NotificationService notificationService;
-  private final NotificationDispatcher notificationDispatcher;
-  private final MemberRepository memberRepository;
+  private final NotificationOutboxService notificationOutbox;
 
-  public NotificationEventHandler(
-      NotificationService notificationService,
-      NotificationDispatcher notificationDispatcher,
-      MemberRepository memberRepository) {
-    this.notificationService = notificationService;
-    this.notificationDispatcher = notificationDispatcher;
-    this.memberRepository = memberRepository;
+  public NotificationEventHandler(NotificationOutboxService notificationOutbox) {
+    this.notificationOutbox = notificationOutbox;
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onCommentCreated(CommentCreatedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleCommentCreated(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for comment.created event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onTaskAssigned(TaskAssignedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleTaskAssigned(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for task.assigned event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onTaskClaimed(TaskClaimedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleTaskClaimed(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for task.claimed event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onTaskStatusChanged(TaskStatusChangedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleTaskStatusChanged(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for task.status_changed event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onTaskCancelled(TaskCancelledEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleTaskCancelled(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for task.cancelled event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onTaskRecurrenceCreated(TaskRecurrenceCreatedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleTaskRecurrenceCreated(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for task.recurrence_created event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onDocumentUploaded(DocumentUploadedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleDocumentUploaded(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for document.uploaded event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onMemberAddedToProject(MemberAddedToProjectEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleMemberAddedToProject(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for project_member.added event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onBudgetThreshold(BudgetThresholdEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleBudgetThreshold(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for budget.threshold_reached event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onDocumentGenerated(DocumentGeneratedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleDocumentGenerated(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for document.generated event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onInvoiceApproved(InvoiceApprovedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleInvoiceApproved(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for invoice.approved event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onInvoiceSent(InvoiceSentEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleInvoiceSent(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for invoice.sent event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onInvoicePaid(InvoicePaidEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleInvoicePaid(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for invoice.paid event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onInvoiceVoided(InvoiceVoidedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleInvoiceVoided(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for invoice.voided event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onRecurringProjectCreated(RecurringProjectCreatedEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleRecurringProjectCreated(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for recurring_project.created schedule={}",
-                event.scheduleId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onScheduleSkipped(ScheduleSkippedEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleScheduleSkipped(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for schedule_execution.skipped schedule={}",
-                event.scheduleId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onScheduleCompleted(ScheduleCompletedEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleScheduleCompleted(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for schedule.completed schedule={}",
-                event.scheduleId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onAcceptanceRequestAccepted(AcceptanceRequestAcceptedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleAcceptanceRequestAccepted(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for acceptance_request.accepted event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onProjectCompleted(ProjectCompletedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleProjectCompleted(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for project.completed event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onProjectArchived(ProjectArchivedEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            var notifications = notificationService.handleProjectArchived(event);
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for project.archived event={}",
-                event.entityId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onProposalSent(ProposalSentEvent event) {
-    RequestScopes.runForTenantOnShard(
-        event.tenantId(),
-        event.orgId(),
-        event.shardId(),
-        () -> {
-          try {
-            String title =
-                "Proposal %s has been sent"
-                    .formatted(event.details().getOrDefault("proposal_number", ""));
-            var notifications =
-                notificationService.notifyAdminsAndOwners(
-                    "PROPOSAL_SENT", title, null, "PROPOSAL", event.entityId());
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for proposal.sent event={}", event.entityId(), e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
   @EventListener
   public void onBillingRunCompleted(BillingRunCompletedEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var title =
-                "%s completed — %s generated"
-                    .formatted(
-                        billingRunLabel(event.runName(), event.periodFrom(), event.periodTo()),
-                        pluralize(event.totalInvoices(), "invoice"));
-            var notifications =
-                notificationService.notifyAdminsAndOwners(
-                    "BILLING_RUN_COMPLETED", title, null, "BILLING_RUN", event.billingRunId());
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for billing_run.completed run={}",
-                event.billingRunId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
   @EventListener
   public void onBillingRunFailures(BillingRunFailuresEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var title =
-                "%s had %s"
-                    .formatted(
-                        billingRunLabel(event.runName(), event.periodFrom(), event.periodTo()),
-                        pluralize(event.failureCount(), "failure"));
-            var notifications =
-                notificationService.notifyAdminsAndOwners(
-                    "BILLING_RUN_FAILURES", title, null, "BILLING_RUN", event.billingRunId());
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for billing_run.failures run={}",
-                event.billingRunId(),
-                e);
-          }
-        });
+    record(event, event.tenantId(), event.orgId());
   }
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onBillingRunSent(BillingRunSentEvent event) {
-    RequestScopes.runForTenant(
-        event.tenantId(),
-        event.orgId(),
-        () -> {
-          try {
-            var title =
-                "%s — %s sent"
-                    .formatted(
-                        billingRunLabel(event.runName(), event.periodFrom(), event.periodTo()),
-                        pluralize(event.totalSent(), "invoice"));
-            var notifications =
-                notificationService.notifyAdminsAndOwners(
-                    "BILLING_RUN_SENT", title, null, "BILLING_RUN", event.billingRunId());
-            dispatchAll(notifications);
-          } catch (Exception e) {
-            log.warn(
-                "Failed to create notifications for billing_run.sent run={}",
-                event.billingRunId(),
-                e);
-          }
-        });
-  }
-
-  private static final DateTimeFormatter BILLING_PERIOD_FORMAT =
-      DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
-
-  /**
-   * Renders the billing-run token for notification titles (LZKC-032). A real name is quoted
-   * ("Billing run \"July Run\""); a null/blank name falls back to the UNQUOTED billing period
-   * ("Billing run 01 Jul 2026 – 31 Jul 2026"); if the period is also missing (defensive — the
-   * production publisher always supplies it), plain "Billing run". Never empty quotes.
-   */
-  private static String billingRunLabel(String runName, LocalDate periodFrom, LocalDate periodTo) {
-    if (runName != null && !runName.isBlank()) {
-      return "Billing run \"%s\"".formatted(runName);
-    }
-    if (periodFrom != null && periodTo != null) {
-      return "Billing run %s – %s"
-          .formatted(
-              BILLING_PERIOD_FORMAT.format(periodFrom), BILLING_PERIOD_FORMAT.format(periodTo));
-    }
-    return "Billing run";
-  }
-
-  /** Count-aware phrase for simple s-plural nouns: "1 invoice", "2 invoices". */
-  private static String pluralize(int count, String noun) {
-    return count == 1 ? "1 " + noun : count + " " + noun + "s";
-  }
-
-  /**
-   * Dispatches all created notifications through multi-channel delivery. Resolves the recipient's
-   * email from MemberRepository for email channel delivery.
-   */
-  private void dispatchAll(List<Notification> notifications) {
-    for (var notification : notifications) {
-      String recipientEmail =
-          memberRepository
-              .findById(notification.getRecipientMemberId())
-              .map(Member::getEmail)
-              .orElse(null);
-      notificationDispatcher.dispatch(notification, recipientEmail);
+    record(event, event.tenantId(), event.orgId());
+  }
+
+  private void record(Object event, String tenantId, String orgId) {
+    try {
+      RequestScopes.runForTenantOnShard(
+          tenantId,
+          orgId,
+          RequestScopes.getShardIdOrDefault(),
+          () -> notificationOutbox.record(event));
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to record {} for notification fan-out, tenant={}",
+          event.getClass().getSimpleName(),
+          tenantId,
+          e);
     }
   }
 }
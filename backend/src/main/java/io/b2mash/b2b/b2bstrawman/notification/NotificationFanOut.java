@@ -0,0 +1,189 @@
+package io.b2mash.b2b.b2bstrawman.notification;
+
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunCompletedEvent;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunFailuresEvent;
+import io.b2mash.b2b.b2bstrawman.billingrun.BillingRunEvents.BillingRunSentEvent;
+import io.b2mash.b2b.b2bstrawman.event.AcceptanceRequestAcceptedEvent;
+import io.b2mash.b2b.b2bstrawman.event.BudgetThresholdEvent;
+import io.b2mash.b2b.b2bstrawman.event.CommentCreatedEvent;
+import io.b2mash.b2b.b2bstrawman.event.DocumentGeneratedEvent;
+import io.b2mash.b2b.b2bstrawman.event.DocumentUploadedEvent;
+import io.b2mash.b2b.b2bstrawman.event.InvoiceApprovedEvent;
+import io.b2mash.b2b.b2bstrawman.event.InvoicePaidEvent;
+import io.b2mash.b2b.b2bstrawman.event.InvoiceSentEvent;
+import io.b2mash.b2b.b2bstrawman.event.InvoiceVoidedEvent;
+import io.b2mash.b2b.b2bstrawman.event.MemberAddedToProjectEvent;
+import io.b2mash.b2b.b2bstrawman.event.ProjectArchivedEvent;
+import io.b2mash.b2b.b2bstrawman.event.ProjectCompletedEvent;
+import io.b2mash.b2b.b2bstrawman.event.ProposalSentEvent;
+import io.b2mash.b2b.b2bstrawman.event.TaskAssignedEvent;
+import io.b2mash.b2b.b2bstrawman.event.TaskCancelledEvent;
+import io.b2mash.b2b.b2bstrawman.event.TaskClaimedEvent;
+import io.b2mash.b2b.b2bstrawman.event.TaskRecurrenceCreatedEvent;
+import io.b2mash.b2b.b2bstrawman.event.TaskStatusChangedEvent;
+import io.b2mash.b2b.b2bstrawman.schedule.event.RecurringProjectCreatedEvent;
+import io.b2mash.b2b.b2bstrawman.schedule.event.ScheduleCompletedEvent;
+import io.b2mash.b2b.b2bstrawman.schedule.event.ScheduleSkippedEvent;
+import jakarta.annotation.Nullable;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a domain event recorded by {@link NotificationEventHandler} into the notifications it
+ * creates. Called by the notification outbox drain inside the transaction that removes the event's
+ * outbox entry, so the notifications and the removal commit together.
+ *
+ * <p>{@link #EVENT_TYPES} is the closed set of event classes the outbox may store and read back;
+ * an event is identified in the outbox by its simple class name.
+ */
+@Component
+public class NotificationFanOut {
+
+  private static final Map<String, Class<?>> EVENT_TYPES =
+      Stream.of(
+              CommentCreatedEvent.class,
+              TaskAssignedEvent.class,
+              TaskClaimedEvent.class,
+              TaskStatusChangedEvent.class,
+              TaskCancelledEvent.class,
+              TaskRecurrenceCreatedEvent.class,
+              DocumentUploadedEvent.class,
+              MemberAddedToProjectEvent.class,
+              BudgetThresholdEvent.class,
+              DocumentGeneratedEvent.class,
+              InvoiceApprovedEvent.class,
+              InvoiceSentEvent.class,
+              InvoicePaidEvent.class,
+              InvoiceVoidedEvent.class,
+              RecurringProjectCreatedEvent.class,
+              ScheduleSkippedEvent.class,
+              ScheduleCompletedEvent.class,
+              AcceptanceRequestAcceptedEvent.class,
+              ProjectCompletedEvent.class,
+              ProjectArchivedEvent.class,
+              ProposalSentEvent.class,
+              BillingRunCompletedEvent.class,
+              BillingRunFailuresEvent.class,
+              BillingRunSentEvent.class)
+          .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+  private static final DateTimeFormatter BILLING_PERIOD_FORMAT =
+      DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+
+  private final NotificationService notificationService;
+
+  public NotificationFanOut(NotificationService notificationService) {
+    this.notificationService = notificationService;
+  }
+
+  /** The outbox name of {@code event}'s type. */
+  public static String eventType(Object event) {
+    var type = event.getClass().getSimpleName();
+    if (EVENT_TYPES.get(type) != event.getClass()) {
+      throw new IllegalArgumentException("Not a notification event: " + event.getClass());
+    }
+    return type;
+  }
+
+  /** The event class stored in the outbox under {@code eventType}, or null if there is none. */
+  public static @Nullable Class<?> eventClass(String eventType) {
+    return EVENT_TYPES.get(eventType);
+  }
+
+  /** Creates the notifications for {@code event} in the caller's transaction. */
+  public List<Notification> createNotifications(Object event) {
+    return switch (event) {
+      case CommentCreatedEvent e -> notificationService.handleCommentCreated(e);
+      case TaskAssignedEvent e -> notificationService.handleTaskAssigned(e);
+      case TaskClaimedEvent e -> notificationService.handleTaskClaimed(e);
+      case TaskStatusChangedEvent e -> notificationService.handleTaskStatusChanged(e);
+      case TaskCancelledEvent e -> notificationService.handleTaskCancelled(e);
+      case TaskRecurrenceCreatedEvent e -> notificationService.handleTaskRecurrenceCreated(e);
+      case DocumentUploadedEvent e -> notificationService.handleDocumentUploaded(e);
+      case MemberAddedToProjectEvent e -> notificationService.handleMemberAddedToProject(e);
+      case BudgetThresholdEvent e -> notificationService.handleBudgetThreshold(e);
+      case DocumentGeneratedEvent e -> notificationService.handleDocumentGenerated(e);
+      case InvoiceApprovedEvent e -> notificationService.handleInvoiceApproved(e);
+      case InvoiceSentEvent e -> notificationService.handleInvoiceSent(e);
+      case InvoicePaidEvent e -> notificationService.handleInvoicePaid(e);
+      case InvoiceVoidedEvent e -> notificationService.handleInvoiceVoided(e);
+      case RecurringProjectCreatedEvent e -> notificationService.handleRecurringProjectCreated(e);
+      case ScheduleSkippedEvent e -> notificationService.handleScheduleSkipped(e);
+      case ScheduleCompletedEvent e -> notificationService.handleScheduleCompleted(e);
+      case AcceptanceRequestAcceptedEvent e ->
+          notificationService.handleAcceptanceRequestAccepted(e);
+      case ProjectCompletedEvent e -> notificationService.handleProjectCompleted(e);
+      case ProjectArchivedEvent e -> notificationService.handleProjectArchived(e);
+      case ProposalSentEvent e ->
+          notificationService.createForAdminsAndOwners(
+              "PROPOSAL_SENT",
+              "Proposal %s has been sent"
+                  .formatted(e.details().getOrDefault("proposal_number", "")),
+              null,
+              "PROPOSAL",
+              e.entityId());
+      case BillingRunCompletedEvent e ->
+          notificationService.createForAdminsAndOwners(
+              "BILLING_RUN_COMPLETED",
+              "%s completed — %s generated"
+                  .formatted(
+                      billingRunLabel(e.runName(), e.periodFrom(), e.periodTo()),
+                      pluralize(e.totalInvoices(), "invoice")),
+              null,
+              "BILLING_RUN",
+              e.billingRunId());
+      case BillingRunFailuresEvent e ->
+          notificationService.createForAdminsAndOwners(
+              "BILLING_RUN_FAILURES",
+              "%s had %s"
+                  .formatted(
+                      billingRunLabel(e.runName(), e.periodFrom(), e.periodTo()),
+                      pluralize(e.failureCount(), "failure")),
+              null,
+              "BILLING_RUN",
+              e.billingRunId());
+      case BillingRunSentEvent e ->
+          notificationService.createForAdminsAndOwners(
+              "BILLING_RUN_SENT",
+              "%s — %s sent"
+                  .formatted(
+                      billingRunLabel(e.runName(), e.periodFrom(), e.periodTo()),
+                      pluralize(e.totalSent(), "invoice")),
+              null,
+              "BILLING_RUN",
+              e.billingRunId());
+      default ->
+          throw new IllegalArgumentException("Not a notification event: " + event.getClass());
+    };
+  }
+
+  /**
+   * Renders the billing-run token for notification titles (LZKC-032). A real name is quoted
+   * ("Billing run \"July Run\""); a null/blank name falls back to the UNQUOTED billing period
+   * ("Billing run 01 Jul 2026 – 31 Jul 2026"); if the period is also missing (defensive — the
+   * production publisher always supplies it), plain "Billing run". Never empty quotes.
+   */
+  private static String billingRunLabel(String runName, LocalDate periodFrom, LocalDate periodTo) {
+    if (runName != null && !runName.isBlank()) {
+      return "Billing run \"%s\"".formatted(runName);
+    }
+    if (periodFrom != null && periodTo != null) {
+      return "Billing run %s – %s"
+          .formatted(
+              BILLING_PERIOD_FORMAT.format(periodFrom), BILLING_PERIOD_FORMAT.format(periodTo));
+    }
+    return "Billing run";
+  }
+
+  /** Count-aware phrase for simple s-plural nouns: "1 invoice", "2 invoices". */
+  private static String pluralize(int count, String noun) {
+    return count == 1 ? "1 " + noun : count + " " + noun + "s";
+  }
+}
@@ -1,5 +1,6 @@
 package io.b2mash.b2b.b2bstrawman.notification;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +26,14 @@ public interface NotificationPreferenceRepository
       WHERE np.memberId = :memberId
       """)
   List<NotificationPreference> findByMemberId(@Param("memberId") UUID memberId);
+
+  /** Stored preferences of all {@code memberIds} for any of {@code types}, in one query. */
+  @Query(
+      """
+      SELECT np FROM NotificationPreference np
+      WHERE np.memberId IN :memberIds
+        AND np.notificationType IN :types
+      """)
+  List<NotificationPreference> findByMemberIdInAndNotificationTypeIn(
+      @Param("memberIds") Collection<UUID> memberIds, @Param("types") Collection<String> types);
 }
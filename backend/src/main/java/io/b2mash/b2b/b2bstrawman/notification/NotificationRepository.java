@@ -43,7 +43,7 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
       WHERE n.recipientMemberId = :memberId
         AND n.isRead = false
       """)
-  void markAllAsRead(@Param("memberId") UUID memberId);
+  int markAllAsRead(@Param("memberId") UUID memberId);
 
   @Query(
       """
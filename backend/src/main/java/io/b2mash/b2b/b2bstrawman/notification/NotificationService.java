@@ -21,7 +21,9 @@ import io.b2mash.b2b.b2bstrawman.event.TaskRecurrenceCreatedEvent;
 import io.b2mash.b2b.b2bstrawman.event.TaskStatusChangedEvent;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceNotFoundException;
 import io.b2mash.b2b.b2bstrawman.member.MemberRepository;
+import io.b2mash.b2b.b2bstrawman.member.ProjectMember;
 import io.b2mash.b2b.b2bstrawman.member.ProjectMemberRepository;
+import io.b2mash.b2b.b2bstrawman.notification.stream.NotificationStreamPublisher;
 import io.b2mash.b2b.b2bstrawman.notification.template.EmailTerminology;
 import io.b2mash.b2b.b2bstrawman.schedule.event.RecurringProjectCreatedEvent;
 import io.b2mash.b2b.b2bstrawman.schedule.event.ScheduleCompletedEvent;
@@ -30,7 +32,7 @@ import io.b2mash.b2b.b2bstrawman.settings.OrgSettings;
 import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import io.b2mash.b2b.b2bstrawman.template.TemplateEntityType;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +65,7 @@ public class NotificationService {
   private final MemberRepository memberRepository;
   private final OrgSettingsRepository orgSettingsRepository;
   private final EmailTerminology emailTerminology;
+  private final NotificationStreamPublisher streamPublisher;
 
   public NotificationService(
       NotificationRepository notificationRepository,
@@ -73,7 +76,8 @@ public class NotificationService {
       ProjectMemberRepository projectMemberRepository,
       MemberRepository memberRepository,
       OrgSettingsRepository orgSettingsRepository,
-      EmailTerminology emailTerminology) {
+      EmailTerminology emailTerminology,
+      NotificationStreamPublisher streamPublisher) {
     this.notificationRepository = notificationRepository;
     this.notificationPreferenceRepository = notificationPreferenceRepository;
     this.commentRepository = commentRepository;
@@ -83,6 +87,7 @@ public class NotificationService {
     this.memberRepository = memberRepository;
     this.orgSettingsRepository = orgSettingsRepository;
     this.emailTerminology = emailTerminology;
+    this.streamPublisher = streamPublisher;
   }
 
   /**
@@ -137,12 +142,16 @@ public class NotificationService {
             .findById(notificationId)
             .filter(n -> n.getRecipientMemberId().equals(memberId))
             .orElseThrow(() -> new ResourceNotFoundException("Notification", notificationId));
-    notification.markAsRead();
+    if (!notification.isRead()) {
+      notification.markAsRead();
+      streamPublisher.publishUnreadDelta(memberId, -1);
+    }
   }
 
   @Transactional
   public void markAllAsRead(UUID memberId) {
-    notificationRepository.markAllAsRead(memberId);
+    int marked = notificationRepository.markAllAsRead(memberId);
+    streamPublisher.publishUnreadDelta(memberId, -marked);
   }
 
   @Transactional
@@ -153,6 +162,9 @@ public class NotificationService {
             .filter(n -> n.getRecipientMemberId().equals(memberId))
             .orElseThrow(() -> new ResourceNotFoundException("Notification", notificationId));
     notificationRepository.delete(notification);
+    if (!notification.isRead()) {
+      streamPublisher.publishUnreadDelta(memberId, -1);
+    }
   }
 
   // --- Notification types ---
@@ -274,9 +286,13 @@ public class NotificationService {
   public record PreferenceUpdate(
       String notificationType, boolean inAppEnabled, boolean emailEnabled) {}
 
-  // --- Fan-out handler methods (called by NotificationEventHandler) ---
+  // --- Fan-out handler methods (called by NotificationFanOut) ---
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  // Each handler joins the caller's transaction: the notification outbox drain runs it in the
+  // transaction that deletes the outbox entry, so an event's notifications are created exactly
+  // once even when the drain is retried.
+
+  @Transactional
   public List<Notification> handleCommentCreated(CommentCreatedEvent event) {
     var recipients = new HashSet<UUID>();
     String title;
@@ -324,25 +340,17 @@ public class NotificationService {
     // Exclude the comment author
     recipients.remove(event.actorMemberId());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "COMMENT_ADDED",
-              title,
-              null,
-              event.targetEntityType(),
-              event.targetEntityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients,
+        "COMMENT_ADDED",
+        title,
+        null,
+        event.targetEntityType(),
+        event.targetEntityId(),
+        event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleTaskAssigned(TaskAssignedEvent event) {
     if (event.assigneeMemberId() == null) {
       return List.of();
@@ -366,7 +374,7 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleTaskClaimed(TaskClaimedEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -386,25 +394,11 @@ public class NotificationService {
 
     var title = "%s claimed task \"%s\"".formatted(event.actorName(), event.taskTitle());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "TASK_CLAIMED",
-              title,
-              null,
-              "TASK",
-              event.entityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients, "TASK_CLAIMED", title, null, "TASK", event.entityId(), event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleTaskCancelled(TaskCancelledEvent event) {
     if (event.assigneeId() == null) {
       return List.of();
@@ -428,7 +422,7 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleTaskRecurrenceCreated(TaskRecurrenceCreatedEvent event) {
     if (event.assigneeMemberId() == null) {
       return List.of();
@@ -454,7 +448,7 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleTaskStatusChanged(TaskStatusChangedEvent event) {
     if (event.assigneeMemberId() == null) {
       return List.of();
@@ -480,35 +474,28 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleDocumentUploaded(DocumentUploadedEvent event) {
     var members = projectMemberRepository.findByProjectId(event.projectId());
 
     var title = "%s uploaded \"%s\"".formatted(event.actorName(), event.documentName());
 
-    var created = new ArrayList<Notification>();
-    for (var member : members) {
-      // Exclude uploader
-      if (member.getMemberId().equals(event.actorMemberId())) {
-        continue;
-      }
-      var notification =
-          createIfEnabled(
-              member.getMemberId(),
-              "DOCUMENT_SHARED",
-              title,
-              null,
-              "DOCUMENT",
-              event.entityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    var recipients =
+        members.stream()
+            .map(ProjectMember::getMemberId)
+            .filter(memberId -> !memberId.equals(event.actorMemberId()))
+            .toList();
+    return createForRecipients(
+        recipients,
+        "DOCUMENT_SHARED",
+        title,
+        null,
+        "DOCUMENT",
+        event.entityId(),
+        event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleMemberAddedToProject(MemberAddedToProjectEvent event) {
     var title = "You were added to project \"%s\"".formatted(event.projectName());
 
@@ -524,7 +511,7 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleBudgetThreshold(BudgetThresholdEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -551,25 +538,11 @@ public class NotificationService {
         "Project \"%s\" has reached %s%% of its %s budget"
             .formatted(projectName, consumedPct, dimension);
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "BUDGET_ALERT",
-              title,
-              null,
-              "PROJECT",
-              event.projectId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients, "BUDGET_ALERT", title, null, "PROJECT", event.projectId(), event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleInvoiceApproved(InvoiceApprovedEvent event) {
     // Recipients: invoice creator (if different from approver)
     var recipients = new HashSet<UUID>();
@@ -582,7 +555,7 @@ public class NotificationService {
         recipients, "INVOICE_APPROVED", title, event.entityId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleInvoiceSent(InvoiceSentEvent event) {
     // Recipients: org admins + owners
     var recipients = new HashSet<UUID>();
@@ -596,7 +569,7 @@ public class NotificationService {
     return createNotificationsForRecipients(recipients, "INVOICE_SENT", title, event.entityId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleInvoicePaid(InvoicePaidEvent event) {
     // Recipients: creator + admins/owners
     var recipients = new HashSet<UUID>();
@@ -611,7 +584,7 @@ public class NotificationService {
     return createNotificationsForRecipients(recipients, "INVOICE_PAID", title, event.entityId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleInvoiceVoided(InvoiceVoidedEvent event) {
     // Recipients: creator + approver + admins/owners
     var recipients = new HashSet<UUID>();
@@ -626,7 +599,7 @@ public class NotificationService {
     return createNotificationsForRecipients(recipients, "INVOICE_VOIDED", title, event.entityId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleDocumentGenerated(DocumentGeneratedEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -655,25 +628,17 @@ public class NotificationService {
 
     var title = "%s generated document \"%s\"".formatted(event.actorName(), event.fileName());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "DOCUMENT_GENERATED",
-              title,
-              null,
-              "GENERATED_DOCUMENT",
-              event.entityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients,
+        "DOCUMENT_GENERATED",
+        title,
+        null,
+        "GENERATED_DOCUMENT",
+        event.entityId(),
+        event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleRecurringProjectCreated(RecurringProjectCreatedEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -694,25 +659,17 @@ public class NotificationService {
         "Recurring project \"%s\" created for %s"
             .formatted(event.projectName(), event.customerName());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "RECURRING_PROJECT_CREATED",
-              title,
-              null,
-              "PROJECT",
-              event.projectId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients,
+        "RECURRING_PROJECT_CREATED",
+        title,
+        null,
+        "PROJECT",
+        event.projectId(),
+        event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleScheduleSkipped(ScheduleSkippedEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -723,25 +680,17 @@ public class NotificationService {
 
     var title = "Schedule skipped for %s — %s".formatted(event.customerName(), event.reason());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "SCHEDULE_SKIPPED",
-              title,
-              null,
-              "RECURRING_SCHEDULE",
-              event.scheduleId(),
-              null);
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients,
+        "SCHEDULE_SKIPPED",
+        title,
+        null,
+        "RECURRING_SCHEDULE",
+        event.scheduleId(),
+        null);
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleScheduleCompleted(ScheduleCompletedEvent event) {
     var recipients = new HashSet<UUID>();
 
@@ -754,25 +703,17 @@ public class NotificationService {
         "Schedule for %s (%s) completed after %d executions"
             .formatted(event.customerName(), event.templateName(), event.executionCount());
 
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification =
-          createIfEnabled(
-              recipientId,
-              "SCHEDULE_COMPLETED",
-              title,
-              null,
-              "RECURRING_SCHEDULE",
-              event.scheduleId(),
-              null);
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    return createForRecipients(
+        recipients,
+        "SCHEDULE_COMPLETED",
+        title,
+        null,
+        "RECURRING_SCHEDULE",
+        event.scheduleId(),
+        null);
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleAcceptanceRequestAccepted(AcceptanceRequestAcceptedEvent event) {
     if (event.sentByMemberId() == null) {
       log.warn("No sentByMemberId for acceptance notification, requestId={}", event.requestId());
@@ -793,58 +734,46 @@ public class NotificationService {
     return notification != null ? List.of(notification) : List.of();
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleProjectCompleted(ProjectCompletedEvent event) {
     var members = projectMemberRepository.findByProjectId(event.projectId());
 
     var title = "%s completed project \"%s\"".formatted(event.actorName(), event.projectName());
 
-    var created = new ArrayList<Notification>();
-    for (var member : members) {
-      if (member.getMemberId().equals(event.actorMemberId())) {
-        continue;
-      }
-      var notification =
-          createIfEnabled(
-              member.getMemberId(),
-              "PROJECT_COMPLETED",
-              title,
-              null,
-              "PROJECT",
-              event.entityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    var recipients =
+        members.stream()
+            .map(ProjectMember::getMemberId)
+            .filter(memberId -> !memberId.equals(event.actorMemberId()))
+            .toList();
+    return createForRecipients(
+        recipients,
+        "PROJECT_COMPLETED",
+        title,
+        null,
+        "PROJECT",
+        event.entityId(),
+        event.projectId());
   }
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional
   public List<Notification> handleProjectArchived(ProjectArchivedEvent event) {
     var members = projectMemberRepository.findByProjectId(event.projectId());
 
     var title = "%s archived project \"%s\"".formatted(event.actorName(), event.projectName());
 
-    var created = new ArrayList<Notification>();
-    for (var member : members) {
-      if (member.getMemberId().equals(event.actorMemberId())) {
-        continue;
-      }
-      var notification =
-          createIfEnabled(
-              member.getMemberId(),
-              "PROJECT_ARCHIVED",
-              title,
-              null,
-              "PROJECT",
-              event.entityId(),
-              event.projectId());
-      if (notification != null) {
-        created.add(notification);
-      }
-    }
-    return created;
+    var recipients =
+        members.stream()
+            .map(ProjectMember::getMemberId)
+            .filter(memberId -> !memberId.equals(event.actorMemberId()))
+            .toList();
+    return createForRecipients(
+        recipients,
+        "PROJECT_ARCHIVED",
+        title,
+        null,
+        "PROJECT",
+        event.entityId(),
+        event.projectId());
   }
 
   // --- Admin/owner fan-out helper (used by retainer services) ---
@@ -856,14 +785,23 @@ public class NotificationService {
   @Transactional(propagation = Propagation.REQUIRES_NEW)
   public List<Notification> notifyAdminsAndOwners(
       String type, String title, String body, String entityType, UUID entityId) {
-    var adminsAndOwners = memberRepository.findByRoleSlugsIn(List.of("admin", "owner"));
-    var created = new ArrayList<Notification>();
-    for (var member : adminsAndOwners) {
-      var notification =
-          createNotification(member.getId(), type, title, body, entityType, entityId, null);
-      created.add(notification);
-    }
-    return created;
+    return createForAdminsAndOwners(type, title, body, entityType, entityId);
+  }
+
+  /**
+   * Same as {@link #notifyAdminsAndOwners}, but joins the caller's transaction. Inserts the
+   * notifications as one batch.
+   */
+  @Transactional
+  public List<Notification> createForAdminsAndOwners(
+      String type, String title, String body, String entityType, UUID entityId) {
+    var notifications =
+        memberRepository.findByRoleSlugsIn(List.of("admin", "owner")).stream()
+            .map(
+                member ->
+                    new Notification(member.getId(), type, title, body, entityType, entityId, null))
+            .toList();
+    return notificationRepository.saveAll(notifications);
   }
 
   // --- @mention resolution ---
@@ -917,21 +855,56 @@ public class NotificationService {
         .orElse(true);
   }
 
+  private List<Notification> createNotificationsForRecipients(
+      Set<UUID> recipients, String type, String title, UUID entityId) {
+    return createForRecipients(recipients, type, title, null, "INVOICE", entityId, null);
+  }
+
   /**
-   * Creates a notification for the recipient only if their in-app preference is enabled.
-   *
-   * @return the saved notification, or {@code null} if the preference was disabled
+   * Creates the notification for every recipient whose in-app preference for the type is enabled
+   * (same opt-out model as {@link #createIfEnabled}). Loads the recipients' preferences in one
+   * query and inserts the notifications as one batch.
    */
-  private List<Notification> createNotificationsForRecipients(
-      java.util.Set<UUID> recipients, String type, String title, UUID entityId) {
-    var created = new ArrayList<Notification>();
-    for (var recipientId : recipients) {
-      var notification = createIfEnabled(recipientId, type, title, null, "INVOICE", entityId, null);
-      if (notification != null) created.add(notification);
+  private List<Notification> createForRecipients(
+      Collection<UUID> recipientMemberIds,
+      String notificationType,
+      String title,
+      String body,
+      String refEntityType,
+      UUID refEntityId,
+      UUID refProjectId) {
+    if (recipientMemberIds.isEmpty()) {
+      return List.of();
     }
-    return created;
+    Set<UUID> inAppDisabled =
+        notificationPreferenceRepository
+            .findByMemberIdInAndNotificationTypeIn(recipientMemberIds, List.of(notificationType))
+            .stream()
+            .filter(preference -> !preference.isInAppEnabled())
+            .map(NotificationPreference::getMemberId)
+            .collect(Collectors.toSet());
+    var notifications =
+        recipientMemberIds.stream()
+            .filter(recipientId -> !inAppDisabled.contains(recipientId))
+            .map(
+                recipientId ->
+                    new Notification(
+                        recipientId,
+                        notificationType,
+                        title,
+                        body,
+                        refEntityType,
+                        refEntityId,
+                        refProjectId))
+            .toList();
+    return notificationRepository.saveAll(notifications);
   }
 
+  /**
+   * Creates a notification for the recipient only if their in-app preference is enabled.
+   *
+   * @return the saved notification, or {@code null} if the preference was disabled
+   */
   public Notification createIfEnabled(
       UUID recipientMemberId,
       String notificationType,
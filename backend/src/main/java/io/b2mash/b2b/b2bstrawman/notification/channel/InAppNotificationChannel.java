@@ -1,16 +1,23 @@
 package io.b2mash.b2b.b2bstrawman.notification.channel;
 
 import io.b2mash.b2b.b2bstrawman.notification.Notification;
+import io.b2mash.b2b.b2bstrawman.notification.stream.NotificationStreamPublisher;
 import org.springframework.stereotype.Component;
 
 /**
  * In-app notification channel. The notification is already persisted in the database by the time
- * this channel is invoked -- this is effectively a no-op that exists for symmetry with other
- * channels in the NotificationDispatcher.
+ * this channel is invoked; delivering it pushes it to the recipient's open notification streams
+ * (once the surrounding transaction commits), so clients need not poll for new notifications.
  */
 @Component
 public class InAppNotificationChannel implements NotificationChannel {
 
+  private final NotificationStreamPublisher streamPublisher;
+
+  public InAppNotificationChannel(NotificationStreamPublisher streamPublisher) {
+    this.streamPublisher = streamPublisher;
+  }
+
   @Override
   public String channelId() {
     return "in-app";
@@ -18,8 +25,8 @@ public class InAppNotificationChannel implements NotificationChannel {
 
   @Override
   public boolean deliver(Notification notification, String recipientEmail) {
-    // No-op: the notification row was already created by NotificationService.
-    // This channel exists for architectural completeness in NotificationDispatcher.
+    // The notification row was already created by NotificationService.
+    streamPublisher.publishNotification(notification);
     return true;
   }
 
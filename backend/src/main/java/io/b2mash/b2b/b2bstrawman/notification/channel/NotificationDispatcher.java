@@ -1,9 +1,12 @@
 package io.b2mash.b2b.b2bstrawman.notification.channel;
 
 import io.b2mash.b2b.b2bstrawman.notification.Notification;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationPreference;
 import io.b2mash.b2b.b2bstrawman.notification.NotificationPreferenceRepository;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -58,6 +61,48 @@ public class NotificationDispatcher {
     }
   }
 
+  /**
+   * Batch form of {@link #dispatch} for the notifications created by one event, with email
+   * deferred: delivers each notification in-app unless disabled, and returns the ones whose
+   * recipient opted in to email so the caller can hand them to {@link #dispatchEmail} later. Loads
+   * the preferences of all recipients in one query.
+   */
+  public List<Notification> dispatchInApp(List<Notification> notifications) {
+    if (notifications.isEmpty()) {
+      return List.of();
+    }
+    Map<PreferenceKey, NotificationPreference> preferences =
+        preferenceRepository
+            .findByMemberIdInAndNotificationTypeIn(
+                notifications.stream().map(Notification::getRecipientMemberId).toList(),
+                notifications.stream().map(Notification::getType).distinct().toList())
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    p -> new PreferenceKey(p.getMemberId(), p.getNotificationType()),
+                    Function.identity(),
+                    (first, second) -> first));
+
+    var emailEnabled = new ArrayList<Notification>();
+    for (var notification : notifications) {
+      var preference =
+          preferences.get(
+              new PreferenceKey(notification.getRecipientMemberId(), notification.getType()));
+      if (preference == null || preference.isInAppEnabled()) {
+        dispatchToChannel("in-app", notification, null);
+      }
+      if (preference != null && preference.isEmailEnabled()) {
+        emailEnabled.add(notification);
+      }
+    }
+    return emailEnabled;
+  }
+
+  /** Delivers a notification through the email channel only, regardless of preferences. */
+  public void dispatchEmail(Notification notification, String recipientEmail) {
+    dispatchToChannel("email", notification, recipientEmail);
+  }
+
   private void dispatchToChannel(String channelId, Notification notification, String email) {
     var channel = channels.get(channelId);
     if (channel != null) {
@@ -72,4 +117,6 @@ public class NotificationDispatcher {
       }
     }
   }
+
+  private record PreferenceKey(UUID memberId, String notificationType) {}
 }
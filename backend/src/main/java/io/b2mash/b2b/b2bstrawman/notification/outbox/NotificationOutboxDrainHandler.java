@@ -0,0 +1,38 @@
+package io.b2mash.b2b.b2bstrawman.notification.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler for draining the notification outbox of a single tenant. Delegates to {@link
+ * NotificationOutboxService#drainForTenant()}, which contains the fan-out, email pacing, retry and
+ * back-off logic.
+ */
+@Component
+public class NotificationOutboxDrainHandler implements JobHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDrainHandler.class);
+
+  private final NotificationOutboxService outboxService;
+
+  public NotificationOutboxDrainHandler(NotificationOutboxService outboxService) {
+    this.outboxService = outboxService;
+  }
+
+  @Override
+  public String jobType() {
+    return NotificationOutboxService.DRAIN_JOB_TYPE;
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    int processed = outboxService.drainForTenant();
+    if (processed > 0) {
+      log.info("NotificationOutboxDrainHandler: drained {} entries", processed);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package io.b2mash.b2b.b2bstrawman.notification.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * One unit of pending notification work. An {@link Kind#EVENT} entry holds a serialized domain
+ * event still to be fanned out into notifications; an {@link Kind#EMAIL} entry holds one email
+ * still to be sent for a notification that already exists. Entries are deleted once handled.
+ */
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "kind", nullable = false, length = 10)
+  private Kind kind;
+
+  @Column(name = "event_type", length = 100)
+  private String eventType;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 10)
+  private Status status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  protected NotificationOutboxEntry() {}
+
+  private NotificationOutboxEntry(Kind kind, String eventType, String payload) {
+    this.kind = kind;
+    this.eventType = eventType;
+    this.payload = payload;
+    this.status = Status.PENDING;
+    this.attempts = 0;
+    this.createdAt = Instant.now();
+    this.nextAttemptAt = this.createdAt;
+  }
+
+  /** An entry for a domain event of type {@code eventType}, serialized as {@code payload}. */
+  public static NotificationOutboxEntry forEvent(String eventType, String payload) {
+    return new NotificationOutboxEntry(Kind.EVENT, eventType, payload);
+  }
+
+  /** An entry for one email delivery, described by {@code payload}. */
+  public static NotificationOutboxEntry forEmail(String payload) {
+    return new NotificationOutboxEntry(Kind.EMAIL, null, payload);
+  }
+
+  /** Records a failed attempt and schedules the next one. */
+  public void markRetrying(String error, Instant nextAttempt) {
+    this.attempts++;
+    this.lastError = error;
+    this.nextAttemptAt = nextAttempt;
+  }
+
+  /** Records the final failed attempt; the entry is no longer drained. */
+  public void markFailed(String error) {
+    this.attempts++;
+    this.lastError = error;
+    this.status = Status.FAILED;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public enum Kind {
+    EVENT,
+    EMAIL
+  }
+
+  public enum Status {
+    PENDING,
+    FAILED
+  }
+}
@@ -0,0 +1,42 @@
+package io.b2mash.b2b.b2bstrawman.notification.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationOutboxRepository
+    extends JpaRepository<NotificationOutboxEntry, UUID> {
+
+  /** Drain scan: due PENDING entries, oldest first. Read without locks; see {@link #lockDue}. */
+  @Query(
+      value =
+          """
+          SELECT * FROM notification_outbox
+          WHERE status = 'PENDING' AND next_attempt_at <= :now
+          ORDER BY next_attempt_at, created_at
+          LIMIT :limit
+          """,
+      nativeQuery = true)
+  List<NotificationOutboxEntry> findDue(@Param("now") Instant now, @Param("limit") int limit);
+
+  /**
+   * Claims one entry for processing. Uses {@code FOR UPDATE SKIP LOCKED} so concurrent drains of
+   * the same tenant (the job worker and an inline drain, or two workers) never handle an entry
+   * twice; empty if the entry is locked by another drain or was already handled.
+   */
+  @Query(
+      value =
+          "SELECT * FROM notification_outbox WHERE id = :id AND status = 'PENDING'"
+              + " FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  Optional<NotificationOutboxEntry> lockDue(@Param("id") UUID id);
+
+  /** Earliest {@code nextAttemptAt} among entries in {@code status}, if any. */
+  @Query("SELECT MIN(e.nextAttemptAt) FROM NotificationOutboxEntry e WHERE e.status = :status")
+  Optional<Instant> findEarliestNextAttemptAt(
+      @Param("status") NotificationOutboxEntry.Status status);
+}
@@ -0,0 +1,415 @@
+package io.b2mash.b2b.b2bstrawman.notification.outbox;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueueProperties;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.PendingWorkRegistry;
+import io.b2mash.b2b.b2bstrawman.integration.email.EmailRateLimiter;
+import io.b2mash.b2b.b2bstrawman.member.Member;
+import io.b2mash.b2b.b2bstrawman.member.MemberRepository;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.notification.Notification;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationFanOut;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationRepository;
+import io.b2mash.b2b.b2bstrawman.notification.channel.NotificationDispatcher;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Transactional outbox for notifications. {@link #record} stores a domain event in the tenant's
+ * {@code notification_outbox} inside the publishing transaction, so notification work commits and
+ * rolls back with the change that caused it and survives a crash after commit. The drain then
+ * works the outbox off the request thread, in two steps per event:
+ *
+ * <ol>
+ *   <li>An EVENT entry is fanned out by {@link NotificationFanOut} into notifications (preferences
+ *       loaded once per event, notifications inserted as one batch), delivered in-app, and replaced
+ *       by one EMAIL entry per recipient who opted in to email — all in one transaction.
+ *   <li>Each EMAIL entry is sent through the email channel, paced per tenant by {@link
+ *       EmailRateLimiter#reserve} (the channel still enforces the hourly quota).
+ * </ol>
+ *
+ * <p>With the job queue enabled, the drain runs on the job worker pool: the recording transaction
+ * marks the tenant due in {@link PendingWorkRegistry} and enqueues a drain job after commit, and
+ * {@link #drainDueTenants} re-enqueues any tenant whose job was lost or deduplicated away. With the
+ * queue disabled, the drain runs inline right after the recording transaction commits.
+ *
+ * <p>The event's shard is captured when it is recorded and travels with the drain job, so {@code
+ * DomainEvent#shardId()} is never read from a stored event.
+ */
+@Service
+public class NotificationOutboxService {
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationOutboxService.class);
+
+  static final String DRAIN_JOB_TYPE = "notification_outbox_drain";
+
+  private static final String INSERT_ENTRY_SQL =
+      "INSERT INTO notification_outbox (id, kind, event_type, payload, status, attempts,"
+          + " next_attempt_at, created_at) VALUES (?, ?, ?, CAST(? AS JSONB), ?, ?, ?, ?)";
+
+  private static final int BATCH_SIZE = 50;
+  private static final int MAX_ATTEMPTS = 5;
+
+  private static final Duration[] BACKOFF_SCHEDULE = {
+    Duration.ofMinutes(1), // attempt 1
+    Duration.ofMinutes(5), // attempt 2
+    Duration.ofMinutes(15), // attempt 3
+    Duration.ofHours(1) // attempt 4
+  };
+
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationFanOut notificationFanOut;
+  private final NotificationDispatcher notificationDispatcher;
+  private final NotificationRepository notificationRepository;
+  private final MemberRepository memberRepository;
+  private final EmailRateLimiter emailRateLimiter;
+  private final ObjectMapper objectMapper;
+  private final JobEnqueuer jobEnqueuer;
+  private final JobQueueProperties jobQueueProperties;
+  private final PendingWorkRegistry pendingWorkRegistry;
+  private final EntityManager entityManager;
+  private final TransactionTemplate requiresNewTransactionTemplate;
+  private final int emailsPerSecond;
+
+  public NotificationOutboxService(
+      NotificationOutboxRepository outboxRepository,
+      NotificationFanOut notificationFanOut,
+      NotificationDispatcher notificationDispatcher,
+      NotificationRepository notificationRepository,
+      MemberRepository memberRepository,
+      EmailRateLimiter emailRateLimiter,
+      ObjectMapper objectMapper,
+      JobEnqueuer jobEnqueuer,
+      JobQueueProperties jobQueueProperties,
+      PendingWorkRegistry pendingWorkRegistry,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      @Value("${docteams.email.rate-limit.notification-per-second:5}") int emailsPerSecond) {
+    this.outboxRepository = outboxRepository;
+    this.notificationFanOut = notificationFanOut;
+    this.notificationDispatcher = notificationDispatcher;
+    this.notificationRepository = notificationRepository;
+    this.memberRepository = memberRepository;
+    this.emailRateLimiter = emailRateLimiter;
+    this.objectMapper = objectMapper;
+    this.jobEnqueuer = jobEnqueuer;
+    this.jobQueueProperties = jobQueueProperties;
+    this.pendingWorkRegistry = pendingWorkRegistry;
+    this.entityManager = entityManager;
+    // The drain also runs from afterCommit, where a plain (REQUIRED) transaction would join the
+    // already-committed one and never commit on its own.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.emailsPerSecond = emailsPerSecond;
+  }
+
+  /**
+   * Stores {@code event} for notification fan-out in the caller's transaction (or a new one if
+   * there is none). The first call in a transaction also arranges for the current tenant to be
+   * drained once it commits.
+   *
+   * <p>A failure here never dooms the caller's transaction: the event is serialized before the
+   * database is touched, the entry is inserted under a savepoint that is rolled back if the insert
+   * fails, and the tenant is marked due only after commit. The exception still propagates, so the
+   * caller can log the lost notification.
+   *
+   * @throws IllegalArgumentException if {@code event} is not a {@link NotificationFanOut} event
+   */
+  public void record(Object event) {
+    String eventType = NotificationFanOut.eventType(event);
+    String payload = objectMapper.writeValueAsString(event);
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      requiresNewTransactionTemplate.executeWithoutResult(tx -> record(eventType, payload));
+      return;
+    }
+    record(eventType, payload);
+  }
+
+  private void record(String eventType, String payload) {
+    insertUnderSavepoint(NotificationOutboxEntry.forEvent(eventType, payload));
+
+    boolean drainArranged =
+        TransactionSynchronizationManager.getSynchronizations().stream()
+            .anyMatch(DrainAfterCommit.class::isInstance);
+    if (!drainArranged) {
+      pendingWorkRegistry.markDue(DRAIN_JOB_TYPE, Instant.now());
+      TransactionSynchronizationManager.registerSynchronization(
+          new DrainAfterCommit(
+              RequestScopes.requireTenantId(),
+              RequestScopes.getOrgIdOrNull(),
+              RequestScopes.getShardIdOrDefault()));
+    }
+  }
+
+  /**
+   * Inserts {@code entry} with plain JDBC on the transaction's connection, under a savepoint.
+   * Bypassing the persistence context keeps a failed insert from being retried at flush, and
+   * rolling back to the savepoint leaves the transaction usable after a database error.
+   */
+  private void insertUnderSavepoint(NotificationOutboxEntry entry) {
+    entityManager
+        .unwrap(Session.class)
+        .doWork(
+            connection -> {
+              Savepoint savepoint = connection.setSavepoint();
+              try (var insert = connection.prepareStatement(INSERT_ENTRY_SQL)) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, entry.getKind().name());
+                insert.setString(3, entry.getEventType());
+                insert.setString(4, entry.getPayload());
+                insert.setString(5, entry.getStatus().name());
+                insert.setInt(6, entry.getAttempts());
+                insert.setTimestamp(7, Timestamp.from(entry.getNextAttemptAt()));
+                insert.setTimestamp(8, Timestamp.from(entry.getCreatedAt()));
+                insert.executeUpdate();
+              } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw new IllegalStateException("Failed to insert notification outbox entry", e);
+              }
+              connection.releaseSavepoint(savepoint);
+            });
+  }
+
+  /** Enqueues the drain for tenants with due outbox entries whose drain job did not run. */
+  @SchedulerLock(name = "notification_outbox_drain_due_tenants", lockAtLeastFor = "15s")
+  @Scheduled(fixedDelay = 30_000)
+  public void drainDueTenants() {
+    jobEnqueuer.fanOutToTenantsWithDueWork(DRAIN_JOB_TYPE, null);
+  }
+
+  /** Drain job body: drains the current tenant and records when its next entry comes due. */
+  int drainForTenant() {
+    long generation = pendingWorkRegistry.generation(DRAIN_JOB_TYPE);
+    int processed = drain();
+    requiresNewTransactionTemplate.executeWithoutResult(
+        tx ->
+            pendingWorkRegistry.reschedule(
+                DRAIN_JOB_TYPE,
+                generation,
+                outboxRepository
+                    .findEarliestNextAttemptAt(NotificationOutboxEntry.Status.PENDING)
+                    .orElse(null)));
+    return processed;
+  }
+
+  /**
+   * Handles due entries of the current tenant until none are left, including the EMAIL entries the
+   * drain itself creates. Stops early when every due entry is claimed by a concurrent drain.
+   */
+  int drain() {
+    int processed = 0;
+    while (true) {
+      List<NotificationOutboxEntry> due =
+          requiresNewTransactionTemplate.execute(
+              tx -> outboxRepository.findDue(Instant.now(), BATCH_SIZE));
+      if (due == null || due.isEmpty()) {
+        return processed;
+      }
+      int handled = 0;
+      for (var entry : due) {
+        if (entry.getKind() == NotificationOutboxEntry.Kind.EMAIL && !awaitEmailSlot()) {
+          return processed + handled;
+        }
+        if (processEntry(entry.getId())) {
+          handled++;
+        }
+      }
+      if (handled == 0) {
+        return processed;
+      }
+      processed += handled;
+    }
+  }
+
+  /**
+   * Handles one entry in its own transaction and deletes it. A failure rolls the whole entry back
+   * and schedules a retry with back-off; the entry is marked FAILED after {@value #MAX_ATTEMPTS}
+   * attempts.
+   *
+   * @return false if the entry was claimed by a concurrent drain, true otherwise
+   */
+  private boolean processEntry(UUID entryId) {
+    try {
+      Boolean claimed =
+          requiresNewTransactionTemplate.execute(
+              tx ->
+                  outboxRepository
+                      .lockDue(entryId)
+                      .map(
+                          entry -> {
+                            switch (entry.getKind()) {
+                              case EVENT -> fanOut(entry);
+                              case EMAIL -> sendEmail(entry);
+                            }
+                            outboxRepository.delete(entry);
+                            return true;
+                          })
+                      .orElse(false));
+      return Boolean.TRUE.equals(claimed);
+    } catch (RuntimeException e) {
+      recordFailure(entryId, e);
+      return true;
+    }
+  }
+
+  private void fanOut(NotificationOutboxEntry entry) {
+    Class<?> eventClass = NotificationFanOut.eventClass(entry.getEventType());
+    if (eventClass == null) {
+      throw new IllegalStateException("Unknown notification event type " + entry.getEventType());
+    }
+    Object event =
+        objectMapper
+            .readerFor(eventClass)
+            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .readValue(entry.getPayload());
+    List<Notification> notifications = notificationFanOut.createNotifications(event);
+
+    List<Notification> emailEnabled = notificationDispatcher.dispatchInApp(notifications);
+    if (emailEnabled.isEmpty()) {
+      return;
+    }
+    Map<UUID, String> emails =
+        memberRepository
+            .findAllById(emailEnabled.stream().map(Notification::getRecipientMemberId).toList())
+            .stream()
+            .filter(member -> member.getEmail() != null && !member.getEmail().isBlank())
+            .collect(Collectors.toMap(Member::getId, Member::getEmail));
+    outboxRepository.saveAll(
+        emailEnabled.stream()
+            .filter(notification -> emails.containsKey(notification.getRecipientMemberId()))
+            .map(
+                notification ->
+                    NotificationOutboxEntry.forEmail(
+                        objectMapper.writeValueAsString(
+                            new EmailDelivery(
+                                notification.getId(),
+                                emails.get(notification.getRecipientMemberId())))))
+            .toList());
+  }
+
+  private void sendEmail(NotificationOutboxEntry entry) {
+    var delivery = objectMapper.readValue(entry.getPayload(), EmailDelivery.class);
+    notificationRepository
+        .findById(delivery.notificationId())
+        .ifPresentOrElse(
+            notification ->
+                notificationDispatcher.dispatchEmail(notification, delivery.recipientEmail()),
+            () ->
+                log.debug(
+                    "Notification {} no longer exists, dropping its email",
+                    delivery.notificationId()));
+  }
+
+  /**
+   * Waits for the tenant's next email send slot. Shares the tenant's bucket with other bulk senders
+   * (billing-run sends), so together they never exceed the configured rate.
+   *
+   * @return false if interrupted while waiting
+   */
+  private boolean awaitEmailSlot() {
+    long waitNanos = emailRateLimiter.reserve(RequestScopes.requireTenantId(), emailsPerSecond);
+    if (waitNanos > 0) {
+      try {
+        Thread.sleep(Duration.ofNanos(waitNanos));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void recordFailure(UUID entryId, RuntimeException error) {
+    requiresNewTransactionTemplate.executeWithoutResult(
+        tx ->
+            outboxRepository
+                .findById(entryId)
+                .ifPresent(
+                    entry -> {
+                      int attempt = entry.getAttempts() + 1;
+                      if (attempt >= MAX_ATTEMPTS) {
+                        entry.markFailed(error.toString());
+                        log.error(
+                            "Notification outbox entry {} ({} {}) failed after {} attempts",
+                            entryId,
+                            entry.getKind(),
+                            entry.getEventType(),
+                            attempt,
+                            error);
+                      } else {
+                        entry.markRetrying(
+                            error.toString(), Instant.now().plus(BACKOFF_SCHEDULE[attempt - 1]));
+                        log.warn(
+                            "Notification outbox entry {} ({} {}) failed on attempt {}, will retry",
+                            entryId,
+                            entry.getKind(),
+                            entry.getEventType(),
+                            attempt,
+                            error);
+                      }
+                      outboxRepository.save(entry);
+                    }));
+  }
+
+  /** Payload of an EMAIL entry. */
+  record EmailDelivery(UUID notificationId, String recipientEmail) {}
+
+  /**
+   * Registered by the first {@link #record} of a transaction. After commit, hands the tenant to the
+   * job worker pool, or drains it inline when the job queue is disabled. Failures are only logged:
+   * the entries are committed, and {@link #drainDueTenants} or the next drain picks them up.
+   */
+  private final class DrainAfterCommit implements TransactionSynchronization {
+
+    private final String tenantId;
+    private final @Nullable String orgId;
+    private final String shardId;
+
+    private DrainAfterCommit(String tenantId, @Nullable String orgId, String shardId) {
+      this.tenantId = tenantId;
+      this.orgId = orgId;
+      this.shardId = shardId;
+    }
+
+    @Override
+    public void afterCommit() {
+      try {
+        if (!jobQueueProperties.isEnabled()) {
+          RequestScopes.runForTenantOnShard(tenantId, orgId, shardId, () -> drain());
+        } else if (orgId != null) {
+          // The job queue lives on the primary shard, whichever shard the tenant is on.
+          RequestScopes.callOnPrimary(
+              () ->
+                  requiresNewTransactionTemplate.execute(
+                      tx -> jobEnqueuer.enqueue(DRAIN_JOB_TYPE, tenantId, orgId, shardId, null)));
+        }
+      } catch (RuntimeException e) {
+        log.warn("Failed to start notification outbox drain for tenant={}", tenantId, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Holds a dedicated Postgres connection that {@code LISTEN}s on {@link #CHANNEL} and hands the
+ * notification stream events published on other pods to this pod's {@link
+ * NotificationStreamRegistry}. Events this pod published itself were already delivered locally and
+ * are skipped. While the connection is down, members connected here miss events from other pods
+ * and catch up from the unread count sent when their client reconnects.
+ *
+ * <p>Like {@code JobQueueListener}, the connection is opened outside the Hikari pool when possible,
+ * since it is held for the lifetime of the pod.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "kazi.notification-stream.cross-pod-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class NotificationStreamListener implements SmartLifecycle {
+
+  /** Postgres notification channel used by {@link NotificationStreamPublisher}. */
+  public static final String CHANNEL = "kazi_notification_stream";
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationStreamListener.class);
+
+  /** Upper bound on a single blocking read — keeps {@link #stop()} responsive. */
+  private static final int NOTIFICATION_TIMEOUT_MS = 10_000;
+
+  private static final long RECONNECT_BACKOFF_MS = 5_000;
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+  private volatile boolean running = false;
+  private Thread listenThread;
+  private volatile Connection connection;
+
+  private final DataSource dataSource;
+  private final NotificationStreamRegistry registry;
+  private final ObjectMapper objectMapper;
+
+  public NotificationStreamListener(
+      DataSource dataSource, NotificationStreamRegistry registry, ObjectMapper objectMapper) {
+    this.dataSource = dataSource;
+    this.registry = registry;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    listenThread = Thread.ofVirtual().name("notification-stream-listener").start(this::listenLoop);
+    log.info("NotificationStreamListener started — channel={}", CHANNEL);
+  }
+
+  private void listenLoop() {
+    while (running) {
+      try (var conn = openDedicatedConnection()) {
+        connection = conn;
+        try (var stmt = conn.createStatement()) {
+          stmt.execute("LISTEN " + CHANNEL);
+        }
+        var pgConnection = conn.unwrap(PGConnection.class);
+        log.debug("Listening for notification stream events on channel={}", CHANNEL);
+
+        while (running) {
+          var notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+          if (notifications != null) {
+            for (var notification : notifications) {
+              deliver(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (running) {
+          log.warn(
+              "Notification stream LISTEN connection lost, reconnecting in {}ms: {}",
+              RECONNECT_BACKOFF_MS,
+              e.getMessage());
+        }
+      } finally {
+        connection = null;
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_BACKOFF_MS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+  }
+
+  private void deliver(String payload) {
+    if (registry.connectionCount() == 0) {
+      return;
+    }
+    try {
+      var message = objectMapper.readValue(payload, NotificationStreamMessage.class);
+      if (!registry.instanceId().equals(message.origin())) {
+        registry.deliver(message);
+      }
+    } catch (JacksonException e) {
+      log.warn("Ignoring malformed notification stream event: {}", e.getOriginalMessage());
+    } catch (RuntimeException e) {
+      log.warn("Failed to deliver relayed notification stream event", e);
+    }
+  }
+
+  private Connection openDedicatedConnection() throws SQLException {
+    if (dataSource instanceof HikariDataSource hikari && hikari.getJdbcUrl() != null) {
+      return DriverManager.getConnection(
+          hikari.getJdbcUrl(), hikari.getUsername(), hikari.getPassword());
+    }
+    return dataSource.getConnection();
+  }
+
+  @Override
+  public void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    var conn = connection;
+    if (conn != null) {
+      try {
+        // Unblocks a pending getNotifications() read immediately.
+        conn.close();
+      } catch (SQLException e) {
+        log.debug("Error closing notification stream LISTEN connection: {}", e.getMessage());
+      }
+    }
+    if (listenThread != null) {
+      listenThread.interrupt();
+      try {
+        listenThread.join(SHUTDOWN_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      listenThread = null;
+    }
+    log.info("NotificationStreamListener stopped");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
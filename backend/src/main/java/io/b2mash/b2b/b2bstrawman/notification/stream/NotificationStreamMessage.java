@@ -0,0 +1,16 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import java.util.UUID;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * One event for one member's notification stream, as delivered to local subscribers and relayed
+ * to other pods as the payload of a {@code NOTIFY} on {@link NotificationStreamListener#CHANNEL}.
+ *
+ * @param origin instance id of the pod that published it; that pod has already delivered it
+ *     locally and ignores the relayed copy
+ * @param event SSE event name, see {@link NotificationStreamPublisher}
+ * @param data SSE event data
+ */
+public record NotificationStreamMessage(
+    String origin, String tenantId, UUID memberId, String event, JsonNode data) {}
@@ -0,0 +1,205 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.notification.Notification;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationController.NotificationResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Publishes notification stream events to the recipient's open connections — locally through
+ * {@link NotificationStreamRegistry}, and on other pods through a {@code NOTIFY} relayed by their
+ * {@link NotificationStreamListener}. Events published inside a transaction are held until it
+ * commits, so a stream never shows a notification that was rolled back; all events of one
+ * transaction are relayed with a single statement.
+ *
+ * <p>Events:
+ *
+ * <ul>
+ *   <li>{@value #NOTIFICATION_EVENT} — a new in-app notification ({@link NotificationResponse});
+ *       the member's unread count grew by one.
+ *   <li>{@value #UNREAD_DELTA_EVENT} — {@code {"delta": n}} after notifications were read or
+ *       dismissed, possibly from another tab or device.
+ *   <li>{@value #UNREAD_COUNT_EVENT} — {@code {"count": n}}, sent once when a stream opens.
+ * </ul>
+ *
+ * <p>Publishing is best effort and never fails the caller: a client that misses an event catches
+ * up from the count sent when it reconnects.
+ */
+@Component
+public class NotificationStreamPublisher {
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationStreamPublisher.class);
+
+  public static final String NOTIFICATION_EVENT = "notification";
+  public static final String UNREAD_DELTA_EVENT = "unread-delta";
+  public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+  /** Postgres rejects {@code NOTIFY} payloads of 8000 bytes or more. */
+  private static final int MAX_RELAY_PAYLOAD_BYTES = 7_900;
+
+  private final NotificationStreamRegistry registry;
+  private final ObjectMapper objectMapper;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate requiresNewTransactionTemplate;
+  private final boolean crossPodEnabled;
+
+  public NotificationStreamPublisher(
+      NotificationStreamRegistry registry,
+      ObjectMapper objectMapper,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${kazi.notification-stream.cross-pod-enabled:true}") boolean crossPodEnabled) {
+    this.registry = registry;
+    this.objectMapper = objectMapper;
+    this.jdbcTemplate = jdbcTemplate;
+    // Relays run from afterCommit, where a plain (REQUIRED) transaction would join the
+    // already-committed one and never commit — and a NOTIFY is only delivered on commit.
+    this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.crossPodEnabled = crossPodEnabled;
+  }
+
+  /** Streams a newly delivered in-app notification to its recipient. */
+  public void publishNotification(Notification notification) {
+    publish(
+        notification.getRecipientMemberId(),
+        NOTIFICATION_EVENT,
+        NotificationResponse.from(notification));
+  }
+
+  /** Streams a change of the member's unread count; a zero delta is not sent. */
+  public void publishUnreadDelta(UUID memberId, long delta) {
+    if (delta != 0) {
+      publish(memberId, UNREAD_DELTA_EVENT, Map.of("delta", delta));
+    }
+  }
+
+  private void publish(UUID memberId, String event, Object data) {
+    try {
+      var message =
+          new NotificationStreamMessage(
+              registry.instanceId(),
+              RequestScopes.requireTenantId(),
+              memberId,
+              event,
+              objectMapper.valueToTree(data));
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        flush(List.of(message));
+        return;
+      }
+      var pending =
+          TransactionSynchronizationManager.getSynchronizations().stream()
+              .filter(PublishAfterCommit.class::isInstance)
+              .map(PublishAfterCommit.class::cast)
+              .findFirst()
+              .orElseGet(
+                  () -> {
+                    var sync = new PublishAfterCommit();
+                    TransactionSynchronizationManager.registerSynchronization(sync);
+                    return sync;
+                  });
+      pending.messages.add(message);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish {} to notification stream of member={}", event, memberId, e);
+    }
+  }
+
+  private void flush(List<NotificationStreamMessage> messages) {
+    for (var message : messages) {
+      try {
+        registry.deliver(message);
+      } catch (RuntimeException e) {
+        log.warn("Failed to deliver {} to local notification stream", message.event(), e);
+      }
+    }
+    if (crossPodEnabled) {
+      relay(messages);
+    }
+  }
+
+  /** Sends the messages to the other pods with one {@code pg_notify} statement. */
+  private void relay(List<NotificationStreamMessage> messages) {
+    var payloads = new ArrayList<String>(messages.size());
+    for (var message : messages) {
+      var payload = relayPayload(message);
+      if (payload != null) {
+        payloads.add(payload);
+      }
+    }
+    if (payloads.isEmpty()) {
+      return;
+    }
+    try {
+      requiresNewTransactionTemplate.executeWithoutResult(
+          tx ->
+              jdbcTemplate.query(
+                  "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload",
+                  (RowCallbackHandler) rs -> {},
+                  NotificationStreamListener.CHANNEL,
+                  payloads.toArray(String[]::new)));
+    } catch (RuntimeException e) {
+      log.warn("Failed to relay {} notification stream events to other pods", payloads.size(), e);
+    }
+  }
+
+  /**
+   * The {@code NOTIFY} payload for {@code message}. A notification too large to relay is relayed
+   * without its body (the client loads it from the list endpoint); null if even that is too large.
+   */
+  private String relayPayload(NotificationStreamMessage message) {
+    var payload = objectMapper.writeValueAsString(message);
+    if (fitsRelay(payload)) {
+      return payload;
+    }
+    if (message.data() instanceof ObjectNode data && data.has("body")) {
+      JsonNode withoutBody = data.deepCopy().putNull("body");
+      payload =
+          objectMapper.writeValueAsString(
+              new NotificationStreamMessage(
+                  message.origin(),
+                  message.tenantId(),
+                  message.memberId(),
+                  message.event(),
+                  withoutBody));
+      if (fitsRelay(payload)) {
+        return payload;
+      }
+    }
+    log.warn("Notification stream {} event too large to relay to other pods", message.event());
+    return null;
+  }
+
+  private static boolean fitsRelay(String payload) {
+    return payload.getBytes(StandardCharsets.UTF_8).length <= MAX_RELAY_PAYLOAD_BYTES;
+  }
+
+  /** Holds the events published in one transaction until it commits. */
+  private final class PublishAfterCommit implements TransactionSynchronization {
+
+    private final List<NotificationStreamMessage> messages = new ArrayList<>();
+
+    @Override
+    public void afterCommit() {
+      flush(messages);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The notification stream connections open on this pod, keyed by tenant and member. An open
+ * connection is an async servlet request parked on its socket plus one {@link SseEmitter} — no
+ * thread is held while it is idle — so a pod can keep thousands of them open.
+ *
+ * <p>Limits: at most {@code max-connections} per pod (further subscriptions are refused, and the
+ * client retries, ideally against another pod) and {@code max-per-member} per member (the oldest
+ * connection is closed, so abandoned tabs cannot accumulate). A heartbeat comment every {@code
+ * heartbeat-interval-ms} keeps idle connections open through proxies and detects dead and stalled
+ * ones.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+  /** Identifies this pod in relayed messages, so it can skip the ones it published itself. */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final Map<StreamKey, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+  private final AtomicInteger connectionCount = new AtomicInteger();
+
+  /** Runs heartbeat sends, one virtual thread each. */
+  private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /** Connections whose last heartbeat has not finished sending. */
+  private final Set<SseEmitter> heartbeatsInFlight = ConcurrentHashMap.newKeySet();
+
+  private final int maxConnections;
+  private final int maxPerMember;
+  private final long timeoutMs;
+
+  public NotificationStreamRegistry(
+      @Value("${kazi.notification-stream.max-connections:10000}") int maxConnections,
+      @Value("${kazi.notification-stream.max-per-member:5}") int maxPerMember,
+      @Value("${kazi.notification-stream.timeout-ms:1800000}") long timeoutMs) {
+    this.maxConnections = maxConnections;
+    this.maxPerMember = maxPerMember;
+    this.timeoutMs = timeoutMs;
+  }
+
+  public String instanceId() {
+    return instanceId;
+  }
+
+  public int connectionCount() {
+    return connectionCount.get();
+  }
+
+  /**
+   * Opens a stream for the member and sends its current unread count as the first event.
+   *
+   * @return empty if the pod is at {@code max-connections}
+   */
+  public Optional<SseEmitter> subscribe(String tenantId, UUID memberId, long unreadCount) {
+    if (connectionCount.incrementAndGet() > maxConnections) {
+      connectionCount.decrementAndGet();
+      return Optional.empty();
+    }
+    var key = new StreamKey(tenantId, memberId);
+    var emitter = new SseEmitter(timeoutMs);
+    emitter.onCompletion(() -> remove(key, emitter));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> emitter.complete());
+
+    var evicted = new ArrayList<SseEmitter>();
+    emitters.compute(
+        key,
+        (k, memberEmitters) -> {
+          var list = memberEmitters;
+          if (list == null) {
+            list = new CopyOnWriteArrayList<>();
+          }
+          list.add(emitter);
+          while (list.size() > maxPerMember) {
+            evicted.add(list.removeFirst());
+            connectionCount.decrementAndGet();
+          }
+          return list;
+        });
+    evicted.forEach(SseEmitter::complete);
+
+    send(
+        key,
+        emitter,
+        SseEmitter.event()
+            .name(NotificationStreamPublisher.UNREAD_COUNT_EVENT)
+            .data(Map.of("count", unreadCount)));
+    return Optional.of(emitter);
+  }
+
+  /** Sends {@code message} to the member's connections on this pod, if there are any. */
+  public void deliver(NotificationStreamMessage message) {
+    var key = new StreamKey(message.tenantId(), message.memberId());
+    var memberEmitters = emitters.get(key);
+    if (memberEmitters == null) {
+      return;
+    }
+    for (var emitter : memberEmitters) {
+      send(key, emitter, SseEmitter.event().name(message.event()).data(message.data()));
+    }
+  }
+
+  /**
+   * Sends a heartbeat comment to every connection, each on its own virtual thread: a client that
+   * stopped reading blocks only its own send, never the shared scheduler thread. A connection whose
+   * previous heartbeat is still being sent when the next one is due is dropped.
+   */
+  @Scheduled(
+      fixedDelayString = "${kazi.notification-stream.heartbeat-interval-ms:25000}",
+      initialDelayString = "${kazi.notification-stream.heartbeat-interval-ms:25000}")
+  public void heartbeat() {
+    emitters.forEach(
+        (key, memberEmitters) -> {
+          for (var emitter : memberEmitters) {
+            if (!heartbeatsInFlight.add(emitter)) {
+              log.debug("Dropping stalled notification stream for member={}", key.memberId());
+              remove(key, emitter);
+              sendExecutor.execute(emitter::complete);
+              continue;
+            }
+            sendExecutor.execute(
+                () -> {
+                  try {
+                    send(key, emitter, SseEmitter.event().comment("heartbeat"));
+                  } finally {
+                    heartbeatsInFlight.remove(emitter);
+                  }
+                });
+          }
+        });
+  }
+
+  /** Closes every connection so clients reconnect to another pod instead of hanging on this one. */
+  @PreDestroy
+  public void closeAll() {
+    emitters.values().forEach(memberEmitters -> memberEmitters.forEach(SseEmitter::complete));
+    sendExecutor.shutdownNow();
+  }
+
+  /** Sends one event; a connection that can no longer be written to is closed and dropped. */
+  private void send(StreamKey key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+    try {
+      emitter.send(event);
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Closing notification stream for member={}: {}", key.memberId(), e.getMessage());
+      emitter.complete();
+      remove(key, emitter);
+    }
+  }
+
+  private void remove(StreamKey key, SseEmitter emitter) {
+    emitters.computeIfPresent(
+        key,
+        (k, memberEmitters) -> {
+          if (memberEmitters.remove(emitter)) {
+            connectionCount.decrementAndGet();
+          }
+          return memberEmitters.isEmpty() ? null : memberEmitters;
+        });
+  }
+
+  private record StreamKey(String tenantId, UUID memberId) {}
+}
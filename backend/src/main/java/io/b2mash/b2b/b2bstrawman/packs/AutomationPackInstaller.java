@@ -5,7 +5,9 @@ import io.b2mash.b2b.b2bstrawman.automation.AutomationActionRepository;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationExecutionRepository;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRule;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRuleRepository;
+import io.b2mash.b2b.b2bstrawman.automation.AutomationScheduleIndexService;
 import io.b2mash.b2b.b2bstrawman.automation.RuleSource;
+import io.b2mash.b2b.b2bstrawman.automation.TriggerType;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateDefinition.AutomationTemplatePack;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateSeeder;
 import io.b2mash.b2b.b2bstrawman.exception.ResourceConflictException;
@@ -38,6 +40,7 @@ public class AutomationPackInstaller implements PackInstaller {
   private final AutomationActionRepository actionRepository;
   private final AutomationExecutionRepository executionRepository;
   private final AutomationTemplateSeeder automationTemplateSeeder;
+  private final AutomationScheduleIndexService scheduleIndexService;
   private final ObjectMapper objectMapper;
 
   public AutomationPackInstaller(
@@ -46,12 +49,14 @@ public class AutomationPackInstaller implements PackInstaller {
       AutomationActionRepository actionRepository,
       AutomationExecutionRepository executionRepository,
       AutomationTemplateSeeder automationTemplateSeeder,
+      AutomationScheduleIndexService scheduleIndexService,
       ObjectMapper objectMapper) {
     this.packInstallRepository = packInstallRepository;
     this.ruleRepository = ruleRepository;
     this.actionRepository = actionRepository;
     this.executionRepository = executionRepository;
     this.automationTemplateSeeder = automationTemplateSeeder;
+    this.scheduleIndexService = scheduleIndexService;
     this.objectMapper = objectMapper;
   }
 
@@ -182,6 +187,9 @@ public class AutomationPackInstaller implements PackInstaller {
       actionRepository.deleteByRuleId(rule.getId());
     }
     ruleRepository.deleteAll(rules);
+    if (rules.stream().anyMatch(rule -> rule.getTriggerType() == TriggerType.SCHEDULED)) {
+      scheduleIndexService.refresh(tenantId);
+    }
 
     // Delete the PackInstall row
     packInstallRepository.delete(install);
@@ -425,7 +425,8 @@ public class ProjectService {
     var auditDetails = new LinkedHashMap<String, Object>();
     auditDetails.put("name", project.getName());
     // OBS-8801: project.created is a project-lifecycle event surfaced in the matter Activity feed
-    // (findByProjectId) — both feed queries scope on details->>'project_id', so it is load-bearing.
+    // (findByProjectId) — both feed queries scope on the project_id column DatabaseAuditService
+    // fills from details.project_id, so it is load-bearing.
     auditDetails.put("project_id", project.getId().toString());
     if (customerId != null) {
       auditDetails.put("customerId", customerId.toString());
@@ -579,7 +580,8 @@ public class ProjectService {
             .track("workType", oldWorkType, workType)
             .buildMutable();
     // OBS-8801: project.updated is a project-lifecycle event surfaced in the matter Activity feed
-    // (findByProjectId) — both feed queries scope on details->>'project_id', so it is load-bearing.
+    // (findByProjectId) — both feed queries scope on the project_id column DatabaseAuditService
+    // fills from details.project_id, so it is load-bearing.
     details.put("project_id", project.getId().toString());
 
     auditService.log(
@@ -636,9 +638,8 @@ public class ProjectService {
             .entityType("project")
             .entityId(project.getId())
             // OBS-8801: include project_id so the matter Activity feed (findByProjectId, which
-            // scopes
-            // on details->>'project_id') surfaces the deletion consistently with the rest of the
-            // family.
+            // scopes on the project_id column DatabaseAuditService fills from it) surfaces the
+            // deletion consistently with the rest of the family.
             .details(Map.of("name", project.getName(), "project_id", project.getId().toString()))
             .build());
   }
@@ -684,7 +685,8 @@ public class ProjectService {
     var auditDetails = new LinkedHashMap<String, Object>();
     auditDetails.put("name", project.getName());
     // OBS-8801: project.completed is a project-lifecycle event surfaced in the matter Activity feed
-    // (findByProjectId) — both feed queries scope on details->>'project_id', so it is load-bearing.
+    // (findByProjectId) — both feed queries scope on the project_id column DatabaseAuditService
+    // fills from details.project_id, so it is load-bearing.
     auditDetails.put("project_id", project.getId().toString());
     auditDetails.put("completed_by", actor.memberId().toString());
     if (unbilledCount > 0 && acknowledgeUnbilledTime) {
@@ -745,8 +747,8 @@ public class ProjectService {
             .entityType("project")
             .entityId(project.getId())
             // OBS-8801: include project_id so the matter Activity feed (findByProjectId, scoping on
-            // details->>'project_id') surfaces this project-lifecycle event with the rest of the
-            // family.
+            // the project_id column DatabaseAuditService fills from it) surfaces this
+            // project-lifecycle event with the rest of the family.
             .details(
                 Map.of(
                     "name", project.getName(),
@@ -796,8 +798,8 @@ public class ProjectService {
             .entityType("project")
             .entityId(project.getId())
             // OBS-8801: include project_id so the matter Activity feed (findByProjectId, scoping on
-            // details->>'project_id') surfaces this project-lifecycle event with the rest of the
-            // family.
+            // the project_id column DatabaseAuditService fills from it) surfaces this
+            // project-lifecycle event with the rest of the family.
             .details(
                 Map.of(
                     "name", project.getName(),
@@ -633,8 +633,8 @@ public class ProjectTemplateService {
             .entityType("project")
             .entityId(project.getId())
             // OBS-8801: include project_id so the matter Activity feed (findByProjectId, scoping on
-            // details->>'project_id') surfaces this project-lifecycle event with the rest of the
-            // family.
+            // the project_id column DatabaseAuditService fills from it) surfaces this
+            // project-lifecycle event with the rest of the family.
             .details(
                 Map.of(
                     "template_name",
@@ -794,8 +794,8 @@ public class ProjectTemplateService {
             .entityType("project")
             .entityId(project.getId())
             // OBS-8801: include project_id so the matter Activity feed (findByProjectId, scoping on
-            // details->>'project_id') surfaces this project-lifecycle event with the rest of the
-            // family.
+            // the project_id column DatabaseAuditService fills from it) surfaces this
+            // project-lifecycle event with the rest of the family.
             .details(
                 Map.of(
                     "template_name",
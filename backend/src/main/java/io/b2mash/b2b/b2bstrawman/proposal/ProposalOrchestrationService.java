@@ -165,8 +165,9 @@ public class ProposalOrchestrationService {
 
       // Audit AFTER project creation so details.project_id is populated (OBS-8801). The matter
       // Activity feed (AuditEventRepository.findByProjectId) and the portal Firm-actions trail
-      // (findActivityFirmForCustomer) both scope on details->>'project_id'; without it this
-      // client-safe milestone is silently dropped from both feeds.
+      // (findActivityFirmForCustomer) both scope on the audit_events.project_id column, which
+      // DatabaseAuditService fills from details.project_id; without it this client-safe milestone
+      // is silently dropped from both feeds.
       // LZKC-020: attribute the acceptance to the portal contact who accepted it. Without an
       // explicit actor the builder falls back to RequestScopes.MEMBER_ID, which is unbound on
       // portal requests — the event renders as "System" in firm feeds and is dropped from the
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -34,7 +35,8 @@ import org.springframework.transaction.support.TransactionTemplate;
  * idempotent, so running on every boot is safe.
  *
  * <p>Ordered after TenantMigrationRunner ({@code @Order(50)}) to ensure schemas are fully migrated
- * before seeding.
+ * before seeding. Schemas the migration runner is still migrating in the background are skipped
+ * here and reconciled when their {@link TenantSchemaMigratedEvent} arrives.
  */
 @Component
 @Order(100)
@@ -59,6 +61,7 @@ public class PackReconciliationRunner implements ApplicationRunner {
   private final VerticalProfileReconciliationSeeder verticalProfileReconciliationSeeder;
   private final MockPaymentIntegrationSeeder mockPaymentIntegrationSeeder;
   private final TransactionTemplate transactionTemplate;
+  private final TenantMigrationTracker migrationTracker;
 
   public PackReconciliationRunner(
       OrgSchemaMappingRepository mappingRepository,
@@ -77,7 +80,8 @@ public class PackReconciliationRunner implements ApplicationRunner {
       LegalTariffSeeder legalTariffSeeder,
       VerticalProfileReconciliationSeeder verticalProfileReconciliationSeeder,
       MockPaymentIntegrationSeeder mockPaymentIntegrationSeeder,
-      TransactionTemplate transactionTemplate) {
+      TransactionTemplate transactionTemplate,
+      TenantMigrationTracker migrationTracker) {
     this.mappingRepository = mappingRepository;
     this.fieldPackSeeder = fieldPackSeeder;
     this.packCatalogService = packCatalogService;
@@ -95,6 +99,7 @@ public class PackReconciliationRunner implements ApplicationRunner {
     this.verticalProfileReconciliationSeeder = verticalProfileReconciliationSeeder;
     this.mockPaymentIntegrationSeeder = mockPaymentIntegrationSeeder;
     this.transactionTemplate = transactionTemplate;
+    this.migrationTracker = migrationTracker;
   }
 
   @Override
@@ -108,8 +113,13 @@ public class PackReconciliationRunner implements ApplicationRunner {
     log.info("Running pack reconciliation for {} tenants", allMappings.size());
     int succeeded = 0;
     int failed = 0;
+    int deferred = 0;
 
     for (var mapping : allMappings) {
+      if (migrationTracker.isPending(mapping.getSchemaName())) {
+        deferred++;
+        continue;
+      }
       try {
         reconcilePacksForTenant(mapping.getSchemaName(), mapping.getClerkOrgId());
         succeeded++;
@@ -124,10 +134,26 @@ public class PackReconciliationRunner implements ApplicationRunner {
     }
 
     log.info(
-        "Pack reconciliation: checked {} tenants, {} succeeded, {} failed",
+        "Pack reconciliation: checked {} tenants, {} succeeded, {} failed, {} deferred until"
+            + " migrated",
         allMappings.size(),
         succeeded,
-        failed);
+        failed,
+        deferred);
+  }
+
+  /** Reconciles a tenant whose schema finished migrating after the startup pass above. */
+  @EventListener
+  public void onSchemaMigrated(TenantSchemaMigratedEvent event) {
+    try {
+      reconcilePacksForTenant(event.schemaName(), event.clerkOrgId());
+    } catch (Exception e) {
+      log.error(
+          "Failed to reconcile packs for tenant {} (org {})",
+          event.schemaName(),
+          event.clerkOrgId(),
+          e);
+    }
   }
 
   /**
@@ -0,0 +1,30 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator for the startup tenant migration pass. Always UP — schemas still migrating in
+ * the background are gated per request by {@code TenantFilter}, not by taking the pod out of
+ * rotation — but reports progress so a slow or failing pass is visible.
+ */
+@Component
+public class TenantMigrationHealthIndicator implements HealthIndicator {
+
+  private final TenantMigrationTracker tracker;
+
+  public TenantMigrationHealthIndicator(TenantMigrationTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  public Health health() {
+    return Health.up()
+        .withDetail("pendingSchemas", tracker.pendingCount())
+        .withDetail("migratedSchemas", tracker.migratedCount())
+        .withDetail("skippedSchemas", tracker.skippedCount())
+        .withDetail("failedSchemas", tracker.failedCount())
+        .build();
+  }
+}
@@ -0,0 +1,69 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the startup tenant migration pass ({@link TenantMigrationRunner}).
+ * Bound from {@code kazi.tenant-migration} in application YAML.
+ */
+@ConfigurationProperties("kazi.tenant-migration")
+public class TenantMigrationProperties {
+
+  /**
+   * Maximum number of schemas migrated concurrently per shard. Additionally capped at half the
+   * shard's migration pool size, since a Flyway run can hold two connections at once.
+   */
+  private int parallelism = 4;
+
+  /**
+   * Whether to skip Flyway entirely for schemas whose latest successful migration already matches
+   * the newest script on the classpath. Skipped schemas are not re-validated by Flyway.
+   */
+  private boolean skipUpToDate = true;
+
+  /**
+   * Whether startup blocks until every schema is migrated. When {@code false}, the runner returns
+   * once the up-to-date check is done; schemas that still need migrating finish in the background
+   * and their requests are answered with 503 until then.
+   */
+  private boolean awaitCompletion = true;
+
+  /**
+   * Whether new tenant schemas are cloned from the migrated template schema (see {@code
+   * TenantSchemaTemplate}) instead of replaying every tenant migration. Cloning falls back to
+   * Flyway on any error.
+   */
+  private boolean templateCloneEnabled = true;
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public boolean isSkipUpToDate() {
+    return skipUpToDate;
+  }
+
+  public void setSkipUpToDate(boolean skipUpToDate) {
+    this.skipUpToDate = skipUpToDate;
+  }
+
+  public boolean isAwaitCompletion() {
+    return awaitCompletion;
+  }
+
+  public void setAwaitCompletion(boolean awaitCompletion) {
+    this.awaitCompletion = awaitCompletion;
+  }
+
+  public boolean isTemplateCloneEnabled() {
+    return templateCloneEnabled;
+  }
+
+  public void setTemplateCloneEnabled(boolean templateCloneEnabled) {
+    this.templateCloneEnabled = templateCloneEnabled;
+  }
+}
@@ -1,51 +1,175 @@
 package io.b2mash.b2b.b2bstrawman.provisioning;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMapping;
 import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ShardRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+/**
+ * Brings every tenant schema up to the classpath head at startup.
+ *
+ * <p>Each shard is processed with bounded parallelism ({@code kazi.tenant-migration.parallelism},
+ * capped against the shard's migration pool). Before invoking Flyway, a single query against the
+ * schema's {@code flyway_schema_history} checks whether its latest successful migration already
+ * matches the newest {@code V*} script on the classpath; such schemas skip Flyway altogether,
+ * which is the common case on every boot without new tenant migrations. The shard's {@link
+ * TenantSchemaTemplate} is refreshed first, so new tenants clone from a current template.
+ *
+ * <p>By default startup waits for the whole pass. With {@code
+ * kazi.tenant-migration.await-completion=false} the runner returns once the up-to-date check is
+ * done: already-migrated tenants are served immediately, stragglers keep migrating in the
+ * background and stay gated by {@link TenantMigrationTracker} until they finish.
+ */
 @Component
 @Order(50)
+@EnableConfigurationProperties(TenantMigrationProperties.class)
 public class TenantMigrationRunner implements ApplicationRunner {
 
   private static final Logger log = LoggerFactory.getLogger(TenantMigrationRunner.class);
 
+  private static final Pattern SCHEMA_PATTERN = Pattern.compile("^tenant_[0-9a-f]{12}$");
+
   private final OrgSchemaMappingRepository mappingRepository;
   private final DataSource migrationDataSource;
   private final ShardRegistry shardRegistry;
+  private final TenantMigrationProperties properties;
+  private final TenantMigrationTracker tracker;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TenantSchemaTemplate schemaTemplate;
+  private final MigrationVersion headVersion;
 
   public TenantMigrationRunner(
       OrgSchemaMappingRepository mappingRepository,
       @Qualifier("migrationDataSource") DataSource migrationDataSource,
-      ObjectProvider<ShardRegistry> shardRegistryProvider) {
+      ObjectProvider<ShardRegistry> shardRegistryProvider,
+      TenantMigrationProperties properties,
+      TenantMigrationTracker tracker,
+      ApplicationEventPublisher eventPublisher,
+      TenantSchemaTemplate schemaTemplate) {
     this.mappingRepository = mappingRepository;
     this.migrationDataSource = migrationDataSource;
     this.shardRegistry = shardRegistryProvider.getIfAvailable();
+    this.properties = properties;
+    this.tracker = tracker;
+    this.eventPublisher = eventPublisher;
+    this.schemaTemplate = schemaTemplate;
+    this.headVersion = TenantSchemaVersions.resolveHead();
   }
 
+  /** Schemas of one shard together with the DataSource their DDL must run on. */
+  private record ShardBatch(
+      String shardId, DataSource dataSource, List<OrgSchemaMapping> mappings) {}
+
   @Override
   public void run(ApplicationArguments args) {
-    if (shardRegistry != null) {
-      runShardAwareMigrations();
+    var batches = shardRegistry != null ? shardAwareBatches() : legacyBatches();
+    refreshTemplates(batches);
+    int totalSchemas = batches.stream().mapToInt(b -> b.mappings().size()).sum();
+    if (totalSchemas == 0) {
+      log.info("No tenant schemas found — skipping per-tenant migrations");
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    var migrations = new ArrayList<CompletableFuture<Void>>();
+    var staleCount = new AtomicInteger();
+    var failedCount = new AtomicInteger();
+    for (var batch : batches) {
+      int parallelism = parallelismFor(batch.dataSource());
+      var permits = new Semaphore(parallelism);
+      var stale = findStaleSchemas(batch, permits, executor);
+      log.info(
+          "Shard {}: {} of {} schemas need migration (parallelism {})",
+          batch.shardId(),
+          stale.size(),
+          batch.mappings().size(),
+          parallelism);
+
+      staleCount.addAndGet(stale.size());
+      tracker.markPending(stale.stream().map(OrgSchemaMapping::getSchemaName).toList());
+      for (var mapping : stale) {
+        migrations.add(
+            CompletableFuture.runAsync(
+                () ->
+                    withPermit(
+                        permits,
+                        () -> {
+                          if (!migrateTracked(mapping, batch)) {
+                            failedCount.incrementAndGet();
+                          }
+                        }),
+                executor));
+      }
+    }
+
+    var all = CompletableFuture.allOf(migrations.toArray(CompletableFuture[]::new));
+    Runnable finish =
+        () -> {
+          executor.shutdown();
+          log.info(
+              "Tenant migration completed: {} shards, {} schemas ({} migrated, {} up to date, {}"
+                  + " failed) in {}ms",
+              batches.size(),
+              totalSchemas,
+              staleCount.get() - failedCount.get(),
+              totalSchemas - staleCount.get(),
+              failedCount.get(),
+              Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        };
+
+    if (properties.isAwaitCompletion()) {
+      all.join();
+      finish.run();
     } else {
-      runLegacyMigrations();
+      log.info(
+          "Continuing startup with {} tenant schemas still migrating in the background",
+          tracker.pendingCount());
+      all.whenComplete((ignored, e) -> finish.run());
     }
   }
 
-  private void runShardAwareMigrations() {
-    var activeShardIds = shardRegistry.getActiveShardIds();
-    int totalSchemas = 0;
+  /** Keeps each shard's clone source current so the first provisioning after a deploy is fast. */
+  private void refreshTemplates(List<ShardBatch> batches) {
+    if (!schemaTemplate.isEnabled()) {
+      return;
+    }
+    for (var batch : batches) {
+      try {
+        schemaTemplate.ensureCurrent(batch.dataSource());
+      } catch (Exception e) {
+        // Provisioning falls back to Flyway (or retries the refresh) — not fatal for startup.
+        log.warn("Failed to refresh tenant template schema on shard {}", batch.shardId(), e);
+      }
+    }
+  }
 
-    for (String shardId : activeShardIds) {
+  private List<ShardBatch> shardAwareBatches() {
+    var batches = new ArrayList<ShardBatch>();
+    for (String shardId : shardRegistry.getActiveShardIds()) {
       // DDL must use a direct connection. Primary uses the dedicated migrationDataSource bean;
       // secondary shards use getMigrationDataSource() (direct when KAZI_SHARD_{ID}_MIGRATION_URL
       // is configured, else the runtime pool). See review finding D3.
@@ -53,53 +177,104 @@ public class TenantMigrationRunner implements ApplicationRunner {
           "primary".equals(shardId)
               ? migrationDataSource
               : shardRegistry.getMigrationDataSource(shardId);
-      var shardMappings = mappingRepository.findByShardId(shardId);
-
-      for (var mapping : shardMappings) {
-        try {
-          migrateSchema(mapping.getSchemaName(), dataSource);
-        } catch (Exception e) {
-          log.error("Failed to migrate schema {} on shard {}", mapping.getSchemaName(), shardId, e);
-        }
-      }
-
-      log.info("Migrated shard {} -- {} schemas", shardId, shardMappings.size());
-      totalSchemas += shardMappings.size();
+      batches.add(new ShardBatch(shardId, dataSource, mappingRepository.findByShardId(shardId)));
     }
+    return batches;
+  }
 
-    log.info(
-        "Shard-aware tenant migration completed: {} shards, {} schemas",
-        activeShardIds.size(),
-        totalSchemas);
+  private List<ShardBatch> legacyBatches() {
+    return List.of(new ShardBatch("primary", migrationDataSource, mappingRepository.findAll()));
   }
 
-  private void runLegacyMigrations() {
-    var allMappings = mappingRepository.findAll();
-    if (allMappings.isEmpty()) {
-      log.info("No tenant schemas found — skipping per-tenant migrations");
-      return;
+  /**
+   * A Flyway run can hold two connections at once (history table lock plus migration), so
+   * parallelism is capped at half the migration pool when the pool size is known.
+   */
+  private int parallelismFor(DataSource dataSource) {
+    int parallelism = Math.max(1, properties.getParallelism());
+    if (dataSource instanceof HikariDataSource hikari) {
+      parallelism = Math.min(parallelism, Math.max(1, hikari.getMaximumPoolSize() / 2));
     }
+    return parallelism;
+  }
 
-    log.info("Running tenant migrations for {} schemas", allMappings.size());
-    for (var mapping : allMappings) {
-      try {
-        migrateSchema(mapping.getSchemaName(), migrationDataSource);
-      } catch (Exception e) {
-        log.error("Failed to migrate schema {}", mapping.getSchemaName(), e);
+  /** Runs the up-to-date check for every schema of the shard and returns those that need Flyway. */
+  private List<OrgSchemaMapping> findStaleSchemas(
+      ShardBatch batch, Semaphore permits, ExecutorService executor) {
+    var checks = new ArrayList<CompletableFuture<Boolean>>();
+    for (var mapping : batch.mappings()) {
+      checks.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  callWithPermit(
+                      permits, () -> isUpToDate(mapping.getSchemaName(), batch.dataSource())),
+              executor));
+    }
+    var stale = new ArrayList<OrgSchemaMapping>();
+    for (int i = 0; i < checks.size(); i++) {
+      var mapping = batch.mappings().get(i);
+      if (checks.get(i).join()) {
+        tracker.recordSkipped(mapping.getSchemaName());
+      } else {
+        stale.add(mapping);
       }
     }
-    log.info("Tenant migration runner completed");
+    return stale;
+  }
+
+  /** Whether the schema can skip Flyway; a name outside the tenant pattern never does. */
+  private boolean isUpToDate(String schemaName, DataSource dataSource) {
+    return properties.isSkipUpToDate()
+        && SCHEMA_PATTERN.matcher(schemaName).matches()
+        && TenantSchemaVersions.isAtHead(dataSource, schemaName, headVersion);
+  }
+
+  /** Migrates one schema and records the outcome; returns {@code false} if Flyway failed. */
+  private boolean migrateTracked(OrgSchemaMapping mapping, ShardBatch batch) {
+    String schemaName = mapping.getSchemaName();
+    long startNanos = System.nanoTime();
+    try {
+      migrateSchema(schemaName, batch.dataSource());
+    } catch (Exception e) {
+      tracker.recordFailed(schemaName);
+      log.error("Failed to migrate schema {} on shard {}", schemaName, batch.shardId(), e);
+      return false;
+    }
+    tracker.recordMigrated(schemaName, Duration.ofNanos(System.nanoTime() - startNanos));
+    if (!properties.isAwaitCompletion()) {
+      eventPublisher.publishEvent(
+          new TenantSchemaMigratedEvent(schemaName, mapping.getClerkOrgId()));
+    }
+    return true;
   }
 
   private void migrateSchema(String schemaName, DataSource dataSource) {
     var result =
         Flyway.configure()
             .dataSource(dataSource)
-            .locations("classpath:db/migration/tenant")
+            .locations(TenantSchemaVersions.MIGRATION_LOCATION)
             .schemas(schemaName)
             .baselineOnMigrate(true)
             .load()
             .migrate();
     log.info("Migrated schema {} — {} migrations applied", schemaName, result.migrationsExecuted);
   }
+
+  private static <T> T callWithPermit(Semaphore permits, Supplier<T> task) {
+    permits.acquireUninterruptibly();
+    try {
+      return task.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static void withPermit(Semaphore permits, Runnable task) {
+    permits.acquireUninterruptibly();
+    try {
+      task.run();
+    } finally {
+      permits.release();
+    }
+  }
 }
@@ -0,0 +1,92 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the startup tenant migration pass. Tracks which schemas still await migration — the
+ * readiness gate consulted by {@code TenantFilter} — and exposes the pass as Micrometer metrics:
+ * {@code kazi_tenant_migration_pending} (gauge), {@code kazi_tenant_migration_schemas_total} by
+ * outcome ({@code migrated}, {@code skipped}, {@code failed}) and {@code
+ * kazi_tenant_migration_duration_seconds} per migrated schema.
+ */
+@Component
+public class TenantMigrationTracker {
+
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+  private final Counter migrated;
+  private final Counter skipped;
+  private final Counter failed;
+  private final Timer duration;
+
+  public TenantMigrationTracker(MeterRegistry registry) {
+    registry.gaugeCollectionSize("kazi_tenant_migration_pending", Tags.empty(), pending);
+    this.migrated = outcomeCounter(registry, "migrated");
+    this.skipped = outcomeCounter(registry, "skipped");
+    this.failed = outcomeCounter(registry, "failed");
+    this.duration =
+        Timer.builder("kazi_tenant_migration_duration_seconds")
+            .description("Time to run Flyway for one tenant schema")
+            .register(registry);
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("kazi_tenant_migration_schemas_total")
+        .tag("outcome", outcome)
+        .description("Tenant schemas processed by the startup migration pass")
+        .register(registry);
+  }
+
+  /** Marks schemas as awaiting migration; requests for them are refused until they complete. */
+  void markPending(Collection<String> schemaNames) {
+    pending.addAll(schemaNames);
+  }
+
+  void recordSkipped(String schemaName) {
+    skipped.increment();
+    pending.remove(schemaName);
+  }
+
+  void recordMigrated(String schemaName, Duration elapsed) {
+    migrated.increment();
+    duration.record(elapsed);
+    pending.remove(schemaName);
+  }
+
+  /**
+   * A failed schema is released from the gate, matching the runner's historical behaviour of
+   * logging the failure and serving the tenant on whatever schema version it has.
+   */
+  void recordFailed(String schemaName) {
+    failed.increment();
+    pending.remove(schemaName);
+  }
+
+  /** Whether the schema is still waiting for the startup migration pass. */
+  public boolean isPending(String schemaName) {
+    return pending.contains(schemaName);
+  }
+
+  public int pendingCount() {
+    return pending.size();
+  }
+
+  public long migratedCount() {
+    return (long) migrated.count();
+  }
+
+  public long skippedCount() {
+    return (long) skipped.count();
+  }
+
+  public long failedCount() {
+    return (long) failed.count();
+  }
+}
@@ -89,6 +89,7 @@ public class TenantProvisioningService {
   private final OrgSettingsRepository orgSettingsRepository;
   private final VerticalProfileRegistry verticalProfileRegistry;
   private final ShardRegistry shardRegistry;
+  private final TenantSchemaTemplate schemaTemplate;
 
   public TenantProvisioningService(
       OrganizationRepository organizationRepository,
@@ -112,7 +113,8 @@ public class TenantProvisioningService {
       TenantTransactionHelper tenantTransactionHelper,
       OrgSettingsRepository orgSettingsRepository,
       VerticalProfileRegistry verticalProfileRegistry,
-      ObjectProvider<ShardRegistry> shardRegistryProvider) {
+      ObjectProvider<ShardRegistry> shardRegistryProvider,
+      TenantSchemaTemplate schemaTemplate) {
     this.organizationRepository = organizationRepository;
     this.mappingRepository = mappingRepository;
     this.migrationDataSource = migrationDataSource;
@@ -135,6 +137,7 @@ public class TenantProvisioningService {
     this.orgSettingsRepository = orgSettingsRepository;
     this.verticalProfileRegistry = verticalProfileRegistry;
     this.shardRegistry = shardRegistryProvider.getIfAvailable();
+    this.schemaTemplate = schemaTemplate;
   }
 
   @Retryable(
@@ -217,7 +220,10 @@ public class TenantProvisioningService {
       // retries won't see the mapping and short-circuit via "alreadyProvisioned".
       // Mapping is created LAST so TenantFilter only resolves to this
       // schema once all tables and the subscription exist (prevents race).
-      createSchema(schemaName, targetDataSource);
+      // Cloning the pre-migrated template leaves Flyway nothing to apply — it only validates.
+      if (!schemaTemplate.cloneInto(schemaName, targetDataSource)) {
+        createSchema(schemaName, targetDataSource);
+      }
       runTenantMigrations(schemaName, targetDataSource);
       String defaultCurrency = resolveCurrency(country, verticalProfile);
       // Bind SHARD_ID so Hibernate's TenantIdentifierResolver routes all JPA operations
@@ -0,0 +1,7 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+/**
+ * Published by {@link TenantMigrationRunner} when a schema finishes migrating in the background
+ * (after startup has already moved on), so per-tenant startup work that skipped it can catch up.
+ */
+public record TenantSchemaMigratedEvent(String schemaName, String clerkOrgId) {}
@@ -0,0 +1,359 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * A fully migrated, never-served tenant schema ({@value #TEMPLATE_SCHEMA}) kept at the classpath
+ * head on every database, from which new tenant schemas are cloned instead of replaying every
+ * tenant Flyway migration.
+ *
+ * <p>A clone runs in one transaction on one connection: tables are copied with {@code CREATE TABLE
+ * ... (LIKE ... INCLUDING ALL EXCLUDING INDEXES)} (partitioned tables with their partition key,
+ * followed by their partitions with the template's bounds), the rows the migrations themselves
+ * insert (system roles, capabilities, the {@code flyway_schema_history}) are copied across, and
+ * primary keys, unique constraints, indexes, foreign keys, functions and triggers are recreated
+ * from the catalog under their original names so later migrations that reference them by name still
+ * apply. Before committing, the clone's catalog fingerprint is compared with the template's; any
+ * difference (or error) rolls the whole clone back and the caller falls back to Flyway.
+ *
+ * <p>Only the migrated structure is cloned. Pack seeding stays per tenant because it depends on
+ * the tenant's vertical profile and currency.
+ */
+@Component
+public class TenantSchemaTemplate {
+
+  private static final Logger log = LoggerFactory.getLogger(TenantSchemaTemplate.class);
+
+  /** Deliberately outside {@code tenant_[0-9a-f]{12}} so it can never be resolved for a request. */
+  static final String TEMPLATE_SCHEMA = "kazi_tenant_template";
+
+  /**
+   * Table name, its insertable (non-generated) column list, and its partition key (null unless
+   * partitioned). Partitions are listed separately by {@link #PARTITIONS_SQL}.
+   */
+  private static final String TABLES_SQL =
+      """
+      SELECT c.relname,
+             string_agg(quote_ident(a.attname), ', ' ORDER BY a.attnum),
+             pg_get_partkeydef(c.oid)
+      FROM pg_class c
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+      WHERE n.nspname = ? AND c.relkind IN ('r', 'p') AND NOT c.relispartition
+        AND a.attgenerated = ''
+      GROUP BY c.oid, c.relname
+      ORDER BY c.relname
+      """;
+
+  /** Partition name, its parent, and its bound ({@code FOR VALUES ...} or {@code DEFAULT}). */
+  private static final String PARTITIONS_SQL =
+      """
+      SELECT c.relname, p.relname, pg_get_expr(c.relpartbound, c.oid)
+      FROM pg_class c
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      JOIN pg_inherits i ON i.inhrelid = c.oid
+      JOIN pg_class p ON p.oid = i.inhparent
+      WHERE n.nspname = ? AND c.relkind = 'r' AND c.relispartition
+      ORDER BY c.relname
+      """;
+
+  private static final String KEY_CONSTRAINTS_SQL =
+      """
+      SELECT c.relname, con.conname, pg_get_constraintdef(con.oid)
+      FROM pg_constraint con
+      JOIN pg_class c ON c.oid = con.conrelid
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      WHERE n.nspname = ? AND con.contype IN ('p', 'u', 'x') AND con.conparentid = 0
+      ORDER BY con.contype, c.relname, con.conname
+      """;
+
+  /**
+   * Indexes that do not back a key constraint (those are recreated with the constraint) and are not
+   * a partition's share of a partitioned index (recreating the parent index creates those).
+   */
+  private static final String INDEXES_SQL =
+      """
+      SELECT pg_get_indexdef(i.indexrelid)
+      FROM pg_index i
+      JOIN pg_class c ON c.oid = i.indrelid
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      WHERE n.nspname = ?
+        AND NOT EXISTS (SELECT 1 FROM pg_constraint con
+                        WHERE con.conindid = i.indexrelid
+                          AND con.conrelid = i.indrelid
+                          AND con.contype IN ('p', 'u', 'x'))
+        AND NOT EXISTS (SELECT 1 FROM pg_inherits inh WHERE inh.inhrelid = i.indexrelid)
+      ORDER BY i.indexrelid
+      """;
+
+  private static final String FOREIGN_KEYS_SQL =
+      """
+      SELECT c.relname, con.conname, pg_get_constraintdef(con.oid)
+      FROM pg_constraint con
+      JOIN pg_class c ON c.oid = con.conrelid
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      WHERE n.nspname = ? AND con.contype = 'f'
+      ORDER BY c.relname, con.conname
+      """;
+
+  private static final String FUNCTIONS_SQL =
+      """
+      SELECT pg_get_functiondef(p.oid)
+      FROM pg_proc p
+      JOIN pg_namespace n ON n.oid = p.pronamespace
+      WHERE n.nspname = ? AND p.prokind = 'f'
+      ORDER BY p.oid
+      """;
+
+  private static final String TRIGGERS_SQL =
+      """
+      SELECT pg_get_triggerdef(t.oid)
+      FROM pg_trigger t
+      JOIN pg_class c ON c.oid = t.tgrelid
+      JOIN pg_namespace n ON n.oid = c.relnamespace
+      WHERE n.nspname = ? AND NOT t.tgisinternal AND t.tgparentid = 0
+      ORDER BY t.oid
+      """;
+
+  private static final String FINGERPRINT_SQL =
+      """
+      SELECT md5(string_agg(item, E'\\n' ORDER BY item)) FROM (
+        SELECT 'rel:' || c.relname || ':' || c.relkind
+        FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = ?
+        UNION ALL
+        SELECT 'col:' || c.relname || '.' || a.attname || ':'
+               || format_type(a.atttypid, a.atttypmod) || ':' || a.attnotnull || ':'
+               || coalesce(pg_get_expr(d.adbin, d.adrelid), '')
+        FROM pg_attribute a
+        JOIN pg_class c ON c.oid = a.attrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        LEFT JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum
+        WHERE n.nspname = ? AND c.relkind IN ('r', 'p') AND a.attnum > 0 AND NOT a.attisdropped
+        UNION ALL
+        SELECT 'con:' || c.relname || '.' || con.conname || ':'
+               || replace(pg_get_constraintdef(con.oid), n.nspname || '.', '')
+        FROM pg_constraint con
+        JOIN pg_class c ON c.oid = con.conrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = ?
+        UNION ALL
+        SELECT 'idx:' || replace(pg_get_indexdef(i.indexrelid), n.nspname || '.', '')
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = ?
+        UNION ALL
+        SELECT 'fn:' || p.proname
+        FROM pg_proc p JOIN pg_namespace n ON n.oid = p.pronamespace
+        WHERE n.nspname = ?
+        UNION ALL
+        SELECT 'trg:' || c.relname || '.' || t.tgname
+        FROM pg_trigger t
+        JOIN pg_class c ON c.oid = t.tgrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = ? AND NOT t.tgisinternal
+      ) AS f(item)
+      """;
+
+  private final TenantMigrationProperties properties;
+  private final MigrationVersion headVersion = TenantSchemaVersions.resolveHead();
+
+  public TenantSchemaTemplate(TenantMigrationProperties properties) {
+    this.properties = properties;
+  }
+
+  public boolean isEnabled() {
+    return properties.isTemplateCloneEnabled();
+  }
+
+  /** Brings the template schema on this database up to the classpath head, if it is behind. */
+  public synchronized void ensureCurrent(DataSource dataSource) throws SQLException {
+    if (TenantSchemaVersions.isAtHead(dataSource, TEMPLATE_SCHEMA, headVersion)) {
+      return;
+    }
+    try (var conn = dataSource.getConnection();
+        var stmt = conn.createStatement()) {
+      // Created up front (not by Flyway) so its history matches a provisioned tenant's exactly.
+      stmt.execute("CREATE SCHEMA IF NOT EXISTS " + TEMPLATE_SCHEMA);
+    }
+    var result =
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations(TenantSchemaVersions.MIGRATION_LOCATION)
+            .schemas(TEMPLATE_SCHEMA)
+            .baselineOnMigrate(true)
+            .load()
+            .migrate();
+    log.info(
+        "Refreshed tenant template schema — {} migrations applied", result.migrationsExecuted);
+  }
+
+  /**
+   * Creates {@code schemaName} as a clone of the template. The schema must not exist yet and its
+   * name must already be validated against the tenant schema pattern.
+   *
+   * @return {@code true} if the schema was created; {@code false} if cloning was not possible, in
+   *     which case nothing was created and the caller should migrate the schema from scratch
+   */
+  public boolean cloneInto(String schemaName, DataSource dataSource) {
+    if (!isEnabled()) {
+      return false;
+    }
+    long startNanos = System.nanoTime();
+    try {
+      ensureCurrent(dataSource);
+      try (var conn = dataSource.getConnection()) {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+          cloneInTransaction(conn, schemaName);
+          conn.commit();
+        } catch (SQLException | RuntimeException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(autoCommit);
+        }
+      }
+    } catch (Exception e) {
+      log.warn(
+          "Could not clone tenant template into {} — falling back to Flyway: {}",
+          schemaName,
+          e.getMessage());
+      return false;
+    }
+    log.info(
+        "Cloned tenant template into {} in {}ms",
+        schemaName,
+        Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+    return true;
+  }
+
+  private void cloneInTransaction(Connection conn, String schemaName) throws SQLException {
+    String target = "\"" + schemaName + "\"";
+    // Catalog definitions render names in the template unqualified only while it is on the path.
+    try (var stmt = conn.createStatement()) {
+      stmt.execute("SET LOCAL search_path TO " + TEMPLATE_SCHEMA);
+    }
+
+    var script = new ArrayList<String>();
+    script.add("CREATE SCHEMA " + target);
+    // Unqualified references in the recreated definitions now resolve to the new schema.
+    script.add("SET LOCAL search_path TO " + target);
+    var tables = queryRows(conn, TABLES_SQL);
+    for (var table : tables) {
+      String name = quote(table[0]);
+      script.add(
+          "CREATE TABLE %s.%s (LIKE %s.%s INCLUDING ALL EXCLUDING INDEXES)%s"
+              .formatted(
+                  target,
+                  name,
+                  TEMPLATE_SCHEMA,
+                  name,
+                  table[2] != null ? " PARTITION BY " + table[2] : ""));
+    }
+    // Partitions take their columns from the parent; rows are inserted through the parent.
+    for (var partition : queryRows(conn, PARTITIONS_SQL)) {
+      script.add(
+          "CREATE TABLE %s.%s PARTITION OF %s.%s %s"
+              .formatted(target, quote(partition[0]), target, quote(partition[1]), partition[2]));
+    }
+    for (var table : tables) {
+      String name = quote(table[0]);
+      script.add(
+          "INSERT INTO %s.%s (%s) SELECT %s FROM %s.%s"
+              .formatted(target, name, table[1], table[1], TEMPLATE_SCHEMA, name));
+    }
+    // Key constraints before plain indexes and foreign keys, which may depend on them. On a
+    // partitioned table both cascade to the partitions.
+    for (var constraint : queryRows(conn, KEY_CONSTRAINTS_SQL)) {
+      script.add(addConstraint(target, constraint));
+    }
+    for (var index : queryRows(conn, INDEXES_SQL)) {
+      // A partitioned index renders as ON ONLY; without ONLY it is built on every partition too.
+      script.add(retarget(index[0].replace(" ON ONLY ", " ON "), target));
+    }
+    for (var constraint : queryRows(conn, FOREIGN_KEYS_SQL)) {
+      script.add(addConstraint(target, constraint));
+    }
+    for (var function : queryRows(conn, FUNCTIONS_SQL)) {
+      script.add(retarget(function[0], target));
+    }
+    for (var trigger : queryRows(conn, TRIGGERS_SQL)) {
+      script.add(retarget(trigger[0], target));
+    }
+
+    try (var stmt = conn.createStatement()) {
+      for (String sql : script) {
+        stmt.addBatch(sql);
+      }
+      stmt.executeBatch();
+    }
+
+    String expected = fingerprint(conn, TEMPLATE_SCHEMA);
+    String actual = fingerprint(conn, schemaName);
+    if (!expected.equals(actual)) {
+      throw new IllegalStateException("Cloned schema does not match the tenant template");
+    }
+  }
+
+  /**
+   * Digest of the schema's tables, columns, constraints, indexes, functions and triggers, with the
+   * schema's own name stripped from definitions so a clone and its template compare equal.
+   */
+  static String fingerprint(Connection conn, String schemaName) throws SQLException {
+    try (var ps = conn.prepareStatement(FINGERPRINT_SQL)) {
+      for (int i = 1; i <= 6; i++) {
+        ps.setString(i, schemaName);
+      }
+      try (var rs = ps.executeQuery()) {
+        rs.next();
+        return String.valueOf(rs.getString(1));
+      }
+    }
+  }
+
+  private static String addConstraint(String target, String[] constraint) {
+    return "ALTER TABLE %s.%s ADD CONSTRAINT %s %s"
+        .formatted(
+            target, quote(constraint[0]), quote(constraint[1]), retarget(constraint[2], target));
+  }
+
+  /** Points a catalog-rendered definition that names the template schema at the new schema. */
+  private static String retarget(String definition, String target) {
+    return definition.replace(" " + TEMPLATE_SCHEMA + ".", " " + target + ".");
+  }
+
+  private static String quote(String identifier) {
+    return "\"" + identifier.replace("\"", "\"\"") + "\"";
+  }
+
+  private static List<String[]> queryRows(Connection conn, String sql) throws SQLException {
+    var rows = new ArrayList<String[]>();
+    try (var ps = conn.prepareStatement(sql)) {
+      ps.setString(1, TEMPLATE_SCHEMA);
+      try (var rs = ps.executeQuery()) {
+        int columns = rs.getMetaData().getColumnCount();
+        while (rs.next()) {
+          var row = new String[columns];
+          for (int i = 0; i < columns; i++) {
+            row[i] = rs.getString(i + 1);
+          }
+          rows.add(row);
+        }
+      }
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,73 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.MigrationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Cheap Flyway state checks for tenant schemas, used to avoid a full Flyway run (which loads and
+ * checksums every script) when a schema is already current. Package-private — shared by {@link
+ * TenantMigrationRunner} and {@link TenantSchemaTemplate}.
+ */
+final class TenantSchemaVersions {
+
+  private static final Logger log = LoggerFactory.getLogger(TenantSchemaVersions.class);
+
+  static final String MIGRATION_LOCATION = "classpath:db/migration/tenant";
+
+  private static final String MIGRATION_SCRIPTS = "classpath*:db/migration/tenant/V*__*.sql";
+  private static final Pattern SCRIPT_VERSION = Pattern.compile("^V([0-9._]+)__.*\\.sql$");
+
+  private TenantSchemaVersions() {}
+
+  /** Highest {@code V*} version among the tenant migration scripts on the classpath. */
+  static MigrationVersion resolveHead() {
+    try {
+      MigrationVersion head = null;
+      for (var script : new PathMatchingResourcePatternResolver().getResources(MIGRATION_SCRIPTS)) {
+        var matcher = SCRIPT_VERSION.matcher(String.valueOf(script.getFilename()));
+        if (matcher.matches()) {
+          var version = MigrationVersion.fromVersion(matcher.group(1).replace('_', '.'));
+          if (head == null || version.compareTo(head) > 0) {
+            head = version;
+          }
+        }
+      }
+      return head;
+    } catch (IOException e) {
+      log.warn("Could not resolve tenant migration head — every schema goes through Flyway", e);
+      return null;
+    }
+  }
+
+  /**
+   * Whether the schema's latest recorded migration succeeded and is {@code head}. Any doubt
+   * (unknown head, missing history table) answers {@code false}, leaving the decision to Flyway.
+   * The schema name must already be validated by the caller.
+   */
+  static boolean isAtHead(DataSource dataSource, String schemaName, MigrationVersion head) {
+    if (head == null) {
+      return false;
+    }
+    String sql =
+        "SELECT version, success FROM \""
+            + schemaName
+            + "\".flyway_schema_history WHERE version IS NOT NULL"
+            + " ORDER BY installed_rank DESC LIMIT 1";
+    try (var conn = dataSource.getConnection();
+        var stmt = conn.createStatement();
+        var rs = stmt.executeQuery(sql)) {
+      return rs.next()
+          && rs.getBoolean("success")
+          && head.equals(MigrationVersion.fromVersion(rs.getString("version")));
+    } catch (SQLException e) {
+      log.debug("Flyway head check failed for schema {}: {}", schemaName, e.getMessage());
+      return false;
+    }
+  }
+}
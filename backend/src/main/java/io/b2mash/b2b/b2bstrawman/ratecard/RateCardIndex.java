@@ -0,0 +1,216 @@
+package io.b2mash.b2b.b2bstrawman.ratecard;
+
+import io.b2mash.b2b.b2bstrawman.billingrate.BillingRate;
+import io.b2mash.b2b.b2bstrawman.billingrate.BillingRateService.ResolvedRate;
+import io.b2mash.b2b.b2bstrawman.costrate.CostRate;
+import io.b2mash.b2b.b2bstrawman.costrate.CostRateService.ResolvedCostRate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory snapshot of one tenant's billing and cost rates. Answers the ADR-039 billing
+ * cascade and the ADR-043 cost lookup with the same semantics as the {@code BillingRateRepository}
+ * / {@code CostRateRepository} queries, without touching the database. Instances are built and
+ * cached by {@link RateCardIndexService} and carry the {@code rate_card_versions} stamp they were
+ * built from.
+ *
+ * <p>Rates of one scope are kept sorted by {@code effectiveFrom}, so a dated lookup is a binary
+ * search for the latest rate starting on or before the date.
+ */
+public final class RateCardIndex {
+
+  private final UUID version;
+  private final Map<Scope, ScopeRates> billingRates;
+  private final Map<UUID, ScopeRates> costRates;
+  private final Map<UUID, UUID> firstCustomerByProject;
+
+  private RateCardIndex(
+      UUID version,
+      Map<Scope, ScopeRates> billingRates,
+      Map<UUID, ScopeRates> costRates,
+      Map<UUID, UUID> firstCustomerByProject) {
+    this.version = version;
+    this.billingRates = billingRates;
+    this.costRates = costRates;
+    this.firstCustomerByProject = firstCustomerByProject;
+  }
+
+  static RateCardIndex build(
+      UUID version,
+      List<BillingRate> billingRates,
+      List<CostRate> costRates,
+      Map<UUID, UUID> firstCustomerByProject) {
+    var billing =
+        group(
+            billingRates,
+            rate -> new Scope(rate.getMemberId(), rate.getProjectId(), rate.getCustomerId()),
+            rate ->
+                new RateInterval(
+                    rate.getId(),
+                    rate.getEffectiveFrom(),
+                    rate.getEffectiveTo(),
+                    rate.getHourlyRate(),
+                    rate.getCurrency()));
+    var cost =
+        group(
+            costRates,
+            CostRate::getMemberId,
+            rate ->
+                new RateInterval(
+                    rate.getId(),
+                    rate.getEffectiveFrom(),
+                    rate.getEffectiveTo(),
+                    rate.getHourlyCost(),
+                    rate.getCurrency()));
+    return new RateCardIndex(version, billing, cost, Map.copyOf(firstCustomerByProject));
+  }
+
+  /** The {@code rate_card_versions} stamp this index was built from. */
+  public UUID version() {
+    return version;
+  }
+
+  /**
+   * Resolves the billing rate for a member on a project at a date: project override, then customer
+   * override (project's first linked customer), then member default. When no rate covers the date,
+   * falls back to the earliest open-ended rate at the same three levels.
+   */
+  public Optional<ResolvedRate> resolveBillingRate(UUID memberId, UUID projectId, LocalDate date) {
+    if (memberId == null) {
+      return Optional.empty();
+    }
+    var projectScope = projectId != null ? new Scope(memberId, projectId, null) : null;
+    var customerId = projectId != null ? firstCustomerByProject.get(projectId) : null;
+    var customerScope = customerId != null ? new Scope(memberId, null, customerId) : null;
+    var defaultScope = new Scope(memberId, null, null);
+
+    var rate = covering(billingRates, projectScope, date);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("PROJECT_OVERRIDE"));
+    }
+    rate = covering(billingRates, customerScope, date);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("CUSTOMER_OVERRIDE"));
+    }
+    rate = covering(billingRates, defaultScope, date);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("MEMBER_DEFAULT"));
+    }
+
+    // Fallback: no rate covers the date (e.g., backdated entries before the rate's effectiveFrom)
+    rate = earliestOpenEnded(billingRates, projectScope);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("PROJECT_OVERRIDE"));
+    }
+    rate = earliestOpenEnded(billingRates, customerScope);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("CUSTOMER_OVERRIDE"));
+    }
+    rate = earliestOpenEnded(billingRates, defaultScope);
+    if (rate != null) {
+      return Optional.of(rate.toResolvedRate("MEMBER_DEFAULT"));
+    }
+    return Optional.empty();
+  }
+
+  /** Resolves the cost rate for a member at a date. No hierarchy and no fallback (ADR-043). */
+  public Optional<ResolvedCostRate> resolveCostRate(UUID memberId, LocalDate date) {
+    if (memberId == null) {
+      return Optional.empty();
+    }
+    var rate = covering(costRates, memberId, date);
+    return rate != null
+        ? Optional.of(new ResolvedCostRate(rate.amount(), rate.currency(), rate.id()))
+        : Optional.empty();
+  }
+
+  private static <K> RateInterval covering(Map<K, ScopeRates> rates, K key, LocalDate date) {
+    var scopeRates = key != null ? rates.get(key) : null;
+    return scopeRates != null ? scopeRates.covering(date) : null;
+  }
+
+  private static <K> RateInterval earliestOpenEnded(Map<K, ScopeRates> rates, K key) {
+    var scopeRates = key != null ? rates.get(key) : null;
+    return scopeRates != null ? scopeRates.earliestOpenEnded() : null;
+  }
+
+  private static <T, K> Map<K, ScopeRates> group(
+      List<T> rates, Function<T, K> scope, Function<T, RateInterval> interval) {
+    var grouped = new HashMap<K, List<RateInterval>>();
+    for (var rate : rates) {
+      grouped.computeIfAbsent(scope.apply(rate), k -> new ArrayList<>()).add(interval.apply(rate));
+    }
+    var result = new HashMap<K, ScopeRates>(grouped.size());
+    grouped.forEach((key, intervals) -> result.put(key, ScopeRates.of(intervals)));
+    return result;
+  }
+
+  /** Billing rate scope; exactly the (member, project, customer) triple a rate row is keyed by. */
+  private record Scope(UUID memberId, UUID projectId, UUID customerId) {}
+
+  private record RateInterval(
+      UUID id, LocalDate effectiveFrom, LocalDate effectiveTo, BigDecimal amount, String currency) {
+
+    boolean covers(LocalDate date) {
+      return effectiveTo == null || !effectiveTo.isBefore(date);
+    }
+
+    ResolvedRate toResolvedRate(String source) {
+      return new ResolvedRate(amount, currency, source, id);
+    }
+  }
+
+  /** The rates of one scope, ascending by {@code effectiveFrom}. */
+  private record ScopeRates(RateInterval[] byEffectiveFrom, RateInterval earliestOpenEnded) {
+
+    static ScopeRates of(List<RateInterval> intervals) {
+      var sorted =
+          intervals.stream()
+              .sorted(Comparator.comparing(RateInterval::effectiveFrom))
+              .toArray(RateInterval[]::new);
+      RateInterval earliestOpenEnded = null;
+      for (var interval : sorted) {
+        if (interval.effectiveTo() == null) {
+          earliestOpenEnded = interval;
+          break;
+        }
+      }
+      return new ScopeRates(sorted, earliestOpenEnded);
+    }
+
+    /**
+     * The rate with the latest {@code effectiveFrom} on or before {@code date} whose end (if any)
+     * is not before {@code date} — the first row of the repository's {@code ORDER BY effectiveFrom
+     * DESC} query.
+     */
+    RateInterval covering(LocalDate date) {
+      int low = 0;
+      int high = byEffectiveFrom.length - 1;
+      int lastStarted = -1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (byEffectiveFrom[mid].effectiveFrom().isAfter(date)) {
+          high = mid - 1;
+        } else {
+          lastStarted = mid;
+          low = mid + 1;
+        }
+      }
+      // Overlap validation keeps this to one step; seeded or legacy overlaps are still honoured.
+      for (int i = lastStarted; i >= 0; i--) {
+        if (byEffectiveFrom[i].covers(date)) {
+          return byEffectiveFrom[i];
+        }
+      }
+      return null;
+    }
+  }
+}
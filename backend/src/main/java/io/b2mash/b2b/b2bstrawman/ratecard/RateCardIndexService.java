@@ -0,0 +1,72 @@
+package io.b2mash.b2b.b2bstrawman.ratecard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.b2mash.b2b.b2bstrawman.billingrate.BillingRateRepository;
+import io.b2mash.b2b.b2bstrawman.costrate.CostRateRepository;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-tenant cache of {@link RateCardIndex}. Each {@link #current()} call costs one single-row
+ * read of {@code rate_card_versions}; the index is only reloaded when that stamp has moved. The
+ * stamp is replaced by a database trigger on every change to billing rates, cost rates or
+ * customer-project links, so a change made on any pod — or outside the rate services entirely —
+ * invalidates every pod's copy on its next lookup.
+ *
+ * <p>Bulk callers take the index once and resolve every entry against it, so they issue no rate
+ * queries per entry.
+ */
+@Service
+public class RateCardIndexService {
+
+  private static final Logger log = LoggerFactory.getLogger(RateCardIndexService.class);
+
+  // tenantSchema -> index of the last version seen on this pod
+  private final Cache<String, RateCardIndex> indexes =
+      Caffeine.newBuilder().maximumSize(1_000).expireAfterAccess(Duration.ofMinutes(30)).build();
+
+  private final RateCardRepository rateCardRepository;
+  private final BillingRateRepository billingRateRepository;
+  private final CostRateRepository costRateRepository;
+
+  public RateCardIndexService(
+      RateCardRepository rateCardRepository,
+      BillingRateRepository billingRateRepository,
+      CostRateRepository costRateRepository) {
+    this.rateCardRepository = rateCardRepository;
+    this.billingRateRepository = billingRateRepository;
+    this.costRateRepository = costRateRepository;
+  }
+
+  /**
+   * Returns the current tenant's rate card index, rebuilding it if the stored stamp has changed.
+   * Joins the caller's transaction, so rate changes the caller has already made are visible.
+   */
+  @Transactional(readOnly = true)
+  public RateCardIndex current() {
+    String tenantId = RequestScopes.requireTenantId();
+    var version = rateCardRepository.currentVersion();
+    var cached = indexes.getIfPresent(tenantId);
+    if (cached != null && cached.version().equals(version)) {
+      return cached;
+    }
+
+    var billingRates = billingRateRepository.findAll();
+    var costRates = costRateRepository.findAll();
+    var index =
+        RateCardIndex.build(
+            version, billingRates, costRates, rateCardRepository.findFirstCustomerByProject());
+    indexes.put(tenantId, index);
+    log.debug(
+        "Rebuilt rate card index for tenant {}: {} billing rates, {} cost rates",
+        tenantId,
+        billingRates.size(),
+        costRates.size());
+    return index;
+  }
+}
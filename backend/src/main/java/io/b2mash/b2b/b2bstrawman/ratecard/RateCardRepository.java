@@ -0,0 +1,54 @@
+package io.b2mash.b2b.b2bstrawman.ratecard;
+
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Native queries backing {@link RateCardIndexService}: the tenant's {@code rate_card_versions}
+ * stamp and the first-linked customer of every project. Uses EntityManager directly because
+ * neither result maps to an entity. Tenant isolation is provided by the dedicated schema
+ * (search_path set on connection checkout).
+ */
+@Repository
+public class RateCardRepository {
+
+  private final EntityManager entityManager;
+
+  public RateCardRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /** The current rate card stamp; replaced by trigger whenever the underlying rows change. */
+  public UUID currentVersion() {
+    return (UUID)
+        entityManager
+            .createNativeQuery("SELECT version FROM rate_card_versions WHERE id = 1", UUID.class)
+            .getSingleResult();
+  }
+
+  /**
+   * Maps each project to its first linked customer by link creation date — the customer {@code
+   * CustomerProjectRepository.findFirstCustomerByProjectId} would return for it.
+   */
+  public Map<UUID, UUID> findFirstCustomerByProject() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(
+                """
+                SELECT DISTINCT ON (project_id) project_id, customer_id
+                FROM customer_projects
+                ORDER BY project_id, created_at ASC
+                """)
+            .getResultList();
+    var result = new HashMap<UUID, UUID>(rows.size());
+    for (var row : rows) {
+      result.put((UUID) row[0], (UUID) row[1]);
+    }
+    return result;
+  }
+}
@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.report;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.Tuple;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +14,11 @@ import org.springframework.stereotype.Repository;
  * these queries are not bound to a single JPA entity. Native SQL is required for conditional
  * aggregation (CASE WHEN) and multi-table GROUP BY. Tenant isolation is provided by the dedicated
  * schema (search_path set on connection checkout).
+ *
+ * <p>Time-based figures are read from {@code time_entry_daily_rollups} (maintained by {@link
+ * TimeEntryRollupService}) rather than re-aggregating {@code time_entries}; the rollup stores the
+ * same per-entry rate arithmetic, unrounded, so the totals are identical. Optional date bounds are
+ * only added to the SQL when present, so the planner can use the date indexes.
  */
 @Repository
 public class ReportRepository {
@@ -33,30 +39,24 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.billing_rate_currency AS currency,
-                SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                r.billing_currency AS currency,
+                SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS totalBillableHours,
-                SUM(CASE WHEN NOT te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(CASE WHEN NOT r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS totalNonBillableHours,
-                SUM(te.duration_minutes) / 60.0
+                SUM(r.minutes) / 60.0
                     AS totalHours,
-                SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
-                    THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END)
-                    AS billableValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            WHERE t.project_id = :projectId
-              AND te.billing_rate_currency IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
-            GROUP BY te.billing_rate_currency
-            """,
+                SUM(r.billable_value) AS billableValue
+            FROM time_entry_daily_rollups r
+            WHERE r.project_id = :projectId
+              AND r.billing_currency IS NOT NULL
+              %s
+            GROUP BY r.billing_currency
+            """
+                .formatted(dateRange("r.entry_date", from, to)),
             Tuple.class);
     query.setParameter("projectId", projectId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -72,21 +72,18 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.cost_rate_currency AS currency,
-                SUM(CAST(te.cost_rate_snapshot AS DECIMAL(14,2))
-                    * te.duration_minutes / 60.0) AS costValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            WHERE t.project_id = :projectId
-              AND te.cost_rate_snapshot IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
-            GROUP BY te.cost_rate_currency
-            """,
+                r.cost_currency AS currency,
+                SUM(r.cost_value) AS costValue
+            FROM time_entry_daily_rollups r
+            WHERE r.project_id = :projectId
+              AND r.cost_currency IS NOT NULL
+              %s
+            GROUP BY r.cost_currency
+            """
+                .formatted(dateRange("r.entry_date", from, to)),
             Tuple.class);
     query.setParameter("projectId", projectId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -103,30 +100,24 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.billing_rate_currency AS currency,
-                SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                r.billing_currency AS currency,
+                SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS totalBillableHours,
-                SUM(CASE WHEN NOT te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(CASE WHEN NOT r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS totalNonBillableHours,
-                SUM(te.duration_minutes) / 60.0 AS totalHours,
-                SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
-                    THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END)
-                    AS billableValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN customer_projects cp ON t.project_id = cp.project_id
+                SUM(r.minutes) / 60.0 AS totalHours,
+                SUM(r.billable_value) AS billableValue
+            FROM time_entry_daily_rollups r
+            JOIN customer_projects cp ON r.project_id = cp.project_id
             WHERE cp.customer_id = :customerId
-              AND te.billing_rate_currency IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
-            GROUP BY te.billing_rate_currency
-            """,
+              AND r.billing_currency IS NOT NULL
+              %s
+            GROUP BY r.billing_currency
+            """
+                .formatted(dateRange("r.entry_date", from, to)),
             Tuple.class);
     query.setParameter("customerId", customerId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -142,22 +133,19 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.cost_rate_currency AS currency,
-                SUM(CAST(te.cost_rate_snapshot AS DECIMAL(14,2))
-                    * te.duration_minutes / 60.0) AS costValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN customer_projects cp ON t.project_id = cp.project_id
+                r.cost_currency AS currency,
+                SUM(r.cost_value) AS costValue
+            FROM time_entry_daily_rollups r
+            JOIN customer_projects cp ON r.project_id = cp.project_id
             WHERE cp.customer_id = :customerId
-              AND te.cost_rate_snapshot IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
-            GROUP BY te.cost_rate_currency
-            """,
+              AND r.cost_currency IS NOT NULL
+              %s
+            GROUP BY r.cost_currency
+            """
+                .formatted(dateRange("r.entry_date", from, to)),
             Tuple.class);
     query.setParameter("customerId", customerId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -186,14 +174,13 @@ public class ReportRepository {
                 ), 0) AS totalExpenseRevenue
             FROM expenses e
             WHERE e.project_id = :projectId
-              AND (CAST(:fromDate AS DATE) IS NULL OR e.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR e.date <= CAST(:toDate AS DATE))
+              %s
             GROUP BY e.currency
-            """,
+            """
+                .formatted(dateRange("e.date", from, to)),
             Tuple.class);
     query.setParameter("projectId", projectId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -221,14 +208,13 @@ public class ReportRepository {
             FROM expenses e
               JOIN customer_projects cp ON cp.project_id = e.project_id
             WHERE cp.customer_id = :customerId
-              AND (CAST(:fromDate AS DATE) IS NULL OR e.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR e.date <= CAST(:toDate AS DATE))
+              %s
             GROUP BY e.currency
-            """,
+            """
+                .formatted(dateRange("e.date", from, to)),
             Tuple.class);
     query.setParameter("customerId", customerId);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
 
     @SuppressWarnings("unchecked")
     List<Tuple> results = query.getResultList();
@@ -246,19 +232,18 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.member_id AS memberId,
+                r.member_id AS memberId,
                 m.name AS memberName,
-                SUM(te.duration_minutes) / 60.0 AS totalHours,
-                SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(r.minutes) / 60.0 AS totalHours,
+                SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS billableHours,
-                SUM(CASE WHEN NOT te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(CASE WHEN NOT r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS nonBillableHours
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN members m ON te.member_id = m.id
-            WHERE te.date >= :fromDate
-              AND te.date <= :toDate
-            GROUP BY te.member_id, m.name
+            FROM time_entry_daily_rollups r
+            JOIN members m ON r.member_id = m.id
+            WHERE r.entry_date >= :fromDate
+              AND r.entry_date <= :toDate
+            GROUP BY r.member_id, m.name
             ORDER BY billableHours DESC
             """,
             Tuple.class);
@@ -280,20 +265,19 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.member_id AS memberId,
+                r.member_id AS memberId,
                 m.name AS memberName,
-                SUM(te.duration_minutes) / 60.0 AS totalHours,
-                SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(r.minutes) / 60.0 AS totalHours,
+                SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS billableHours,
-                SUM(CASE WHEN NOT te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                SUM(CASE WHEN NOT r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS nonBillableHours
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN members m ON te.member_id = m.id
-            WHERE te.member_id = :memberId
-              AND te.date >= :fromDate
-              AND te.date <= :toDate
-            GROUP BY te.member_id, m.name
+            FROM time_entry_daily_rollups r
+            JOIN members m ON r.member_id = m.id
+            WHERE r.member_id = :memberId
+              AND r.entry_date >= :fromDate
+              AND r.entry_date <= :toDate
+            GROUP BY r.member_id, m.name
             ORDER BY billableHours DESC
             """,
             Tuple.class);
@@ -316,23 +300,16 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.member_id AS memberId,
-                te.billing_rate_currency AS currency,
-                SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
-                    THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END) AS billableValue,
-                SUM(CASE WHEN te.cost_rate_snapshot IS NOT NULL
-                    THEN CAST(te.cost_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END) AS costValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            WHERE te.member_id = :memberId
-              AND te.billing_rate_currency IS NOT NULL
-              AND te.date >= :fromDate
-              AND te.date <= :toDate
-            GROUP BY te.member_id, te.billing_rate_currency
+                r.member_id AS memberId,
+                r.billing_currency AS currency,
+                SUM(r.billable_value) AS billableValue,
+                SUM(r.cost_value) AS costValue
+            FROM time_entry_daily_rollups r
+            WHERE r.member_id = :memberId
+              AND r.billing_currency IS NOT NULL
+              AND r.entry_date >= :fromDate
+              AND r.entry_date <= :toDate
+            GROUP BY r.member_id, r.billing_currency
             """,
             Tuple.class);
     query.setParameter("memberId", memberId);
@@ -353,22 +330,15 @@ public class ReportRepository {
         entityManager.createNativeQuery(
             """
             SELECT
-                te.member_id AS memberId,
-                te.billing_rate_currency AS currency,
-                SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
-                    THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END) AS billableValue,
-                SUM(CASE WHEN te.cost_rate_snapshot IS NOT NULL
-                    THEN CAST(te.cost_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END) AS costValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            WHERE te.billing_rate_currency IS NOT NULL
-              AND te.date >= :fromDate
-              AND te.date <= :toDate
-            GROUP BY te.member_id, te.billing_rate_currency
+                r.member_id AS memberId,
+                r.billing_currency AS currency,
+                SUM(r.billable_value) AS billableValue,
+                SUM(r.cost_value) AS costValue
+            FROM time_entry_daily_rollups r
+            WHERE r.billing_currency IS NOT NULL
+              AND r.entry_date >= :fromDate
+              AND r.entry_date <= :toDate
+            GROUP BY r.member_id, r.billing_currency
             """,
             Tuple.class);
     query.setParameter("fromDate", from);
@@ -388,38 +358,31 @@ public class ReportRepository {
   public List<OrgRevenueProjection> getOrgProjectRevenue(
       LocalDate from, LocalDate to, UUID customerId) {
     String customerJoin =
-        customerId != null ? "JOIN customer_projects cp ON t.project_id = cp.project_id" : "";
+        customerId != null ? "JOIN customer_projects cp ON r.project_id = cp.project_id" : "";
     String customerWhere = customerId != null ? "AND cp.customer_id = :customerId" : "";
 
     var query =
         entityManager.createNativeQuery(
             """
             SELECT
-                t.project_id AS projectId,
+                r.project_id AS projectId,
                 p.name AS projectName,
-                te.billing_rate_currency AS currency,
-                SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END) / 60.0
+                r.billing_currency AS currency,
+                SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END) / 60.0
                     AS billableHours,
-                SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
-                    THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2))
-                         * te.duration_minutes / 60.0
-                    ELSE 0 END)
-                    AS billableValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN projects p ON t.project_id = p.id
+                SUM(r.billable_value) AS billableValue
+            FROM time_entry_daily_rollups r
+            JOIN projects p ON r.project_id = p.id
             %s
-            WHERE te.billing_rate_currency IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
+            WHERE r.billing_currency IS NOT NULL
+              %s
               %s
-            GROUP BY t.project_id, p.name, te.billing_rate_currency
+            GROUP BY r.project_id, p.name, r.billing_currency
             ORDER BY billableValue DESC
             """
-                .formatted(customerJoin, customerWhere),
+                .formatted(customerJoin, dateRange("r.entry_date", from, to), customerWhere),
             Tuple.class);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
     if (customerId != null) {
       query.setParameter("customerId", customerId);
     }
@@ -435,32 +398,28 @@ public class ReportRepository {
    */
   public List<OrgCostProjection> getOrgProjectCost(LocalDate from, LocalDate to, UUID customerId) {
     String customerJoin =
-        customerId != null ? "JOIN customer_projects cp ON t.project_id = cp.project_id" : "";
+        customerId != null ? "JOIN customer_projects cp ON r.project_id = cp.project_id" : "";
     String customerWhere = customerId != null ? "AND cp.customer_id = :customerId" : "";
 
     var query =
         entityManager.createNativeQuery(
             """
             SELECT
-                t.project_id AS projectId,
+                r.project_id AS projectId,
                 p.name AS projectName,
-                te.cost_rate_currency AS currency,
-                SUM(CAST(te.cost_rate_snapshot AS DECIMAL(14,2))
-                    * te.duration_minutes / 60.0) AS costValue
-            FROM time_entries te
-            JOIN tasks t ON te.task_id = t.id
-            JOIN projects p ON t.project_id = p.id
+                r.cost_currency AS currency,
+                SUM(r.cost_value) AS costValue
+            FROM time_entry_daily_rollups r
+            JOIN projects p ON r.project_id = p.id
             %s
-            WHERE te.cost_rate_snapshot IS NOT NULL
-              AND (CAST(:fromDate AS DATE) IS NULL OR te.date >= CAST(:fromDate AS DATE))
-              AND (CAST(:toDate AS DATE) IS NULL OR te.date <= CAST(:toDate AS DATE))
+            WHERE r.cost_currency IS NOT NULL
+              %s
               %s
-            GROUP BY t.project_id, p.name, te.cost_rate_currency
+            GROUP BY r.project_id, p.name, r.cost_currency
             """
-                .formatted(customerJoin, customerWhere),
+                .formatted(customerJoin, dateRange("r.entry_date", from, to), customerWhere),
             Tuple.class);
-    query.setParameter("fromDate", from);
-    query.setParameter("toDate", to);
+    bindDateRange(query, from, to);
     if (customerId != null) {
       query.setParameter("customerId", customerId);
     }
@@ -470,6 +429,26 @@ public class ReportRepository {
     return results.stream().map(this::toOrgCostProjection).toList();
   }
 
+  // --- Optional date range ---
+
+  /**
+   * Renders the optional date bounds as plain range predicates. The former {@code CAST(:fromDate AS
+   * DATE) IS NULL OR ...} form kept the planner from using an index on the date column.
+   */
+  private static String dateRange(String column, LocalDate from, LocalDate to) {
+    return (from != null ? "AND " + column + " >= :fromDate " : "")
+        + (to != null ? "AND " + column + " <= :toDate" : "");
+  }
+
+  private static void bindDateRange(Query query, LocalDate from, LocalDate to) {
+    if (from != null) {
+      query.setParameter("fromDate", from);
+    }
+    if (to != null) {
+      query.setParameter("toDate", to);
+    }
+  }
+
   // --- Tuple-to-projection mappers ---
 
   private MemberUtilizationProjection toMemberUtilizationProjection(Tuple tuple) {
@@ -1,9 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.report;
 
-import io.b2mash.b2b.b2bstrawman.billingrate.BillingRateService;
 import io.b2mash.b2b.b2bstrawman.capacity.ResourceAllocation;
 import io.b2mash.b2b.b2bstrawman.capacity.ResourceAllocationRepository;
-import io.b2mash.b2b.b2bstrawman.costrate.CostRateService;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerProjectRepository;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
 import io.b2mash.b2b.b2bstrawman.exception.ForbiddenException;
@@ -12,6 +10,7 @@ import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import io.b2mash.b2b.b2bstrawman.report.ReportController.CurrencyBreakdown;
 import io.b2mash.b2b.b2bstrawman.report.ReportController.CustomerProfitabilityResponse;
 import io.b2mash.b2b.b2bstrawman.report.ReportController.MemberUtilizationRecord;
@@ -54,8 +53,7 @@ public class ReportService {
   private final CustomerRepository customerRepository;
   private final CustomerProjectRepository customerProjectRepository;
   private final ProjectRepository projectRepository;
-  private final BillingRateService billingRateService;
-  private final CostRateService costRateService;
+  private final RateCardIndexService rateCardIndexService;
   private final ResourceAllocationRepository resourceAllocationRepository;
 
   public ReportService(
@@ -65,8 +63,7 @@ public class ReportService {
       CustomerRepository customerRepository,
       CustomerProjectRepository customerProjectRepository,
       ProjectRepository projectRepository,
-      BillingRateService billingRateService,
-      CostRateService costRateService,
+      RateCardIndexService rateCardIndexService,
       ResourceAllocationRepository resourceAllocationRepository) {
     this.clock = clock;
     this.reportRepository = reportRepository;
@@ -74,8 +71,7 @@ public class ReportService {
     this.customerRepository = customerRepository;
     this.customerProjectRepository = customerProjectRepository;
     this.projectRepository = projectRepository;
-    this.billingRateService = billingRateService;
-    this.costRateService = costRateService;
+    this.rateCardIndexService = rateCardIndexService;
     this.resourceAllocationRepository = resourceAllocationRepository;
   }
 
@@ -519,10 +515,11 @@ public class ReportService {
   private ProjectionData aggregateProjections(List<ResourceAllocation> allocations) {
     BigDecimal projectedRevenue = BigDecimal.ZERO;
     BigDecimal projectedCost = BigDecimal.ZERO;
+    var rateCard = rateCardIndexService.current();
 
     for (var allocation : allocations) {
       var billingRate =
-          billingRateService.resolveRate(
+          rateCard.resolveBillingRate(
               allocation.getMemberId(), allocation.getProjectId(), allocation.getWeekStart());
       if (billingRate.isPresent()) {
         projectedRevenue =
@@ -530,8 +527,7 @@ public class ReportService {
                 allocation.getAllocatedHours().multiply(billingRate.get().hourlyRate()));
       }
 
-      var costRate =
-          costRateService.resolveCostRate(allocation.getMemberId(), allocation.getWeekStart());
+      var costRate = rateCard.resolveCostRate(allocation.getMemberId(), allocation.getWeekStart());
       if (costRate.isPresent()) {
         projectedCost =
             projectedCost.add(allocation.getAllocatedHours().multiply(costRate.get().hourlyCost()));
@@ -0,0 +1,46 @@
+package io.b2mash.b2b.b2bstrawman.report;
+
+import io.b2mash.b2b.b2bstrawman.event.TimeEntryChangedEvent;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies time entry changes to {@code time_entry_daily_rollups}. Runs synchronously inside the
+ * transaction that changed the entry, so the rollup can never commit ahead of or behind the entry.
+ *
+ * <p>Only the {@code (project, day)} slices named in the event's {@code entry_dates} detail are
+ * re-aggregated — for a date change that is both the old and the new day. Events without dates
+ * fall back to re-aggregating the whole project.
+ */
+@Component
+public class TimeEntryRollupListener {
+
+  /** Event detail key carrying the ISO dates whose rollup rows the change affects. */
+  public static final String ENTRY_DATES_DETAIL = "entry_dates";
+
+  private final TimeEntryRollupService rollupService;
+
+  public TimeEntryRollupListener(TimeEntryRollupService rollupService) {
+    this.rollupService = rollupService;
+  }
+
+  @EventListener
+  @Transactional
+  public void onTimeEntryChanged(TimeEntryChangedEvent event) {
+    if (event.projectId() == null) {
+      return;
+    }
+    Object dates = event.details() != null ? event.details().get(ENTRY_DATES_DETAIL) : null;
+    if (dates instanceof Collection<?> isoDates && !isoDates.isEmpty()) {
+      List<LocalDate> entryDates =
+          isoDates.stream().map(date -> LocalDate.parse(date.toString())).toList();
+      rollupService.refresh(event.projectId(), entryDates);
+    } else {
+      rollupService.refreshProject(event.projectId());
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package io.b2mash.b2b.b2bstrawman.report;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintenance queries for {@code time_entry_daily_rollups}, the per-day aggregate of time entries
+ * that {@link ReportRepository} and the dashboard trend queries read from. Rows are only ever
+ * rewritten a whole {@code (project_id, entry_date)} slice at a time by re-aggregating the raw
+ * entries of that slice, so a refresh is idempotent and self-healing.
+ *
+ * <p>Refreshes of the same project are serialized with a transaction-scoped advisory lock, so two
+ * writers touching the same slice cannot interleave their delete and insert; a full rebuild takes
+ * the tenant-wide lock exclusively. Lock keys include {@code current_schema()} because advisory
+ * locks are database-wide and tenants share the database.
+ */
+@Repository
+public class TimeEntryRollupRepository {
+
+  private static final String AGGREGATE_COLUMNS =
+      """
+      t.project_id,
+      te.member_id,
+      te.date,
+      te.billable,
+      te.billing_rate_currency,
+      CASE WHEN te.cost_rate_snapshot IS NOT NULL THEN te.cost_rate_currency END,
+      COUNT(*),
+      SUM(te.duration_minutes),
+      COALESCE(SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
+          THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2)) * te.duration_minutes / 60.0
+          END), 0),
+      COALESCE(SUM(CAST(te.cost_rate_snapshot AS DECIMAL(14,2)) * te.duration_minutes / 60.0), 0)
+      """;
+
+  private static final String AGGREGATE_GROUP_BY =
+      """
+      GROUP BY t.project_id, te.member_id, te.date, te.billable, te.billing_rate_currency,
+          CASE WHEN te.cost_rate_snapshot IS NOT NULL THEN te.cost_rate_currency END
+      """;
+
+  private static final String INSERT_INTO =
+      """
+      INSERT INTO time_entry_daily_rollups
+          (project_id, member_id, entry_date, billable, billing_currency, cost_currency,
+           entry_count, minutes, billable_value, cost_value)
+      """;
+
+  private final EntityManager entityManager;
+
+  public TimeEntryRollupRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /** Re-aggregates the rollup rows of one project for the given days. */
+  public void refreshSlices(UUID projectId, Collection<LocalDate> dates) {
+    if (dates.isEmpty()) {
+      return;
+    }
+    entityManager.flush();
+    lockProject(projectId);
+    entityManager
+        .createNativeQuery(
+            """
+            DELETE FROM time_entry_daily_rollups
+            WHERE project_id = :projectId AND entry_date IN (:dates)
+            """)
+        .setParameter("projectId", projectId)
+        .setParameter("dates", dates)
+        .executeUpdate();
+    entityManager
+        .createNativeQuery(
+            INSERT_INTO
+                + "SELECT "
+                + AGGREGATE_COLUMNS
+                + """
+                FROM time_entries te
+                JOIN tasks t ON te.task_id = t.id
+                WHERE t.project_id = :projectId AND te.date IN (:dates)
+                """
+                + AGGREGATE_GROUP_BY)
+        .setParameter("projectId", projectId)
+        .setParameter("dates", dates)
+        .executeUpdate();
+  }
+
+  /** Re-aggregates every rollup row of one project. */
+  public void refreshProject(UUID projectId) {
+    entityManager.flush();
+    lockProject(projectId);
+    entityManager
+        .createNativeQuery("DELETE FROM time_entry_daily_rollups WHERE project_id = :projectId")
+        .setParameter("projectId", projectId)
+        .executeUpdate();
+    entityManager
+        .createNativeQuery(
+            INSERT_INTO
+                + "SELECT "
+                + AGGREGATE_COLUMNS
+                + """
+                FROM time_entries te
+                JOIN tasks t ON te.task_id = t.id
+                WHERE t.project_id = :projectId
+                """
+                + AGGREGATE_GROUP_BY)
+        .setParameter("projectId", projectId)
+        .executeUpdate();
+  }
+
+  /** Replaces the whole rollup with a fresh aggregate of the raw entries; returns rows written. */
+  public int rebuild() {
+    entityManager.flush();
+    entityManager
+        .createNativeQuery(
+            """
+            SELECT 1 FROM pg_advisory_xact_lock(
+                hashtext(current_schema() || ':time_entry_daily_rollups'))
+            """)
+        .getSingleResult();
+    entityManager.createNativeQuery("DELETE FROM time_entry_daily_rollups").executeUpdate();
+    return entityManager
+        .createNativeQuery(
+            INSERT_INTO
+                + "SELECT "
+                + AGGREGATE_COLUMNS
+                + """
+                FROM time_entries te
+                JOIN tasks t ON te.task_id = t.id
+                """
+                + AGGREGATE_GROUP_BY)
+        .executeUpdate();
+  }
+
+  /**
+   * Compares the rollup against a fresh aggregate of the raw entries and returns the number of
+   * rollup keys that are missing, extra, or hold different totals.
+   */
+  public long countMismatches() {
+    var result =
+        entityManager
+            .createNativeQuery(
+                """
+                WITH raw (project_id, member_id, entry_date, billable, billing_currency,
+                          cost_currency, entry_count, minutes, billable_value, cost_value) AS (
+                    SELECT
+                """
+                    + AGGREGATE_COLUMNS
+                    + """
+                    FROM time_entries te
+                    JOIN tasks t ON te.task_id = t.id
+                    """
+                    + AGGREGATE_GROUP_BY
+                    + """
+                )
+                SELECT COUNT(*)
+                FROM raw
+                FULL OUTER JOIN time_entry_daily_rollups r
+                  ON r.project_id = raw.project_id
+                 AND r.member_id = raw.member_id
+                 AND r.entry_date = raw.entry_date
+                 AND r.billable = raw.billable
+                 AND r.billing_currency IS NOT DISTINCT FROM raw.billing_currency
+                 AND r.cost_currency IS NOT DISTINCT FROM raw.cost_currency
+                WHERE raw.project_id IS NULL
+                   OR r.project_id IS NULL
+                   OR r.entry_count <> raw.entry_count
+                   OR r.minutes <> raw.minutes
+                   OR r.billable_value <> raw.billable_value
+                   OR r.cost_value <> raw.cost_value
+                """)
+            .getSingleResult();
+    return ((Number) result).longValue();
+  }
+
+  public long countRows() {
+    var result =
+        entityManager
+            .createNativeQuery("SELECT COUNT(*) FROM time_entry_daily_rollups")
+            .getSingleResult();
+    return ((Number) result).longValue();
+  }
+
+  /**
+   * Returns the {@code (project_id, date)} slices the given time entries belong to, for callers
+   * that are about to delete them outside {@code TimeEntryService}.
+   */
+  public List<Tuple> findSlices(Collection<UUID> timeEntryIds) {
+    if (timeEntryIds.isEmpty()) {
+      return List.of();
+    }
+    @SuppressWarnings("unchecked")
+    List<Tuple> results =
+        entityManager
+            .createNativeQuery(
+                """
+                SELECT DISTINCT t.project_id AS projectId, te.date AS entryDate
+                FROM time_entries te
+                JOIN tasks t ON te.task_id = t.id
+                WHERE te.id IN (:ids)
+                """,
+                Tuple.class)
+            .setParameter("ids", timeEntryIds)
+            .getResultList();
+    return results;
+  }
+
+  private void lockProject(UUID projectId) {
+    entityManager
+        .createNativeQuery(
+            """
+            SELECT 1 FROM pg_advisory_xact_lock_shared(
+                hashtext(current_schema() || ':time_entry_daily_rollups'))
+            """)
+        .getSingleResult();
+    entityManager
+        .createNativeQuery(
+            """
+            SELECT 1 FROM pg_advisory_xact_lock(
+                hashtext(current_schema() || ':time_entry_daily_rollups'),
+                hashtext(CAST(:projectId AS text)))
+            """)
+        .setParameter("projectId", projectId)
+        .getSingleResult();
+  }
+}
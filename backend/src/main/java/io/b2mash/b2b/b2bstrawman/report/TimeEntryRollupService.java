@@ -0,0 +1,92 @@
+package io.b2mash.b2b.b2bstrawman.report;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps {@code time_entry_daily_rollups} in step with {@code time_entries}. Incremental updates
+ * come from {@link TimeEntryRollupListener}; writers that change time entries without publishing a
+ * {@code TimeEntryChangedEvent} (rate re-snapshots, retention purges, demo seeding) call {@link
+ * #refresh(Map)} or {@link #rebuild()} directly. All methods join the caller's transaction, so the
+ * rollup commits atomically with the entries it summarizes.
+ */
+@Service
+public class TimeEntryRollupService {
+
+  private static final Logger log = LoggerFactory.getLogger(TimeEntryRollupService.class);
+
+  private final TimeEntryRollupRepository rollupRepository;
+
+  public TimeEntryRollupService(TimeEntryRollupRepository rollupRepository) {
+    this.rollupRepository = rollupRepository;
+  }
+
+  /** Re-aggregates the given days of one project. */
+  @Transactional
+  public void refresh(UUID projectId, Collection<LocalDate> dates) {
+    rollupRepository.refreshSlices(projectId, Set.copyOf(dates));
+  }
+
+  /** Re-aggregates the given days of each project, keyed by project id. */
+  @Transactional
+  public void refresh(Map<UUID, ? extends Collection<LocalDate>> datesByProject) {
+    datesByProject.forEach(this::refresh);
+  }
+
+  /** Re-aggregates every day of one project. */
+  @Transactional
+  public void refreshProject(UUID projectId) {
+    rollupRepository.refreshProject(projectId);
+  }
+
+  /**
+   * Returns the {@code (project, day)} slices of the given time entries, keyed by project. Call
+   * before deleting the entries and pass the result to {@link #refresh(Map)} afterwards.
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, Set<LocalDate>> slicesOf(Collection<UUID> timeEntryIds) {
+    var slices = new HashMap<UUID, Set<LocalDate>>();
+    for (var tuple : rollupRepository.findSlices(timeEntryIds)) {
+      slices
+          .computeIfAbsent(tuple.get("projectId", UUID.class), id -> new HashSet<>())
+          .add(toLocalDate(tuple.get("entryDate")));
+    }
+    return slices;
+  }
+
+  /** Rebuilds the tenant's rollup from scratch. */
+  @Transactional
+  public RollupRebuildResult rebuild() {
+    int rows = rollupRepository.rebuild();
+    log.info("Rebuilt time entry daily rollup: {} rows", rows);
+    return new RollupRebuildResult(rows);
+  }
+
+  /** Compares the tenant's rollup against the raw time entries. */
+  @Transactional(readOnly = true)
+  public RollupConsistencyResult checkConsistency() {
+    long rows = rollupRepository.countRows();
+    long mismatches = rollupRepository.countMismatches();
+    if (mismatches > 0) {
+      log.warn("Time entry daily rollup drifted: {} of {} rows differ", mismatches, rows);
+    }
+    return new RollupConsistencyResult(rows, mismatches, mismatches == 0);
+  }
+
+  private static LocalDate toLocalDate(Object value) {
+    return value instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+  }
+
+  public record RollupRebuildResult(int rowsWritten) {}
+
+  public record RollupConsistencyResult(long rollupRows, long mismatchedRows, boolean consistent) {}
+}
@@ -18,15 +18,31 @@ public class RetentionCheckResult {
   }
 
   public void addFlagged(String recordType, String triggerEvent, String action, List<UUID> ids) {
-    String key = recordType + ":" + triggerEvent;
+    merge(new FlaggedRecords(ids.size(), recordType, triggerEvent, action, List.copyOf(ids)));
+  }
+
+  /**
+   * Flags records that are purged by cutoff rather than by id (audit events, whose expired months
+   * are dropped as partitions), so only their count is recorded.
+   */
+  public void addFlaggedCount(String recordType, String triggerEvent, String action, int count) {
+    merge(new FlaggedRecords(count, recordType, triggerEvent, action, List.of()));
+  }
+
+  private void merge(FlaggedRecords records) {
+    String key = records.recordType() + ":" + records.triggerEvent();
     flagged.merge(
         key,
-        new FlaggedRecords(ids.size(), recordType, triggerEvent, action, List.copyOf(ids)),
+        records,
         (existing, incoming) -> {
           var merged = new java.util.ArrayList<>(existing.recordIds());
           merged.addAll(incoming.recordIds());
           return new FlaggedRecords(
-              merged.size(), recordType, triggerEvent, action, List.copyOf(merged));
+              existing.count() + incoming.count(),
+              incoming.recordType(),
+              incoming.triggerEvent(),
+              incoming.action(),
+              List.copyOf(merged));
         });
   }
 
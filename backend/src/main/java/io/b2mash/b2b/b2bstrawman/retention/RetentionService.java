@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.retention;
 
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
+import io.b2mash.b2b.b2bstrawman.audit.AuditEventPartitionMaintenance;
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventRepository;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
 import io.b2mash.b2b.b2bstrawman.comment.CommentRepository;
@@ -9,6 +10,7 @@ import io.b2mash.b2b.b2bstrawman.customer.LifecycleStatus;
 import io.b2mash.b2b.b2bstrawman.document.DocumentRepository;
 import io.b2mash.b2b.b2bstrawman.integration.storage.StorageService;
 import io.b2mash.b2b.b2bstrawman.notification.NotificationService;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -20,7 +22,9 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class RetentionService {
@@ -36,6 +40,9 @@ public class RetentionService {
   private final AuditService auditService;
   private final StorageService storageService;
   private final NotificationService notificationService;
+  private final TimeEntryRollupService timeEntryRollupService;
+  private final AuditEventPartitionMaintenance auditEventPartitionMaintenance;
+  private final TransactionTemplate transactionTemplate;
 
   public RetentionService(
       RetentionPolicyRepository policyRepository,
@@ -46,7 +53,10 @@ public class RetentionService {
       TimeEntryRepository timeEntryRepository,
       AuditService auditService,
       StorageService storageService,
-      NotificationService notificationService) {
+      NotificationService notificationService,
+      TimeEntryRollupService timeEntryRollupService,
+      AuditEventPartitionMaintenance auditEventPartitionMaintenance,
+      PlatformTransactionManager transactionManager) {
     this.policyRepository = policyRepository;
     this.customerRepository = customerRepository;
     this.auditEventRepository = auditEventRepository;
@@ -56,6 +66,9 @@ public class RetentionService {
     this.auditService = auditService;
     this.storageService = storageService;
     this.notificationService = notificationService;
+    this.timeEntryRollupService = timeEntryRollupService;
+    this.auditEventPartitionMaintenance = auditEventPartitionMaintenance;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
   @Transactional
@@ -66,22 +79,7 @@ public class RetentionService {
 
     for (RetentionPolicy policy : policies) {
       try {
-        Instant cutoff = now.minus(policy.getRetentionDays(), ChronoUnit.DAYS);
-        List<UUID> flaggedIds =
-            switch (policy.getRecordType()) {
-              case "CUSTOMER" -> findExpiredCustomers(policy.getTriggerEvent(), cutoff);
-              case "AUDIT_EVENT" -> findExpiredAuditEvents(policy.getTriggerEvent(), cutoff);
-              case "DOCUMENT" -> findExpiredDocuments(policy.getTriggerEvent(), cutoff);
-              case "TIME_ENTRY" ->
-                  findExpiredTimeEntries(
-                      policy.getTriggerEvent(),
-                      LocalDate.now().minusDays(policy.getRetentionDays()));
-              default -> List.of();
-            };
-        if (!flaggedIds.isEmpty()) {
-          result.addFlagged(
-              policy.getRecordType(), policy.getTriggerEvent(), policy.getAction(), flaggedIds);
-        }
+        flagExpired(policy, now, result);
 
         // 30-day warning notifications for approaching records
         evaluateWarnings(policy, now);
@@ -122,34 +120,36 @@ public class RetentionService {
       return; // No meaningful warning window for policies <= 30 days
     }
 
-    List<UUID> approachingIds;
+    int approaching;
 
     if ("TIME_ENTRY".equals(policy.getRecordType())) {
       LocalDate warnCutoff = LocalDate.now().minusDays(policy.getRetentionDays() - 30);
       LocalDate expiredCutoff = LocalDate.now().minusDays(policy.getRetentionDays());
-      approachingIds =
-          findApproachingTimeEntries(policy.getTriggerEvent(), warnCutoff, expiredCutoff);
+      approaching =
+          findApproachingTimeEntries(policy.getTriggerEvent(), warnCutoff, expiredCutoff).size();
     } else {
       Instant warnCutoff = now.minus(policy.getRetentionDays() - 30, ChronoUnit.DAYS);
       Instant expiredCutoff = now.minus(policy.getRetentionDays(), ChronoUnit.DAYS);
-      approachingIds =
+      approaching =
           switch (policy.getRecordType()) {
             case "CUSTOMER" ->
-                findApproachingCustomers(policy.getTriggerEvent(), warnCutoff, expiredCutoff);
+                findApproachingCustomers(policy.getTriggerEvent(), warnCutoff, expiredCutoff)
+                    .size();
             case "AUDIT_EVENT" ->
-                findApproachingAuditEvents(policy.getTriggerEvent(), warnCutoff, expiredCutoff);
+                countApproachingAuditEvents(policy.getTriggerEvent(), warnCutoff, expiredCutoff);
             case "DOCUMENT" ->
-                findApproachingDocuments(policy.getTriggerEvent(), warnCutoff, expiredCutoff);
-            default -> List.of();
+                findApproachingDocuments(policy.getTriggerEvent(), warnCutoff, expiredCutoff)
+                    .size();
+            default -> 0;
           };
     }
 
-    if (!approachingIds.isEmpty()) {
+    if (approaching > 0) {
       LocalDate purgeDate = LocalDate.now().plusDays(30);
       notificationService.notifyAdminsAndOwners(
           "RETENTION_PURGE_WARNING",
           "Retention warning: "
-              + approachingIds.size()
+              + approaching
               + " "
               + policy.getRecordType()
               + "(s) will be purged by retention policy on "
@@ -159,7 +159,7 @@ public class RetentionService {
           policy.getId());
       log.info(
           "Retention warning sent: {} {} record(s) approaching deadline",
-          approachingIds.size(),
+          approaching,
           policy.getRecordType());
     }
   }
@@ -179,14 +179,14 @@ public class RetentionService {
     return List.of();
   }
 
-  private List<UUID> findApproachingAuditEvents(
+  private int countApproachingAuditEvents(
       String triggerEvent, Instant warnCutoff, Instant expiredCutoff) {
     if ("RECORD_CREATED".equals(triggerEvent)) {
-      List<UUID> allBeforeWarn = auditEventRepository.findIdsByOccurredAtBefore(warnCutoff);
-      var expiredSet = new HashSet<>(auditEventRepository.findIdsByOccurredAtBefore(expiredCutoff));
-      return allBeforeWarn.stream().filter(id -> !expiredSet.contains(id)).toList();
+      return Math.toIntExact(
+          auditEventRepository.countByOccurredAtGreaterThanEqualAndOccurredAtBefore(
+              expiredCutoff, warnCutoff));
     }
-    return List.of();
+    return 0;
   }
 
   private List<UUID> findApproachingDocuments(
@@ -222,17 +222,24 @@ public class RetentionService {
 
   /**
    * Executes retention purge for all eligible records across all active policies. First evaluates
-   * which records are eligible, then purges each group by record type.
+   * which records are eligible, then purges each group by record type, each in a transaction of its
+   * own: the audit event purge must run outside any transaction (see {@link
+   * AuditEventPartitionMaintenance#purgeBefore}).
    */
-  @Transactional
   public ExecuteResult executeAllPending() {
-    RetentionCheckResult checkResult = runCheck();
+    RetentionCheckResult checkResult = transactionTemplate.execute(tx -> runCheck());
     int totalPurged = 0;
     int totalFailed = 0;
 
     for (var entry : checkResult.getFlagged().values()) {
-      if (!entry.recordIds().isEmpty()) {
-        PurgeResult purgeResult = executePurge(entry.recordType(), entry.recordIds());
+      if ("AUDIT_EVENT".equals(entry.recordType())) {
+        PurgeResult purgeResult =
+            purgeExpiredAuditEvents(entry.triggerEvent(), checkResult.getCheckedAt());
+        totalPurged += purgeResult.purged();
+        totalFailed += purgeResult.failed();
+      } else if (!entry.recordIds().isEmpty()) {
+        PurgeResult purgeResult =
+            transactionTemplate.execute(tx -> executePurge(entry.recordType(), entry.recordIds()));
         totalPurged += purgeResult.purged();
         totalFailed += purgeResult.failed();
       }
@@ -240,6 +247,29 @@ public class RetentionService {
     return new ExecuteResult(totalPurged, totalFailed, checkResult.getCheckedAt());
   }
 
+  /**
+   * Purges audit events older than the active AUDIT_EVENT policy's cutoff by dropping whole monthly
+   * partitions (see {@link AuditEventPartitionMaintenance#purgeBefore}). If several active policies
+   * share the trigger, the longest retention wins.
+   */
+  private PurgeResult purgeExpiredAuditEvents(String triggerEvent, Instant now) {
+    var retentionDays =
+        policyRepository.findByActive(true).stream()
+            .filter(p -> "AUDIT_EVENT".equals(p.getRecordType()))
+            .filter(p -> triggerEvent.equals(p.getTriggerEvent()))
+            .mapToInt(RetentionPolicy::getRetentionDays)
+            .max();
+    if (retentionDays.isEmpty() || !"RECORD_CREATED".equals(triggerEvent)) {
+      return new PurgeResult("AUDIT_EVENT", 0, 0);
+    }
+
+    int purged =
+        auditEventPartitionMaintenance.purgeBefore(
+            now.minus(retentionDays.getAsInt(), ChronoUnit.DAYS));
+    transactionTemplate.executeWithoutResult(tx -> logPurge("AUDIT_EVENT", purged, 0));
+    return new PurgeResult("AUDIT_EVENT", purged, 0);
+  }
+
   public record ExecuteResult(int totalPurged, int totalFailed, java.time.Instant executedAt) {}
 
   /** Dry-run evaluation that returns flagged records without executing any purge actions. */
@@ -250,25 +280,41 @@ public class RetentionService {
     Instant now = Instant.now();
 
     for (RetentionPolicy policy : policies) {
-      Instant cutoff = now.minus(policy.getRetentionDays(), ChronoUnit.DAYS);
-      List<UUID> flaggedIds =
-          switch (policy.getRecordType()) {
-            case "CUSTOMER" -> findExpiredCustomers(policy.getTriggerEvent(), cutoff);
-            case "AUDIT_EVENT" -> findExpiredAuditEvents(policy.getTriggerEvent(), cutoff);
-            case "DOCUMENT" -> findExpiredDocuments(policy.getTriggerEvent(), cutoff);
-            case "TIME_ENTRY" ->
-                findExpiredTimeEntries(
-                    policy.getTriggerEvent(), LocalDate.now().minusDays(policy.getRetentionDays()));
-            default -> List.of();
-          };
-      if (!flaggedIds.isEmpty()) {
-        result.addFlagged(
-            policy.getRecordType(), policy.getTriggerEvent(), policy.getAction(), flaggedIds);
-      }
+      flagExpired(policy, now, result);
     }
     return result;
   }
 
+  /**
+   * Adds the records past {@code policy}'s retention period to {@code result}. Audit events are
+   * flagged by count only: they are purged by cutoff (see {@link #purgeExpiredAuditEvents}), and
+   * listing the ids of years of audit trail would load millions of rows for nothing.
+   */
+  private void flagExpired(RetentionPolicy policy, Instant now, RetentionCheckResult result) {
+    Instant cutoff = now.minus(policy.getRetentionDays(), ChronoUnit.DAYS);
+    if ("AUDIT_EVENT".equals(policy.getRecordType())) {
+      int expired = countExpiredAuditEvents(policy.getTriggerEvent(), cutoff);
+      if (expired > 0) {
+        result.addFlaggedCount(
+            policy.getRecordType(), policy.getTriggerEvent(), policy.getAction(), expired);
+      }
+      return;
+    }
+    List<UUID> flaggedIds =
+        switch (policy.getRecordType()) {
+          case "CUSTOMER" -> findExpiredCustomers(policy.getTriggerEvent(), cutoff);
+          case "DOCUMENT" -> findExpiredDocuments(policy.getTriggerEvent(), cutoff);
+          case "TIME_ENTRY" ->
+              findExpiredTimeEntries(
+                  policy.getTriggerEvent(), LocalDate.now().minusDays(policy.getRetentionDays()));
+          default -> List.of();
+        };
+    if (!flaggedIds.isEmpty()) {
+      result.addFlagged(
+          policy.getRecordType(), policy.getTriggerEvent(), policy.getAction(), flaggedIds);
+    }
+  }
+
   /**
    * Seeds default retention policies for the given jurisdiction. Idempotent — skips record types
    * that already have policies.
@@ -314,11 +360,11 @@ public class RetentionService {
     return List.of();
   }
 
-  private List<UUID> findExpiredAuditEvents(String triggerEvent, Instant cutoff) {
+  private int countExpiredAuditEvents(String triggerEvent, Instant cutoff) {
     if ("RECORD_CREATED".equals(triggerEvent)) {
-      return auditEventRepository.findIdsByOccurredAtBefore(cutoff);
+      return Math.toIntExact(auditEventRepository.countByOccurredAtBefore(cutoff));
     }
-    return List.of();
+    return 0;
   }
 
   @Transactional
@@ -390,7 +436,9 @@ public class RetentionService {
       }
       case "TIME_ENTRY" -> {
         try {
+          var rollupSlices = timeEntryRollupService.slicesOf(recordIds);
           timeEntryRepository.deleteAllById(recordIds);
+          timeEntryRollupService.refresh(rollupSlices);
           purged = recordIds.size();
         } catch (Exception e) {
           log.warn("Failed to delete time entries during retention purge: {}", e.getMessage());
@@ -400,6 +448,11 @@ public class RetentionService {
       default -> log.warn("Unknown recordType '{}' for retention purge — skipping", recordType);
     }
 
+    logPurge(recordType, purged, failed);
+    return new PurgeResult(recordType, purged, failed);
+  }
+
+  private void logPurge(String recordType, int purged, int failed) {
     auditService.log(
         AuditEventBuilder.builder()
             .eventType("retention.purge.executed")
@@ -413,7 +466,6 @@ public class RetentionService {
         recordType,
         purged,
         failed);
-    return new PurgeResult(recordType, purged, failed);
   }
 
   public record PurgeResult(String recordType, int purged, int failed) {}
@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.settings;
 
 import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
 import io.b2mash.b2b.b2bstrawman.audit.AuditService;
+import io.b2mash.b2b.b2bstrawman.collections.CollectionsScanSignal;
 import io.b2mash.b2b.b2bstrawman.datarequest.ComplianceTemplatePackSeeder;
 import io.b2mash.b2b.b2bstrawman.datarequest.JurisdictionDefaults;
 import io.b2mash.b2b.b2bstrawman.datarequest.ProcessingActivityService;
@@ -64,6 +65,7 @@ public class OrgSettingsService {
   private final RatePackSeeder ratePackSeeder;
   private final SchedulePackSeeder schedulePackSeeder;
   private final VerticalModuleRegistry moduleRegistry;
+  private final CollectionsScanSignal collectionsScanSignal;
 
   public OrgSettingsService(
       OrgSettingsRepository orgSettingsRepository,
@@ -77,7 +79,8 @@ public class OrgSettingsService {
       ProjectTemplatePackSeeder projectTemplatePackSeeder,
       RatePackSeeder ratePackSeeder,
       SchedulePackSeeder schedulePackSeeder,
-      VerticalModuleRegistry moduleRegistry) {
+      VerticalModuleRegistry moduleRegistry,
+      CollectionsScanSignal collectionsScanSignal) {
     this.orgSettingsRepository = orgSettingsRepository;
     this.organizationRepository = organizationRepository;
     this.auditService = auditService;
@@ -90,6 +93,7 @@ public class OrgSettingsService {
     this.ratePackSeeder = ratePackSeeder;
     this.schedulePackSeeder = schedulePackSeeder;
     this.moduleRegistry = moduleRegistry;
+    this.collectionsScanSignal = collectionsScanSignal;
   }
 
   /**
@@ -820,6 +824,10 @@ public class OrgSettingsService {
         escalateDaysOverdue);
     settings.touchUpdatedAt();
     settings = orgSettingsRepository.save(settings);
+    if (collectionsEnabled) {
+      // Enabling, or re-tuning thresholds, can make existing overdue invoices due for a stage.
+      collectionsScanSignal.scanNextRun();
+    }
 
     log.info(
         "Updated collections policy: enabled={}, stage1={}, stage2={}, stage3={}, escalate={}",
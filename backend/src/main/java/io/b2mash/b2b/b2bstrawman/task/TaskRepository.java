@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.task;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
+
+  /** Typed projection for per-project task counts (dashboard project health list). */
+  interface ProjectTaskCounts {
+    UUID getProjectId();
+
+    long getTotalTasks();
+
+    long getDoneTasks();
+
+    long getOverdueTasks();
+  }
+
   @Query("SELECT t FROM Task t WHERE t.projectId = :projectId ORDER BY t.createdAt DESC")
   List<Task> findByProjectId(@Param("projectId") UUID projectId);
 
@@ -140,6 +153,23 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
   List<Object[]> getTaskSummaryByProjectId(
       @Param("projectId") UUID projectId, @Param("today") LocalDate today);
 
+  /**
+   * Total, DONE and overdue task counts for many projects in one grouped query. Projects without
+   * tasks have no row.
+   */
+  @Query(
+      """
+      SELECT t.projectId AS projectId,
+          COUNT(t) AS totalTasks,
+          COALESCE(SUM(CASE WHEN t.status = 'DONE' THEN 1 ELSE 0 END), 0) AS doneTasks,
+          COALESCE(SUM(CASE WHEN t.status NOT IN ('DONE', 'CANCELLED') AND t.dueDate < :today THEN 1 ELSE 0 END), 0) AS overdueTasks
+      FROM Task t
+      WHERE t.projectId IN :projectIds
+      GROUP BY t.projectId
+      """)
+  List<ProjectTaskCounts> countTasksByProjectIds(
+      @Param("projectIds") Collection<UUID> projectIds, @Param("today") LocalDate today);
+
   // --- Personal dashboard queries (Epic 79A) ---
 
   /**
@@ -2,10 +2,14 @@ package io.b2mash.b2b.b2bstrawman.timeentry;
 
 import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
 import io.b2mash.b2b.b2bstrawman.orgrole.RequiresCapability;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService.RollupConsistencyResult;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService.RollupRebuildResult;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.UUID;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,9 +20,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminTimeEntryController {
 
   private final TimeEntryService timeEntryService;
+  private final TimeEntryRollupService timeEntryRollupService;
 
-  public AdminTimeEntryController(TimeEntryService timeEntryService) {
+  public AdminTimeEntryController(
+      TimeEntryService timeEntryService, TimeEntryRollupService timeEntryRollupService) {
     this.timeEntryService = timeEntryService;
+    this.timeEntryRollupService = timeEntryRollupService;
   }
 
   @PostMapping("/re-snapshot")
@@ -43,6 +50,18 @@ public class AdminTimeEntryController {
             result.entriesProcessed(), result.entriesUpdated(), result.entriesSkipped()));
   }
 
+  @PostMapping("/rollup/rebuild")
+  @RequiresCapability("TEAM_OVERSIGHT")
+  public ResponseEntity<RollupRebuildResult> rebuildRollup() {
+    return ResponseEntity.ok(timeEntryRollupService.rebuild());
+  }
+
+  @GetMapping("/rollup/consistency")
+  @RequiresCapability("TEAM_OVERSIGHT")
+  public ResponseEntity<RollupConsistencyResult> checkRollupConsistency() {
+    return ResponseEntity.ok(timeEntryRollupService.checkConsistency());
+  }
+
   // --- DTOs ---
 
   public record ReSnapshotRequest(
@@ -0,0 +1,11 @@
+package io.b2mash.b2b.b2bstrawman.timeentry;
+
+import java.util.UUID;
+
+/** Spring Data projection interface for batch project time totals (dashboard health list). */
+public interface ProjectMinutesProjection {
+
+  UUID getProjectId();
+
+  Long getTotalMinutes();
+}
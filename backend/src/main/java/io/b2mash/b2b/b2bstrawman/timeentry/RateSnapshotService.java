@@ -1,7 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.timeentry;
 
-import io.b2mash.b2b.b2bstrawman.billingrate.BillingRateService;
-import io.b2mash.b2b.b2bstrawman.costrate.CostRateService;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndex;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -10,29 +10,46 @@ import org.springframework.stereotype.Service;
 /**
  * Handles point-in-time rate snapshotting (billing + cost) and bulk re-snapshotting. Extracted from
  * TimeEntryService to reduce constructor bloat.
+ *
+ * <p>Rates are resolved against the tenant's {@link RateCardIndex}. Bulk callers pass the index
+ * they took once via {@link #rateCard()}, so resolving each entry costs no queries.
  */
 @Service
 class RateSnapshotService {
 
-  private final BillingRateService billingRateService;
-  private final CostRateService costRateService;
+  private final RateCardIndexService rateCardIndexService;
 
-  RateSnapshotService(BillingRateService billingRateService, CostRateService costRateService) {
-    this.billingRateService = billingRateService;
-    this.costRateService = costRateService;
+  RateSnapshotService(RateCardIndexService rateCardIndexService) {
+    this.rateCardIndexService = rateCardIndexService;
   }
 
   record RateValues(
       BigDecimal billingRate, String billingCurrency, BigDecimal costRate, String costCurrency) {}
 
+  /** The current tenant's rate card, for callers that snapshot many entries. */
+  RateCardIndex rateCard() {
+    return rateCardIndexService.current();
+  }
+
   /**
    * Snapshots billing and cost rates onto the time entry. Returns a rate warning message if the
    * entry is billable but no billing rate was found, or null otherwise.
    */
   String snapshotRates(
       TimeEntry entry, UUID projectId, UUID memberId, LocalDate date, boolean billable) {
+    return snapshotRates(rateCard(), entry, projectId, memberId, date, billable);
+  }
+
+  /** As {@link #snapshotRates(TimeEntry, UUID, UUID, LocalDate, boolean)}, against a held index. */
+  String snapshotRates(
+      RateCardIndex rateCard,
+      TimeEntry entry,
+      UUID projectId,
+      UUID memberId,
+      LocalDate date,
+      boolean billable) {
     // Snapshot billing rate (ADR-040)
-    var billingRate = billingRateService.resolveRate(memberId, projectId, date);
+    var billingRate = rateCard.resolveBillingRate(memberId, projectId, date);
     billingRate.ifPresent(r -> entry.snapshotBillingRate(r.hourlyRate(), r.currency()));
 
     // Determine rate warning for billable entries without a billing rate
@@ -43,7 +60,7 @@ class RateSnapshotService {
     }
 
     // Snapshot cost rate
-    var costRate = costRateService.resolveCostRate(memberId, date);
+    var costRate = rateCard.resolveCostRate(memberId, date);
     costRate.ifPresent(r -> entry.snapshotCostRate(r.hourlyCost(), r.currency()));
 
     return rateWarning;
@@ -51,14 +68,15 @@ class RateSnapshotService {
 
   /** Re-snapshots billing and cost rates when a time entry's date changes. */
   void reSnapshotOnDateChange(TimeEntry entry, UUID projectId, LocalDate effectiveDate) {
-    var billingRate = billingRateService.resolveRate(entry.getMemberId(), projectId, effectiveDate);
+    var rateCard = rateCard();
+    var billingRate = rateCard.resolveBillingRate(entry.getMemberId(), projectId, effectiveDate);
     if (billingRate.isPresent()) {
       entry.snapshotBillingRate(billingRate.get().hourlyRate(), billingRate.get().currency());
     } else {
       entry.snapshotBillingRate(null, null);
     }
 
-    var costRate = costRateService.resolveCostRate(entry.getMemberId(), effectiveDate);
+    var costRate = rateCard.resolveCostRate(entry.getMemberId(), effectiveDate);
     if (costRate.isPresent()) {
       entry.snapshotCostRate(costRate.get().hourlyCost(), costRate.get().currency());
     } else {
@@ -67,9 +85,9 @@ class RateSnapshotService {
   }
 
   /** Resolves current billing and cost rates for a member/project/date combination. */
-  RateValues resolveRates(UUID memberId, UUID projectId, LocalDate date) {
-    var billingRate = billingRateService.resolveRate(memberId, projectId, date);
-    var costRate = costRateService.resolveCostRate(memberId, date);
+  RateValues resolveRates(RateCardIndex rateCard, UUID memberId, UUID projectId, LocalDate date) {
+    var billingRate = rateCard.resolveBillingRate(memberId, projectId, date);
+    var costRate = rateCard.resolveCostRate(memberId, date);
     return new RateValues(
         billingRate.map(r -> r.hourlyRate()).orElse(null),
         billingRate.map(r -> r.currency()).orElse(null),
@@ -11,8 +11,10 @@ import io.b2mash.b2b.b2bstrawman.member.MemberNameResolver;
 import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupListener;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -75,6 +77,8 @@ public class TimeEntryBatchService {
     var actorName = memberNameResolver.resolveName(actor.memberId());
     var tenantId = RequestScopes.getTenantIdOrNull();
     var orgId = RequestScopes.getOrgIdOrNull();
+    // Rates are resolved in memory for every item, instead of up to eight queries per item
+    var rateCard = rateSnapshotService.rateCard();
 
     var entries = request.entries();
     for (int i = 0; i < entries.size(); i++) {
@@ -108,7 +112,12 @@ public class TimeEntryBatchService {
                           item.description());
 
                   rateSnapshotService.snapshotRates(
-                      entry, task.getProjectId(), actor.memberId(), item.date(), item.billable());
+                      rateCard,
+                      entry,
+                      task.getProjectId(),
+                      actor.memberId(),
+                      item.date(),
+                      item.billable());
 
                   var saved = timeEntryRepository.save(entry);
                   log.info(
@@ -149,7 +158,12 @@ public class TimeEntryBatchService {
 
                   // Publish domain event (matches TimeEntryService.createTimeEntry pattern)
                   publishTimeEntryChangedEvent(
-                      saved.getId(), task.getProjectId(), "CREATED", tenantId, orgId);
+                      saved.getId(),
+                      task.getProjectId(),
+                      "CREATED",
+                      saved.getDate(),
+                      tenantId,
+                      orgId);
 
                   return new TimeEntryController.CreatedEntry(
                       saved.getId(), saved.getTaskId(), saved.getDate());
@@ -185,7 +199,12 @@ public class TimeEntryBatchService {
   }
 
   private void publishTimeEntryChangedEvent(
-      UUID timeEntryId, UUID projectId, String action, String tenantId, String orgId) {
+      UUID timeEntryId,
+      UUID projectId,
+      String action,
+      LocalDate entryDate,
+      String tenantId,
+      String orgId) {
     var memberId = RequestScopes.MEMBER_ID.isBound() ? RequestScopes.MEMBER_ID.get() : null;
     applicationEventPublisher.publishEvent(
         new TimeEntryChangedEvent(
@@ -199,6 +218,10 @@ public class TimeEntryBatchService {
             tenantId,
             orgId,
             Instant.now(),
-            Map.of("project_id", projectId.toString())));
+            Map.of(
+                "project_id",
+                projectId.toString(),
+                TimeEntryRollupListener.ENTRY_DATES_DETAIL,
+                List.of(entryDate.toString()))));
   }
 }
@@ -5,6 +5,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.time.Instant;
@@ -12,6 +14,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,11 +33,15 @@ public class TimeEntryController {
 
   private final TimeEntryService timeEntryService;
   private final TimeEntryBatchService timeEntryBatchService;
+  private final TimeEntryImportService timeEntryImportService;
 
   public TimeEntryController(
-      TimeEntryService timeEntryService, TimeEntryBatchService timeEntryBatchService) {
+      TimeEntryService timeEntryService,
+      TimeEntryBatchService timeEntryBatchService,
+      TimeEntryImportService timeEntryImportService) {
     this.timeEntryService = timeEntryService;
     this.timeEntryBatchService = timeEntryBatchService;
+    this.timeEntryImportService = timeEntryImportService;
   }
 
   @PostMapping("/api/tasks/{taskId}/time-entries")
@@ -113,6 +122,26 @@ public class TimeEntryController {
     return ResponseEntity.ok(result);
   }
 
+  /**
+   * Bulk import of the caller's time entries from a CSV ({@code text/csv}) or NDJSON ({@code
+   * application/x-ndjson}) body. Valid rows are created; invalid rows are reported per row.
+   */
+  @PostMapping(
+      value = "/api/time-entries/import",
+      consumes = {"text/csv", "application/x-ndjson"})
+  public ResponseEntity<TimeEntryImportResult> importEntries(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body,
+      ActorContext actor)
+      throws IOException {
+    var format =
+        MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+            ? TimeEntryImportReader.Format.NDJSON
+            : TimeEntryImportReader.Format.CSV;
+    var result = timeEntryImportService.importEntries(body, format, actor);
+    return ResponseEntity.ok(result);
+  }
+
   @DeleteMapping("/api/time-entries/{id}")
   public ResponseEntity<Void> deleteTimeEntry(@PathVariable UUID id, ActorContext actor) {
 
@@ -160,6 +189,9 @@ public class TimeEntryController {
   public record BatchTimeEntryResult(
       List<CreatedEntry> created, List<EntryError> errors, int totalCreated, int totalErrors) {}
 
+  public record TimeEntryImportResult(
+      int totalRows, int totalCreated, int totalErrors, List<EntryError> errors) {}
+
   public record TimeEntryResponse(
       UUID id,
       UUID taskId,
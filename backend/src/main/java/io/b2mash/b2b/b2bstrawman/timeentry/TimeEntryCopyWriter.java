@@ -0,0 +1,110 @@
+package io.b2mash.b2b.b2bstrawman.timeentry;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Persists new time entries with {@code COPY time_entries FROM STDIN}, streaming them in chunks
+ * instead of issuing one {@code INSERT} per entry. The COPY runs on the Hibernate session's
+ * connection, so it uses the tenant's {@code search_path} and joins the caller's transaction —
+ * listeners that read {@code time_entries} later in that transaction see the rows.
+ *
+ * <p>The entries are never attached to the persistence context; ids are generated here, the same
+ * random UUIDs {@link TimeEntry}'s generator would assign. Callers must already have validated the
+ * entries — a constraint violation fails the whole COPY.
+ */
+@Repository
+class TimeEntryCopyWriter {
+
+  private static final int CHUNK_SIZE = 5_000;
+
+  private static final String COPY_SQL =
+      """
+      COPY time_entries (id, task_id, member_id, date, duration_minutes, billable, description,
+          billing_rate_snapshot, billing_rate_currency, cost_rate_snapshot, cost_rate_currency,
+          created_at, updated_at)
+      FROM STDIN WITH (FORMAT csv)
+      """;
+
+  private final EntityManager entityManager;
+
+  TimeEntryCopyWriter(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Copies the entries into {@code time_entries}. Must run inside a transaction.
+   *
+   * @return the ids of the new rows, in the order of {@code entries}
+   */
+  List<UUID> copy(List<TimeEntry> entries) {
+    var ids = entries.stream().map(entry -> UUID.randomUUID()).toList();
+    if (entries.isEmpty()) {
+      return ids;
+    }
+    entityManager
+        .unwrap(Session.class)
+        .doWork(
+            connection -> {
+              var copyApi = connection.unwrap(PGConnection.class).getCopyAPI();
+              for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+                int to = Math.min(from + CHUNK_SIZE, entries.size());
+                var csv = toCsv(entries.subList(from, to), ids.subList(from, to));
+                try {
+                  copyApi.copyIn(COPY_SQL, new StringReader(csv));
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              }
+            });
+    return ids;
+  }
+
+  private static String toCsv(List<TimeEntry> chunk, List<UUID> ids) {
+    var csv = new StringBuilder(chunk.size() * 192);
+    for (int i = 0; i < chunk.size(); i++) {
+      var entry = chunk.get(i);
+      csv.append(ids.get(i)).append(',');
+      csv.append(entry.getTaskId()).append(',');
+      csv.append(entry.getMemberId()).append(',');
+      csv.append(entry.getDate()).append(',');
+      csv.append(entry.getDurationMinutes()).append(',');
+      csv.append(entry.isBillable()).append(',');
+      appendText(csv, entry.getDescription());
+      csv.append(',');
+      appendValue(csv, entry.getBillingRateSnapshot());
+      csv.append(',');
+      appendText(csv, entry.getBillingRateCurrency());
+      csv.append(',');
+      appendValue(csv, entry.getCostRateSnapshot());
+      csv.append(',');
+      appendText(csv, entry.getCostRateCurrency());
+      csv.append(',');
+      csv.append(entry.getCreatedAt()).append(',');
+      csv.append(entry.getUpdatedAt()).append('\n');
+    }
+    return csv.toString();
+  }
+
+  /** An unquoted empty field is NULL in COPY's CSV format. */
+  private static void appendValue(StringBuilder csv, BigDecimal value) {
+    if (value != null) {
+      csv.append(value.toPlainString());
+    }
+  }
+
+  /** Quotes text so commas, quotes and newlines survive, and so "" stays distinct from NULL. */
+  private static void appendText(StringBuilder csv, String value) {
+    if (value != null) {
+      csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+  }
+}
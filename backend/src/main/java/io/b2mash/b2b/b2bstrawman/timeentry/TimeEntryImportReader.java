@@ -0,0 +1,279 @@
+package io.b2mash.b2b.b2bstrawman.timeentry;
+
+import io.b2mash.b2b.b2bstrawman.exception.InvalidStateException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams a bulk time entry import body (CSV or NDJSON) into rows. The body is read line by line,
+ * so it is never held as one string. A line that cannot be parsed becomes a per-row error and does
+ * not stop the import.
+ *
+ * <p>CSV needs a header row naming {@code taskId}, {@code date} and {@code durationMinutes}, with
+ * optional {@code billable} (default true) and {@code description} columns, in any order. Header
+ * names are case-insensitive and may be snake_case. NDJSON carries one object per line with the
+ * same fields.
+ */
+@Component
+class TimeEntryImportReader {
+
+  /** Maximum data rows per import. */
+  static final int MAX_IMPORT_ROWS = 50_000;
+
+  enum Format {
+    CSV,
+    NDJSON
+  }
+
+  /** One parsed data row. {@code index} is the row's 0-based position among the data rows. */
+  record ImportRow(
+      int index,
+      UUID taskId,
+      LocalDate date,
+      int durationMinutes,
+      boolean billable,
+      String description) {}
+
+  record ParsedImport(List<ImportRow> rows, List<TimeEntryController.EntryError> errors) {
+
+    int totalRows() {
+      return rows.size() + errors.size();
+    }
+  }
+
+  private record NdjsonLine(
+      UUID taskId, LocalDate date, Integer durationMinutes, Boolean billable, String description) {}
+
+  private final ObjectMapper objectMapper;
+
+  TimeEntryImportReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  ParsedImport read(InputStream body, Format format) throws IOException {
+    var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    return switch (format) {
+      case CSV -> readCsv(reader);
+      case NDJSON -> readNdjson(reader);
+    };
+  }
+
+  private ParsedImport readCsv(BufferedReader reader) throws IOException {
+    var rows = new ArrayList<ImportRow>();
+    var errors = new ArrayList<TimeEntryController.EntryError>();
+
+    String headerLine = nextNonBlankLine(reader);
+    if (headerLine == null) {
+      throw new InvalidStateException("Empty import", "The import contains no rows");
+    }
+    var columns = headerColumns(headerLine);
+    Integer taskCol = columns.get("taskid");
+    Integer dateCol = columns.get("date");
+    Integer durationCol = columns.get("durationminutes");
+    Integer billableCol = columns.get("billable");
+    Integer descriptionCol = columns.get("description");
+    if (taskCol == null || dateCol == null || durationCol == null) {
+      throw new InvalidStateException(
+          "Invalid import header",
+          "The CSV header must name the taskId, date and durationMinutes columns");
+    }
+
+    int index = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      requireWithinLimit(index);
+      String[] fields = splitCsvLine(line);
+      UUID taskId = null;
+      try {
+        taskId = parseTaskId(field(fields, taskCol));
+        rows.add(
+            new ImportRow(
+                index,
+                taskId,
+                parseDate(field(fields, dateCol)),
+                parseDuration(field(fields, durationCol)),
+                parseBillable(billableCol != null ? field(fields, billableCol) : null),
+                emptyToNull(descriptionCol != null ? field(fields, descriptionCol) : null)));
+      } catch (IllegalArgumentException e) {
+        errors.add(new TimeEntryController.EntryError(index, taskId, e.getMessage()));
+      }
+      index++;
+    }
+    return new ParsedImport(rows, errors);
+  }
+
+  private ParsedImport readNdjson(BufferedReader reader) throws IOException {
+    var rows = new ArrayList<ImportRow>();
+    var errors = new ArrayList<TimeEntryController.EntryError>();
+
+    int index = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      requireWithinLimit(index);
+      try {
+        var parsed = objectMapper.readValue(line, NdjsonLine.class);
+        if (parsed.taskId() == null) {
+          throw new IllegalArgumentException("taskId is required");
+        }
+        if (parsed.date() == null) {
+          errors.add(
+              new TimeEntryController.EntryError(index, parsed.taskId(), "date is required"));
+        } else if (parsed.durationMinutes() == null || parsed.durationMinutes() <= 0) {
+          errors.add(
+              new TimeEntryController.EntryError(
+                  index, parsed.taskId(), "durationMinutes must be positive"));
+        } else {
+          rows.add(
+              new ImportRow(
+                  index,
+                  parsed.taskId(),
+                  parsed.date(),
+                  parsed.durationMinutes(),
+                  parsed.billable() == null || parsed.billable(),
+                  emptyToNull(parsed.description())));
+        }
+      } catch (JacksonException e) {
+        errors.add(new TimeEntryController.EntryError(index, null, "Malformed JSON line"));
+      } catch (IllegalArgumentException e) {
+        errors.add(new TimeEntryController.EntryError(index, null, e.getMessage()));
+      }
+      index++;
+    }
+    if (index == 0) {
+      throw new InvalidStateException("Empty import", "The import contains no rows");
+    }
+    return new ParsedImport(rows, errors);
+  }
+
+  private static void requireWithinLimit(int index) {
+    if (index >= MAX_IMPORT_ROWS) {
+      throw new InvalidStateException(
+          "Import too large", "An import may contain at most " + MAX_IMPORT_ROWS + " rows");
+    }
+  }
+
+  private static String nextNonBlankLine(BufferedReader reader) throws IOException {
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (!line.isBlank()) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  private static Map<String, Integer> headerColumns(String headerLine) {
+    // Strip a UTF-8 BOM left by spreadsheet exports
+    if (headerLine.startsWith("\uFEFF")) {
+      headerLine = headerLine.substring(1);
+    }
+    var columns = new HashMap<String, Integer>();
+    String[] names = splitCsvLine(headerLine);
+    for (int i = 0; i < names.length; i++) {
+      columns.putIfAbsent(names[i].strip().replace("_", "").toLowerCase(Locale.ROOT), i);
+    }
+    return columns;
+  }
+
+  private static String field(String[] fields, int column) {
+    return column < fields.length ? fields[column].strip() : "";
+  }
+
+  private static UUID parseTaskId(String value) {
+    if (value.isEmpty()) {
+      throw new IllegalArgumentException("taskId is required");
+    }
+    try {
+      return UUID.fromString(value);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("taskId is not a valid UUID");
+    }
+  }
+
+  private static LocalDate parseDate(String value) {
+    if (value.isEmpty()) {
+      throw new IllegalArgumentException("date is required");
+    }
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("date must be an ISO date (yyyy-MM-dd)");
+    }
+  }
+
+  private static int parseDuration(String value) {
+    int minutes;
+    try {
+      minutes = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("durationMinutes must be a whole number");
+    }
+    if (minutes <= 0) {
+      throw new IllegalArgumentException("durationMinutes must be positive");
+    }
+    return minutes;
+  }
+
+  private static boolean parseBillable(String value) {
+    if (value == null || value.isEmpty()) {
+      return true;
+    }
+    return switch (value.toLowerCase(Locale.ROOT)) {
+      case "true", "yes", "y", "1" -> true;
+      case "false", "no", "n", "0" -> false;
+      default -> throw new IllegalArgumentException("billable must be true or false");
+    };
+  }
+
+  private static String emptyToNull(String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  /** Splits a CSV line into fields, respecting quoted fields that may contain commas. */
+  private static String[] splitCsvLine(String line) {
+    List<String> fields = new ArrayList<>();
+    boolean inQuotes = false;
+    var current = new StringBuilder();
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          // Escaped quote ("") inside a quoted field — append a literal quote
+          current.append('"');
+          i++;
+        } else {
+          inQuotes = !inQuotes;
+        }
+      } else if (c == ',' && !inQuotes) {
+        fields.add(current.toString());
+        current = new StringBuilder();
+      } else {
+        current.append(c);
+      }
+    }
+    fields.add(current.toString());
+
+    return fields.toArray(new String[0]);
+  }
+}
@@ -0,0 +1,258 @@
+package io.b2mash.b2b.b2bstrawman.timeentry;
+
+import io.b2mash.b2b.b2bstrawman.audit.AuditEventBuilder;
+import io.b2mash.b2b.b2bstrawman.audit.AuditService;
+import io.b2mash.b2b.b2bstrawman.budget.BudgetCheckService;
+import io.b2mash.b2b.b2bstrawman.event.TimeEntryChangedEvent;
+import io.b2mash.b2b.b2bstrawman.member.MemberNameResolver;
+import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
+import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupListener;
+import io.b2mash.b2b.b2bstrawman.task.Task;
+import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.ErrorResponseException;
+
+/**
+ * Bulk time entry import for migrations and timesheet integrations. Unlike {@link
+ * TimeEntryBatchService}, which runs the full create path once per entry, the import validates in
+ * set-based passes — one task lookup per chunk of task ids, one access query, one lifecycle check
+ * per project and one rate card for every row — then persists all valid rows with {@link
+ * TimeEntryCopyWriter}.
+ *
+ * <p>Invalid rows are reported per row and skipped; valid rows are written in one transaction. Side
+ * effects are aggregated per project: one {@code time_entry.imported} audit event, one budget check
+ * and one {@link TimeEntryChangedEvent} carrying every affected date, so the rollup refreshes each
+ * {@code (project, day)} slice once. The event has no single entity id: its action is {@value
+ * #IMPORTED_ACTION}, so it does not fire {@code TIME_ENTRY_CREATED} automations, and it lists the
+ * new entry ids under {@value #ENTRY_IDS_DETAIL} for the portal retainer sync.
+ */
+@Service
+public class TimeEntryImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(TimeEntryImportService.class);
+
+  /** {@link TimeEntryChangedEvent#action()} of the per-project event an import publishes. */
+  public static final String IMPORTED_ACTION = "IMPORTED";
+
+  /** Event detail listing the ids of the entries imported into the event's project. */
+  public static final String ENTRY_IDS_DETAIL = "entry_ids";
+
+  /** Task ids per lookup, keeping the IN list well under the driver's bind parameter limit. */
+  private static final int TASK_LOOKUP_CHUNK = 1_000;
+
+  private final TimeEntryImportReader importReader;
+  private final TaskRepository taskRepository;
+  private final ProjectAccessService projectAccessService;
+  private final TimeEntryValidationService timeEntryValidationService;
+  private final RateSnapshotService rateSnapshotService;
+  private final TimeEntryCopyWriter timeEntryCopyWriter;
+  private final BudgetCheckService budgetCheckService;
+  private final MemberNameResolver memberNameResolver;
+  private final AuditService auditService;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  public TimeEntryImportService(
+      TimeEntryImportReader importReader,
+      TaskRepository taskRepository,
+      ProjectAccessService projectAccessService,
+      TimeEntryValidationService timeEntryValidationService,
+      RateSnapshotService rateSnapshotService,
+      TimeEntryCopyWriter timeEntryCopyWriter,
+      BudgetCheckService budgetCheckService,
+      MemberNameResolver memberNameResolver,
+      AuditService auditService,
+      ApplicationEventPublisher applicationEventPublisher,
+      TransactionTemplate transactionTemplate) {
+    this.importReader = importReader;
+    this.taskRepository = taskRepository;
+    this.projectAccessService = projectAccessService;
+    this.timeEntryValidationService = timeEntryValidationService;
+    this.rateSnapshotService = rateSnapshotService;
+    this.timeEntryCopyWriter = timeEntryCopyWriter;
+    this.budgetCheckService = budgetCheckService;
+    this.memberNameResolver = memberNameResolver;
+    this.auditService = auditService;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /** Entries imported into one project, for the per-project side effects. */
+  private static final class ProjectImport {
+    private final Set<LocalDate> dates = new TreeSet<>();
+    private final List<UUID> entryIds = new ArrayList<>();
+    private int entryCount;
+    private int durationMinutes;
+  }
+
+  public TimeEntryController.TimeEntryImportResult importEntries(
+      InputStream body, TimeEntryImportReader.Format format, ActorContext actor)
+      throws IOException {
+    var parsed = importReader.read(body, format);
+    var errors = new ArrayList<>(parsed.errors());
+
+    var actorName = memberNameResolver.resolveName(actor.memberId());
+    var tenantId = RequestScopes.getTenantIdOrNull();
+    var orgId = RequestScopes.getOrgIdOrNull();
+
+    int created =
+        transactionTemplate.execute(
+            status -> {
+              var rows = parsed.rows();
+
+              // Pass 1: every referenced task
+              var tasks = loadTasks(rows.stream().map(row -> row.taskId()).distinct().toList());
+
+              // Pass 2: access to every referenced project in one query
+              var projectIds = tasks.values().stream().map(Task::getProjectId).distinct().toList();
+              var viewable = projectAccessService.filterViewable(projectIds, actor);
+
+              // Pass 3: project and customer lifecycle, once per project
+              var rejectedProjects = new HashMap<UUID, String>();
+              for (var projectId : viewable) {
+                try {
+                  timeEntryValidationService.validateProjectAndCustomer(projectId);
+                } catch (ErrorResponseException e) {
+                  rejectedProjects.put(projectId, e.getBody().getDetail());
+                }
+              }
+
+              // Rates are resolved in memory against one rate card for the whole import
+              var rateCard = rateSnapshotService.rateCard();
+              var entries = new ArrayList<TimeEntry>(rows.size());
+              var entryProjects = new ArrayList<ProjectImport>(rows.size());
+              var byProject = new LinkedHashMap<UUID, ProjectImport>();
+              for (var row : rows) {
+                var task = tasks.get(row.taskId());
+                if (task == null) {
+                  errors.add(rowError(row, "No task found with id " + row.taskId()));
+                  continue;
+                }
+                var projectId = task.getProjectId();
+                if (!viewable.contains(projectId)) {
+                  // Matches requireViewAccess: inaccessible projects read as not found
+                  errors.add(rowError(row, "No project found with id " + projectId));
+                  continue;
+                }
+                var rejection = rejectedProjects.get(projectId);
+                if (rejection != null) {
+                  errors.add(rowError(row, rejection));
+                  continue;
+                }
+
+                var entry =
+                    new TimeEntry(
+                        row.taskId(),
+                        actor.memberId(),
+                        row.date(),
+                        row.durationMinutes(),
+                        row.billable(),
+                        null,
+                        row.description());
+                rateSnapshotService.snapshotRates(
+                    rateCard, entry, projectId, actor.memberId(), row.date(), row.billable());
+                entries.add(entry);
+
+                var projectImport = byProject.computeIfAbsent(projectId, id -> new ProjectImport());
+                entryProjects.add(projectImport);
+                projectImport.dates.add(row.date());
+                projectImport.entryCount++;
+                projectImport.durationMinutes += row.durationMinutes();
+              }
+
+              var entryIds = timeEntryCopyWriter.copy(entries);
+              for (int i = 0; i < entryIds.size(); i++) {
+                entryProjects.get(i).entryIds.add(entryIds.get(i));
+              }
+
+              byProject.forEach(
+                  (projectId, projectImport) -> {
+                    auditService.log(
+                        AuditEventBuilder.builder()
+                            .eventType("time_entry.imported")
+                            .entityType("project")
+                            .entityId(projectId)
+                            .details(
+                                Map.of(
+                                    "project_id", projectId.toString(),
+                                    "entry_count", projectImport.entryCount,
+                                    "duration_minutes", projectImport.durationMinutes))
+                            .build());
+                    budgetCheckService.checkAndAlert(
+                        projectId, actor.memberId(), actorName, tenantId, orgId);
+                    publishTimeEntryChangedEvent(projectId, projectImport, tenantId, orgId);
+                  });
+
+              return entries.size();
+            });
+
+    log.info(
+        "Imported {} time entries for member {} ({} rows rejected)",
+        created,
+        actor.memberId(),
+        errors.size());
+
+    errors.sort(Comparator.comparingInt(TimeEntryController.EntryError::index));
+    return new TimeEntryController.TimeEntryImportResult(
+        parsed.totalRows(), created, errors.size(), List.copyOf(errors));
+  }
+
+  private Map<UUID, Task> loadTasks(List<UUID> taskIds) {
+    var tasks = new HashMap<UUID, Task>();
+    for (int from = 0; from < taskIds.size(); from += TASK_LOOKUP_CHUNK) {
+      var chunk = taskIds.subList(from, Math.min(from + TASK_LOOKUP_CHUNK, taskIds.size()));
+      taskRepository.findAllById(chunk).forEach(task -> tasks.put(task.getId(), task));
+    }
+    return tasks;
+  }
+
+  private static TimeEntryController.EntryError rowError(
+      TimeEntryImportReader.ImportRow row, String message) {
+    return new TimeEntryController.EntryError(row.index(), row.taskId(), message);
+  }
+
+  private void publishTimeEntryChangedEvent(
+      UUID projectId, ProjectImport projectImport, String tenantId, String orgId) {
+    var memberId = RequestScopes.MEMBER_ID.isBound() ? RequestScopes.MEMBER_ID.get() : null;
+    applicationEventPublisher.publishEvent(
+        new TimeEntryChangedEvent(
+            "time_entry.changed",
+            "time_entry",
+            null,
+            projectId,
+            IMPORTED_ACTION,
+            memberId,
+            null,
+            tenantId,
+            orgId,
+            Instant.now(),
+            Map.of(
+                "project_id",
+                projectId.toString(),
+                "entry_count",
+                projectImport.entryCount,
+                TimeEntryRollupListener.ENTRY_DATES_DETAIL,
+                projectImport.dates.stream().map(LocalDate::toString).toList(),
+                ENTRY_IDS_DETAIL,
+                projectImport.entryIds.stream().map(UUID::toString).toList())));
+  }
+}
@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.timeentry;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -264,41 +265,59 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, UUID> {
       """)
   BudgetHoursProjection budgetHoursConsumed(@Param("projectId") UUID projectId);
 
+  /**
+   * All-time minutes logged per project, for many projects in one grouped query — the input of both
+   * budget consumption and hours logged on the dashboard project health list. Projects without time
+   * entries have no row.
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          """
+      SELECT t.project_id AS projectId, COALESCE(SUM(te.duration_minutes), 0) AS totalMinutes
+      FROM time_entries te
+      JOIN tasks t ON te.task_id = t.id
+      WHERE t.project_id IN (:projectIds)
+      GROUP BY t.project_id
+      """)
+  List<ProjectMinutesProjection> sumMinutesByProjectIds(
+      @Param("projectIds") Collection<UUID> projectIds);
+
   // --- Org-level aggregation queries (Epic 76A) ---
 
   /**
-   * Org-level hours summary for a date range. Returns total and billable minutes. Tenant isolation
-   * is provided by the dedicated schema (search_path).
+   * Org-level hours summary for a date range. Returns total and billable minutes. Reads the daily
+   * rollup ({@code time_entry_daily_rollups}) rather than the raw entries. Tenant isolation is
+   * provided by the dedicated schema (search_path).
    */
   @Query(
       nativeQuery = true,
       value =
           """
       SELECT
-          COALESCE(SUM(te.duration_minutes), 0) AS totalMinutes,
-          COALESCE(SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END), 0) AS billableMinutes
-      FROM time_entries te
-      JOIN tasks t ON te.task_id = t.id
-      WHERE te.date >= CAST(:fromDate AS DATE) AND te.date <= CAST(:toDate AS DATE)
+          CAST(COALESCE(SUM(r.minutes), 0) AS BIGINT) AS totalMinutes,
+          CAST(COALESCE(SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END), 0) AS BIGINT)
+              AS billableMinutes
+      FROM time_entry_daily_rollups r
+      WHERE r.entry_date >= CAST(:fromDate AS DATE) AND r.entry_date <= CAST(:toDate AS DATE)
       """)
   OrgHoursSummaryProjection findOrgHoursSummary(
       @Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
 
   /**
-   * Hours grouped by period for trend computation. Uses date_trunc for grouping. Tenant isolation
-   * is provided by the dedicated schema (search_path).
+   * Hours grouped by period for trend computation. Uses date_trunc for grouping over the daily
+   * rollup. Tenant isolation is provided by the dedicated schema (search_path).
    */
   @Query(
       nativeQuery = true,
       value =
           """
       SELECT
-          TO_CHAR(date_trunc(:granularity, te.date), :format) AS period,
-          COALESCE(SUM(te.duration_minutes), 0) AS totalMinutes,
-          date_trunc(:granularity, te.date) AS periodStart
-      FROM time_entries te
-      JOIN tasks t ON te.task_id = t.id
-      WHERE te.date >= CAST(:fromDate AS DATE) AND te.date <= CAST(:toDate AS DATE)
+          TO_CHAR(date_trunc(:granularity, r.entry_date), :format) AS period,
+          CAST(COALESCE(SUM(r.minutes), 0) AS BIGINT) AS totalMinutes,
+          date_trunc(:granularity, r.entry_date) AS periodStart
+      FROM time_entry_daily_rollups r
+      WHERE r.entry_date >= CAST(:fromDate AS DATE) AND r.entry_date <= CAST(:toDate AS DATE)
       GROUP BY periodStart, period
       ORDER BY periodStart
       """)
@@ -312,8 +331,8 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, UUID> {
 
   /**
    * Team workload query: aggregates hours per member per project for a date range. Returns flat
-   * rows to be post-processed (grouped by member, capped at 5 projects). Tenant isolation is
-   * provided by the dedicated schema (search_path).
+   * rows to be post-processed (grouped by member, capped at 5 projects). Reads the daily rollup.
+   * Tenant isolation is provided by the dedicated schema (search_path).
    */
   @Query(
       nativeQuery = true,
@@ -322,17 +341,17 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, UUID> {
       SELECT
           m.id AS memberId,
           m.name AS memberName,
-          t.project_id AS projectId,
+          r.project_id AS projectId,
           p.name AS projectName,
-          COALESCE(SUM(te.duration_minutes), 0) AS totalMinutes,
-          COALESCE(SUM(CASE WHEN te.billable THEN te.duration_minutes ELSE 0 END), 0) AS billableMinutes
-      FROM time_entries te
-      JOIN tasks t ON te.task_id = t.id
-      JOIN members m ON te.member_id = m.id
-      JOIN projects p ON t.project_id = p.id
-      WHERE te.date >= CAST(:fromDate AS DATE) AND te.date <= CAST(:toDate AS DATE)
-      GROUP BY m.id, m.name, t.project_id, p.name
-      ORDER BY SUM(te.duration_minutes) DESC
+          CAST(COALESCE(SUM(r.minutes), 0) AS BIGINT) AS totalMinutes,
+          CAST(COALESCE(SUM(CASE WHEN r.billable THEN r.minutes ELSE 0 END), 0) AS BIGINT)
+              AS billableMinutes
+      FROM time_entry_daily_rollups r
+      JOIN members m ON r.member_id = m.id
+      JOIN projects p ON r.project_id = p.id
+      WHERE r.entry_date >= CAST(:fromDate AS DATE) AND r.entry_date <= CAST(:toDate AS DATE)
+      GROUP BY m.id, m.name, r.project_id, p.name
+      ORDER BY SUM(r.minutes) DESC
       """)
   List<TeamWorkloadProjection> findTeamWorkload(
       @Param("fromDate") LocalDate from, @Param("toDate") LocalDate to);
@@ -349,13 +368,12 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, UUID> {
       value =
           """
       SELECT
-          TO_CHAR(date_trunc(:granularity, te.date), :format) AS period,
-          COALESCE(SUM(te.duration_minutes), 0) AS totalMinutes,
-          date_trunc(:granularity, te.date) AS periodStart
-      FROM time_entries te
-      JOIN tasks t ON te.task_id = t.id
-      WHERE te.member_id = CAST(:memberId AS UUID)
-        AND te.date >= CAST(:fromDate AS DATE) AND te.date <= CAST(:toDate AS DATE)
+          TO_CHAR(date_trunc(:granularity, r.entry_date), :format) AS period,
+          CAST(COALESCE(SUM(r.minutes), 0) AS BIGINT) AS totalMinutes,
+          date_trunc(:granularity, r.entry_date) AS periodStart
+      FROM time_entry_daily_rollups r
+      WHERE r.member_id = CAST(:memberId AS UUID)
+        AND r.entry_date >= CAST(:fromDate AS DATE) AND r.entry_date <= CAST(:toDate AS DATE)
       GROUP BY periodStart, period
       ORDER BY periodStart
       """)
@@ -12,14 +12,20 @@ import io.b2mash.b2b.b2bstrawman.member.MemberNameResolver;
 import io.b2mash.b2b.b2bstrawman.member.ProjectAccessService;
 import io.b2mash.b2b.b2bstrawman.multitenancy.ActorContext;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupListener;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +48,7 @@ public class TimeEntryService {
   private final TimeEntryValidationService timeEntryValidationService;
   private final RateSnapshotService rateSnapshotService;
   private final io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository invoiceRepository;
+  private final TimeEntryRollupService timeEntryRollupService;
 
   public TimeEntryService(
       TimeEntryRepository timeEntryRepository,
@@ -53,7 +60,8 @@ public class TimeEntryService {
       ApplicationEventPublisher applicationEventPublisher,
       TimeEntryValidationService timeEntryValidationService,
       RateSnapshotService rateSnapshotService,
-      io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository invoiceRepository) {
+      io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository invoiceRepository,
+      TimeEntryRollupService timeEntryRollupService) {
     this.timeEntryRepository = timeEntryRepository;
     this.taskRepository = taskRepository;
     this.projectAccessService = projectAccessService;
@@ -64,6 +72,7 @@ public class TimeEntryService {
     this.applicationEventPublisher = applicationEventPublisher;
     this.timeEntryValidationService = timeEntryValidationService;
     this.rateSnapshotService = rateSnapshotService;
+    this.timeEntryRollupService = timeEntryRollupService;
   }
 
   @Transactional
@@ -134,7 +143,7 @@ public class TimeEntryService {
     budgetCheckService.checkAndAlert(
         task.getProjectId(), actor.memberId(), actorName, tenantId, orgId);
 
-    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "CREATED");
+    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "CREATED", saved.getDate());
 
     return new CreateTimeEntryResult(saved, rateWarning);
   }
@@ -209,7 +218,7 @@ public class TimeEntryService {
     budgetCheckService.checkAndAlert(
         task.getProjectId(), actor.memberId(), actorName, tenantId, orgId);
 
-    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "UPDATED");
+    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "UPDATED", saved.getDate());
 
     return saved;
   }
@@ -357,7 +366,8 @@ public class TimeEntryService {
             .details(details)
             .build());
 
-    publishTimeEntryChangedEvent(entry.getId(), task.getProjectId(), "UPDATED");
+    publishTimeEntryChangedEvent(
+        entry.getId(), task.getProjectId(), "UPDATED", oldDate, entry.getDate());
 
     // Check budget thresholds if duration, date, or billable changed (affects budget consumption)
     boolean durationChanged = durationMinutes != null && oldDurationMinutes != durationMinutes;
@@ -408,7 +418,7 @@ public class TimeEntryService {
                     "project_id", task.getProjectId().toString()))
             .build());
 
-    publishTimeEntryChangedEvent(entry.getId(), task.getProjectId(), "DELETED");
+    publishTimeEntryChangedEvent(entry.getId(), task.getProjectId(), "DELETED", entry.getDate());
   }
 
   // --- Project time summary aggregation methods (Epic 46A) ---
@@ -447,6 +457,10 @@ public class TimeEntryService {
     int processed = 0;
     int updated = 0;
     int skipped = 0;
+    // Re-snapshots don't publish TimeEntryChangedEvent, so refresh the rollup slices directly
+    var changedDates = new HashMap<UUID, Set<LocalDate>>();
+    // One rate card for the whole run: no rate queries per entry
+    var rateCard = rateSnapshotService.rateCard();
 
     for (var entry : entries) {
       processed++;
@@ -464,7 +478,7 @@ public class TimeEntryService {
 
       var rates =
           rateSnapshotService.resolveRates(
-              entry.getMemberId(), task.getProjectId(), entry.getDate());
+              rateCard, entry.getMemberId(), task.getProjectId(), entry.getDate());
 
       boolean billingChanged =
           !bigDecimalEquals(entry.getBillingRateSnapshot(), rates.billingRate())
@@ -478,12 +492,17 @@ public class TimeEntryService {
         entry.snapshotCostRate(rates.costRate(), rates.costCurrency());
         entry.setUpdatedAt(Instant.now());
         timeEntryRepository.save(entry);
+        changedDates
+            .computeIfAbsent(task.getProjectId(), id -> new HashSet<>())
+            .add(entry.getDate());
         updated++;
       } else {
         skipped++;
       }
     }
 
+    timeEntryRollupService.refresh(changedDates);
+
     log.info(
         "Re-snapshot completed: processed={}, updated={}, skipped={}", processed, updated, skipped);
 
@@ -567,7 +586,7 @@ public class TimeEntryService {
             .details(details)
             .build());
 
-    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "UPDATED");
+    publishTimeEntryChangedEvent(saved.getId(), task.getProjectId(), "UPDATED", saved.getDate());
 
     return saved;
   }
@@ -582,7 +601,8 @@ public class TimeEntryService {
     return a.compareTo(b) == 0;
   }
 
-  private void publishTimeEntryChangedEvent(UUID timeEntryId, UUID projectId, String action) {
+  private void publishTimeEntryChangedEvent(
+      UUID timeEntryId, UUID projectId, String action, LocalDate... entryDates) {
     var memberId = RequestScopes.MEMBER_ID.isBound() ? RequestScopes.MEMBER_ID.get() : null;
     var tenantId = RequestScopes.getTenantIdOrNull();
     var orgId = RequestScopes.getOrgIdOrNull();
@@ -598,7 +618,11 @@ public class TimeEntryService {
             tenantId,
             orgId,
             Instant.now(),
-            Map.of("project_id", projectId.toString())));
+            Map.of(
+                "project_id",
+                projectId.toString(),
+                TimeEntryRollupListener.ENTRY_DATES_DETAIL,
+                Arrays.stream(entryDates).distinct().map(LocalDate::toString).toList())));
   }
 
   /**
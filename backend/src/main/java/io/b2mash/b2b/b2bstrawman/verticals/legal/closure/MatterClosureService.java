@@ -261,9 +261,9 @@ public class MatterClosureService {
     // 5. Audit. Include project_id in details (OBS-8801): although entity_type='project' /
     //    entity_id=projectId already identifies the matter, both activity feeds
     //    (AuditEventRepository.findByProjectId for the matter tab, findActivityFirmForCustomer for
-    //    the portal Firm-actions trail) scope on details->>'project_id'. Without it this
-    // client-safe
-    //    closure milestone is silently dropped from both feeds.
+    //    the portal Firm-actions trail) scope on the audit_events.project_id column, which
+    //    DatabaseAuditService fills from details.project_id. Without it this client-safe closure
+    //    milestone is silently dropped from both feeds.
     auditService.log(
         AuditEventBuilder.builder()
             .eventType("matter_closure.closed")
@@ -504,9 +504,9 @@ public class MatterClosureService {
 
     // Audit. Include project_id in details (OBS-8801): mirrors matter_closure.closed above.
     // Both activity feeds (AuditEventRepository.findByProjectId for the matter tab,
-    // findActivityFirmForCustomer for the portal Firm-actions trail) scope on
-    // details->>'project_id'. Without it this client-safe reopen milestone is silently dropped
-    // from both feeds.
+    // findActivityFirmForCustomer for the portal Firm-actions trail) scope on the
+    // audit_events.project_id column, which DatabaseAuditService fills from details.project_id.
+    // Without it this client-safe reopen milestone is silently dropped from both feeds.
     auditService.log(
         AuditEventBuilder.builder()
             .eventType("matter_closure.reopened")
@@ -3,8 +3,15 @@ package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.interest;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface InterestAllocationRepository extends JpaRepository<InterestAllocation, UUID> {
 
   List<InterestAllocation> findByInterestRunId(UUID interestRunId);
+
+  @Modifying
+  @Query("DELETE FROM InterestAllocation a WHERE a.interestRunId = :interestRunId")
+  void deleteByInterestRunId(@Param("interestRunId") UUID interestRunId);
 }
@@ -15,6 +15,7 @@ import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.investment.Trus
 import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.ledger.ClientLedgerCardRepository;
 import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.lpff.LpffRate;
 import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.lpff.LpffRateRepository;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction.ClientBalanceMovement;
 import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction.TrustTransaction;
 import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction.TrustTransactionRepository;
 import java.math.BigDecimal;
@@ -23,13 +24,14 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -205,158 +207,71 @@ public class InterestService {
     // Build rate segments
     var segments = buildRateSegments(periodStart, periodEnd, baseRate, midPeriodRates);
 
-    // Get all clients with ledger cards
-    var ledgerCards =
-        clientLedgerCardRepository
-            .findByTrustAccountId(accountId, PageRequest.of(0, 10_000))
-            .getContent();
+    // Only clients holding a ledger card earn interest (posting credits their card)
+    var ledgerCustomerIds =
+        new HashSet<>(clientLedgerCardRepository.findCustomerIdsByTrustAccountId(accountId));
 
-    // Remove any existing allocations from a previous calculation of this draft run
-    var existingAllocations = interestAllocationRepository.findByInterestRunId(runId);
-    if (!existingAllocations.isEmpty()) {
-      interestAllocationRepository.deleteAll(existingAllocations);
+    // Opening balances for every client at once, as of the day before the period
+    var openingBalances = new HashMap<UUID, BigDecimal>();
+    for (var balance :
+        trustTransactionRepository.calculateClientBalancesAsOfDate(
+            accountId, periodStart.minusDays(1))) {
+      openingBalances.put(balance.getCustomerId(), balance.getBalance());
     }
 
-    var totalInterest = BigDecimal.ZERO;
-    var totalLpffShare = BigDecimal.ZERO;
-    var totalClientShare = BigDecimal.ZERO;
-    var allocations = new ArrayList<InterestAllocation>();
+    var clientInstructedCustomerIds =
+        findClientInstructedCustomerIds(accountId, periodStart, periodEnd);
 
-    for (var ledgerCard : ledgerCards) {
-      var customerId = ledgerCard.getCustomerId();
-      var clientGrossInterest = BigDecimal.ZERO;
-      var clientLpffShareSum = BigDecimal.ZERO;
-      var clientTotalBalanceDays = BigDecimal.ZERO;
-
-      for (var segment : segments) {
-        var segStart = segment.startDate();
-        var segEnd = segment.endDate();
-        long segDays = ChronoUnit.DAYS.between(segStart, segEnd) + 1;
-
-        // Get opening balance at day before segment start
-        var openingBalance =
-            trustTransactionRepository.calculateClientBalanceAsOfDate(
-                customerId, accountId, segStart.minusDays(1));
-        if (openingBalance == null) {
-          openingBalance = BigDecimal.ZERO;
-        }
+    // Remove any existing allocations from a previous calculation of this draft run
+    interestAllocationRepository.deleteByInterestRunId(runId);
+
+    var calculation =
+        new AllocationCalculation(
+            runId,
+            segments,
+            daysInPeriod,
+            baseRate.getId(),
+            ledgerCustomerIds,
+            clientInstructedCustomerIds);
+    var allocations = new ArrayList<InterestAllocation>();
 
-        // Get transactions in segment
-        var transactions =
-            trustTransactionRepository.findForStatement(customerId, accountId, segStart, segEnd);
-
-        // Transaction-weighted balance-days calculation
-        var balanceDays = BigDecimal.ZERO;
-        var currentBalance = openingBalance;
-        var currentDate = segStart;
-
-        for (var txn : transactions) {
-          var txnDate = txn.getTransactionDate();
-          long daysBetween = ChronoUnit.DAYS.between(currentDate, txnDate);
-          balanceDays = balanceDays.add(currentBalance.multiply(BigDecimal.valueOf(daysBetween)));
-
-          // Apply transaction effect
-          if (CREDIT_TYPES.contains(txn.getTransactionType())) {
-            currentBalance = currentBalance.add(txn.getAmount());
-          } else if (DEBIT_TYPES.contains(txn.getTransactionType())) {
-            currentBalance = currentBalance.subtract(txn.getAmount());
-          } else {
-            log.warn(
-                "Unrecognized transaction type '{}' for transaction {} — ignored in interest balance calculation",
-                txn.getTransactionType(),
-                txn.getId());
+    // Single pass over the period's transactions: each client's movements arrive contiguously, so
+    // only one client's movements are held at a time
+    try (var movements =
+        trustTransactionRepository.streamClientMovements(accountId, periodStart, periodEnd)) {
+      UUID customerId = null;
+      var customerMovements = new ArrayList<ClientBalanceMovement>();
+      for (var iterator = movements.iterator(); iterator.hasNext(); ) {
+        var movement = iterator.next();
+        if (!movement.customerId().equals(customerId)) {
+          if (customerId != null) {
+            allocate(calculation, customerId, openingBalances, customerMovements, allocations);
           }
-
-          currentDate = txnDate;
+          customerId = movement.customerId();
+          customerMovements.clear();
         }
-
-        // Remaining days after last transaction
-        long remainingDays = ChronoUnit.DAYS.between(currentDate, segEnd) + 1;
-        balanceDays = balanceDays.add(currentBalance.multiply(BigDecimal.valueOf(remainingDays)));
-
-        clientTotalBalanceDays = clientTotalBalanceDays.add(balanceDays);
-
-        // Calculate interest for this segment
-        var avgDailyBalance =
-            balanceDays.divide(BigDecimal.valueOf(segDays), 2, RoundingMode.HALF_UP);
-        var segGross =
-            avgDailyBalance
-                .multiply(segment.ratePercent())
-                .multiply(BigDecimal.valueOf(segDays))
-                .divide(BigDecimal.valueOf(365), 10, RoundingMode.HALF_UP);
-        clientGrossInterest = clientGrossInterest.add(segGross);
-
-        // Compute LPFF share per-segment using the segment's own lpffSharePercent
-        var segLpffShare =
-            segGross
-                .setScale(2, RoundingMode.HALF_UP)
-                .multiply(segment.lpffSharePercent())
-                .setScale(2, RoundingMode.HALF_UP);
-        clientLpffShareSum = clientLpffShareSum.add(segLpffShare);
+        customerMovements.add(movement);
+      }
+      if (customerId != null) {
+        allocate(calculation, customerId, openingBalances, customerMovements, allocations);
       }
+    }
 
-      // Round gross interest
-      var grossInterest = clientGrossInterest.setScale(2, RoundingMode.HALF_UP);
-
-      if (BigDecimal.ZERO.compareTo(grossInterest) < 0) {
-        // Check if the client has CLIENT_INSTRUCTION investments for this trust account
-        var clientInvestments =
-            investmentRepository.findByTrustAccountIdAndCustomerId(accountId, customerId);
-        boolean hasClientInstructionInvestment =
-            clientInvestments.stream()
-                .anyMatch(
-                    inv ->
-                        inv.getInvestmentBasis() == InvestmentBasis.CLIENT_INSTRUCTION
-                            && !inv.getDepositDate().isAfter(periodEnd)
-                            && (inv.getWithdrawalDate() == null
-                                || !inv.getWithdrawalDate().isBefore(periodStart)));
-
-        // Determine LPFF share based on investment basis
-        UUID allocationLpffRateId;
-        boolean allocationStatutoryRateApplied;
-        BigDecimal lpffShare;
-
-        if (hasClientInstructionInvestment) {
-          // Section 86(5): statutory 5% LPFF share for client-instructed investments
-          lpffShare =
-              grossInterest
-                  .multiply(TrustAccountingConstants.STATUTORY_LPFF_SHARE_PERCENT)
-                  .setScale(2, RoundingMode.HALF_UP);
-          allocationLpffRateId = null;
-          allocationStatutoryRateApplied = true;
-        } else {
-          // General arrangement: use configured LpffRate table rate
-          lpffShare = clientLpffShareSum;
-          allocationLpffRateId = baseRate.getId();
-          allocationStatutoryRateApplied = false;
-        }
+    // Clients without movements in the period earn interest on their opening balance alone
+    for (var customerId : List.copyOf(openingBalances.keySet())) {
+      allocate(calculation, customerId, openingBalances, List.of(), allocations);
+    }
 
-        var clientShareAmount = grossInterest.subtract(lpffShare);
-
-        var avgDailyBalance =
-            clientTotalBalanceDays.divide(
-                BigDecimal.valueOf(daysInPeriod), 2, RoundingMode.HALF_UP);
-
-        var allocation =
-            new InterestAllocation(
-                runId,
-                customerId,
-                avgDailyBalance,
-                (int) daysInPeriod,
-                grossInterest,
-                lpffShare,
-                clientShareAmount,
-                allocationLpffRateId,
-                allocationStatutoryRateApplied);
-        allocations.add(allocation);
-
-        totalInterest = totalInterest.add(grossInterest);
-        totalLpffShare = totalLpffShare.add(lpffShare);
-        totalClientShare = totalClientShare.add(clientShareAmount);
-      }
+    var totalInterest = BigDecimal.ZERO;
+    var totalLpffShare = BigDecimal.ZERO;
+    var totalClientShare = BigDecimal.ZERO;
+    for (var allocation : allocations) {
+      totalInterest = totalInterest.add(allocation.getGrossInterest());
+      totalLpffShare = totalLpffShare.add(allocation.getLpffShare());
+      totalClientShare = totalClientShare.add(allocation.getClientShare());
     }
 
-    // Save allocations
+    // Save allocations (JDBC-batched by Hibernate)
     interestAllocationRepository.saveAll(allocations);
 
     // Update run totals
@@ -584,6 +499,154 @@ public class InterestService {
 
   // --- Private Helpers ---
 
+  /** What is fixed across the clients of one interest run calculation. */
+  private record AllocationCalculation(
+      UUID runId,
+      List<RateSegment> segments,
+      long daysInPeriod,
+      UUID baseRateId,
+      Set<UUID> ledgerCustomerIds,
+      Set<UUID> clientInstructedCustomerIds) {}
+
+  /**
+   * Computes the client's allocation from its opening balance (taken out of {@code
+   * openingBalances}) and its movements in the period, in posting order, and adds it to {@code
+   * allocations} if the client earned interest.
+   */
+  private void allocate(
+      AllocationCalculation calculation,
+      UUID customerId,
+      Map<UUID, BigDecimal> openingBalances,
+      List<ClientBalanceMovement> movements,
+      List<InterestAllocation> allocations) {
+    var openingBalance = openingBalances.remove(customerId);
+    if (!calculation.ledgerCustomerIds().contains(customerId)) {
+      return;
+    }
+
+    var clientGrossInterest = BigDecimal.ZERO;
+    var clientLpffShareSum = BigDecimal.ZERO;
+    var clientTotalBalanceDays = BigDecimal.ZERO;
+    var currentBalance = openingBalance != null ? openingBalance : BigDecimal.ZERO;
+    int next = 0;
+
+    for (var segment : calculation.segments()) {
+      var segStart = segment.startDate();
+      var segEnd = segment.endDate();
+      long segDays = ChronoUnit.DAYS.between(segStart, segEnd) + 1;
+
+      // Transaction-weighted balance-days calculation; segments are contiguous, so the balance
+      // carried over from the previous segment is this segment's opening balance
+      var balanceDays = BigDecimal.ZERO;
+      var currentDate = segStart;
+
+      while (next < movements.size() && !movements.get(next).transactionDate().isAfter(segEnd)) {
+        var txn = movements.get(next++);
+        var txnDate = txn.transactionDate();
+        long daysBetween = ChronoUnit.DAYS.between(currentDate, txnDate);
+        balanceDays = balanceDays.add(currentBalance.multiply(BigDecimal.valueOf(daysBetween)));
+
+        // Apply transaction effect
+        if (CREDIT_TYPES.contains(txn.transactionType())) {
+          currentBalance = currentBalance.add(txn.amount());
+        } else if (DEBIT_TYPES.contains(txn.transactionType())) {
+          currentBalance = currentBalance.subtract(txn.amount());
+        } else {
+          log.warn(
+              "Unrecognized transaction type '{}' for customer {} — ignored in interest balance calculation",
+              txn.transactionType(),
+              customerId);
+        }
+
+        currentDate = txnDate;
+      }
+
+      // Remaining days after last transaction
+      long remainingDays = ChronoUnit.DAYS.between(currentDate, segEnd) + 1;
+      balanceDays = balanceDays.add(currentBalance.multiply(BigDecimal.valueOf(remainingDays)));
+
+      clientTotalBalanceDays = clientTotalBalanceDays.add(balanceDays);
+
+      // Calculate interest for this segment
+      var avgDailyBalance =
+          balanceDays.divide(BigDecimal.valueOf(segDays), 2, RoundingMode.HALF_UP);
+      var segGross =
+          avgDailyBalance
+              .multiply(segment.ratePercent())
+              .multiply(BigDecimal.valueOf(segDays))
+              .divide(BigDecimal.valueOf(365), 10, RoundingMode.HALF_UP);
+      clientGrossInterest = clientGrossInterest.add(segGross);
+
+      // Compute LPFF share per-segment using the segment's own lpffSharePercent
+      var segLpffShare =
+          segGross
+              .setScale(2, RoundingMode.HALF_UP)
+              .multiply(segment.lpffSharePercent())
+              .setScale(2, RoundingMode.HALF_UP);
+      clientLpffShareSum = clientLpffShareSum.add(segLpffShare);
+    }
+
+    // Round gross interest
+    var grossInterest = clientGrossInterest.setScale(2, RoundingMode.HALF_UP);
+    if (BigDecimal.ZERO.compareTo(grossInterest) >= 0) {
+      return;
+    }
+
+    // Determine LPFF share based on investment basis
+    UUID allocationLpffRateId;
+    boolean allocationStatutoryRateApplied;
+    BigDecimal lpffShare;
+
+    if (calculation.clientInstructedCustomerIds().contains(customerId)) {
+      // Section 86(5): statutory 5% LPFF share for client-instructed investments
+      lpffShare =
+          grossInterest
+              .multiply(TrustAccountingConstants.STATUTORY_LPFF_SHARE_PERCENT)
+              .setScale(2, RoundingMode.HALF_UP);
+      allocationLpffRateId = null;
+      allocationStatutoryRateApplied = true;
+    } else {
+      // General arrangement: use configured LpffRate table rate
+      lpffShare = clientLpffShareSum;
+      allocationLpffRateId = calculation.baseRateId();
+      allocationStatutoryRateApplied = false;
+    }
+
+    var avgDailyBalance =
+        clientTotalBalanceDays.divide(
+            BigDecimal.valueOf(calculation.daysInPeriod()), 2, RoundingMode.HALF_UP);
+
+    allocations.add(
+        new InterestAllocation(
+            calculation.runId(),
+            customerId,
+            avgDailyBalance,
+            (int) calculation.daysInPeriod(),
+            grossInterest,
+            lpffShare,
+            grossInterest.subtract(lpffShare),
+            allocationLpffRateId,
+            allocationStatutoryRateApplied));
+  }
+
+  /**
+   * Customers with a CLIENT_INSTRUCTION investment on the trust account that was held at some
+   * point during the period.
+   */
+  private Set<UUID> findClientInstructedCustomerIds(
+      UUID accountId, LocalDate periodStart, LocalDate periodEnd) {
+    var customerIds = new HashSet<UUID>();
+    for (var inv :
+        investmentRepository.findByTrustAccountIdAndInvestmentBasis(
+            accountId, InvestmentBasis.CLIENT_INSTRUCTION)) {
+      if (!inv.getDepositDate().isAfter(periodEnd)
+          && (inv.getWithdrawalDate() == null || !inv.getWithdrawalDate().isBefore(periodStart))) {
+        customerIds.add(inv.getCustomerId());
+      }
+    }
+    return customerIds;
+  }
+
   private record RateSegment(
       LocalDate startDate,
       LocalDate endDate,
@@ -20,6 +20,9 @@ public interface TrustInvestmentRepository extends JpaRepository<TrustInvestment
 
   List<TrustInvestment> findByTrustAccountIdAndCustomerId(UUID trustAccountId, UUID customerId);
 
+  List<TrustInvestment> findByTrustAccountIdAndInvestmentBasis(
+      UUID trustAccountId, InvestmentBasis investmentBasis);
+
   List<TrustInvestment> findByStatusAndMaturityDateBetween(
       String status, LocalDate maturityStart, LocalDate maturityEnd);
 
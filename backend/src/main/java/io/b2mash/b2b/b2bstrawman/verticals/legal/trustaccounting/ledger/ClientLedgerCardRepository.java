@@ -2,6 +2,7 @@ package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.ledger;
 
 import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -24,6 +25,10 @@ public interface ClientLedgerCardRepository extends JpaRepository<ClientLedgerCa
 
   Page<ClientLedgerCard> findByTrustAccountId(UUID trustAccountId, Pageable pageable);
 
+  /** Customers holding a ledger card on the trust account. */
+  @Query("SELECT c.customerId FROM ClientLedgerCard c WHERE c.trustAccountId = :trustAccountId")
+  List<UUID> findCustomerIdsByTrustAccountId(@Param("trustAccountId") UUID trustAccountId);
+
   /** Sums the balance across all client ledger cards for a trust account. */
   @Query(
       "SELECT COALESCE(SUM(c.balance), 0) FROM ClientLedgerCard c WHERE c.trustAccountId = :trustAccountId")
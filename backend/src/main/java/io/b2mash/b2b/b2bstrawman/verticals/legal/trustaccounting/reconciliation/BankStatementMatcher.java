@@ -0,0 +1,243 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Auto-matching engine for bank statement reconciliation. Decides, for each unmatched statement
+ * line, which candidate trust transaction (if any) it matches, using the tiers of {@link
+ * TrustReconciliationService#autoMatchStatement}:
+ *
+ * <ol>
+ *   <li>exactly one candidate with the line's reference (case-insensitive) and amount — auto-match
+ *       at confidence 1.00;
+ *   <li>exactly one candidate with the line's amount and date — auto-match at the threshold;
+ *   <li>exactly one candidate with the line's amount within {@value #CLOSE_DATE_DAYS} days — a
+ *       suggestion at 0.60 that stays UNMATCHED for review;
+ *   <li>any candidate with the line's amount — confidence 0.40, no transaction.
+ * </ol>
+ *
+ * <p>Lines are matched in the order given, and an auto-matched candidate is no longer available to
+ * later lines — so a reference match can make a later amount/date match unique, exactly as in a
+ * line-by-line scan. Instead of scanning every candidate per line, candidates are indexed by
+ * reference and amount, by amount and date, and by amount with a date-ordered map for the window,
+ * making a statement O(lines + candidates). Credit lines only match credit-type transactions and
+ * debit lines only debit-type ones, so the two sides are independent and large statements match
+ * them in parallel.
+ *
+ * <p>Ambiguous tiers stay unmatched rather than being resolved by an assignment that maximises the
+ * match count: two candidates with the same amount and date usually belong to different clients'
+ * ledgers, and picking one would post the bank line against a client on a coin flip.
+ *
+ * <p>Pure and stateless: works on snapshots of lines and candidates and returns decisions for the
+ * caller to apply.
+ */
+final class BankStatementMatcher {
+
+  static final BigDecimal REFERENCE_CONFIDENCE = new BigDecimal("1.00");
+  static final BigDecimal AUTO_MATCH_THRESHOLD = new BigDecimal("0.80");
+  static final BigDecimal CLOSE_DATE_CONFIDENCE = new BigDecimal("0.60");
+  static final BigDecimal AMOUNT_ONLY_CONFIDENCE = new BigDecimal("0.40");
+
+  private static final int CLOSE_DATE_DAYS = 3;
+
+  /** Below this many lines the two sides are matched on the calling thread. */
+  private static final int PARALLEL_THRESHOLD = 2_000;
+
+  private final Predicate<String> isCreditType;
+  private final Predicate<String> isDebitType;
+
+  /**
+   * @param isCreditType transaction types a credit (positive) line may match
+   * @param isDebitType transaction types a debit (zero or negative) line may match
+   */
+  BankStatementMatcher(Predicate<String> isCreditType, Predicate<String> isDebitType) {
+    this.isCreditType = isCreditType;
+    this.isDebitType = isDebitType;
+  }
+
+  /** An unmatched statement line. */
+  record Line(UUID id, BigDecimal amount, LocalDate date, String reference) {}
+
+  /** An unmatched candidate transaction; {@code amount} is positive. */
+  record Candidate(
+      UUID id, String transactionType, BigDecimal amount, LocalDate date, String reference) {}
+
+  /** What to record on a line. {@code transactionId} is null for {@link Outcome#AMOUNT_ONLY}. */
+  record Decision(UUID lineId, Outcome outcome, UUID transactionId, BigDecimal confidence) {}
+
+  enum Outcome {
+    /** Line and transaction are linked, line becomes AUTO_MATCHED. */
+    AUTO_MATCHED,
+    /** Transaction is suggested on the line, which stays UNMATCHED. */
+    SUGGESTED,
+    /** Only the confidence is recorded on the line. */
+    AMOUNT_ONLY
+  }
+
+  /** Decisions for {@code lines} (in their order), each candidate auto-matched at most once. */
+  List<Decision> match(List<Line> lines, List<Candidate> candidates) {
+    var creditLines = new ArrayList<Line>();
+    var debitLines = new ArrayList<Line>();
+    for (var line : lines) {
+      (line.amount().signum() > 0 ? creditLines : debitLines).add(line);
+    }
+    var creditSide = new Side(creditLines, candidates, isCreditType);
+    var debitSide = new Side(debitLines, candidates, isDebitType);
+
+    var sides = Stream.of(creditSide, debitSide);
+    if (lines.size() >= PARALLEL_THRESHOLD) {
+      sides = sides.parallel();
+    }
+    return sides.flatMap(side -> side.match().stream()).toList();
+  }
+
+  /** One sign's lines with the candidates they may match. */
+  private static final class Side {
+
+    private final List<Line> lines;
+    private final Map<RefAmountKey, Set<Candidate>> byReferenceAndAmount = new HashMap<>();
+    private final Map<AmountDateKey, Set<Candidate>> byAmountAndDate = new HashMap<>();
+    private final Map<BigDecimal, NavigableMap<LocalDate, Set<Candidate>>> byAmount =
+        new HashMap<>();
+
+    private Side(List<Line> lines, List<Candidate> candidates, Predicate<String> matchesType) {
+      this.lines = lines;
+      for (var candidate : candidates) {
+        if (matchesType.test(candidate.transactionType())) {
+          index(candidate);
+        }
+      }
+    }
+
+    private List<Decision> match() {
+      var decisions = new ArrayList<Decision>();
+      for (var line : lines) {
+        var decision = decide(line);
+        if (decision != null) {
+          decisions.add(decision);
+        }
+      }
+      return decisions;
+    }
+
+    private Decision decide(Line line) {
+      BigDecimal amount = amountKey(line.amount().abs());
+      var sameAmount = byAmount.get(amount);
+      if (sameAmount == null) {
+        return null;
+      }
+
+      if (line.reference() != null && !line.reference().isBlank()) {
+        var byReference =
+            byReferenceAndAmount.get(new RefAmountKey(foldCase(line.reference()), amount));
+        if (byReference != null && byReference.size() == 1) {
+          return autoMatch(line, byReference.iterator().next(), REFERENCE_CONFIDENCE);
+        }
+      }
+
+      var sameDate = byAmountAndDate.get(new AmountDateKey(amount, line.date()));
+      if (sameDate != null && sameDate.size() == 1) {
+        return autoMatch(line, sameDate.iterator().next(), AUTO_MATCH_THRESHOLD);
+      }
+
+      Candidate closeDate = null;
+      int closeDateCount = 0;
+      for (var candidatesOnDate :
+          sameAmount
+              .subMap(
+                  line.date().minusDays(CLOSE_DATE_DAYS),
+                  true,
+                  line.date().plusDays(CLOSE_DATE_DAYS),
+                  true)
+              .values()) {
+        closeDateCount += candidatesOnDate.size();
+        if (closeDateCount > 1) {
+          break;
+        }
+        closeDate = candidatesOnDate.iterator().next();
+      }
+      if (closeDateCount == 1) {
+        return new Decision(line.id(), Outcome.SUGGESTED, closeDate.id(), CLOSE_DATE_CONFIDENCE);
+      }
+
+      return new Decision(line.id(), Outcome.AMOUNT_ONLY, null, AMOUNT_ONLY_CONFIDENCE);
+    }
+
+    private Decision autoMatch(Line line, Candidate candidate, BigDecimal confidence) {
+      unindex(candidate);
+      return new Decision(line.id(), Outcome.AUTO_MATCHED, candidate.id(), confidence);
+    }
+
+    private void index(Candidate candidate) {
+      BigDecimal amount = amountKey(candidate.amount());
+      if (candidate.reference() != null) {
+        byReferenceAndAmount
+            .computeIfAbsent(
+                new RefAmountKey(foldCase(candidate.reference()), amount),
+                k -> new LinkedHashSet<>())
+            .add(candidate);
+      }
+      byAmountAndDate
+          .computeIfAbsent(new AmountDateKey(amount, candidate.date()), k -> new LinkedHashSet<>())
+          .add(candidate);
+      byAmount
+          .computeIfAbsent(amount, k -> new TreeMap<>())
+          .computeIfAbsent(candidate.date(), k -> new LinkedHashSet<>())
+          .add(candidate);
+    }
+
+    private void unindex(Candidate candidate) {
+      BigDecimal amount = amountKey(candidate.amount());
+      if (candidate.reference() != null) {
+        removeFrom(
+            byReferenceAndAmount,
+            new RefAmountKey(foldCase(candidate.reference()), amount),
+            candidate);
+      }
+      removeFrom(byAmountAndDate, new AmountDateKey(amount, candidate.date()), candidate);
+      var sameAmount = byAmount.get(amount);
+      removeFrom(sameAmount, candidate.date(), candidate);
+      if (sameAmount.isEmpty()) {
+        byAmount.remove(amount);
+      }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Candidate>> index, K key, Candidate candidate) {
+      var candidates = index.get(key);
+      candidates.remove(candidate);
+      if (candidates.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  /** Amounts equal by {@code compareTo} (1.5 and 1.50) map to the same key. */
+  private static BigDecimal amountKey(BigDecimal amount) {
+    return amount.stripTrailingZeros();
+  }
+
+  /** Keys references so that equal keys means {@link String#equalsIgnoreCase}. */
+  private static String foldCase(String reference) {
+    var folded = new StringBuilder(reference.length());
+    reference
+        .codePoints()
+        .forEach(cp -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+    return folded.toString();
+  }
+
+  private record RefAmountKey(String reference, BigDecimal amount) {}
+
+  private record AmountDateKey(BigDecimal amount, LocalDate date) {}
+}
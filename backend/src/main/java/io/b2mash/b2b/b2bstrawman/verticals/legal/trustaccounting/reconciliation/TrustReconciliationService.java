@@ -28,10 +28,13 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,7 +44,6 @@ import org.springframework.web.multipart.MultipartFile;
 public class TrustReconciliationService {
 
   private static final String MODULE_ID = "trust_accounting";
-  private static final BigDecimal AUTO_MATCH_THRESHOLD = new BigDecimal("0.80");
 
   // Note: TRANSFER_IN appears in CREDIT_TYPES because from the bank statement's perspective,
   // an inter-account transfer creates a credit on the receiving account. Transfer transactions
@@ -62,6 +64,8 @@ public class TrustReconciliationService {
   private final VerticalModuleGuard moduleGuard;
   private final AuditService auditService;
   private final List<BankStatementParser> parsers;
+  private final BankStatementMatcher matcher =
+      new BankStatementMatcher(CREDIT_TYPES::contains, DEBIT_TYPES::contains);
 
   public TrustReconciliationService(
       BankStatementRepository bankStatementRepository,
@@ -272,54 +276,70 @@ public class TrustReconciliationService {
             .findById(statementId)
             .orElseThrow(() -> new ResourceNotFoundException("BankStatement", statementId));
 
-    // Build candidate pool: APPROVED/RECORDED transactions, unmatched, within date range
+    // Candidate pool: APPROVED/RECORDED transactions, unmatched, within date range. Locked for the
+    // rest of the transaction so a concurrent manualMatch cannot claim a transaction this run
+    // matches; it waits, then sees the transaction as matched.
     LocalDate startDate = statement.getPeriodStart().minusDays(7);
     LocalDate endDate = statement.getPeriodEnd().plusDays(7);
-    // Wrap in ArrayList so removeIf() doesn't mutate the JPA-managed result list
-    List<TrustTransaction> candidatePool =
-        new java.util.ArrayList<>(
-            trustTransactionRepository.findUnmatchedCandidates(
-                statement.getTrustAccountId(), startDate, endDate));
+    Map<UUID, TrustTransaction> candidatesById =
+        trustTransactionRepository
+            .findUnmatchedCandidatesForUpdate(statement.getTrustAccountId(), startDate, endDate)
+            .stream()
+            .collect(Collectors.toMap(TrustTransaction::getId, Function.identity()));
 
     // Get all UNMATCHED lines for this statement (deterministic order for reproducible matching)
     List<BankStatementLine> unmatchedLines =
         bankStatementLineRepository
             .findByBankStatementIdAndMatchStatusOrderByTransactionDateAscIdAsc(
                 statementId, "UNMATCHED");
+    Map<UUID, BankStatementLine> linesById =
+        unmatchedLines.stream()
+            .collect(Collectors.toMap(BankStatementLine::getId, Function.identity()));
+
+    List<BankStatementMatcher.Decision> decisions =
+        matcher.match(
+            unmatchedLines.stream()
+                .map(
+                    l ->
+                        new BankStatementMatcher.Line(
+                            l.getId(), l.getAmount(), l.getTransactionDate(), l.getReference()))
+                .toList(),
+            candidatesById.values().stream()
+                .map(
+                    t ->
+                        new BankStatementMatcher.Candidate(
+                            t.getId(),
+                            t.getTransactionType(),
+                            t.getAmount(),
+                            t.getTransactionDate(),
+                            t.getReference()))
+                .toList());
 
     int autoMatched = 0;
     int alreadyMatched = statement.getMatchedCount();
-
-    for (BankStatementLine line : unmatchedLines) {
-      // Filter candidates by sign compatibility
-      List<TrustTransaction> signFilteredCandidates =
-          candidatePool.stream().filter(c -> isSignCompatible(line, c)).toList();
-
-      if (signFilteredCandidates.isEmpty()) {
-        continue;
-      }
-
-      // Try matching strategies in priority order
-      if (tryExactReferenceMatch(line, signFilteredCandidates, statement)) {
-        autoMatched++;
-        // Remove matched transaction from candidate pool
-        candidatePool.removeIf(c -> c.getId().equals(line.getTrustTransactionId()));
-        continue;
-      }
-
-      if (tryAmountExactDateMatch(line, signFilteredCandidates, statement)) {
-        autoMatched++;
-        candidatePool.removeIf(c -> c.getId().equals(line.getTrustTransactionId()));
-        continue;
-      }
-
-      if (tryAmountCloseDateMatch(line, signFilteredCandidates)) {
-        // Confidence 0.60 -- below threshold, remains UNMATCHED
-        continue;
+    var matchedTransactions = new ArrayList<TrustTransaction>();
+
+    for (var decision : decisions) {
+      var line = linesById.get(decision.lineId());
+      line.setMatchConfidence(decision.confidence());
+      switch (decision.outcome()) {
+        case AUTO_MATCHED -> {
+          var transaction = candidatesById.get(decision.transactionId());
+          line.setMatchStatus("AUTO_MATCHED");
+          line.setTrustTransactionId(transaction.getId());
+          transaction.setBankStatementLineId(line.getId());
+          matchedTransactions.add(transaction);
+          autoMatched++;
+        }
+        // Below auto-match threshold -- suggest the transaction, but remain UNMATCHED so the
+        // user can review and manually confirm the match.
+        case SUGGESTED -> line.setTrustTransactionId(decision.transactionId());
+        case AMOUNT_ONLY -> {}
       }
-
-      tryAmountOnlyMatch(line, signFilteredCandidates);
     }
+    bankStatementLineRepository.saveAll(
+        decisions.stream().map(d -> linesById.get(d.lineId())).toList());
+    trustTransactionRepository.saveAll(matchedTransactions);
 
     // Persist updated matchedCount
     statement.setMatchedCount(alreadyMatched + autoMatched);
@@ -758,114 +778,6 @@ public class TrustReconciliationService {
     }
   }
 
-  private boolean tryExactReferenceMatch(
-      BankStatementLine line, List<TrustTransaction> candidates, BankStatement statement) {
-    if (line.getReference() == null || line.getReference().isBlank()) {
-      return false;
-    }
-
-    List<TrustTransaction> refMatches =
-        candidates.stream()
-            .filter(
-                c ->
-                    c.getReference() != null
-                        && c.getReference().equalsIgnoreCase(line.getReference())
-                        && c.getAmount().compareTo(line.getAmount().abs()) == 0)
-            .toList();
-
-    if (refMatches.size() == 1) {
-      applyAutoMatch(line, refMatches.getFirst(), new BigDecimal("1.00"), statement);
-      return true;
-    }
-    return false;
-  }
-
-  private boolean tryAmountExactDateMatch(
-      BankStatementLine line, List<TrustTransaction> candidates, BankStatement statement) {
-    BigDecimal lineAmount = line.getAmount().abs();
-
-    List<TrustTransaction> matches =
-        candidates.stream()
-            .filter(
-                c ->
-                    c.getAmount().compareTo(lineAmount) == 0
-                        && c.getTransactionDate().equals(line.getTransactionDate()))
-            .toList();
-
-    if (matches.size() == 1) {
-      applyAutoMatch(line, matches.getFirst(), AUTO_MATCH_THRESHOLD, statement);
-      return true;
-    }
-    return false;
-  }
-
-  private boolean tryAmountCloseDateMatch(
-      BankStatementLine line, List<TrustTransaction> candidates) {
-    BigDecimal lineAmount = line.getAmount().abs();
-    LocalDate lineDate = line.getTransactionDate();
-
-    List<TrustTransaction> matches =
-        candidates.stream()
-            .filter(
-                c -> {
-                  if (c.getAmount().compareTo(lineAmount) != 0) return false;
-                  long daysDiff =
-                      Math.abs(lineDate.toEpochDay() - c.getTransactionDate().toEpochDay());
-                  return daysDiff <= 3;
-                })
-            .toList();
-
-    if (matches.size() == 1) {
-      // Below auto-match threshold -- set confidence and suggest the transaction, but remain
-      // UNMATCHED so the user can review and manually confirm the match.
-      line.setMatchConfidence(new BigDecimal("0.60"));
-      line.setTrustTransactionId(matches.getFirst().getId());
-      bankStatementLineRepository.save(line);
-      return true;
-    }
-    return false;
-  }
-
-  private void tryAmountOnlyMatch(BankStatementLine line, List<TrustTransaction> candidates) {
-    BigDecimal lineAmount = line.getAmount().abs();
-
-    List<TrustTransaction> matches =
-        candidates.stream().filter(c -> c.getAmount().compareTo(lineAmount) == 0).toList();
-
-    if (!matches.isEmpty()) {
-      line.setMatchConfidence(new BigDecimal("0.40"));
-      bankStatementLineRepository.save(line);
-    }
-  }
-
-  private void applyAutoMatch(
-      BankStatementLine line,
-      TrustTransaction transaction,
-      BigDecimal confidence,
-      BankStatement statement) {
-    // Re-fetch with pessimistic write lock to prevent concurrent match claims.
-    // While auto-match on the same statement is inherently sequential (one transaction per loop
-    // iteration), this guards against a concurrent manualMatch claiming the same transaction.
-    var locked =
-        trustTransactionRepository
-            .findByIdForUpdate(transaction.getId())
-            .orElseThrow(
-                () -> new ResourceNotFoundException("TrustTransaction", transaction.getId()));
-
-    // Double-check the transaction hasn't been claimed since we built the candidate pool
-    if (locked.getBankStatementLineId() != null) {
-      return; // Already claimed by a concurrent operation — skip silently
-    }
-
-    line.setMatchStatus("AUTO_MATCHED");
-    line.setTrustTransactionId(locked.getId());
-    line.setMatchConfidence(confidence);
-    bankStatementLineRepository.save(line);
-
-    locked.setBankStatementLineId(line.getId());
-    trustTransactionRepository.save(locked);
-  }
-
   // --- Private Helpers ---
 
   private String readFirstLine(byte[] fileBytes) {
@@ -0,0 +1,12 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** A customer's trust balance on one trust account as of a date. */
+public interface ClientBalance {
+
+  UUID getCustomerId();
+
+  BigDecimal getBalance();
+}
@@ -0,0 +1,12 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The balance-relevant columns of a customer's trust transaction — what balance-over-time
+ * calculations need, without loading the entity.
+ */
+public record ClientBalanceMovement(
+    UUID customerId, LocalDate transactionDate, String transactionType, BigDecimal amount) {}
@@ -0,0 +1,173 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
+
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobEnqueuer;
+import io.b2mash.b2b.b2bstrawman.verticals.VerticalModuleGuard;
+import jakarta.persistence.EntityManager;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Daily proof that the monthly trust balance checkpoints ({@code trust_cashbook_balance_months},
+ * {@code trust_client_balance_months}, {@code trust_matter_balance_months}, maintained by a trigger
+ * on {@code trust_transactions}) equal a full re-sum of the ledger. The balance queries in {@link
+ * TrustTransactionRepository} read the checkpoints, so a disagreement would misstate balances.
+ *
+ * <p>The comparison runs in one REPEATABLE READ snapshot, in which checkpoints and transactions are
+ * always mutually consistent (the trigger writes in the posting's own transaction), so concurrent
+ * postings cannot produce false alarms. A tenant that disagrees is logged at ERROR and rebuilt from
+ * the ledger while writers are held off with a SHARE lock on {@code trust_transactions}.
+ */
+@Component
+public class TrustBalanceCheckpointVerifier {
+
+  private static final Logger log = LoggerFactory.getLogger(TrustBalanceCheckpointVerifier.class);
+  private static final String MODULE_ID = "trust_accounting";
+
+  private static final String POSTED = "status IN ('RECORDED', 'APPROVED')";
+  private static final String MONTH = "CAST(date_trunc('month', transaction_date) AS date)";
+
+  /** Cashbook sign rules: TRANSFER_IN / TRANSFER_OUT stay within the account. */
+  private static final String CASHBOOK_AMOUNT =
+      """
+      CASE
+        WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount
+        WHEN transaction_type IN ('PAYMENT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -amount
+        ELSE 0
+      END""";
+
+  /** Client and matter sign rules. */
+  private static final String CLIENT_AMOUNT =
+      """
+      CASE
+        WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN amount
+        WHEN transaction_type IN ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -amount
+        ELSE 0
+      END""";
+
+  private static final String CASHBOOK_RESUM =
+      """
+      SELECT trust_account_id, %s AS month, SUM(%s) AS net_amount
+      FROM trust_transactions
+      WHERE %s
+      GROUP BY 1, 2"""
+          .formatted(MONTH, CASHBOOK_AMOUNT, POSTED);
+
+  private static final String CLIENT_RESUM =
+      """
+      SELECT trust_account_id, customer_id, %s AS month, SUM(%s) AS net_amount
+      FROM trust_transactions
+      WHERE %s AND customer_id IS NOT NULL
+      GROUP BY 1, 2, 3"""
+          .formatted(MONTH, CLIENT_AMOUNT, POSTED);
+
+  private static final String MATTER_RESUM =
+      """
+      SELECT project_id, %s AS month, SUM(%s) AS net_amount
+      FROM trust_transactions
+      WHERE %s AND project_id IS NOT NULL
+      GROUP BY 1, 2"""
+          .formatted(MONTH, CLIENT_AMOUNT, POSTED);
+
+  /** Checkpoint rows that differ from the re-sum; a missing row on either side counts as zero. */
+  private static final String COUNT_MISMATCHES =
+      """
+      SELECT
+        (SELECT COUNT(*)
+         FROM trust_cashbook_balance_months m
+         FULL JOIN (%s) l ON l.trust_account_id = m.trust_account_id AND l.month = m.month
+         WHERE COALESCE(m.net_amount, 0) <> COALESCE(l.net_amount, 0))
+        + (SELECT COUNT(*)
+           FROM trust_client_balance_months m
+           FULL JOIN (%s) l
+             ON l.trust_account_id = m.trust_account_id
+            AND l.customer_id = m.customer_id
+            AND l.month = m.month
+           WHERE COALESCE(m.net_amount, 0) <> COALESCE(l.net_amount, 0))
+        + (SELECT COUNT(*)
+           FROM trust_matter_balance_months m
+           FULL JOIN (%s) l ON l.project_id = m.project_id AND l.month = m.month
+           WHERE COALESCE(m.net_amount, 0) <> COALESCE(l.net_amount, 0))
+      """
+          .formatted(CASHBOOK_RESUM, CLIENT_RESUM, MATTER_RESUM);
+
+  private final EntityManager entityManager;
+  private final VerticalModuleGuard moduleGuard;
+  private final JobEnqueuer jobEnqueuer;
+  private final TransactionTemplate snapshotTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public TrustBalanceCheckpointVerifier(
+      EntityManager entityManager,
+      VerticalModuleGuard moduleGuard,
+      JobEnqueuer jobEnqueuer,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.moduleGuard = moduleGuard;
+    this.jobEnqueuer = jobEnqueuer;
+    this.snapshotTemplate = new TransactionTemplate(transactionManager);
+    this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.snapshotTemplate.setReadOnly(true);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @SchedulerLock(name = "trust_balance_verification_execute", lockAtLeastFor = "5m")
+  @Scheduled(cron = "${trust.balance-verification.cron:0 30 3 * * *}")
+  public void execute() {
+    log.debug("Trust balance checkpoint verification started");
+    jobEnqueuer.fanOutToAllTenants("trust_balance_verification", null);
+  }
+
+  /**
+   * Verifies the current tenant's checkpoints, rebuilding them if they disagree with the ledger.
+   *
+   * @return the number of checkpoint rows that disagreed (0 when consistent or module disabled)
+   */
+  int processTenant() {
+    Boolean enabled = transactionTemplate.execute(tx -> moduleGuard.isModuleEnabled(MODULE_ID));
+    if (!Boolean.TRUE.equals(enabled)) {
+      return 0;
+    }
+
+    Number mismatches =
+        snapshotTemplate.execute(
+            tx -> (Number) entityManager.createNativeQuery(COUNT_MISMATCHES).getSingleResult());
+    int count = mismatches != null ? mismatches.intValue() : 0;
+    if (count > 0) {
+      log.error(
+          "Trust balance checkpoints disagree with the ledger in {} rows; rebuilding from the"
+              + " ledger",
+          count);
+      transactionTemplate.executeWithoutResult(tx -> rebuild());
+    }
+    return count;
+  }
+
+  private void rebuild() {
+    entityManager.createNativeQuery("LOCK TABLE trust_transactions IN SHARE MODE").executeUpdate();
+    entityManager.createNativeQuery("DELETE FROM trust_cashbook_balance_months").executeUpdate();
+    entityManager.createNativeQuery("DELETE FROM trust_client_balance_months").executeUpdate();
+    entityManager.createNativeQuery("DELETE FROM trust_matter_balance_months").executeUpdate();
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO trust_cashbook_balance_months (trust_account_id, month, net_amount) "
+                + CASHBOOK_RESUM)
+        .executeUpdate();
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO trust_client_balance_months"
+                + " (trust_account_id, customer_id, month, net_amount) "
+                + CLIENT_RESUM)
+        .executeUpdate();
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO trust_matter_balance_months (project_id, month, net_amount) "
+                + MATTER_RESUM)
+        .executeUpdate();
+  }
+}
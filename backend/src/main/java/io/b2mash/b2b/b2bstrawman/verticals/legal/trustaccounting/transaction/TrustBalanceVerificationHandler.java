@@ -0,0 +1,30 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandler;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job handler for verifying a single tenant's trust balance checkpoints. Delegates to {@link
+ * TrustBalanceCheckpointVerifier#processTenant()}, which logs and rebuilds on disagreement.
+ */
+@Component
+public class TrustBalanceVerificationHandler implements JobHandler {
+
+  private final TrustBalanceCheckpointVerifier verifier;
+
+  public TrustBalanceVerificationHandler(TrustBalanceCheckpointVerifier verifier) {
+    this.verifier = verifier;
+  }
+
+  @Override
+  public String jobType() {
+    return "trust_balance_verification";
+  }
+
+  @Override
+  public void execute(@Nullable JsonNode payload) {
+    verifier.processTenant();
+  }
+}
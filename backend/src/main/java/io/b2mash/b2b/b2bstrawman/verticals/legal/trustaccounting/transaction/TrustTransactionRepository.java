@@ -1,16 +1,20 @@
 package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface TrustTransactionRepository extends JpaRepository<TrustTransaction, UUID> {
@@ -79,20 +83,18 @@ public interface TrustTransactionRepository extends JpaRepository<TrustTransacti
    * TRANSFER_OUT. REVERSAL is excluded — debit reversals are already reflected in the client ledger
    * card balances (updated inline), and credit reversals only affect balances when approved (Epic
    * 441 scope).
+   *
+   * <p>Sums the account's monthly checkpoints ({@code trust_cashbook_balance_months}, maintained by
+   * a trigger on {@code trust_transactions} with these sign rules) rather than every transaction.
    */
   @Query(
-      """
-      SELECT COALESCE(SUM(
-        CASE
-          WHEN t.transactionType IN ('DEPOSIT', 'INTEREST_CREDIT') THEN t.amount
-          WHEN t.transactionType IN ('PAYMENT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -t.amount
-          ELSE 0
-        END
-      ), 0)
-      FROM TrustTransaction t
-      WHERE t.trustAccountId = :trustAccountId
-        AND t.status IN ('RECORDED', 'APPROVED')
-      """)
+      nativeQuery = true,
+      value =
+          """
+          SELECT COALESCE(SUM(m.net_amount), 0)
+          FROM trust_cashbook_balance_months m
+          WHERE m.trust_account_id = :trustAccountId
+          """)
   BigDecimal calculateCashbookBalance(@Param("trustAccountId") UUID trustAccountId);
 
   /**
@@ -101,53 +103,123 @@ public interface TrustTransactionRepository extends JpaRepository<TrustTransacti
    * TRANSFER_OUT, FEE_TRANSFER, REFUND, INTEREST_LPFF) subtract from balance. REVERSAL is excluded
    * — debit reversals are reflected via ledger card updates (inline), and credit reversals only
    * affect balances when approved (Epic 441 scope).
+   *
+   * <p>Computed as checkpoint plus delta: the client's monthly checkpoints ({@code
+   * trust_client_balance_months}) for the months before {@code asOfDate}'s month, plus that month's
+   * transactions up to {@code asOfDate}.
    */
   @Query(
-      """
-      SELECT COALESCE(SUM(
-        CASE
-          WHEN t.transactionType IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN t.amount
-          WHEN t.transactionType IN ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -t.amount
-          ELSE 0
-        END
-      ), 0)
-      FROM TrustTransaction t
-      WHERE t.customerId = :customerId
-        AND t.trustAccountId = :trustAccountId
-        AND t.transactionDate <= :asOfDate
-        AND t.status IN ('RECORDED', 'APPROVED')
-      """)
+      nativeQuery = true,
+      value =
+          """
+          SELECT
+            (SELECT COALESCE(SUM(m.net_amount), 0)
+             FROM trust_client_balance_months m
+             WHERE m.trust_account_id = :trustAccountId
+               AND m.customer_id = :customerId
+               AND m.month < CAST(date_trunc('month', CAST(:asOfDate AS date)) AS date))
+            + (SELECT COALESCE(SUM(
+                 CASE
+                   WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN t.amount
+                   WHEN t.transaction_type IN ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -t.amount
+                   ELSE 0
+                 END), 0)
+               FROM trust_transactions t
+               WHERE t.trust_account_id = :trustAccountId
+                 AND t.customer_id = :customerId
+                 AND t.transaction_date >= CAST(date_trunc('month', CAST(:asOfDate AS date)) AS date)
+                 AND t.transaction_date <= :asOfDate
+                 AND t.status IN ('RECORDED', 'APPROVED'))
+          """)
   BigDecimal calculateClientBalanceAsOfDate(
       @Param("customerId") UUID customerId,
       @Param("trustAccountId") UUID trustAccountId,
       @Param("asOfDate") LocalDate asOfDate);
 
   /**
-   * Sums the per-matter trust balance by projectId, applying the same credit/debit sign rules as
-   * {@link #calculateClientBalanceAsOfDate}. Used by the matter closure gate {@code
-   * TRUST_BALANCE_ZERO} (Phase 67 §67.3.4 gate 1) — a matter cannot close while it holds client
-   * funds.
+   * Per-customer variant of {@link #calculateClientBalanceAsOfDate}: one balance per customer with
+   * transactions on the trust account up to the given date, with the same sign rules and the same
+   * checkpoint-plus-delta computation. Used for the opening balances of an interest run.
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          """
+          SELECT b.customer_id AS customerId, SUM(b.amount) AS balance
+          FROM (
+            SELECT m.customer_id, m.net_amount AS amount
+            FROM trust_client_balance_months m
+            WHERE m.trust_account_id = :trustAccountId
+              AND m.month < CAST(date_trunc('month', CAST(:asOfDate AS date)) AS date)
+            UNION ALL
+            SELECT t.customer_id,
+                   CASE
+                     WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN t.amount
+                     WHEN t.transaction_type IN ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -t.amount
+                     ELSE 0
+                   END
+            FROM trust_transactions t
+            WHERE t.trust_account_id = :trustAccountId
+              AND t.customer_id IS NOT NULL
+              AND t.transaction_date >= CAST(date_trunc('month', CAST(:asOfDate AS date)) AS date)
+              AND t.transaction_date <= :asOfDate
+              AND t.status IN ('RECORDED', 'APPROVED')
+          ) b
+          GROUP BY b.customer_id
+          """)
+  List<ClientBalance> calculateClientBalancesAsOfDate(
+      @Param("trustAccountId") UUID trustAccountId, @Param("asOfDate") LocalDate asOfDate);
+
+  /**
+   * Streams the customer transactions of a trust account in a date range, with the filters of
+   * {@link #findForStatement}, ordered by customer and then as on a statement — so each customer's
+   * movements arrive contiguously and in posting order. Rows are projections, not managed
+   * entities, and are fetched 1000 at a time.
+   *
+   * <p>Caller MUST iterate inside an active transaction and close the stream (try-with-resources).
    */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
   @Query(
       """
-      SELECT COALESCE(SUM(
-        CASE
-          WHEN t.transactionType IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN t.amount
-          WHEN t.transactionType IN ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF') THEN -t.amount
-          ELSE 0
-        END
-      ), 0)
+      SELECT new io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction.ClientBalanceMovement(
+        t.customerId, t.transactionDate, t.transactionType, t.amount)
       FROM TrustTransaction t
-      WHERE t.projectId = :projectId
+      WHERE t.trustAccountId = :trustAccountId
+        AND t.customerId IS NOT NULL
+        AND t.transactionDate >= :startDate
+        AND t.transactionDate <= :endDate
         AND t.status IN ('RECORDED', 'APPROVED')
+        AND t.transactionType <> 'REVERSAL'
+      ORDER BY t.customerId ASC, t.transactionDate ASC, t.createdAt ASC
       """)
+  Stream<ClientBalanceMovement> streamClientMovements(
+      @Param("trustAccountId") UUID trustAccountId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  /**
+   * Sums the per-matter trust balance by projectId, applying the same credit/debit sign rules as
+   * {@link #calculateClientBalanceAsOfDate}. Used by the matter closure gate {@code
+   * TRUST_BALANCE_ZERO} (Phase 67 §67.3.4 gate 1) — a matter cannot close while it holds client
+   * funds. Sums the matter's monthly checkpoints ({@code trust_matter_balance_months}).
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          """
+          SELECT COALESCE(SUM(m.net_amount), 0)
+          FROM trust_matter_balance_months m
+          WHERE m.project_id = :projectId
+          """)
   BigDecimal calculateBalanceByProjectId(@Param("projectId") UUID projectId);
 
   /**
    * Finds unmatched candidate transactions for bank reconciliation auto-matching. Candidates are
    * RECORDED or APPROVED transactions that have not yet been matched to a bank statement line,
-   * within the specified date range.
+   * within the specified date range. Rows are locked ({@code FOR UPDATE}) so a concurrent manual
+   * match cannot claim a candidate while the statement is being matched.
    */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query(
       """
       SELECT t FROM TrustTransaction t
@@ -157,7 +229,7 @@ public interface TrustTransactionRepository extends JpaRepository<TrustTransacti
         AND t.transactionDate >= :startDate
         AND t.transactionDate <= :endDate
       """)
-  List<TrustTransaction> findUnmatchedCandidates(
+  List<TrustTransaction> findUnmatchedCandidatesForUpdate(
       @Param("trustAccountId") UUID trustAccountId,
       @Param("startDate") LocalDate startDate,
       @Param("endDate") LocalDate endDate);
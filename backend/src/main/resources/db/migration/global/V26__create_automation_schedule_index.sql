@@ -0,0 +1,16 @@
+-- V26: Next-fire-time index for SCHEDULED automation triggers
+-- One row per tenant that has at least one enabled SCHEDULED rule with a valid cron expression,
+-- holding the earliest next fire time across those rules. The cron poll scans this table for due
+-- rows and enqueues automation_poll_triggers only for those tenants, instead of fanning out to every
+-- tenant each minute. Rows are written in the tenant transaction that changes or fires a rule (see
+-- AutomationScheduleIndexService) and are recomputed after every tenant poll.
+
+CREATE TABLE IF NOT EXISTS public.automation_schedule_index (
+    tenant_schema VARCHAR(50)  PRIMARY KEY,
+    next_fire_at  TIMESTAMPTZ  NOT NULL,
+    updated_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+-- Due-scan: WHERE next_fire_at <= NOW(). Hit by the cron poll every 60 seconds.
+CREATE INDEX IF NOT EXISTS idx_automation_schedule_index_next_fire
+    ON public.automation_schedule_index (next_fire_at);
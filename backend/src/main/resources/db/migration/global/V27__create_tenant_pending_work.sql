@@ -0,0 +1,31 @@
+-- V27: Pending-work registry for demand-driven tenant fan-out
+-- One row per (job type, tenant) that has or may have work for that job type, holding the earliest
+-- time the work comes due. Schedulers enqueue the job only for tenants whose row is due instead of
+-- fanning out to every tenant (see JobEnqueuer#fanOutToTenantsWithDueWork). Domain services mark
+-- work due in the transaction that creates it; the tenant job rewrites or removes its row after it
+-- runs (see PendingWorkRegistry). generation is bumped on every markDue so a job that finishes
+-- after new work was marked never deletes the newer mark.
+
+CREATE TABLE IF NOT EXISTS public.tenant_pending_work (
+    job_type      VARCHAR(100) NOT NULL,
+    tenant_schema VARCHAR(50)  NOT NULL,
+    due_at        TIMESTAMPTZ  NOT NULL,
+    generation    BIGINT       NOT NULL DEFAULT 0,
+    updated_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (job_type, tenant_schema)
+);
+
+-- Due-scan: WHERE job_type = ? AND due_at <= NOW(). Hit by the accounting drain every 30 seconds.
+CREATE INDEX IF NOT EXISTS idx_tenant_pending_work_due
+    ON public.tenant_pending_work (job_type, due_at);
+
+-- Seed: every existing tenant starts due for every registry-driven job type, so the first run of
+-- each scheduler reaches all of them and writes their real next due time.
+INSERT INTO public.tenant_pending_work (job_type, tenant_schema, due_at)
+SELECT t.job_type, m.schema_name, NOW()
+FROM public.org_schema_mapping m
+CROSS JOIN (VALUES ('accounting_sync_drain'),
+                   ('automation_poll_delayed'),
+                   ('request_reminder_check'),
+                   ('collections_scan')) AS t(job_type)
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,26 @@
+-- V136__create_billing_run_sends.sql
+-- Background batch send for billing runs. POST /api/billing-runs/{id}/send records one row here
+-- and hands the work to a billing_run_send job; the row id is the tracking id the endpoint returns.
+--
+-- The row is the send's checkpoint: sent_count / failed_count and the failures map are written
+-- after every invoice, and invoices already SENT are never picked up again, so a job that is
+-- re-run after a pod crash resumes with the invoices still APPROVED and not already failed.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS billing_run_sends (
+    id                      uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+    billing_run_id          uuid         NOT NULL REFERENCES billing_runs (id) ON DELETE CASCADE,
+    status                  varchar(20)  NOT NULL,
+    total_count             integer      NOT NULL,
+    sent_count              integer      NOT NULL DEFAULT 0,
+    failed_count            integer      NOT NULL DEFAULT 0,
+    failures                jsonb        NOT NULL DEFAULT '{}'::jsonb,
+    created_by              uuid         NOT NULL,
+    created_at              timestamptz  NOT NULL DEFAULT now(),
+    updated_at              timestamptz  NOT NULL DEFAULT now(),
+    completed_at            timestamptz,
+    CONSTRAINT ck_billing_run_send_status CHECK (status IN ('QUEUED', 'IN_PROGRESS', 'COMPLETED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_billing_run_sends_billing_run_id
+    ON billing_run_sends (billing_run_id);
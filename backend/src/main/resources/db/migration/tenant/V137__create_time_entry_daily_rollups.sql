@@ -0,0 +1,60 @@
+-- V137__create_time_entry_daily_rollups.sql
+-- Daily rollup of time entries for the profitability, utilization and dashboard reports, so range
+-- queries aggregate a handful of rows per project-day instead of re-joining time_entries -> tasks
+-- and re-multiplying rate snapshots on every request.
+--
+-- Grain: (project, member, day, billable, billing currency, cost currency). Both currencies are
+-- part of the key because revenue groups by billing_rate_currency and cost by cost_rate_currency.
+-- cost_currency is only set when the entry has a cost rate snapshot, mirroring the
+-- "cost_rate_snapshot IS NOT NULL" filter of the cost queries.
+--
+-- Values are stored unrounded (unconstrained numeric) so summing rollup rows gives exactly the
+-- same totals as summing the raw entries. Rows are maintained per (project_id, entry_date) slice
+-- by TimeEntryRollupService; the backfill below seeds existing tenants.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS time_entry_daily_rollups (
+    project_id              uuid         NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    member_id               uuid         NOT NULL,
+    entry_date              date         NOT NULL,
+    billable                boolean      NOT NULL,
+    billing_currency        varchar(3),
+    cost_currency           varchar(3),
+    entry_count             integer      NOT NULL,
+    minutes                 bigint       NOT NULL,
+    billable_value          numeric      NOT NULL,
+    cost_value              numeric      NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_time_entry_daily_rollups_key
+    ON time_entry_daily_rollups
+        (project_id, entry_date, member_id, billable, billing_currency, cost_currency)
+    NULLS NOT DISTINCT;
+
+CREATE INDEX IF NOT EXISTS idx_time_entry_daily_rollups_member_date
+    ON time_entry_daily_rollups (member_id, entry_date);
+
+CREATE INDEX IF NOT EXISTS idx_time_entry_daily_rollups_date
+    ON time_entry_daily_rollups (entry_date);
+
+INSERT INTO time_entry_daily_rollups
+    (project_id, member_id, entry_date, billable, billing_currency, cost_currency,
+     entry_count, minutes, billable_value, cost_value)
+SELECT
+    t.project_id,
+    te.member_id,
+    te.date,
+    te.billable,
+    te.billing_rate_currency,
+    CASE WHEN te.cost_rate_snapshot IS NOT NULL THEN te.cost_rate_currency END,
+    COUNT(*),
+    SUM(te.duration_minutes),
+    COALESCE(SUM(CASE WHEN te.billable AND te.billing_rate_snapshot IS NOT NULL
+        THEN CAST(te.billing_rate_snapshot AS DECIMAL(14,2)) * te.duration_minutes / 60.0
+        END), 0),
+    COALESCE(SUM(CAST(te.cost_rate_snapshot AS DECIMAL(14,2)) * te.duration_minutes / 60.0), 0)
+FROM time_entries te
+JOIN tasks t ON te.task_id = t.id
+WHERE NOT EXISTS (SELECT 1 FROM time_entry_daily_rollups)
+GROUP BY t.project_id, te.member_id, te.date, te.billable, te.billing_rate_currency,
+    CASE WHEN te.cost_rate_snapshot IS NOT NULL THEN te.cost_rate_currency END;
@@ -0,0 +1,45 @@
+-- V138__create_rate_card_versions.sql
+-- Version stamp for the in-memory rate card index (RateCardIndexService). Every statement that
+-- changes billing_rates, cost_rates or customer_projects (the first linked customer drives the
+-- customer-override step of the cascade) replaces the stamp, so any pod can tell with one
+-- single-row read whether its cached index is still current — including after writes made by
+-- seeders, other pods, or plain SQL.
+--
+-- The stamp is a random uuid rather than a counter: a value written by a transaction that rolls
+-- back is never handed out again, so an index built from uncommitted rows can never be mistaken
+-- for a committed version.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS rate_card_versions (
+    id          smallint     PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version     uuid         NOT NULL DEFAULT gen_random_uuid()
+);
+
+INSERT INTO rate_card_versions (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_rate_card_version() RETURNS trigger AS $$
+BEGIN
+    EXECUTE format('UPDATE %I.rate_card_versions SET version = gen_random_uuid()', TG_TABLE_SCHEMA);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    tbl text;
+BEGIN
+  FOREACH tbl IN ARRAY ARRAY['billing_rates', 'cost_rates', 'customer_projects'] LOOP
+    IF NOT EXISTS (
+      SELECT 1 FROM pg_trigger t
+      JOIN pg_class c ON t.tgrelid = c.oid
+      JOIN pg_namespace n ON c.relnamespace = n.oid
+      WHERE t.tgname = tbl || '_bump_rate_card_version'
+        AND n.nspname = current_schema()
+    ) THEN
+      EXECUTE format(
+          'CREATE TRIGGER %I AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %I
+               FOR EACH STATEMENT EXECUTE FUNCTION bump_rate_card_version()',
+          tbl || '_bump_rate_card_version', tbl);
+    END IF;
+  END LOOP;
+END $$;
@@ -0,0 +1,38 @@
+-- V139__create_automation_rule_versions.sql
+-- Version stamp for the in-memory compiled automation rule index (AutomationRuleIndexService).
+-- Every statement that changes automation_rules replaces the stamp, so the automation listener can
+-- tell with one single-row read whether its cached index is still current — including after rule
+-- edits made on another pod, by template pack installs, or by plain SQL. Same scheme as
+-- rate_card_versions (V138): the stamp is a random uuid, so a version written by a transaction
+-- that rolls back is never handed out again.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS automation_rule_versions (
+    id          smallint     PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version     uuid         NOT NULL DEFAULT gen_random_uuid()
+);
+
+INSERT INTO automation_rule_versions (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_automation_rule_version() RETURNS trigger AS $$
+BEGIN
+    EXECUTE format('UPDATE %I.automation_rule_versions SET version = gen_random_uuid()',
+                   TG_TABLE_SCHEMA);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_trigger t
+    JOIN pg_class c ON t.tgrelid = c.oid
+    JOIN pg_namespace n ON c.relnamespace = n.oid
+    WHERE t.tgname = 'automation_rules_bump_automation_rule_version'
+      AND n.nspname = current_schema()
+  ) THEN
+    CREATE TRIGGER automation_rules_bump_automation_rule_version
+        AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON automation_rules
+        FOR EACH STATEMENT EXECUTE FUNCTION bump_automation_rule_version();
+  END IF;
+END $$;
@@ -0,0 +1,24 @@
+-- Transactional outbox for notification fan-out and email delivery (NotificationOutboxService).
+-- NotificationEventHandler writes one EVENT row per domain event inside the publishing
+-- transaction, so a committed change always has its notifications recorded and a rolled-back one
+-- never does. The drain turns an EVENT row into notifications plus one EMAIL row per recipient who
+-- opted in to email, and deletes every row once it is handled. Rows that exhaust their retries
+-- stay behind as FAILED for inspection.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              UUID         PRIMARY KEY,
+    kind            VARCHAR(10)  NOT NULL,
+    event_type      VARCHAR(100),
+    payload         JSONB        NOT NULL,
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ  NOT NULL,
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL
+);
+
+-- Drain scan: due PENDING rows, oldest first; also answers "when is the next row due".
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_due
+    ON notification_outbox (next_attempt_at, created_at)
+    WHERE status = 'PENDING';
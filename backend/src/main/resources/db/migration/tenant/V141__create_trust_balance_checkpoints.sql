@@ -0,0 +1,193 @@
+-- V141__create_trust_balance_checkpoints.sql
+-- Monthly balance checkpoints for the trust ledger, so balance queries stop re-summing every
+-- transaction since the account was opened. Each row holds the net movement of one month for a
+-- trust account's cashbook, a client on a trust account, or a matter; a balance as of a date is
+-- the sum of the earlier months' rows plus the transactions of that date's own month.
+--
+-- Rows are maintained by a trigger on trust_transactions, inside the transaction that records,
+-- approves, rejects or reverses a trust transaction — whatever code path or seeder made the
+-- change. Only rows in RECORDED or APPROVED status count, with the sign rules of the balance
+-- queries in TrustTransactionRepository. Net movements (rather than running totals) commute, so
+-- concurrent postings to the same account only meet on the one month row they both touch, and a
+-- back-dated posting updates one row instead of every later month.
+--
+-- TrustBalanceCheckpointVerifier re-sums the ledger daily and rebuilds the rows if they disagree.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE TABLE IF NOT EXISTS trust_cashbook_balance_months (
+    trust_account_id  UUID           NOT NULL,
+    month             DATE           NOT NULL,
+    net_amount        NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (trust_account_id, month)
+);
+
+CREATE TABLE IF NOT EXISTS trust_client_balance_months (
+    trust_account_id  UUID           NOT NULL,
+    customer_id       UUID           NOT NULL,
+    month             DATE           NOT NULL,
+    net_amount        NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (trust_account_id, customer_id, month)
+);
+
+CREATE TABLE IF NOT EXISTS trust_matter_balance_months (
+    project_id        UUID           NOT NULL,
+    month             DATE           NOT NULL,
+    net_amount        NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (project_id, month)
+);
+
+-- Writers wait until the trigger is in place and the backfill below is done, so no posting is
+-- counted twice or missed.
+LOCK TABLE trust_transactions IN SHARE MODE;
+
+-- Removes OLD's contribution and adds NEW's. Self-contained (no calls to other functions, tables
+-- qualified with TG_TABLE_SCHEMA) so it behaves the same whatever the caller's search_path.
+CREATE OR REPLACE FUNCTION maintain_trust_balance_checkpoints() RETURNS trigger AS $$
+DECLARE
+    direction integer;
+    txn       record;
+    txn_month date;
+    cashbook  numeric;
+    client    numeric;
+BEGIN
+    FOREACH direction IN ARRAY ARRAY[-1, 1] LOOP
+        CONTINUE WHEN (direction = -1 AND TG_OP = 'INSERT') OR (direction = 1 AND TG_OP = 'DELETE');
+        IF direction = -1 THEN
+            txn := OLD;
+        ELSE
+            txn := NEW;
+        END IF;
+        CONTINUE WHEN txn.status NOT IN ('RECORDED', 'APPROVED');
+
+        txn_month := date_trunc('month', txn.transaction_date)::date;
+        -- Cashbook: TRANSFER_IN / TRANSFER_OUT are neutral (both legs stay in the account).
+        cashbook := direction * CASE
+            WHEN txn.transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN txn.amount
+            WHEN txn.transaction_type IN ('PAYMENT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF')
+                THEN -txn.amount
+            ELSE 0
+        END;
+        client := direction * CASE
+            WHEN txn.transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT')
+                THEN txn.amount
+            WHEN txn.transaction_type IN
+                    ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF')
+                THEN -txn.amount
+            ELSE 0
+        END;
+
+        IF cashbook <> 0 THEN
+            EXECUTE format(
+                'INSERT INTO %I.trust_cashbook_balance_months AS m
+                     (trust_account_id, month, net_amount) VALUES ($1, $2, $3)
+                 ON CONFLICT (trust_account_id, month)
+                     DO UPDATE SET net_amount = m.net_amount + EXCLUDED.net_amount',
+                TG_TABLE_SCHEMA)
+                USING txn.trust_account_id, txn_month, cashbook;
+        END IF;
+        IF client <> 0 AND txn.customer_id IS NOT NULL THEN
+            EXECUTE format(
+                'INSERT INTO %I.trust_client_balance_months AS m
+                     (trust_account_id, customer_id, month, net_amount) VALUES ($1, $2, $3, $4)
+                 ON CONFLICT (trust_account_id, customer_id, month)
+                     DO UPDATE SET net_amount = m.net_amount + EXCLUDED.net_amount',
+                TG_TABLE_SCHEMA)
+                USING txn.trust_account_id, txn.customer_id, txn_month, client;
+        END IF;
+        IF client <> 0 AND txn.project_id IS NOT NULL THEN
+            EXECUTE format(
+                'INSERT INTO %I.trust_matter_balance_months AS m
+                     (project_id, month, net_amount) VALUES ($1, $2, $3)
+                 ON CONFLICT (project_id, month)
+                     DO UPDATE SET net_amount = m.net_amount + EXCLUDED.net_amount',
+                TG_TABLE_SCHEMA)
+                USING txn.project_id, txn_month, client;
+        END IF;
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_trigger t
+    JOIN pg_class c ON t.tgrelid = c.oid
+    JOIN pg_namespace n ON c.relnamespace = n.oid
+    WHERE t.tgname = 'trust_transactions_balance_checkpoints'
+      AND n.nspname = current_schema()
+  ) THEN
+    CREATE TRIGGER trust_transactions_balance_checkpoints
+        AFTER INSERT OR DELETE ON trust_transactions
+        FOR EACH ROW EXECUTE FUNCTION maintain_trust_balance_checkpoints();
+  END IF;
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_trigger t
+    JOIN pg_class c ON t.tgrelid = c.oid
+    JOIN pg_namespace n ON c.relnamespace = n.oid
+    WHERE t.tgname = 'trust_transactions_balance_checkpoints_update'
+      AND n.nspname = current_schema()
+  ) THEN
+    -- Updates that leave every balance-relevant column alone (approval stamps, bank statement
+    -- matching, reversal links) skip the trigger entirely.
+    CREATE TRIGGER trust_transactions_balance_checkpoints_update
+        AFTER UPDATE ON trust_transactions
+        FOR EACH ROW
+        WHEN (OLD.status IS DISTINCT FROM NEW.status
+              OR OLD.transaction_type IS DISTINCT FROM NEW.transaction_type
+              OR OLD.amount IS DISTINCT FROM NEW.amount
+              OR OLD.transaction_date IS DISTINCT FROM NEW.transaction_date
+              OR OLD.trust_account_id IS DISTINCT FROM NEW.trust_account_id
+              OR OLD.customer_id IS DISTINCT FROM NEW.customer_id
+              OR OLD.project_id IS DISTINCT FROM NEW.project_id)
+        EXECUTE FUNCTION maintain_trust_balance_checkpoints();
+  END IF;
+END $$;
+
+-- Backfill from the existing ledger.
+INSERT INTO trust_cashbook_balance_months (trust_account_id, month, net_amount)
+SELECT trust_account_id,
+       date_trunc('month', transaction_date)::date,
+       SUM(CASE
+           WHEN transaction_type IN ('DEPOSIT', 'INTEREST_CREDIT') THEN amount
+           WHEN transaction_type IN ('PAYMENT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF')
+               THEN -amount
+           ELSE 0
+       END)
+FROM trust_transactions
+WHERE status IN ('RECORDED', 'APPROVED')
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
+
+INSERT INTO trust_client_balance_months (trust_account_id, customer_id, month, net_amount)
+SELECT trust_account_id,
+       customer_id,
+       date_trunc('month', transaction_date)::date,
+       SUM(CASE
+           WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN amount
+           WHEN transaction_type IN
+                   ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF')
+               THEN -amount
+           ELSE 0
+       END)
+FROM trust_transactions
+WHERE status IN ('RECORDED', 'APPROVED')
+  AND customer_id IS NOT NULL
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+INSERT INTO trust_matter_balance_months (project_id, month, net_amount)
+SELECT project_id,
+       date_trunc('month', transaction_date)::date,
+       SUM(CASE
+           WHEN transaction_type IN ('DEPOSIT', 'TRANSFER_IN', 'INTEREST_CREDIT') THEN amount
+           WHEN transaction_type IN
+                   ('PAYMENT', 'TRANSFER_OUT', 'FEE_TRANSFER', 'REFUND', 'INTEREST_LPFF')
+               THEN -amount
+           ELSE 0
+       END)
+FROM trust_transactions
+WHERE status IN ('RECORDED', 'APPROVED')
+  AND project_id IS NOT NULL
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
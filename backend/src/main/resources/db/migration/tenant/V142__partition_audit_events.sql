@@ -0,0 +1,137 @@
+-- V142__partition_audit_events.sql
+-- Range-partitions audit_events by month on occurred_at, so retention can drop whole months of the
+-- trail (instead of loading and deleting millions of rows by id) and time-windowed queries only
+-- scan the months they cover.
+--
+-- Partitions are named audit_events_pYYYYMM and bounded by UTC months. This migration creates one
+-- per month from the oldest event through three months ahead; AuditEventPartitionMaintenance keeps
+-- creating them ahead of time and drops expired ones. audit_events_default catches any timestamp
+-- outside the created range, so an audit write never fails for want of a partition.
+--
+-- The primary key becomes (id, occurred_at): a unique constraint on a partitioned table must
+-- include the partition key. Ids stay gen_random_uuid() and nothing references them by FK.
+--
+-- prevent_audit_delete() now lets a transaction that has set kazi.audit_retention_purge = 'on'
+-- delete rows — the row-level purge of the boundary month. Dropping a partition never fires the
+-- row triggers, which stay in place for every other writer.
+--
+-- Deletes get this runtime exemption and updates do not (V143 disables the update trigger for its
+-- backfill only). Retention is a recurring operation the application itself must perform to honour
+-- the tenant's policy; a column backfill is a one-off migration step. The application cannot
+-- disable the trigger at runtime without locking out every audit write, and the deployment has no
+-- separate database role that could own a SECURITY DEFINER purge function. The flag is
+-- transaction-local and only AuditEventPartitionMaintenance sets it. The trigger guards against
+-- application code deleting audit rows by mistake. It cannot stop a hostile session holding the
+-- application's credentials, which could drop the table outright anyway.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+CREATE OR REPLACE FUNCTION prevent_audit_delete() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('kazi.audit_retention_purge', true) = 'on' THEN
+        RETURN OLD;
+    END IF;
+    RAISE EXCEPTION 'audit_events rows cannot be deleted';
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month timestamptz;
+    last_month  timestamptz;
+    month_start timestamptz;
+BEGIN
+    -- Already partitioned (relkind 'p'): nothing to do.
+    IF (SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass('audit_events')) = 'p' THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE audit_events IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE audit_events RENAME TO audit_events_unpartitioned;
+
+    CREATE TABLE audit_events (
+        id              UUID         NOT NULL DEFAULT gen_random_uuid(),
+        event_type      VARCHAR(100) NOT NULL,
+        entity_type     VARCHAR(50)  NOT NULL,
+        entity_id       UUID         NOT NULL,
+        actor_id        UUID,
+        actor_type      VARCHAR(20)  NOT NULL DEFAULT 'USER',
+        source          VARCHAR(30)  NOT NULL,
+        ip_address      VARCHAR(45),
+        user_agent      VARCHAR(500),
+        details         JSONB,
+        occurred_at     TIMESTAMPTZ  NOT NULL
+    ) PARTITION BY RANGE (occurred_at);
+
+    SELECT date_trunc('month', MIN(occurred_at) AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'
+    INTO first_month
+    FROM audit_events_unpartitioned;
+    last_month := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')
+        AT TIME ZONE 'UTC';
+    month_start := LEAST(COALESCE(first_month, last_month), last_month);
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+            'audit_events_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYYMM'),
+            month_start,
+            ((month_start AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        month_start := ((month_start AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC';
+    END LOOP;
+    CREATE TABLE audit_events_default PARTITION OF audit_events DEFAULT;
+
+    INSERT INTO audit_events
+        (id, event_type, entity_type, entity_id, actor_id, actor_type, source, ip_address,
+         user_agent, details, occurred_at)
+    SELECT id, event_type, entity_type, entity_id, actor_id, actor_type, source, ip_address,
+           user_agent, details, occurred_at
+    FROM audit_events_unpartitioned;
+
+    -- Frees the index and trigger names for the partitioned table.
+    DROP TABLE audit_events_unpartitioned;
+END $$;
+
+ALTER TABLE audit_events DROP CONSTRAINT IF EXISTS audit_events_pkey;
+ALTER TABLE audit_events ADD CONSTRAINT audit_events_pkey PRIMARY KEY (id, occurred_at);
+
+CREATE INDEX IF NOT EXISTS idx_audit_entity
+    ON audit_events (entity_type, entity_id);
+
+CREATE INDEX IF NOT EXISTS idx_audit_actor
+    ON audit_events (actor_id) WHERE actor_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_audit_occurred
+    ON audit_events (occurred_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_type_time
+    ON audit_events (event_type, occurred_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_project
+    ON audit_events ((details->>'project_id'));
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_trigger t
+    JOIN pg_class c ON t.tgrelid = c.oid
+    JOIN pg_namespace n ON c.relnamespace = n.oid
+    WHERE t.tgname = 'audit_events_no_update'
+      AND c.relname = 'audit_events'
+      AND n.nspname = current_schema()
+  ) THEN
+    EXECUTE 'CREATE TRIGGER audit_events_no_update
+        BEFORE UPDATE ON audit_events
+        FOR EACH ROW EXECUTE FUNCTION prevent_audit_update()';
+  END IF;
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_trigger t
+    JOIN pg_class c ON t.tgrelid = c.oid
+    JOIN pg_namespace n ON c.relnamespace = n.oid
+    WHERE t.tgname = 'audit_events_no_delete'
+      AND c.relname = 'audit_events'
+      AND n.nspname = current_schema()
+  ) THEN
+    EXECUTE 'CREATE TRIGGER audit_events_no_delete
+        BEFORE DELETE ON audit_events
+        FOR EACH ROW EXECUTE FUNCTION prevent_audit_delete()';
+  END IF;
+END $$;
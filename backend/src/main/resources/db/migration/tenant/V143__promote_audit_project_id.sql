@@ -0,0 +1,33 @@
+-- V143__promote_audit_project_id.sql
+-- Promotes the project an audit event belongs to from details->>'project_id' (JSONB text) to a
+-- typed audit_events.project_id column, written by DatabaseAuditService.log. The project activity
+-- feed, dashboard activity and days-since-activity queries filter on it directly instead of
+-- extracting, regex-checking and casting the JSONB value on every row.
+--
+-- idx_audit_project_time serves per-project feeds as keyset scans on
+-- (project_id, occurred_at DESC, id DESC); idx_audit_project_recent serves the cross-project feed.
+-- Both replace the JSONB expression index idx_audit_project (V13), which no query uses any more.
+--
+-- The backfill copies details->>'project_id' where it is a well-formed UUID — the same values the
+-- old queries matched. The append-only trigger is disabled for the backfill only and re-enabled in
+-- the same migration transaction, so no session can ever update audit rows.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+ALTER TABLE audit_events ADD COLUMN IF NOT EXISTS project_id UUID;
+
+ALTER TABLE audit_events DISABLE TRIGGER audit_events_no_update;
+
+UPDATE audit_events
+SET project_id = CAST(details->>'project_id' AS UUID)
+WHERE project_id IS NULL
+  AND (details->>'project_id') ~ '^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$';
+
+ALTER TABLE audit_events ENABLE TRIGGER audit_events_no_update;
+
+CREATE INDEX IF NOT EXISTS idx_audit_project_time
+    ON audit_events (project_id, occurred_at DESC, id DESC) WHERE project_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_audit_project_recent
+    ON audit_events (occurred_at DESC) WHERE project_id IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_audit_project;
@@ -0,0 +1,10 @@
+-- V145__add_billing_run_send_awaiting_email.sql
+-- A billing run send marks each invoice SENT (with its payment link) before rendering the invoice
+-- PDF, so the PDF shows the sent invoice, and emails it afterwards at the tenant's send rate.
+-- awaiting_email holds the ids of invoices this send has marked SENT but not emailed yet. It is
+-- written in the same transaction as the status change, so a send resumed after a pod crash
+-- renders and emails them instead of losing the emails of invoices that are no longer APPROVED.
+-- Per-tenant schema (search_path = tenant). Idempotent (IF NOT EXISTS) per the repo convention.
+
+ALTER TABLE billing_run_sends
+    ADD COLUMN IF NOT EXISTS awaiting_email jsonb NOT NULL DEFAULT '[]'::jsonb;
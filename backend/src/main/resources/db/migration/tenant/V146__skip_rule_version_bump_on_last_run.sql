@@ -0,0 +1,22 @@
+-- V146__skip_rule_version_bump_on_last_run.sql
+-- The scheduled-trigger poll stamps automation_rules.last_run_at on every rule it fires. Under the
+-- V139 statement trigger each of those updates replaced the automation_rule_versions stamp, so
+-- every poll invalidated the compiled rule index on every pod. last_run_at is scheduling state the
+-- index never reads, so an UPDATE now bumps the stamp only when some other column changed. That
+-- needs OLD and NEW, so the UPDATE case moves to a row trigger; INSERT, DELETE and TRUNCATE keep
+-- the statement trigger.
+-- Per-tenant schema (search_path = tenant). Idempotent (DROP ... IF EXISTS before each CREATE).
+
+DROP TRIGGER IF EXISTS automation_rules_bump_automation_rule_version ON automation_rules;
+
+CREATE TRIGGER automation_rules_bump_automation_rule_version
+    AFTER INSERT OR DELETE OR TRUNCATE ON automation_rules
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_automation_rule_version();
+
+DROP TRIGGER IF EXISTS automation_rules_bump_automation_rule_version_on_update ON automation_rules;
+
+CREATE TRIGGER automation_rules_bump_automation_rule_version_on_update
+    AFTER UPDATE ON automation_rules
+    FOR EACH ROW
+    WHEN ((to_jsonb(OLD) - 'last_run_at') IS DISTINCT FROM (to_jsonb(NEW) - 'last_run_at'))
+    EXECUTE FUNCTION bump_automation_rule_version();
@@ -282,6 +282,39 @@ class ActivityServiceIntegrationTest {
             });
   }
 
+  @Test
+  void keysetContinuationMatchesOffsetPage() {
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .run(
+            () -> {
+              var actor = new ActorContext(memberId, "owner");
+              var firstPage =
+                  activityService.getProjectActivity(
+                      projectId, null, null, PageRequest.of(0, 2), actor);
+              var secondPage =
+                  activityService.getProjectActivity(
+                      projectId, null, null, PageRequest.of(1, 2), actor);
+
+              var last = firstPage.getContent().getLast();
+              var continuation =
+                  activityService.getProjectActivityBefore(
+                      projectId,
+                      null,
+                      null,
+                      last.occurredAt(),
+                      last.id(),
+                      PageRequest.of(1, 2),
+                      actor);
+
+              assertThat(continuation.getContent())
+                  .extracting(ActivityItem::id)
+                  .containsExactlyElementsOf(
+                      secondPage.getContent().stream().map(ActivityItem::id).toList());
+              assertThat(continuation.getTotalElements()).isEqualTo(4);
+            });
+  }
+
   // --- Helpers ---
 
   private static void sleep(long millis) {
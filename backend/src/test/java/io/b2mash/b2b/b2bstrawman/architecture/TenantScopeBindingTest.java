@@ -191,7 +191,6 @@ class TenantScopeBindingTest {
           "io.b2mash.b2b.b2bstrawman.integration.email.UnsubscribeService",
           "io.b2mash.b2b.b2bstrawman.invoice.InvoiceEmailEventListener",
           "io.b2mash.b2b.b2bstrawman.member.MemberSyncService",
-          "io.b2mash.b2b.b2bstrawman.notification.NotificationEventHandler",
           "io.b2mash.b2b.b2bstrawman.packs.PackInstallService",
           "io.b2mash.b2b.b2bstrawman.portal.CustomerAuthFilter",
           "io.b2mash.b2b.b2bstrawman.portal.PortalBrandingService",
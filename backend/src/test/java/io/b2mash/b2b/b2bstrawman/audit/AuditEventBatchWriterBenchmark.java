@@ -0,0 +1,188 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Audit event inserts per second into an embedded Postgres {@code audit_events} table, for a
+ * transaction that logs {@value #EVENTS_PER_TRANSACTION} events:
+ *
+ * <ul>
+ *   <li>{@code singleRowStatements} — one round trip per event, as when Hibernate flushes each
+ *       {@code save} on its own (a query between two logs auto-flushes);
+ *   <li>{@code jdbcBatch} — single-row inserts sent as JDBC batches of 25, Hibernate's best case
+ *       with the configured {@code hibernate.jdbc.batch_size};
+ *   <li>{@code multiRowInsert} — the {@link AuditEventBatchWriter} statement used by {@link
+ *       AuditService#deferUntilCommit()} and {@link AuditWriteBuffer}.
+ * </ul>
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile} and then this class's {@link #main} on the test
+ * classpath. Not a test — Surefire does not pick up {@code *Benchmark} classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditEventBatchWriterBenchmark {
+
+  private static final int EVENTS_PER_TRANSACTION = 100;
+  private static final int HIBERNATE_BATCH_SIZE = 25;
+
+  private EmbeddedPostgres postgres;
+  private Connection connection;
+  private AuditEventBatchWriter writer;
+  private List<AuditEvent> events;
+
+  @Setup(Level.Trial)
+  public void startDatabase() throws IOException, SQLException {
+    postgres = EmbeddedPostgres.builder().start();
+    connection = postgres.getPostgresDatabase().getConnection();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          """
+          CREATE TABLE audit_events (
+              id           UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+              event_type   VARCHAR(100) NOT NULL,
+              entity_type  VARCHAR(50)  NOT NULL,
+              entity_id    UUID         NOT NULL,
+              actor_id     UUID,
+              actor_type   VARCHAR(20)  NOT NULL DEFAULT 'USER',
+              source       VARCHAR(30)  NOT NULL,
+              ip_address   VARCHAR(45),
+              user_agent   VARCHAR(500),
+              details      JSONB,
+              occurred_at  TIMESTAMPTZ  NOT NULL,
+              project_id   UUID
+          );
+          CREATE INDEX ON audit_events (occurred_at);
+          CREATE INDEX ON audit_events (entity_type, entity_id);
+          """);
+    }
+    connection.setAutoCommit(false);
+
+    writer = new AuditEventBatchWriter(null, JsonMapper.builder().build());
+    var projectId = UUID.randomUUID();
+    events = new ArrayList<>(EVENTS_PER_TRANSACTION);
+    for (int i = 0; i < EVENTS_PER_TRANSACTION; i++) {
+      var details =
+          Map.<String, Object>of(
+              "title", "Task " + i, "project_id", projectId.toString(), "actor_name", "Alice");
+      events.add(
+          new AuditEvent(
+              new AuditEventRecord(
+                  "task.updated",
+                  "task",
+                  UUID.randomUUID(),
+                  UUID.randomUUID(),
+                  "USER",
+                  "API",
+                  "203.0.113.10",
+                  "Mozilla/5.0",
+                  details)));
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void truncate() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("TRUNCATE audit_events");
+    }
+    connection.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void stopDatabase() throws IOException, SQLException {
+    connection.close();
+    postgres.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_TRANSACTION)
+  public void singleRowStatements() throws SQLException {
+    try (PreparedStatement insert =
+        connection.prepareStatement(AuditEventBatchWriter.insertSql(1))) {
+      for (var event : events) {
+        bind(insert, 0, event);
+        insert.executeUpdate();
+      }
+    }
+    connection.commit();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_TRANSACTION)
+  public void jdbcBatch() throws SQLException {
+    try (PreparedStatement insert =
+        connection.prepareStatement(AuditEventBatchWriter.insertSql(1))) {
+      int pending = 0;
+      for (var event : events) {
+        bind(insert, 0, event);
+        insert.addBatch();
+        if (++pending == HIBERNATE_BATCH_SIZE) {
+          insert.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        insert.executeBatch();
+      }
+    }
+    connection.commit();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_TRANSACTION)
+  public void multiRowInsert() throws SQLException {
+    try (PreparedStatement insert =
+        connection.prepareStatement(AuditEventBatchWriter.insertSql(events.size()))) {
+      for (int row = 0; row < events.size(); row++) {
+        bind(insert, row, events.get(row));
+      }
+      insert.executeUpdate();
+    }
+    connection.commit();
+  }
+
+  private void bind(PreparedStatement insert, int row, AuditEvent event) throws SQLException {
+    Object[] values = writer.rowValues(event);
+    for (int column = 0; column < values.length; column++) {
+      insert.setObject(row * AuditEventBatchWriter.COLUMNS + column + 1, values[column]);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(AuditEventBatchWriterBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,142 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.testutil.AbstractIntegrationTest;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the monthly partitions of {@code audit_events} (V142): partitions taking
+ * over rows that landed in the default partition, and retention detaching and dropping whole
+ * months outside any transaction.
+ */
+class AuditEventPartitionMaintenanceIntegrationTest extends AbstractIntegrationTest {
+
+  private static final String ORG_ID = "org_audit_partition_test";
+  private static final String BEFORE_JUNE_2021 =
+      " WHERE occurred_at < TIMESTAMPTZ '2021-06-01 00:00:00+00'";
+
+  @Autowired private AuditEventPartitionMaintenance maintenance;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+
+  private String schemaName;
+
+  @BeforeAll
+  void provisionTenant() throws Exception {
+    schemaName =
+        provisioningService
+            .provisionTenant(ORG_ID, "Audit Partition Test Org", null)
+            .schemaName();
+  }
+
+  @Test
+  void partitionTakesOverDefaultRowsAndRetentionDropsIt() {
+    insertEvent("2021-04-10T12:00:00Z");
+    insertEvent("2021-04-20T12:00:00Z");
+    insertEvent("2021-05-03T12:00:00Z");
+    assertThat(count("audit_events_default" + BEFORE_JUNE_2021)).isEqualTo(3);
+
+    YearMonth april = YearMonth.of(2021, 4);
+    int created =
+        inTenant(
+            () ->
+                transactionTemplate.execute(
+                    tx -> maintenance.ensurePartitions(april, april.plusMonths(1))));
+    assertThat(created).isEqualTo(2);
+    assertThat(count("audit_events_p202104")).isEqualTo(2);
+    assertThat(count("audit_events_p202105")).isEqualTo(1);
+    assertThat(count("audit_events_default" + BEFORE_JUNE_2021)).isZero();
+
+    // April is detached and dropped whole; only the part of May before the cutoff is deleted row
+    // by row.
+    int purged = inTenant(() -> maintenance.purgeBefore(Instant.parse("2021-05-02T00:00:00Z")));
+    assertThat(purged).isEqualTo(2);
+    assertThat(count("pg_class WHERE oid = to_regclass('audit_events_p202104')")).isZero();
+    assertThat(count("audit_events" + BEFORE_JUNE_2021)).isEqualTo(1);
+  }
+
+  @Test
+  void purgeRefusesToRunInsideATransaction() {
+    Instant cutoff = Instant.parse("2020-01-01T00:00:00Z");
+
+    assertThatThrownBy(
+            () ->
+                inTenant(() -> transactionTemplate.execute(tx -> maintenance.purgeBefore(cutoff))))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void auditEventsStayAppendOnlyOutsideRetentionPurge() {
+    insertEvent("2022-01-15T12:00:00Z");
+
+    assertThatThrownBy(
+            () ->
+                inTenant(
+                    () ->
+                        transactionTemplate.execute(
+                            tx ->
+                                entityManager
+                                    .createNativeQuery(
+                                        "DELETE FROM audit_events WHERE entity_type = 'task'")
+                                    .executeUpdate())))
+        .hasStackTraceContaining("audit_events rows cannot be deleted");
+  }
+
+  @Test
+  void processTenantCreatesUpcomingPartitions() {
+    inTenant(maintenance::processTenant);
+
+    YearMonth last =
+        YearMonth.now(ZoneOffset.UTC).plusMonths(AuditEventPartitionMaintenance.MONTHS_AHEAD);
+    assertThat(
+            count(
+                "pg_class WHERE oid = to_regclass('audit_events_p%d%02d')"
+                    .formatted(last.getYear(), last.getMonthValue())))
+        .isEqualTo(1);
+    assertThat(inTenant(maintenance::processTenant)).isZero();
+  }
+
+  private void insertEvent(String occurredAt) {
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    entityManager
+                        .createNativeQuery(
+                            """
+                            INSERT INTO audit_events
+                                (event_type, entity_type, entity_id, source, occurred_at)
+                            VALUES ('task.created', 'task', gen_random_uuid(), 'API',
+                                    CAST(:occurredAt AS TIMESTAMPTZ))
+                            """)
+                        .setParameter("occurredAt", occurredAt)
+                        .executeUpdate()));
+  }
+
+  private long count(String from) {
+    return inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    ((Number)
+                            entityManager
+                                .createNativeQuery("SELECT COUNT(*) FROM " + from)
+                                .getSingleResult())
+                        .longValue()));
+  }
+
+  private <T> T inTenant(Supplier<T> action) {
+    return ScopedValue.where(RequestScopes.TENANT_ID, schemaName).call(action::get);
+  }
+}
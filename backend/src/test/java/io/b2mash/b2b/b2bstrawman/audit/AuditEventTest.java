@@ -0,0 +1,36 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AuditEvent}: every construction path fills the promoted {@code project_id}
+ * column from {@code details.project_id}, which the activity feeds filter on.
+ */
+class AuditEventTest {
+
+  @Test
+  void projectIdIsTakenFromDetails() {
+    UUID projectId = UUID.randomUUID();
+
+    var event = new AuditEvent(record(Map.of("project_id", projectId.toString())));
+
+    assertThat(event.getProjectId()).isEqualTo(projectId);
+  }
+
+  @Test
+  void malformedOrMissingProjectIdLeavesColumnEmpty() {
+    assertThat(new AuditEvent(record(Map.of("project_id", "not-a-uuid"))).getProjectId()).isNull();
+    assertThat(new AuditEvent(record(Map.of("project_id", ""))).getProjectId()).isNull();
+    assertThat(new AuditEvent(record(Map.of())).getProjectId()).isNull();
+    assertThat(new AuditEvent(record(null)).getProjectId()).isNull();
+  }
+
+  private static AuditEventRecord record(Map<String, Object> details) {
+    return new AuditEventRecord(
+        "task.updated", "task", UUID.randomUUID(), null, "SYSTEM", "INTERNAL", null, null, details);
+  }
+}
@@ -184,4 +184,23 @@ class AuditEventTypeRegistryTest {
                 "dataprotection.*", "Data Protection", AuditSeverity.NOTICE, AuditEventGroup.DATA));
     AuditEventTypeRegistry.validatePrefixSeverityInvariant(nonNestedEntries);
   }
+
+  @Test
+  void bufferedTypesResolveToBufferedDurability() {
+    assertThat(registry.durability("mcp.tool.invoked")).isEqualTo(AuditDurability.BUFFERED);
+    assertThat(registry.durability("mcp.access.denied")).isEqualTo(AuditDurability.TRANSACTIONAL);
+    assertThat(registry.durability("security.login.failure"))
+        .isEqualTo(AuditDurability.TRANSACTIONAL);
+    assertThat(registry.durability(null)).isEqualTo(AuditDurability.TRANSACTIONAL);
+  }
+
+  @Test
+  void bufferedTypesMustBeInfoStandard() {
+    // A security or compliance event must never take the path that can lose events on a crash.
+    assertThatThrownBy(() -> registry.validateBufferedTypes(Set.of("security.login.failure")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("security.login.failure");
+    assertThatThrownBy(() -> registry.validateBufferedTypes(Set.of("ai.gate.*")))
+        .isInstanceOf(IllegalStateException.class);
+  }
 }
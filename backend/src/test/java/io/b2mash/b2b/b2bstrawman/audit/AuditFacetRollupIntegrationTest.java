@@ -0,0 +1,117 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.testutil.AbstractIntegrationTest;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the audit facet day counts (V144): facets and event-type counts read
+ * through the rollup must match a plain count over the raw events, including windows that start or
+ * end part-way through a day.
+ */
+class AuditFacetRollupIntegrationTest extends AbstractIntegrationTest {
+
+  private static final String ORG_ID = "org_audit_facet_rollup_test";
+  private static final UUID ALICE = UUID.randomUUID();
+  private static final UUID BOB = UUID.randomUUID();
+
+  @Autowired private AuditFacetRollup rollup;
+  @Autowired private AuditService auditService;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+
+  private String schemaName;
+
+  @BeforeAll
+  void provisionTenant() throws Exception {
+    schemaName =
+        provisioningService
+            .provisionTenant(ORG_ID, "Audit Facet Rollup Test Org", null)
+            .schemaName();
+    insertEvent("task.created", "task", ALICE, "2023-03-10T08:00:00Z");
+    insertEvent("task.created", "task", BOB, "2023-03-10T23:30:00Z");
+    insertEvent("invoice.sent", "invoice", ALICE, "2023-03-11T06:00:00Z");
+    insertEvent("invoice.sent", "invoice", ALICE, "2023-03-12T12:00:00Z");
+    insertEvent("task.created", "task", null, "2023-03-13T01:00:00Z");
+  }
+
+  @Test
+  void facetsMatchRawCountsOnceRolledUp() {
+    Instant from = Instant.parse("2023-03-10T12:00:00Z");
+    Instant to = Instant.parse("2023-03-13T12:00:00Z");
+    FacetSnapshot raw = inTenant(() -> auditService.facets(from, to));
+    var rawCounts = inTenant(auditService::countEventsByType);
+
+    assertThat(inTenant(rollup::processTenant)).isPositive();
+    assertThat(inTenant(() -> rollup.window(from, to)).dayFrom())
+        .isEqualTo(LocalDate.of(2023, 3, 11));
+
+    FacetSnapshot rolledUp = inTenant(() -> auditService.facets(from, to));
+    assertThat(rolledUp.actors()).containsExactlyInAnyOrderElementsOf(raw.actors());
+    assertThat(rolledUp.eventTypes()).containsExactlyInAnyOrderElementsOf(raw.eventTypes());
+    assertThat(rolledUp.entityTypes()).containsExactlyInAnyOrderElementsOf(raw.entityTypes());
+    assertThat(rolledUp.actors())
+        .filteredOn(actor -> ALICE.equals(actor.actorId()))
+        .singleElement()
+        .extracting(ActorFacet::eventCount)
+        .isEqualTo(2L);
+
+    assertThat(inTenant(auditService::countEventsByType))
+        .extracting(
+            AuditEventRepository.EventTypeCount::getEventType,
+            AuditEventRepository.EventTypeCount::getCount)
+        .containsExactlyInAnyOrderElementsOf(
+            rawCounts.stream()
+                .map(count -> tuple(count.getEventType(), count.getCount()))
+                .toList());
+  }
+
+  @Test
+  void windowWithoutWholeRolledUpDayStaysRaw() {
+    var window =
+        AuditFacetRollup.Window.of(
+            Instant.parse("2023-03-10T12:00:00Z"),
+            Instant.parse("2023-03-11T06:00:00Z"),
+            LocalDate.of(2023, 3, 20));
+
+    assertThat(window.dayFrom()).isEqualTo(window.dayTo());
+    assertThat(window.headEnd()).isEqualTo(window.to());
+  }
+
+  private void insertEvent(String eventType, String entityType, UUID actorId, String occurredAt) {
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    entityManager
+                        .createNativeQuery(
+                            """
+                            INSERT INTO audit_events
+                                (event_type, entity_type, entity_id, actor_id, actor_type, source,
+                                 occurred_at)
+                            VALUES (:eventType, :entityType, gen_random_uuid(),
+                                    CAST(:actorId AS UUID), 'USER', 'API',
+                                    CAST(:occurredAt AS TIMESTAMPTZ))
+                            """)
+                        .setParameter("eventType", eventType)
+                        .setParameter("entityType", entityType)
+                        .setParameter("actorId", actorId != null ? actorId.toString() : null)
+                        .setParameter("occurredAt", occurredAt)
+                        .executeUpdate()));
+  }
+
+  private <T> T inTenant(Supplier<T> action) {
+    return ScopedValue.where(RequestScopes.TENANT_ID, schemaName).call(action::get);
+  }
+}
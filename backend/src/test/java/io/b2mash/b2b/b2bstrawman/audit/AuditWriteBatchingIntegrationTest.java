@@ -0,0 +1,182 @@
+package io.b2mash.b2b.b2bstrawman.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.testutil.AbstractIntegrationTest;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the batched audit write paths: {@link AuditService#deferUntilCommit()}
+ * writing a transaction's events in one insert at commit, and {@link AuditWriteBuffer} writing
+ * buffered event types after commit.
+ */
+class AuditWriteBatchingIntegrationTest extends AbstractIntegrationTest {
+
+  private static final String ORG_ID = "org_audit_write_batching_test";
+
+  @Autowired private AuditService auditService;
+  @Autowired private AuditWriteBuffer auditWriteBuffer;
+  @Autowired private AuditWriteProperties auditWriteProperties;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+
+  private String schemaName;
+
+  @BeforeAll
+  void provisionTenant() throws Exception {
+    schemaName =
+        provisioningService
+            .provisionTenant(ORG_ID, "Audit Write Batching Test Org", null)
+            .schemaName();
+  }
+
+  @Test
+  void deferredEventsAreInsertedTogetherAtCommit() {
+    UUID entityId = UUID.randomUUID();
+    UUID projectId = UUID.randomUUID();
+
+    long visibleBeforeCommit =
+        inTenant(
+            () ->
+                transactionTemplate.execute(
+                    tx -> {
+                      auditService.deferUntilCommit();
+                      for (int i = 0; i < 3; i++) {
+                        auditService.log(record("task.updated", entityId, projectId));
+                      }
+                      return countFor(entityId);
+                    }));
+
+    assertThat(visibleBeforeCommit).isZero();
+    assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(entityId)))).isEqualTo(3);
+    assertThat(
+            inTenant(
+                () ->
+                    transactionTemplate.execute(
+                        tx ->
+                            entityManager
+                                .createNativeQuery(
+                                    "SELECT COUNT(*) FROM audit_events"
+                                        + " WHERE entity_id = :entityId AND project_id = :projectId"
+                                        + " AND details->>'actor_name' = 'System'")
+                                .setParameter("entityId", entityId)
+                                .setParameter("projectId", projectId)
+                                .getSingleResult())))
+        .isEqualTo(3L);
+  }
+
+  @Test
+  void deferredEventsRollBackWithTheTransaction() {
+    UUID entityId = UUID.randomUUID();
+
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx -> {
+                  auditService.deferUntilCommit();
+                  auditService.log(record("task.updated", entityId, null));
+                  tx.setRollbackOnly();
+                  return null;
+                }));
+
+    assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(entityId)))).isZero();
+  }
+
+  @Test
+  void eventsLoggedAfterTheBatchIsFlushedStillCommit() {
+    UUID entityId = UUID.randomUUID();
+
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx -> {
+                  auditService.deferUntilCommit();
+                  auditService.log(record("task.updated", entityId, null));
+                  // Runs after the batch's own beforeCommit, which is registered first.
+                  TransactionSynchronizationManager.registerSynchronization(
+                      new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                          auditService.log(record("task.updated", entityId, null));
+                        }
+                      });
+                  return null;
+                }));
+
+    assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(entityId)))).isEqualTo(2);
+  }
+
+  @Test
+  void bufferedTypesAreWrittenByTheDrainOnlyAfterCommit() {
+    UUID committed = UUID.randomUUID();
+    UUID rolledBack = UUID.randomUUID();
+    UUID transactional = UUID.randomUUID();
+    auditWriteProperties.setBufferEnabled(true);
+    try {
+      inTenant(
+          () ->
+              transactionTemplate.execute(
+                  tx -> {
+                    auditService.log(record("mcp.tool.invoked", committed, null));
+                    auditService.log(record("mcp.access.denied", transactional, null));
+                    return null;
+                  }));
+      inTenant(
+          () ->
+              transactionTemplate.execute(
+                  tx -> {
+                    auditService.log(record("mcp.tool.invoked", rolledBack, null));
+                    tx.setRollbackOnly();
+                    return null;
+                  }));
+
+      // mcp.access.denied is a security event: written in its transaction, never buffered.
+      assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(transactional))))
+          .isEqualTo(1);
+      assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(committed)))).isZero();
+
+      assertThat(auditWriteBuffer.drain()).isEqualTo(1);
+      assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(committed))))
+          .isEqualTo(1);
+      assertThat(inTenant(() -> transactionTemplate.execute(tx -> countFor(rolledBack)))).isZero();
+    } finally {
+      auditWriteProperties.setBufferEnabled(false);
+    }
+  }
+
+  private static AuditEventRecord record(String eventType, UUID entityId, UUID projectId) {
+    return new AuditEventRecord(
+        eventType,
+        "task",
+        entityId,
+        null,
+        "SYSTEM",
+        "INTERNAL",
+        null,
+        null,
+        projectId != null ? Map.of("project_id", projectId.toString()) : Map.of());
+  }
+
+  private long countFor(UUID entityId) {
+    return ((Number)
+            entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM audit_events WHERE entity_id = :entityId")
+                .setParameter("entityId", entityId)
+                .getSingleResult())
+        .longValue();
+  }
+
+  private <T> T inTenant(Supplier<T> action) {
+    return ScopedValue.where(RequestScopes.TENANT_ID, schemaName).call(action::get);
+  }
+}
@@ -235,6 +235,34 @@ class AutomationEventListenerTest {
             });
   }
 
+  @Test
+  void ruleDisabledAfterIndexWasBuilt_stopsMatching() {
+    ScopedValue.where(RequestScopes.TENANT_ID, schemaName)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .run(
+            () -> {
+              var rule =
+                  createRule(
+                      "Disabled after first event",
+                      TriggerType.TASK_STATUS_CHANGED,
+                      Map.of(),
+                      RuleSource.CUSTOM);
+              ruleRepository.save(rule);
+
+              eventPublisher.publishEvent(taskStatusChangedEvent("OPEN", "DONE"));
+              assertThat(executionRepository.findByRuleIdOrderByStartedAtDesc(rule.getId()))
+                  .hasSize(1);
+
+              // The save bumps automation_rule_versions, so the cached index is recompiled
+              rule.toggle();
+              ruleRepository.save(rule);
+              eventPublisher.publishEvent(taskStatusChangedEvent("OPEN", "DONE"));
+
+              assertThat(executionRepository.findByRuleIdOrderByStartedAtDesc(rule.getId()))
+                  .hasSize(1);
+            });
+  }
+
   @Test
   void unmappedEventTypeIgnored() {
     ScopedValue.where(RequestScopes.TENANT_ID, schemaName)
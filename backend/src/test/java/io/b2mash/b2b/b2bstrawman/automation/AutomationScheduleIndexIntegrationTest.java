@@ -0,0 +1,174 @@
+package io.b2mash.b2b.b2bstrawman.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Integration tests for the SCHEDULED trigger next-fire-time index. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AutomationScheduleIndexIntegrationTest {
+
+  private static final String ORG_ID = "org_sched_index_test";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private TenantProvisioningService provisioningService;
+  @Autowired private OrgSchemaMappingRepository orgSchemaMappingRepository;
+  @Autowired private AutomationRuleRepository ruleRepository;
+  @Autowired private AutomationScheduleIndexService scheduleIndexService;
+  @Autowired private AutomationScheduler scheduler;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private String tenantSchema;
+  private UUID ownerMemberId;
+
+  @BeforeAll
+  void setup() throws Exception {
+    provisioningService.provisionTenant(ORG_ID, "Sched Index Test Org", null);
+    var ownerStr =
+        TestMemberHelper.syncMember(
+            mockMvc, ORG_ID, "user_sched_idx_owner", "sched_idx@test.com", "Idx Owner", "owner");
+    ownerMemberId = UUID.fromString(ownerStr);
+    tenantSchema =
+        orgSchemaMappingRepository.findByClerkOrgId(ORG_ID).orElseThrow().getSchemaName();
+  }
+
+  private void runInTenant(Runnable body) {
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .where(RequestScopes.MEMBER_ID, ownerMemberId)
+        .run(body);
+  }
+
+  private Instant indexedNextFireAt() {
+    var rows =
+        jdbcTemplate.queryForList(
+            "SELECT next_fire_at FROM public.automation_schedule_index WHERE tenant_schema = ?",
+            Timestamp.class,
+            tenantSchema);
+    return rows.isEmpty() ? null : rows.getFirst().toInstant();
+  }
+
+  @Test
+  void refresh_tracksEarliestEnabledScheduledRule_andDropsTenantWithoutOne() {
+    runInTenant(
+        () -> {
+          var rule =
+              ruleRepository.save(
+                  new AutomationRule(
+                      "Yearly report",
+                      "Index test",
+                      TriggerType.SCHEDULED,
+                      Map.of("cronExpression", "0 0 6 1 1 *"),
+                      List.of(),
+                      RuleSource.CUSTOM,
+                      null,
+                      ownerMemberId));
+          ruleRepository.save(
+              new AutomationRule(
+                  "Broken cron",
+                  "Index test",
+                  TriggerType.SCHEDULED,
+                  Map.of("cronExpression", "not-a-cron"),
+                  List.of(),
+                  RuleSource.CUSTOM,
+                  null,
+                  ownerMemberId));
+
+          scheduleIndexService.refresh();
+          assertThat(indexedNextFireAt())
+              .isEqualTo(AutomationScheduleIndexService.nextFireAt(rule));
+
+          rule.toggle();
+          ruleRepository.save(rule);
+          scheduleIndexService.refresh();
+          assertThat(indexedNextFireAt()).isNull();
+
+          ruleRepository.deleteAll(ruleRepository.findByTriggerType(TriggerType.SCHEDULED));
+          scheduleIndexService.refresh();
+        });
+  }
+
+  @Test
+  void dueScan_leasesDueTenant_andPollWritesExactNextFireTime() {
+    runInTenant(
+        () -> {
+          var rule =
+              new AutomationRule(
+                  "Minutely ping",
+                  "Index test",
+                  TriggerType.SCHEDULED,
+                  Map.of("cronExpression", "0 * * * * *"),
+                  List.of(),
+                  RuleSource.CUSTOM,
+                  null,
+                  ownerMemberId);
+          rule.setLastRunAt(Instant.now().minus(5, ChronoUnit.MINUTES));
+          var saved = ruleRepository.save(rule);
+          scheduleIndexService.refresh();
+          assertThat(indexedNextFireAt()).isBefore(Instant.now());
+
+          // Due-scan claims the tenant: its row is leased into the future
+          scheduleIndexService.enqueueDueTenants();
+          assertThat(indexedNextFireAt()).isAfter(Instant.now());
+
+          // The tenant poll fires the rule and replaces the lease with the exact next fire time
+          scheduler.processScheduledTenant();
+          var fired = ruleRepository.findById(saved.getId()).orElseThrow();
+          assertThat(fired.getLastRunAt()).isAfter(Instant.now().minus(1, ChronoUnit.MINUTES));
+          assertThat(indexedNextFireAt())
+              .isEqualTo(AutomationScheduleIndexService.nextFireAt(fired));
+
+          ruleRepository.deleteAll(ruleRepository.findByTriggerType(TriggerType.SCHEDULED));
+          scheduleIndexService.refresh();
+        });
+  }
+
+  @Test
+  void refresh_inRolledBackTransaction_leavesIndexUntouched() {
+    runInTenant(
+        () -> {
+          transactionTemplate.executeWithoutResult(
+              tx -> {
+                ruleRepository.save(
+                    new AutomationRule(
+                        "Rolled back",
+                        "Index test",
+                        TriggerType.SCHEDULED,
+                        Map.of("cronExpression", "0 0 6 1 1 *"),
+                        List.of(),
+                        RuleSource.CUSTOM,
+                        null,
+                        ownerMemberId));
+                scheduleIndexService.refresh();
+                tx.setRollbackOnly();
+              });
+          assertThat(indexedNextFireAt()).isNull();
+        });
+  }
+}
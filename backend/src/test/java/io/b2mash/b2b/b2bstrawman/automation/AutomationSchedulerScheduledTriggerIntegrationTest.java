@@ -54,6 +54,7 @@ class AutomationSchedulerScheduledTriggerIntegrationTest {
   @Autowired private OrgSchemaMappingRepository orgSchemaMappingRepository;
   @Autowired private AutomationScheduler scheduler;
   @Autowired private AutomationRuleRepository ruleRepository;
+  @Autowired private AutomationRuleVersionRepository versionRepository;
   @Autowired private AutomationActionRepository actionRepository;
   @Autowired private AutomationExecutionRepository executionRepository;
   @Autowired private ProjectRepository projectRepository;
@@ -149,6 +150,39 @@ class AutomationSchedulerScheduledTriggerIntegrationTest {
         });
   }
 
+  @Test
+  void scheduledTrigger_stampingLastRunAt_keepsRuleIndexVersion() {
+    runInTenant(
+        () -> {
+          var rule =
+              new AutomationRule(
+                  "Scheduled Version Rule",
+                  "Test cron",
+                  TriggerType.SCHEDULED,
+                  Map.of("cronExpression", "* * * * * *"),
+                  List.of(),
+                  RuleSource.CUSTOM,
+                  null,
+                  ownerMemberId);
+          rule = ruleRepository.save(rule);
+          rule.setLastRunAt(Instant.now().minus(2, ChronoUnit.MINUTES));
+          rule = ruleRepository.save(rule);
+
+          // Only last_run_at changes when the poll fires the rule: the compiled index stays valid
+          var versionBeforePoll = versionRepository.currentVersion();
+          scheduler.processScheduledTenant();
+          assertThat(ruleRepository.findById(rule.getId()).orElseThrow().getLastRunAt())
+              .isAfter(Instant.now().minus(1, ChronoUnit.MINUTES));
+          assertThat(versionRepository.currentVersion()).isEqualTo(versionBeforePoll);
+
+          // Any other change still replaces the stamp
+          rule = ruleRepository.findById(rule.getId()).orElseThrow();
+          rule.toggle();
+          ruleRepository.save(rule);
+          assertThat(versionRepository.currentVersion()).isNotEqualTo(versionBeforePoll);
+        });
+  }
+
   @Test
   void scheduledTrigger_invalidCronExpression_handledGracefully() {
     runInTenant(
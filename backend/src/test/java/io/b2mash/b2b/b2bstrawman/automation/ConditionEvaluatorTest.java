@@ -287,6 +287,39 @@ class ConditionEvaluatorTest {
     assertThat(context.get("rule")).containsEntry("name", "Budget alert");
   }
 
+  // --- Compiled Conditions ---
+
+  @Test
+  void compiled_matchesRawEvaluation() {
+    var context = contextWith("task", "status", "IN_PROGRESS");
+    var conditions =
+        List.of(
+            condition("task.status", "IN", List.of("OPEN", "IN_PROGRESS")),
+            condition("task.status", "NOT_EQUALS", "DONE"));
+
+    var compiled = evaluator.compile(conditions);
+
+    assertThat(compiled).hasSize(2);
+    assertThat(compiled.getFirst().operator()).isEqualTo(ConditionOperator.IN);
+    assertThat(compiled.getFirst().entityKey()).isEqualTo("task");
+    assertThat(evaluator.evaluateCompiled(compiled, context)).isTrue();
+  }
+
+  @Test
+  void compiled_unknownOperator_evaluatesFalse() {
+    var context = contextWith("task", "status", "OPEN");
+    var compiled = evaluator.compile(List.of(condition("task.status", "SOUNDS_LIKE", "OPEN")));
+
+    assertThat(compiled.getFirst().operator()).isNull();
+    assertThat(evaluator.evaluateCompiled(compiled, context)).isFalse();
+  }
+
+  @Test
+  void compiled_nullConditions_unconditional() {
+    assertThat(evaluator.compile(null)).isEmpty();
+    assertThat(evaluator.evaluateCompiled(List.of(), Map.of())).isTrue();
+  }
+
   // --- Helpers ---
 
   private Map<String, Object> condition(String field, String operator, Object value) {
@@ -9,6 +9,7 @@ import io.b2mash.b2b.b2bstrawman.automation.ActionType;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationActionRepository;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRule;
 import io.b2mash.b2b.b2bstrawman.automation.AutomationRuleRepository;
+import io.b2mash.b2b.b2bstrawman.automation.AutomationScheduleIndexService;
 import io.b2mash.b2b.b2bstrawman.automation.TriggerType;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateDefinition.AutomationTemplatePack;
 import io.b2mash.b2b.b2bstrawman.automation.template.AutomationTemplateDefinition.TemplateActionDefinition;
@@ -48,6 +49,7 @@ class AutomationTemplateSeederTest {
             new ObjectMapper(),
             ruleRepository,
             actionRepository,
+            mock(AutomationScheduleIndexService.class),
             mock(OrgSettingsRepository.class),
             mock(TenantTransactionHelper.class));
   }
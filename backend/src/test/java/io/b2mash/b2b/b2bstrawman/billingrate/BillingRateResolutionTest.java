@@ -11,6 +11,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
 import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import io.b2mash.b2b.b2bstrawman.project.ProjectService;
 import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import io.b2mash.b2b.b2bstrawman.ratecard.RateCardIndexService;
 import io.b2mash.b2b.b2bstrawman.testutil.TestCustomerFactory;
 import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
 import java.math.BigDecimal;
@@ -43,6 +44,7 @@ class BillingRateResolutionTest {
   @Autowired private MockMvc mockMvc;
   @Autowired private BillingRateService billingRateService;
   @Autowired private BillingRateRepository billingRateRepository;
+  @Autowired private RateCardIndexService rateCardIndexService;
   @Autowired private CustomerProjectService customerProjectService;
   @Autowired private CustomerProjectRepository customerProjectRepository;
   @Autowired private ProjectService projectService;
@@ -330,6 +332,50 @@ class BillingRateResolutionTest {
         });
   }
 
+  @Test
+  @Order(11)
+  void resolveRate_seesRateWrittenOutsideTheService() {
+    // Writes that bypass BillingRateService still move the rate card stamp, so the cached index
+    // is rebuilt on the next lookup rather than serving the stale cascade
+    runInTenant(
+        () -> {
+          var before = rateCardIndexService.current().version();
+          assertThat(
+                  billingRateService
+                      .resolveRate(memberIdMember, projectId, LocalDate.of(2031, 6, 15))
+                      .orElseThrow()
+                      .source())
+              .isEqualTo("MEMBER_DEFAULT");
+
+          var override =
+              billingRateRepository.save(
+                  new BillingRate(
+                      memberIdMember,
+                      projectId,
+                      null,
+                      "USD",
+                      new BigDecimal("275.00"),
+                      LocalDate.of(2031, 1, 1),
+                      null));
+          assertThat(rateCardIndexService.current().version()).isNotEqualTo(before);
+
+          var overridden =
+              billingRateService.resolveRate(memberIdMember, projectId, LocalDate.of(2031, 6, 15));
+          assertThat(overridden).isPresent();
+          assertThat(overridden.get().source()).isEqualTo("PROJECT_OVERRIDE");
+          assertThat(overridden.get().hourlyRate()).isEqualByComparingTo("275.00");
+
+          billingRateRepository.delete(override);
+          assertThat(
+                  billingRateService
+                      .resolveRate(memberIdMember, projectId, LocalDate.of(2031, 6, 15))
+                      .orElseThrow()
+                      .source())
+              .isEqualTo("MEMBER_DEFAULT");
+          return null;
+        });
+  }
+
   // --- Helpers ---
 
   private <T> T runInTenant(java.util.concurrent.Callable<T> callable) {
@@ -0,0 +1,303 @@
+package io.b2mash.b2b.b2bstrawman.billingrun;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import io.b2mash.b2b.b2bstrawman.customer.CustomerProject;
+import io.b2mash.b2b.b2bstrawman.customer.CustomerProjectRepository;
+import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobHandlerRegistry;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueue;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobQueueRepository;
+import io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue.JobStatus;
+import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.project.Project;
+import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.task.Task;
+import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
+import io.b2mash.b2b.b2bstrawman.testutil.AbstractIntegrationTest;
+import io.b2mash.b2b.b2bstrawman.testutil.TestCustomerFactory;
+import io.b2mash.b2b.b2bstrawman.testutil.TestJwtFactory;
+import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
+import io.b2mash.b2b.b2bstrawman.testutil.TestModuleHelper;
+import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
+import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for billing run generation on the job queue: the generate endpoint enqueues
+ * the job on the primary shard once the run has started, the {@code billing_run_generate} handler
+ * completes it, and a run whose job is dead-lettered or stops making progress does not stay
+ * IN_PROGRESS. The worker is not started; each test drives the handler the way it would.
+ */
+@TestPropertySource(
+    properties = {"kazi.job-queue.enabled=true", "kazi.job-queue.auto-start=false"})
+class BillingRunAsyncGenerationTest extends AbstractIntegrationTest {
+
+  private static final String ORG_ID = "org_billing_async_generate_test";
+  private static final String OWNER = "user_async_gen_owner";
+
+  @Autowired private OrgSchemaMappingRepository orgSchemaMappingRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private CustomerProjectRepository customerProjectRepository;
+  @Autowired private ProjectRepository projectRepository;
+  @Autowired private TaskRepository taskRepository;
+  @Autowired private TimeEntryRepository timeEntryRepository;
+  @Autowired private BillingRunRepository billingRunRepository;
+  @Autowired private BillingRunItemRepository billingRunItemRepository;
+  @Autowired private JobQueueRepository jobQueueRepository;
+  @Autowired private JobHandlerRegistry handlerRegistry;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+
+  private String tenantSchema;
+  private UUID memberId;
+  private UUID taskId;
+
+  @BeforeAll
+  void setUp() throws Exception {
+    provisioningService.provisionTenant(ORG_ID, "Async Generate Test Org", null);
+    memberId =
+        UUID.fromString(
+            TestMemberHelper.syncMember(
+                mockMvc, ORG_ID, OWNER, "async_gen_owner@test.com", "Async Owner", "owner"));
+    TestModuleHelper.enableModules(mockMvc, ORG_ID, OWNER, "bulk_billing");
+    tenantSchema =
+        orgSchemaMappingRepository.findByClerkOrgId(ORG_ID).orElseThrow().getSchemaName();
+
+    taskId =
+        inTenant(
+            () ->
+                transactionTemplate.execute(
+                    tx -> {
+                      var customer =
+                          customerRepository.save(
+                              TestCustomerFactory.createActiveCustomerWithPrerequisiteFields(
+                                  "Async Corp", "async@test.com", memberId));
+                      var project =
+                          projectRepository.save(
+                              new Project("Async Project", "Test project", memberId));
+                      customerProjectRepository.save(
+                          new CustomerProject(customer.getId(), project.getId(), memberId));
+                      return taskRepository
+                          .save(
+                              new Task(
+                                  project.getId(),
+                                  "Async Task",
+                                  null,
+                                  "MEDIUM",
+                                  "TASK",
+                                  null,
+                                  memberId))
+                          .getId();
+                    }));
+  }
+
+  @BeforeEach
+  void clearGenerationJobs() {
+    jobQueueRepository.deleteAll(generationJobs());
+  }
+
+  @Test
+  void generateEnqueuesJobWithRunAndHandlerCompletesIt() throws Exception {
+    UUID runId = createRunWithPreview("Async Run 1");
+
+    mockMvc
+        .perform(post("/api/billing-runs/" + runId + "/generate").with(owner()))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/billing-runs/" + runId + "/progress"))
+        .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+    var job = generationJobs().getFirst();
+    assertThat(job.getTenantId()).isEqualTo(tenantSchema);
+    assertThat(job.getPayload().get("billingRunId").asText()).isEqualTo(runId.toString());
+
+    runHandler(job);
+
+    mockMvc
+        .perform(get("/api/billing-runs/" + runId + "/progress").with(owner()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.pendingItems").value(0))
+        .andExpect(jsonPath("$.generatedItems").value(1))
+        .andExpect(jsonPath("$.failedItems").value(0));
+  }
+
+  @Test
+  void generateWhilePreviousJobIsStillActiveRollsBackTheStart() throws Exception {
+    UUID firstRunId = createRunWithPreview("Async Run 2A");
+    mockMvc
+        .perform(post("/api/billing-runs/" + firstRunId + "/generate").with(owner()))
+        .andExpect(status().isAccepted());
+    // The run completes, but its job is not marked COMPLETED yet.
+    runHandler(generationJobs().getFirst());
+
+    UUID secondRunId = createRunWithPreview("Async Run 2B");
+    mockMvc
+        .perform(post("/api/billing-runs/" + secondRunId + "/generate").with(owner()))
+        .andExpect(status().isConflict());
+
+    assertThat(runStatus(secondRunId)).isEqualTo(BillingRunStatus.PREVIEW);
+    assertThat(generationJobs()).hasSize(1);
+  }
+
+  @Test
+  void deadLetteredJobAbandonsTheRun() throws Exception {
+    UUID runId = createRunWithPreview("Async Run 3");
+    mockMvc
+        .perform(post("/api/billing-runs/" + runId + "/generate").with(owner()))
+        .andExpect(status().isAccepted());
+    var job = generationJobs().getFirst();
+
+    RequestScopes.runForTenantOnShard(
+        job.getTenantId(),
+        job.getOrgId(),
+        job.getShardId(),
+        () ->
+            handlerRegistry
+                .getHandler(job.getJobType())
+                .onDeadLetter(job.getPayload(), new IllegalStateException("PDF service down")));
+
+    assertThat(runStatus(runId)).isEqualTo(BillingRunStatus.COMPLETED);
+    var items = inTenant(() -> billingRunItemRepository.findByBillingRunId(runId));
+    assertThat(items)
+        .extracting(BillingRunItem::getStatus)
+        .containsOnly(BillingRunItemStatus.FAILED);
+    assertThat(items.getFirst().getFailureReason())
+        .isEqualTo("Invoice generation failed: PDF service down");
+  }
+
+  @Test
+  void generateAbandonsRunThatStoppedMakingProgress() throws Exception {
+    UUID staleRunId = createRunWithPreview("Async Run 4A");
+    mockMvc
+        .perform(post("/api/billing-runs/" + staleRunId + "/generate").with(owner()))
+        .andExpect(status().isAccepted());
+    // The job was lost: nothing will ever generate this run.
+    jobQueueRepository.deleteAll(generationJobs());
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    entityManager
+                        .createNativeQuery(
+                            """
+                            WITH run AS (
+                                UPDATE billing_runs SET updated_at = now() - INTERVAL '2 hours'
+                                WHERE id = :id)
+                            UPDATE billing_run_items SET updated_at = now() - INTERVAL '2 hours'
+                            WHERE billing_run_id = :id
+                            """)
+                        .setParameter("id", staleRunId)
+                        .executeUpdate()));
+
+    UUID nextRunId = createRunWithPreview("Async Run 4B");
+    mockMvc
+        .perform(post("/api/billing-runs/" + nextRunId + "/generate").with(owner()))
+        .andExpect(status().isAccepted());
+
+    assertThat(runStatus(staleRunId)).isEqualTo(BillingRunStatus.COMPLETED);
+    assertThat(inTenant(() -> billingRunItemRepository.findByBillingRunId(staleRunId)))
+        .extracting(BillingRunItem::getStatus)
+        .containsOnly(BillingRunItemStatus.FAILED);
+
+    runHandler(generationJobs().getFirst());
+    assertThat(runStatus(nextRunId)).isEqualTo(BillingRunStatus.COMPLETED);
+  }
+
+  // --- Helpers ---
+
+  private void runHandler(JobQueue job) {
+    RequestScopes.runForTenantOnShard(
+        job.getTenantId(),
+        job.getOrgId(),
+        job.getShardId(),
+        () -> handlerRegistry.getHandler(job.getJobType()).execute(job.getPayload()));
+  }
+
+  private List<JobQueue> generationJobs() {
+    return jobQueueRepository.findAll().stream()
+        .filter(job -> job.getJobType().equals(BillingRunGenerationService.GENERATION_JOB_TYPE))
+        .filter(job -> job.getStatus() == JobStatus.PENDING)
+        .toList();
+  }
+
+  private BillingRunStatus runStatus(UUID runId) {
+    return inTenant(() -> billingRunRepository.findById(runId).orElseThrow().getStatus());
+  }
+
+  /** Creates a run with one customer's fresh unbilled time entry and loads its preview. */
+  private UUID createRunWithPreview(String name) throws Exception {
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx -> {
+                  var entry =
+                      new TimeEntry(
+                          taskId, memberId, LocalDate.of(2026, 3, 15), 60, true, null, name);
+                  entry.snapshotBillingRate(new BigDecimal("1500.00"), "ZAR");
+                  return timeEntryRepository.save(entry);
+                }));
+
+    var created =
+        mockMvc
+            .perform(
+                post("/api/billing-runs")
+                    .with(owner())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "name": "%s",
+                          "periodFrom": "2026-03-01",
+                          "periodTo": "2026-03-31",
+                          "currency": "ZAR",
+                          "includeExpenses": false,
+                          "includeRetainers": false
+                        }
+                        """
+                            .formatted(name)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    String runId = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+    mockMvc
+        .perform(
+            post("/api/billing-runs/" + runId + "/preview")
+                .with(owner())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+        .andExpect(status().isOk());
+    return UUID.fromString(runId);
+  }
+
+  private RequestPostProcessor owner() {
+    return TestJwtFactory.ownerJwt(ORG_ID, OWNER);
+  }
+
+  private <T> T inTenant(Supplier<T> action) {
+    return ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .where(RequestScopes.MEMBER_ID, memberId)
+        .call(action::get);
+  }
+}
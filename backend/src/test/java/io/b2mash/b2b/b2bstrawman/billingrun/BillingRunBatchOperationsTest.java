@@ -9,6 +9,7 @@ import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerProject;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerProjectRepository;
 import io.b2mash.b2b.b2bstrawman.customer.CustomerRepository;
+import io.b2mash.b2b.b2bstrawman.integration.storage.StorageService;
 import io.b2mash.b2b.b2bstrawman.invoice.InvoiceRepository;
 import io.b2mash.b2b.b2bstrawman.invoice.InvoiceStatus;
 import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
@@ -18,6 +19,11 @@ import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
 import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
 import io.b2mash.b2b.b2bstrawman.task.Task;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
+import io.b2mash.b2b.b2bstrawman.template.DocumentTemplate;
+import io.b2mash.b2b.b2bstrawman.template.DocumentTemplateRepository;
+import io.b2mash.b2b.b2bstrawman.template.GeneratedDocumentRepository;
+import io.b2mash.b2b.b2bstrawman.template.TemplateCategory;
+import io.b2mash.b2b.b2bstrawman.template.TemplateEntityType;
 import io.b2mash.b2b.b2bstrawman.testutil.TestCustomerFactory;
 import io.b2mash.b2b.b2bstrawman.testutil.TestJwtFactory;
 import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
@@ -26,6 +32,8 @@ import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntry;
 import io.b2mash.b2b.b2bstrawman.timeentry.TimeEntryRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
@@ -39,6 +47,7 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -52,6 +61,17 @@ class BillingRunBatchOperationsTest {
 
   private static final String API_KEY = "test-api-key";
   private static final String ORG_ID = "org_batch_ops_test";
+  private static final Map<String, Object> INVOICE_TEMPLATE_CONTENT =
+      Map.of(
+          "type",
+          "doc",
+          "content",
+          List.of(
+              Map.of(
+                  "type",
+                  "paragraph",
+                  "content",
+                  List.of(Map.of("type", "text", "text", "Invoice for {{customer.name}}")))));
 
   @Autowired private MockMvc mockMvc;
   @Autowired private TenantProvisioningService provisioningService;
@@ -64,8 +84,14 @@ class BillingRunBatchOperationsTest {
   @Autowired private BillingRunRepository billingRunRepository;
   @Autowired private BillingRunItemRepository billingRunItemRepository;
   @Autowired private InvoiceRepository invoiceRepository;
+  @Autowired private BillingRunSendRepository sendRepository;
+  @Autowired private DocumentTemplateRepository documentTemplateRepository;
+  @Autowired private GeneratedDocumentRepository generatedDocumentRepository;
   @Autowired private TransactionTemplate transactionTemplate;
 
+  // Storage is mocked so sends can render and persist invoice PDFs without LocalStack.
+  @MockitoBean private StorageService storageService;
+
   private String tenantSchema;
   private UUID memberIdOwner;
   private UUID customerId;
@@ -144,6 +170,16 @@ class BillingRunBatchOperationsTest {
                               memberIdOwner);
                       task2 = taskRepository.save(task2);
                       taskId2 = task2.getId();
+
+                      // Sends render invoice PDFs only when an INVOICE template exists (this org
+                      // has no vertical, so none is seeded at provision time).
+                      documentTemplateRepository.save(
+                          new DocumentTemplate(
+                              TemplateEntityType.INVOICE,
+                              "Batch Invoice",
+                              "batch-invoice",
+                              TemplateCategory.COVER_LETTER,
+                              INVOICE_TEMPLATE_CONTENT));
                     }));
   }
 
@@ -366,6 +402,94 @@ class BillingRunBatchOperationsTest {
     assertThat(failureCount).isZero();
   }
 
+  @Test
+  @Order(8)
+  void batchSend_returnsTrackingIdForSendProgress() throws Exception {
+    seedUnbilledEntries("send_tracking");
+    String runId = createAndGenerateBillingRun("Send Tracking Run");
+
+    mockMvc
+        .perform(
+            post("/api/billing-runs/" + runId + "/approve")
+                .with(TestJwtFactory.ownerJwt(ORG_ID, "user_batch_owner")))
+        .andExpect(status().isOk());
+
+    var result =
+        mockMvc
+            .perform(
+                post("/api/billing-runs/" + runId + "/send")
+                    .with(TestJwtFactory.ownerJwt(ORG_ID, "user_batch_owner"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").exists())
+            .andReturn();
+
+    String sendId = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    int successCount = JsonPath.read(result.getResponse().getContentAsString(), "$.successCount");
+
+    // The job queue is disabled in tests, so the send completed inside the request
+    mockMvc
+        .perform(
+            get("/api/billing-runs/" + runId + "/sends/" + sendId)
+                .with(TestJwtFactory.ownerJwt(ORG_ID, "user_batch_owner")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.billingRunId").value(runId))
+        .andExpect(jsonPath("$.successCount").value(successCount))
+        .andExpect(jsonPath("$.totalCount").value(successCount));
+  }
+
+  @Test
+  @Order(9)
+  void batchSend_rendersEachPdfOnceFromTheSentInvoice() throws Exception {
+    seedUnbilledEntries("send_render");
+    String runId = createAndGenerateBillingRun("Send Render Run");
+
+    mockMvc
+        .perform(
+            post("/api/billing-runs/" + runId + "/approve")
+                .with(TestJwtFactory.ownerJwt(ORG_ID, "user_batch_owner")))
+        .andExpect(status().isOk());
+
+    var result =
+        mockMvc
+            .perform(
+                post("/api/billing-runs/" + runId + "/send")
+                    .with(TestJwtFactory.ownerJwt(ORG_ID, "user_batch_owner"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.failureCount").value(0))
+            .andReturn();
+    UUID sendId = UUID.fromString(JsonPath.read(result.getResponse().getContentAsString(), "$.id"));
+
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .run(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    tx -> {
+                      var sentInvoices =
+                          invoiceRepository.findByBillingRunIdAndStatus(
+                              UUID.fromString(runId), InvoiceStatus.SENT);
+                      assertThat(sentInvoices).isNotEmpty();
+                      for (var invoice : sentInvoices) {
+                        // One document per invoice (the listener did not render another), rendered
+                        // once the invoice was marked sent.
+                        var docs =
+                            generatedDocumentRepository
+                                .findByPrimaryEntityTypeAndPrimaryEntityIdOrderByGeneratedAtDesc(
+                                    TemplateEntityType.INVOICE, invoice.getId());
+                        assertThat(docs).hasSize(1);
+                        assertThat(docs.getFirst().getGeneratedAt())
+                            .isAfterOrEqualTo(invoice.getUpdatedAt());
+                      }
+                      assertThat(sendRepository.findById(sendId).orElseThrow().getAwaitingEmail())
+                          .isEmpty();
+                    }));
+  }
+
   // partition() was inlined into BillingRunService — test removed (method no longer public)
 
   // --- Helpers ---
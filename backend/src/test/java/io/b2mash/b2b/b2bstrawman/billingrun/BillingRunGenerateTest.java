@@ -68,6 +68,7 @@ class BillingRunGenerateTest {
   @Autowired private BillingRunItemRepository billingRunItemRepository;
   @Autowired private InvoiceRepository invoiceRepository;
   @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private BillingRunGenerationService generationService;
 
   private String tenantSchema;
   private UUID memberIdOwner;
@@ -482,6 +483,76 @@ class BillingRunGenerateTest {
     org.assertj.core.api.Assertions.assertThat(statuses).hasSize(2);
   }
 
+  @Test
+  @Order(11)
+  void progress_afterGenerate_reportsItemOutcomesAndRunningTotal() throws Exception {
+    seedUnbilledEntries("test11", false);
+    String runId = createBillingRunWithPreview("Gen Run 11", false);
+
+    var generated =
+        mockMvc
+            .perform(
+                post("/api/billing-runs/" + runId + "/generate")
+                    .with(TestJwtFactory.ownerJwt(ORG_ID, "user_gen_owner")))
+            .andExpect(status().isOk())
+            .andReturn();
+    Number totalAmount =
+        JsonPath.read(generated.getResponse().getContentAsString(), "$.totalAmount");
+
+    mockMvc
+        .perform(
+            get("/api/billing-runs/" + runId + "/progress")
+                .with(TestJwtFactory.ownerJwt(ORG_ID, "user_gen_owner")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.billingRunId").value(runId))
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.totalItems").value(2))
+        .andExpect(jsonPath("$.pendingItems").value(0))
+        .andExpect(jsonPath("$.generatedItems").value(2))
+        .andExpect(jsonPath("$.failedItems").value(0))
+        .andExpect(jsonPath("$.generatedAmount").value(totalAmount.doubleValue()));
+  }
+
+  @Test
+  @Order(12)
+  void processRun_parallel_generatesEveryItemOnceAndCompletes() throws Exception {
+    seedUnbilledEntries("test12", false);
+    UUID runId = UUID.fromString(createBillingRunWithPreview("Gen Run 12", false));
+
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .where(RequestScopes.MEMBER_ID, memberIdOwner)
+        .run(
+            () -> {
+              transactionTemplate.executeWithoutResult(
+                  tx -> {
+                    var run = billingRunRepository.findById(runId).orElseThrow();
+                    run.startGeneration();
+                    billingRunRepository.save(run);
+                  });
+
+              var response = generationService.processRun(runId, memberIdOwner, 4);
+              org.assertj.core.api.Assertions.assertThat(response.status())
+                  .isEqualTo(BillingRunStatus.COMPLETED);
+              org.assertj.core.api.Assertions.assertThat(response.totalInvoices()).isEqualTo(2);
+              org.assertj.core.api.Assertions.assertThat(response.totalFailed()).isZero();
+
+              var items = billingRunItemRepository.findByBillingRunId(runId);
+              org.assertj.core.api.Assertions.assertThat(items)
+                  .extracting(BillingRunItem::getStatus)
+                  .containsOnly(BillingRunItemStatus.GENERATED);
+              org.assertj.core.api.Assertions.assertThat(
+                      invoiceRepository.findAll().stream()
+                          .filter(invoice -> runId.equals(invoice.getBillingRunId()))
+                          .count())
+                  .isEqualTo(2);
+
+              // A repeated run (e.g. a job retry) finds nothing left to do.
+              var rerun = generationService.processRun(runId, memberIdOwner, 4);
+              org.assertj.core.api.Assertions.assertThat(rerun.totalInvoices()).isEqualTo(2);
+            });
+  }
+
   // --- Helpers ---
 
   private String createBillingRunWithPreview(String name, boolean includeExpenses)
@@ -378,6 +378,35 @@ class DashboardCompanyIntegrationTest {
         : "Admin should see more projects (%d) than member (%d)".formatted(adminCount, memberCount);
   }
 
+  @Test
+  void projectHealthListAgreesWithPerProjectHealth() throws Exception {
+    // The list loads health inputs in bulk; each entry must match the per-project computation
+    var listResult =
+        mockMvc
+            .perform(
+                get("/api/dashboard/project-health")
+                    .with(TestJwtFactory.adminJwt(ORG_ID, "user_cdash_admin")))
+            .andExpect(status().isOk())
+            .andReturn();
+    String listJson = listResult.getResponse().getContentAsString();
+
+    for (UUID projectId : List.of(projectAId, projectBId, projectCId)) {
+      String entry = "$[?(@.projectId == '" + projectId + "')]";
+      List<Integer> tasksTotal = JsonPath.read(listJson, entry + ".tasksTotal");
+      List<Integer> tasksDone = JsonPath.read(listJson, entry + ".tasksDone");
+      List<String> healthStatus = JsonPath.read(listJson, entry + ".healthStatus");
+
+      mockMvc
+          .perform(
+              get("/api/projects/{projectId}/health", projectId)
+                  .with(TestJwtFactory.adminJwt(ORG_ID, "user_cdash_admin")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.metrics.totalTasks").value(tasksTotal.getFirst()))
+          .andExpect(jsonPath("$.metrics.tasksDone").value(tasksDone.getFirst()))
+          .andExpect(jsonPath("$.healthStatus").value(healthStatus.getFirst()));
+    }
+  }
+
   // --- Team Workload Tests ---
 
   @Test
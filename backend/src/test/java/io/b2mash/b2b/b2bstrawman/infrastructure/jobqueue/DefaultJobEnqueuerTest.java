@@ -2,9 +2,13 @@ package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
 import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMapping;
 import io.b2mash.b2b.b2bstrawman.multitenancy.OrgSchemaMappingRepository;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +16,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Exercises the enqueue/fan-out/dedup logic with the queue ENABLED — the realistic precondition for
@@ -36,8 +43,21 @@ class DefaultJobEnqueuerTest {
 
   @Autowired private JobQueueProperties properties;
 
+  @Autowired private PendingWorkRegistry pendingWorkRegistry;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate requiresNewTransactionTemplate;
+
   @BeforeEach
   void setUp() {
+    requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+    requiresNewTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    // Pending-work marks commit outside the test transaction; drop those of earlier tests, whose
+    // tenants below have no committed mapping.
+    pendingWorkRegistry.deleteOrphans();
+
     // Clear any existing data — both tables for deterministic assertions
     jobQueueRepository.deleteAll();
     jobQueueRepository.flush();
@@ -116,6 +136,101 @@ class DefaultJobEnqueuerTest {
     assertThat(tenant1Jobs).isEqualTo(2);
   }
 
+  @Test
+  void fanOutShouldSkipOnlyTenantsWithActiveJob() {
+    enqueuer.enqueue("PARTIAL_JOB", "tenant_enq_2", "org_enq_2", "primary", null);
+
+    int enqueued = enqueuer.fanOutToAllTenants("PARTIAL_JOB", null);
+
+    assertThat(enqueued).isEqualTo(2);
+    assertThat(
+            jobQueueRepository.findAll().stream()
+                .filter(j -> j.getJobType().equals("PARTIAL_JOB"))
+                .map(JobQueue::getTenantId))
+        .containsExactlyInAnyOrder("tenant_enq_1", "tenant_enq_2", "tenant_enq_3");
+  }
+
+  @Test
+  void fanOutShouldCarryPayloadPriorityAndShard() {
+    mappingRepository.saveAndFlush(
+        new OrgSchemaMapping("org_enq_shard", "tenant_enq_shard", "primary"));
+    var payload = new ObjectMapper().createObjectNode().put("scope", "all");
+
+    int enqueued = enqueuer.fanOutToAllTenants("PAYLOAD_JOB", payload, 7);
+
+    assertThat(enqueued).isEqualTo(4);
+    var jobs =
+        jobQueueRepository.findAll().stream()
+            .filter(j -> j.getJobType().equals("PAYLOAD_JOB"))
+            .toList();
+    assertThat(jobs)
+        .allSatisfy(
+            j -> {
+              assertThat(j.getPriority()).isEqualTo(7);
+              assertThat(j.getShardId()).isEqualTo("primary");
+              assertThat(j.getPayload().get("scope").asText()).isEqualTo("all");
+              assertThat(j.getOrgId()).isEqualTo("org_" + j.getTenantId().substring(7));
+            });
+  }
+
+  @Test
+  void fanOutToTenantsWithDueWorkShouldEnqueueOnlyDueTenantsOnce() {
+    markDueAndCommit("tenant_enq_1", "DUE_JOB", minutesFromNow(-1));
+    markDueAndCommit("tenant_enq_2", "DUE_JOB", minutesFromNow(60));
+
+    assertThat(enqueuer.fanOutToTenantsWithDueWork("DUE_JOB", null)).isEqualTo(1);
+    assertThat(
+            jobQueueRepository.findAll().stream()
+                .filter(j -> j.getJobType().equals("DUE_JOB"))
+                .map(JobQueue::getTenantId))
+        .containsExactly("tenant_enq_1");
+
+    // The claimed tenant is leased, so the next scan does not pick it up again
+    assertThat(enqueuer.fanOutToTenantsWithDueWork("DUE_JOB", null)).isZero();
+  }
+
+  @Test
+  void rescheduleShouldKeepWorkMarkedWhileTheJobRan() {
+    inTenant(
+        "tenant_enq_1",
+        () -> {
+          markDueAndCommit("tenant_enq_1", "GEN_JOB", minutesFromNow(-1));
+          long generation = pendingWorkRegistry.generation("GEN_JOB");
+
+          // Work marked between the job's snapshot and its reschedule survives "nothing left"
+          markDueAndCommit("tenant_enq_1", "GEN_JOB", minutesFromNow(-1));
+          pendingWorkRegistry.reschedule("GEN_JOB", generation, null);
+          assertThat(pendingWorkRegistry.generation("GEN_JOB")).isEqualTo(generation + 1);
+
+          pendingWorkRegistry.reschedule("GEN_JOB", generation + 1, null);
+          assertThat(pendingWorkRegistry.generation("GEN_JOB")).isZero();
+        });
+  }
+
+  @Test
+  void markDueShouldBeWrittenOnceItsTransactionCommits() {
+    inTenant(
+        "tenant_enq_3",
+        () -> {
+          requiresNewTransactionTemplate.executeWithoutResult(
+              tx -> {
+                pendingWorkRegistry.markDue("TX_JOB", minutesFromNow(-1));
+                tx.setRollbackOnly();
+              });
+          assertThat(pendingWorkRegistry.generation("TX_JOB")).isZero();
+
+          requiresNewTransactionTemplate.executeWithoutResult(
+              tx -> {
+                pendingWorkRegistry.markDue("TX_JOB", minutesFromNow(30));
+                pendingWorkRegistry.markDue("TX_JOB", minutesFromNow(-1));
+                assertThat(pendingWorkRegistry.generation("TX_JOB")).isZero();
+              });
+          // Both marks of the transaction are written as one, at the earlier due time
+          assertThat(pendingWorkRegistry.generation("TX_JOB")).isEqualTo(1);
+          assertThat(enqueuer.fanOutToTenantsWithDueWork("TX_JOB", null)).isEqualTo(1);
+        });
+  }
+
   @Test
   void enqueueSingleJobShouldDedupOnSecondCall() {
     enqueuer.enqueue("SINGLE_JOB", "tenant_enq_1", "org_enq_1", "primary", null);
@@ -150,4 +265,24 @@ class DefaultJobEnqueuerTest {
     assertThat(properties.isDualMode("UNKNOWN_JOB")).isFalse();
     assertThat(properties.isDualMode("INVOICE_GENERATION")).isFalse();
   }
+
+  /**
+   * Marks work due in a transaction of its own that commits: a mark made in the test's transaction
+   * would only be written once that commits, which it never does.
+   */
+  private void markDueAndCommit(String tenantId, String jobType, Instant dueAt) {
+    inTenant(
+        tenantId,
+        () ->
+            requiresNewTransactionTemplate.executeWithoutResult(
+                tx -> pendingWorkRegistry.markDue(jobType, dueAt)));
+  }
+
+  private static void inTenant(String tenantId, Runnable body) {
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantId).run(body);
+  }
+
+  private static Instant minutesFromNow(long minutes) {
+    return Instant.now().plus(minutes, ChronoUnit.MINUTES);
+  }
 }
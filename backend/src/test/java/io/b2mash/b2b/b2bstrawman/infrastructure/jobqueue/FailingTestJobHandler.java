@@ -8,7 +8,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * Test handler that always throws to exercise the retry and dead-letter paths. Tracks the number of
- * execution attempts for assertions.
+ * execution attempts and dead-letter callbacks for assertions.
  */
 @Component
 @Profile("test")
@@ -17,6 +17,7 @@ public class FailingTestJobHandler implements JobHandler {
   public static final String JOB_TYPE = "failing_test_job";
 
   private final AtomicInteger attemptCount = new AtomicInteger(0);
+  private final AtomicInteger deadLetterCount = new AtomicInteger(0);
 
   @Override
   public String jobType() {
@@ -29,13 +30,24 @@ public class FailingTestJobHandler implements JobHandler {
     throw new RuntimeException("Simulated job failure");
   }
 
+  @Override
+  public void onDeadLetter(@Nullable JsonNode payload, Exception cause) {
+    deadLetterCount.incrementAndGet();
+  }
+
   /** Returns the total number of execution attempts. */
   public int getAttemptCount() {
     return attemptCount.get();
   }
 
-  /** Resets the attempt counter — call in {@code @BeforeEach}. */
+  /** Returns how many times the worker reported a dead-lettered job. */
+  public int getDeadLetterCount() {
+    return deadLetterCount.get();
+  }
+
+  /** Resets the counters — call in {@code @BeforeEach}. */
   public void clear() {
     attemptCount.set(0);
+    deadLetterCount.set(0);
   }
 }
@@ -0,0 +1,121 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fair-share claiming ({@code claim-mode=FAIR}): a burst from one tenant must not crowd out a
+ * tenant with a single job, and the per-tenant in-flight cap must hold a saturated tenant back.
+ * Drives the claim queries directly — the worker only chooses between them.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+      "kazi.job-queue.enabled=true",
+      "kazi.job-queue.auto-start=false",
+      "kazi.job-queue.tenant-wait-metrics-enabled=true"
+    })
+@Transactional
+class FairClaimQueryTest {
+
+  private static final String NOISY_TENANT = "tenant_fa1000000001";
+  private static final String QUIET_TENANT = "tenant_fa1000000002";
+
+  @Autowired private JobQueueRepository jobQueueRepository;
+  @Autowired private JobQueueMetrics jobQueueMetrics;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    jobQueueRepository.deleteAll();
+    jobQueueRepository.flush();
+  }
+
+  /** The dedup index allows one active job per (type, tenant), so bursts use distinct types. */
+  private JobQueue pending(String jobType, String tenantId, int priority, Instant dueAt) {
+    var job = new JobQueue(jobType, tenantId, "org_" + tenantId, "primary", null, 3);
+    job.setPriority(priority);
+    job.setNextAttemptAt(dueAt);
+    return jobQueueRepository.saveAndFlush(job);
+  }
+
+  private void seedBurst() {
+    var old = Instant.now().minus(10, ChronoUnit.MINUTES);
+    for (int i = 0; i < 10; i++) {
+      pending("burst_" + i, NOISY_TENANT, 5, old.plusSeconds(i));
+    }
+    pending("single", QUIET_TENANT, 0, Instant.now().minusSeconds(1));
+  }
+
+  @Test
+  void priorityModeLetsBurstStarveOtherTenant() {
+    seedBurst();
+
+    var claimed = jobQueueRepository.findClaimable(2);
+
+    assertThat(claimed).extracting(JobQueue::getTenantId).containsOnly(NOISY_TENANT);
+  }
+
+  @Test
+  void fairModeGivesEachTenantATurn() {
+    seedBurst();
+
+    var claimed = jobQueueRepository.findClaimableFair(2, Integer.MAX_VALUE);
+
+    assertThat(claimed)
+        .extracting(JobQueue::getTenantId)
+        .containsExactlyInAnyOrder(NOISY_TENANT, QUIET_TENANT);
+  }
+
+  @Test
+  void fairModeHonoursTenantInFlightCap() {
+    seedBurst();
+    var inFlight = pending("running", NOISY_TENANT, 0, Instant.now());
+    inFlight.setStatus(JobStatus.CLAIMED);
+    inFlight.setClaimedAt(Instant.now());
+    jobQueueRepository.saveAndFlush(inFlight);
+
+    var claimed = jobQueueRepository.findClaimableFair(5, 1);
+
+    assertThat(claimed).extracting(JobQueue::getTenantId).containsExactly(QUIET_TENANT);
+  }
+
+  @Test
+  void fairModeExcludesSaturatedTypes() {
+    seedBurst();
+
+    var claimed = jobQueueRepository.findClaimableFairExcludingTypes(20, 100, Set.of("single"));
+
+    assertThat(claimed).hasSize(10).extracting(JobQueue::getTenantId).containsOnly(NOISY_TENANT);
+  }
+
+  @Test
+  void recordsPerTenantQueueWaitHistogram() {
+    var now = Instant.now();
+
+    jobQueueMetrics.recordQueueWait(QUIET_TENANT, now.minusMillis(250), now);
+
+    var timer =
+        meterRegistry
+            .find("kazi_job_queue_tenant_wait_seconds")
+            .tag("tenant_id", QUIET_TENANT)
+            .timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+  }
+}
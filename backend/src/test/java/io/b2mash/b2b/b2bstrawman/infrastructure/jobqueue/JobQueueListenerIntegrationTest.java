@@ -0,0 +1,93 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * LISTEN/NOTIFY wake-up: an enqueue commits a {@code NOTIFY} that the dedicated listener
+ * connection turns into a worker wake-up. Both poll intervals are set to a minute, so a job that
+ * completes within seconds can only have been picked up via the notification path.
+ *
+ * <p>NOT {@code @Transactional}: the NOTIFY is only delivered when the enqueue transaction commits.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+      "kazi.job-queue.enabled=true",
+      "kazi.job-queue.auto-start=false",
+      "kazi.job-queue.poll-interval-ms=60000",
+      "kazi.job-queue.fallback-poll-interval-ms=60000"
+    })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JobQueueListenerIntegrationTest {
+
+  private static final String TENANT = "tenant_bbb000000001";
+  private static final String ORG = "org_listener_1";
+
+  @Autowired private JobQueueListener listener;
+  @Autowired private JobWakeupSignal wakeupSignal;
+  @Autowired private JobEnqueuer enqueuer;
+  @Autowired private JobWorker worker;
+  @Autowired private JobQueueRepository jobQueueRepository;
+  @Autowired private TestJobHandler testJobHandler;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    testJobHandler.clear();
+    jobQueueRepository.deleteAllInBatch();
+    listener.start();
+    await().atMost(Duration.ofSeconds(10)).until(wakeupSignal::isListening);
+    // Consume the catch-up signal the listener raises on (re)connect.
+    wakeupSignal.await(100);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (worker.isRunning()) {
+      worker.stop();
+    }
+    listener.stop();
+  }
+
+  @Test
+  void enqueueCommitWakesListeningPod() throws InterruptedException {
+    enqueuer.enqueue(TestJobHandler.JOB_TYPE, TENANT, ORG, "primary", null);
+
+    assertThat(wakeupSignal.await(5_000))
+        .as("the committed NOTIFY must reach the listener connection")
+        .isTrue();
+  }
+
+  @Test
+  void idleWorkerPicksUpNewJobWithoutWaitingForPoll() {
+    worker.start();
+
+    enqueuer.enqueue(TestJobHandler.JOB_TYPE, TENANT, ORG, "primary", null);
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .pollInterval(Duration.ofMillis(100))
+        .untilAsserted(() -> assertThat(testJobHandler.getExecutions()).contains(TENANT));
+  }
+
+  @Test
+  void stoppingListenerFallsBackToRegularPolling() {
+    listener.stop();
+
+    await().atMost(Duration.ofSeconds(10)).until(() -> !wakeupSignal.isListening());
+  }
+}
@@ -0,0 +1,62 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Plain unit test for {@link JobSlots} — no Spring context needed. */
+class JobSlotsTest {
+
+  @Test
+  void awaitFreeTakesEveryFreeSlot() throws InterruptedException {
+    var slots = new JobSlots(4, Map.of());
+
+    assertThat(slots.awaitFree()).isEqualTo(4);
+
+    // Three claimed jobs keep their slots; the fourth goes back unused.
+    slots.release(1);
+    assertThat(slots.awaitFree()).isEqualTo(1);
+
+    // One job finishes — exactly one slot is available to refill.
+    slots.release(1);
+    assertThat(slots.awaitFree()).isEqualTo(1);
+  }
+
+  @Test
+  void parallelismIsAtLeastOne() throws InterruptedException {
+    var slots = new JobSlots(0, Map.of());
+
+    assertThat(slots.awaitFree()).isEqualTo(1);
+  }
+
+  @Test
+  void cappedTypeIsRefusedAtCapAndReportedSaturated() {
+    var slots = new JobSlots(10, Map.of("heavy", 2));
+
+    assertThat(slots.tryReserveType("heavy")).isTrue();
+    assertThat(slots.saturatedTypes()).isEmpty();
+    assertThat(slots.tryReserveType("heavy")).isTrue();
+    assertThat(slots.tryReserveType("heavy")).isFalse();
+    assertThat(slots.saturatedTypes()).containsExactly("heavy");
+    assertThat(slots.inFlight("heavy")).isEqualTo(2);
+
+    slots.releaseType("heavy");
+
+    assertThat(slots.saturatedTypes()).isEmpty();
+    assertThat(slots.tryReserveType("heavy")).isTrue();
+  }
+
+  @Test
+  void uncappedTypeIsOnlyTracked() {
+    var slots = new JobSlots(10, Map.of("heavy", 1));
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(slots.tryReserveType("light")).isTrue();
+    }
+
+    assertThat(slots.inFlight("light")).isEqualTo(5);
+    assertThat(slots.isCapped("light")).isFalse();
+    assertThat(slots.saturatedTypes()).isEmpty();
+  }
+}
@@ -0,0 +1,68 @@
+package io.b2mash.b2b.b2bstrawman.infrastructure.jobqueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Plain unit test for {@link JobWakeupSignal} — no Spring context needed. */
+class JobWakeupSignalTest {
+
+  @Test
+  void awaitTimesOutWhenNeverSignalled() throws InterruptedException {
+    var signal = new JobWakeupSignal();
+
+    long start = System.nanoTime();
+    boolean woken = signal.await(100);
+
+    assertThat(woken).isFalse();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+  }
+
+  @Test
+  void signalBeforeAwaitIsNotLost() throws InterruptedException {
+    var signal = new JobWakeupSignal();
+
+    signal.signal();
+
+    assertThat(signal.await(5_000)).isTrue();
+    // The signal is consumed — a second wait times out.
+    assertThat(signal.await(50)).isFalse();
+  }
+
+  @Test
+  void signalWakesParkedWaiter() throws Exception {
+    var signal = new JobWakeupSignal();
+    var waiter =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    signal.await(30_000);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                });
+
+    Thread.sleep(50);
+    signal.signal();
+    waiter.join(2_000);
+
+    assertThat(waiter.isAlive()).as("waiter must wake well before its 30s timeout").isFalse();
+  }
+
+  @Test
+  void scheduledInstantWakesBeforeTimeout() throws InterruptedException {
+    var signal = new JobWakeupSignal();
+    signal.scheduleAt(Instant.now().plusMillis(100));
+
+    long start = System.nanoTime();
+    boolean woken = signal.await(30_000);
+
+    assertThat(woken).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+    // Due instants are drained — nothing left to wake for.
+    assertThat(signal.await(50)).isFalse();
+  }
+}
@@ -164,6 +164,11 @@ class JobWorkerIntegrationTest {
     assertThat(deadLettered.getRetryCount()).isEqualTo(1);
     assertThat(deadLettered.getErrorMessage()).contains("Simulated job failure");
     assertThat(deadLettered.getCompletedAt()).isNotNull();
+    // The handler is told after the DEAD_LETTER status commits.
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () -> assertThat(failingTestJobHandler.getDeadLetterCount()).isEqualTo(1));
   }
 
   @Test
@@ -96,6 +96,34 @@ class EmailRateLimiterTest {
     assertThat(limiter.tryAcquire("tenant_f4", "sendgrid")).isTrue();
   }
 
+  @Test
+  void reserve_allowsBurstThenPacesAtRate() {
+    var limiter = new EmailRateLimiter(50, 200, 2000, new FakeTicker());
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.reserve("tenant_g", 5)).isZero();
+    }
+    // Bucket empty: each further reservation is pushed one refill interval (200ms) later
+    assertThat(limiter.reserve("tenant_g", 5)).isEqualTo(200_000_000L);
+    assertThat(limiter.reserve("tenant_g", 5)).isEqualTo(400_000_000L);
+  }
+
+  @Test
+  void reserve_refillsOverTimeAndIsPerTenant() {
+    var fakeTicker = new FakeTicker();
+    var limiter = new EmailRateLimiter(50, 200, 2000, fakeTicker);
+
+    assertThat(limiter.reserve("tenant_h", 1)).isZero();
+    assertThat(limiter.reserve("tenant_h", 1)).isEqualTo(1_000_000_000L);
+    // Another tenant has its own bucket
+    assertThat(limiter.reserve("tenant_i", 1)).isZero();
+
+    // Two seconds later the deficit is repaid and one token has accrued (capped at capacity)
+    fakeTicker.advance(2_000_000_000L);
+    assertThat(limiter.reserve("tenant_h", 1)).isZero();
+    assertThat(limiter.reserve("tenant_h", 1)).isEqualTo(1_000_000_000L);
+  }
+
   /** Fake ticker for simulating time passage in Caffeine caches. */
   private static class FakeTicker implements Ticker {
     private final AtomicLong nanos = new AtomicLong(System.nanoTime());
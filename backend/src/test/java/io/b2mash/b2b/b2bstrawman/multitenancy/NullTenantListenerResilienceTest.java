@@ -1,7 +1,6 @@
 package io.b2mash.b2b.b2bstrawman.multitenancy;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
 import io.b2mash.b2b.b2bstrawman.event.CommentCreatedEvent;
@@ -29,15 +28,15 @@ import org.springframework.transaction.support.TransactionTemplate;
  * Verifies the new {@link RequestScopes#runForTenant} contract under the (in-practice unreachable)
  * scenario where a domain event carries {@code tenantId == null}. The audit attached to PR #1265
  * concluded no production code path can publish a null-tenant event today, but we still want a
- * regression guard for the contract itself: if such an event were ever published, the listener must
- * fail fast (no silent drop, no fall-through to {@code action.run()} with unbound scope), and the
- * exception must not poison the originating transaction.
+ * regression guard for the contract itself: if such an event were ever published, the binding must
+ * be rejected before any work runs with an unbound scope (no fall-through to {@code action.run()}),
+ * and the failure must not poison the originating transaction.
  *
- * <p>Spring's {@code @TransactionalEventListener(AFTER_COMMIT)} contract guarantees the originating
- * transaction has already committed by the time the listener runs, so listener exceptions cannot
- * roll back the originating work. This test exercises the listener directly to prove the fail-fast
- * happens at the entry point (before any DB I/O), and exercises the AFTER_COMMIT path via {@link
- * ApplicationEventPublisher} to prove the originating transaction is unaffected.
+ * <p>{@link NotificationEventHandler} records events in the notification outbox BEFORE_COMMIT,
+ * inside the originating transaction, so it catches and logs recording failures itself rather than
+ * letting them roll back the originating work. This test exercises the listener directly to prove
+ * the rejection happens at the entry point (before any DB I/O), and exercises the BEFORE_COMMIT
+ * path via {@link ApplicationEventPublisher} to prove the originating transaction is unaffected.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -68,7 +67,7 @@ class NullTenantListenerResilienceTest {
   }
 
   @Test
-  void listener_failsFast_whenEventCarriesNullTenant_andDoesNotRunActionBody() {
+  void listener_rejectsNullTenantEvent_andDoesNotRunActionBody() {
     // Construct a null-tenantId event by hand. In production no publisher emits this — the audit
     // proved every publisher chain has TENANT_ID bound by TenantFilter or a per-tenant loop —
     // but the contract on RequestScopes.runForTenant must still reject it cleanly.
@@ -92,9 +91,8 @@ class NullTenantListenerResilienceTest {
         ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
             .call(notificationRepository::count);
 
-    assertThatThrownBy(() -> notificationEventHandler.onCommentCreated(nullTenantEvent))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessageContaining("tenantId");
+    // runForTenantOnShard rejects the null tenantId; the handler logs and drops the event.
+    notificationEventHandler.onCommentCreated(nullTenantEvent);
 
     long notificationCountAfter =
         ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
@@ -102,18 +100,17 @@ class NullTenantListenerResilienceTest {
 
     assertThat(notificationCountAfter)
         .as(
-            "fail-fast must happen before the action body runs — no notification should have been"
+            "rejection must happen before the action body runs — no notification should have been"
                 + " created")
         .isEqualTo(notificationCountBefore);
   }
 
   @Test
-  void afterCommitListener_failure_doesNotPoisonOriginatingTransaction() {
-    // Simulate the production shape: publish a domain event from inside a committed transaction.
-    // The @TransactionalEventListener(AFTER_COMMIT) handler will fail with IllegalArgumentException
-    // when it calls runForTenant(null, ...). Spring's TransactionSynchronizationUtils catches
-    // AFTER_COMMIT listener exceptions and logs them — the originating transaction has already
-    // committed by then, so it cannot be rolled back.
+  void beforeCommitListener_failure_doesNotPoisonOriginatingTransaction() {
+    // Simulate the production shape: publish a domain event from inside a transaction. The
+    // @TransactionalEventListener(BEFORE_COMMIT) handler fails with IllegalArgumentException when
+    // it calls runForTenantOnShard(null, ...), and catches and logs it — an exception escaping a
+    // BEFORE_COMMIT listener would roll the originating transaction back.
     DomainEvent nullTenantEvent =
         new CommentCreatedEvent(
             "comment.created",
@@ -143,13 +140,14 @@ class NullTenantListenerResilienceTest {
                     // mark "originating work" as completed within the tx
                     originatingWorkCompleted[0] = true;
                   });
-              // After-commit listeners fire here. The handler throws
-              // IllegalArgumentException; Spring catches it and logs at WARN.
-              // Test continues — no exception bubbles up.
+              // The before-commit listener fired during commit. The handler caught the
+              // IllegalArgumentException and logged it at WARN — no exception bubbles up.
             });
 
     assertThat(originatingWorkCompleted[0])
-        .as("Originating transaction must commit cleanly despite the AFTER_COMMIT listener failing")
+        .as(
+            "Originating transaction must commit cleanly despite the BEFORE_COMMIT listener"
+                + " failing")
         .isTrue();
   }
 }
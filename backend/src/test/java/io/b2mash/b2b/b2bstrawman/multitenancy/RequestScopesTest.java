@@ -405,4 +405,23 @@ class RequestScopesTest {
     assertThat(RequestScopes.ORG_ID.isBound()).isFalse();
     assertThat(RequestScopes.MEMBER_ID.isBound()).isFalse();
   }
+
+  @Test
+  void callOnPrimary_bindsPublicSchemaOnPrimaryShard() {
+    String result =
+        RequestScopes.callForTenantOnShard(
+            "tenant_acme",
+            "org_123",
+            "kazi_legal_1",
+            () ->
+                RequestScopes.callOnPrimary(
+                    () -> RequestScopes.requireTenantId() + "@" + RequestScopes.SHARD_ID.get()));
+    assertThat(result).isEqualTo("public@primary");
+  }
+
+  @Test
+  void callOnPrimary_rejectsNullAction() {
+    assertThatThrownBy(() -> RequestScopes.callOnPrimary(null))
+        .isInstanceOf(NullPointerException.class);
+  }
 }
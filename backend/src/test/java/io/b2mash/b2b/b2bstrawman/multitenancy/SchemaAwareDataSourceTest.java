@@ -0,0 +1,108 @@
+package io.b2mash.b2b.b2bstrawman.multitenancy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for {@link SchemaAwareDataSource} and {@link SearchPathTracker}. Verifies that
+ * repeated checkouts for the same schema skip the {@code SET search_path}, that tenant connections
+ * are released without a reset, and that plain checkouts always come back on {@code public}.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class SchemaAwareDataSourceTest {
+
+  private static final String TENANT_SCHEMA = "tenant_5ea000000001";
+
+  private final DataSource dataSource;
+
+  @Autowired
+  SchemaAwareDataSourceTest(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @BeforeEach
+  void setUp() {
+    new JdbcTemplate(dataSource).execute("CREATE SCHEMA IF NOT EXISTS " + TENANT_SCHEMA);
+  }
+
+  @Test
+  void appDataSource_isSchemaAware() {
+    assertThat(dataSource).isInstanceOf(SchemaAwareDataSource.class);
+  }
+
+  @Test
+  void ensure_skipsSetWhenConnectionAlreadyOnSchema() throws Exception {
+    try (Connection conn = dataSource.getConnection()) {
+      assertThat(SearchPathTracker.ensure(conn, TENANT_SCHEMA)).isTrue();
+      assertThat(SearchPathTracker.ensure(conn, TENANT_SCHEMA)).isFalse();
+      assertThat(searchPath(conn)).contains(TENANT_SCHEMA);
+
+      assertThat(SearchPathTracker.ensure(conn, "public")).isTrue();
+      assertThat(searchPath(conn)).doesNotContain(TENANT_SCHEMA);
+    }
+  }
+
+  @Test
+  void ensure_reappliesAfterForget() throws Exception {
+    try (Connection conn = dataSource.getConnection()) {
+      SearchPathTracker.forget(conn);
+      assertThat(SearchPathTracker.current(conn)).isNull();
+      assertThat(SearchPathTracker.ensure(conn, "public")).isTrue();
+      assertThat(SearchPathTracker.current(conn)).isEqualTo("public");
+    }
+  }
+
+  @Test
+  void ensure_doesNotRecordSchemaSetInsideTransaction() throws Exception {
+    try (Connection conn = dataSource.getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        assertThat(SearchPathTracker.ensure(conn, TENANT_SCHEMA)).isTrue();
+        assertThat(SearchPathTracker.current(conn)).isNull();
+      } finally {
+        conn.rollback();
+        conn.setAutoCommit(true);
+      }
+    }
+  }
+
+  @Test
+  void providerRelease_leavesTenantSchema_plainCheckoutRestoresPublic() throws Exception {
+    var provider = new SchemaMultiTenantConnectionProvider(dataSource);
+
+    Connection tenantConn = provider.getConnection(TENANT_SCHEMA);
+    try {
+      assertThat(searchPath(tenantConn)).contains(TENANT_SCHEMA);
+    } finally {
+      provider.releaseConnection(TENANT_SCHEMA, tenantConn);
+    }
+
+    // The app pool is pinned to a handful of connections; every plain checkout must see public
+    // no matter which physical connection it lands on.
+    for (int i = 0; i < 5; i++) {
+      try (Connection conn = dataSource.getConnection()) {
+        assertThat(searchPath(conn)).doesNotContain(TENANT_SCHEMA).contains("public");
+      }
+    }
+  }
+
+  private static String searchPath(Connection conn) throws Exception {
+    try (var stmt = conn.createStatement();
+        var rs = stmt.executeQuery("SHOW search_path")) {
+      rs.next();
+      return rs.getString(1);
+    }
+  }
+}
@@ -461,12 +461,17 @@ class NotificationEventHandlerIntegrationTest {
   @Test
   void billingRunSent_nullName_singularCount_rendersPeriodFallback() {
     var runId = UUID.randomUUID();
-    // BillingRunSentEvent is handled AFTER_COMMIT — publish inside a transaction
-    transactionTemplate.executeWithoutResult(
-        tx ->
-            eventPublisher.publishEvent(
-                new BillingRunSentEvent(
-                    runId, null, PERIOD_FROM, PERIOD_TO, 1, tenantSchema, ORG_ID)));
+    // BillingRunSentEvent is recorded BEFORE_COMMIT in the publishing transaction — publish inside
+    // a tenant-bound transaction, as the production publisher does
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .run(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    tx ->
+                        eventPublisher.publishEvent(
+                            new BillingRunSentEvent(
+                                runId, null, PERIOD_FROM, PERIOD_TO, 1, tenantSchema, ORG_ID))));
 
     assertThat(billingRunNotificationTitle("BILLING_RUN_SENT", runId))
         .isEqualTo("Billing run 01 Jul 2026 – 31 Jul 2026 — 1 invoice sent");
@@ -0,0 +1,169 @@
+package io.b2mash.b2b.b2bstrawman.notification.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import io.b2mash.b2b.b2bstrawman.event.TaskAssignedEvent;
+import io.b2mash.b2b.b2bstrawman.member.MemberSyncService;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationRepository;
+import io.b2mash.b2b.b2bstrawman.project.Project;
+import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
+import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verifies the notification outbox round trip with the job queue disabled (test profile): an event
+ * recorded in a committed transaction is drained inline into notifications, an event published in a
+ * rolled-back transaction leaves neither an outbox entry nor a notification behind, and a failure
+ * to record an event never rolls back the change that published it.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationOutboxIntegrationTest {
+
+  private static final String ORG_ID = "org_notif_outbox_test";
+
+  @Autowired private TenantProvisioningService provisioningService;
+  @Autowired private MemberSyncService memberSyncService;
+  @Autowired private NotificationRepository notificationRepository;
+  @Autowired private NotificationOutboxRepository outboxRepository;
+  @Autowired private ApplicationEventPublisher eventPublisher;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private ProjectRepository projectRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String tenantSchema;
+  private UUID actorId;
+  private UUID assigneeId;
+
+  @BeforeAll
+  void provisionTenant() {
+    tenantSchema =
+        provisioningService.provisionTenant(ORG_ID, "Notif Outbox Test Org", null).schemaName();
+    actorId =
+        memberSyncService
+            .syncMember(ORG_ID, "user_no_actor", "no_actor@test.com", "NO Actor", null, "owner")
+            .memberId();
+    assigneeId =
+        memberSyncService
+            .syncMember(
+                ORG_ID, "user_no_assignee", "no_assignee@test.com", "NO Assignee", null, "member")
+            .memberId();
+  }
+
+  @Test
+  void committedEvent_isDrainedIntoNotification_andLeavesOutboxEmpty() {
+    var taskId = UUID.randomUUID();
+
+    inTenant(
+        () -> {
+          transactionTemplate.executeWithoutResult(
+              tx -> eventPublisher.publishEvent(taskAssigned(taskId)));
+          return null;
+        });
+
+    assertThat(notificationsForTask(taskId)).isEqualTo(1);
+    assertThat(inTenant(outboxRepository::count)).isZero();
+  }
+
+  @Test
+  void rolledBackEvent_leavesNoOutboxEntryAndNoNotification() {
+    var taskId = UUID.randomUUID();
+
+    inTenant(
+        () -> {
+          transactionTemplate.executeWithoutResult(
+              tx -> {
+                eventPublisher.publishEvent(taskAssigned(taskId));
+                tx.setRollbackOnly();
+              });
+          return null;
+        });
+
+    assertThat(notificationsForTask(taskId)).isZero();
+    assertThat(inTenant(outboxRepository::count)).isZero();
+  }
+
+  @Test
+  void failedRecord_stillCommitsTheDomainChange() {
+    var taskId = UUID.randomUUID();
+    // Take the outbox table away so the insert inside record() fails with a database error
+    jdbcTemplate.execute(
+        "ALTER TABLE " + tenantSchema + ".notification_outbox RENAME TO notification_outbox_off");
+    UUID projectId;
+    try {
+      projectId =
+          inTenant(
+              () ->
+                  transactionTemplate.execute(
+                      tx -> {
+                        var project =
+                            projectRepository.save(
+                                new Project("Outbox Failure Project", "Outbox test", actorId));
+                        eventPublisher.publishEvent(taskAssigned(taskId));
+                        return project.getId();
+                      }));
+    } finally {
+      jdbcTemplate.execute(
+          "ALTER TABLE " + tenantSchema + ".notification_outbox_off RENAME TO notification_outbox");
+    }
+
+    assertThat(inTenant(() -> projectRepository.existsById(projectId))).isTrue();
+    assertThat(notificationsForTask(taskId)).isZero();
+    assertThat(inTenant(outboxRepository::count)).isZero();
+  }
+
+  private TaskAssignedEvent taskAssigned(UUID taskId) {
+    return new TaskAssignedEvent(
+        "task.assigned",
+        "task",
+        taskId,
+        UUID.randomUUID(),
+        actorId,
+        "NO Actor",
+        tenantSchema,
+        ORG_ID,
+        Instant.now(),
+        Map.of(),
+        assigneeId,
+        "Outbox Task");
+  }
+
+  private long notificationsForTask(UUID taskId) {
+    return inTenant(
+        () ->
+            notificationRepository
+                .findByRecipientMemberId(assigneeId, PageRequest.of(0, 200))
+                .getContent()
+                .stream()
+                .filter(n -> taskId.equals(n.getReferenceEntityId()))
+                .count());
+  }
+
+  private <T> T inTenant(Callable<T> action) {
+    try {
+      return ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+          .where(RequestScopes.ORG_ID, ORG_ID)
+          .call(action::call);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
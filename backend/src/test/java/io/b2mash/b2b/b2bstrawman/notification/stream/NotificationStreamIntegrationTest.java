@@ -0,0 +1,115 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.notification.Notification;
+import io.b2mash.b2b.b2bstrawman.notification.NotificationService;
+import io.b2mash.b2b.b2bstrawman.notification.channel.NotificationDispatcher;
+import io.b2mash.b2b.b2bstrawman.testutil.AbstractIntegrationTest;
+import io.b2mash.b2b.b2bstrawman.testutil.TestJwtFactory;
+import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class NotificationStreamIntegrationTest extends AbstractIntegrationTest {
+
+  private static final String ORG_ID = "org_notif_stream_test";
+  private static final String OWNER_SUBJECT = "user_nst_owner";
+
+  @Autowired private NotificationService notificationService;
+  @Autowired private NotificationDispatcher notificationDispatcher;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private String tenantSchema;
+  private UUID ownerId;
+
+  @BeforeAll
+  void provisionTenant() throws Exception {
+    tenantSchema =
+        provisioningService.provisionTenant(ORG_ID, "Notif Stream Test Org", null).schemaName();
+    ownerId =
+        UUID.fromString(
+            TestMemberHelper.syncMember(
+                mockMvc, ORG_ID, OWNER_SUBJECT, "nst_owner@test.com", "NST Owner", "owner"));
+  }
+
+  @Test
+  void stream_opensWithUnreadCount_andPushesCommittedInAppNotification() throws Exception {
+    var stream = openStream();
+    assertThat(stream.getResponse().getContentAsString()).contains("event:unread-count");
+
+    inTenant(
+        () ->
+            transactionTemplate.executeWithoutResult(
+                tx ->
+                    notificationDispatcher.dispatchInApp(
+                        List.of(createNotification("Streamed notification")))));
+
+    assertThat(stream.getResponse().getContentAsString())
+        .contains("event:notification")
+        .contains("Streamed notification");
+  }
+
+  @Test
+  void stream_doesNotPushNotificationFromRolledBackTransaction() throws Exception {
+    var stream = openStream();
+
+    inTenant(
+        () ->
+            transactionTemplate.executeWithoutResult(
+                tx -> {
+                  notificationDispatcher.dispatchInApp(
+                      List.of(createNotification("Rolled back notification")));
+                  tx.setRollbackOnly();
+                }));
+
+    assertThat(stream.getResponse().getContentAsString())
+        .doesNotContain("Rolled back notification");
+  }
+
+  @Test
+  void markAsRead_pushesNegativeUnreadDelta() throws Exception {
+    var notificationId = new UUID[1];
+    inTenant(() -> notificationId[0] = createNotification("To be read").getId());
+    var stream = openStream();
+
+    mockMvc
+        .perform(
+            put("/api/notifications/" + notificationId[0] + "/read")
+                .with(TestJwtFactory.ownerJwt(ORG_ID, OWNER_SUBJECT)))
+        .andExpect(status().isNoContent());
+
+    assertThat(stream.getResponse().getContentAsString())
+        .contains("event:unread-delta")
+        .contains("\"delta\":-1");
+  }
+
+  private MvcResult openStream() throws Exception {
+    return mockMvc
+        .perform(
+            get("/api/notifications/stream").with(TestJwtFactory.ownerJwt(ORG_ID, OWNER_SUBJECT)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private Notification createNotification(String title) {
+    return notificationService.createNotification(
+        ownerId, "TASK_ASSIGNED", title, null, "TASK", UUID.randomUUID(), UUID.randomUUID());
+  }
+
+  private void inTenant(Runnable action) {
+    ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+        .where(RequestScopes.ORG_ID, ORG_ID)
+        .run(action);
+  }
+}
@@ -0,0 +1,106 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Load check for {@link NotificationStreamRegistry}: the time to open {@code connections} idle
+ * streams, one member per connection (the worst case for the registry's map), and the heap they
+ * retain. Each iteration prints a connections-versus-heap row and fails if an idle connection
+ * retains more than {@value #MAX_BYTES_PER_CONNECTION} bytes, so per-connection state cannot creep
+ * up unnoticed. Covers the registry and emitter only — the servlet container adds its socket
+ * buffers and async context on top.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile} and then this class's {@link #main} on the test
+ * classpath. Not a test — Surefire does not pick up {@code *Benchmark} classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class NotificationStreamRegistryBenchmark {
+
+  private static final String TENANT = "tenant_0123456789ab";
+  private static final long TIMEOUT_MS = 1_800_000L;
+  private static final long MAX_BYTES_PER_CONNECTION = 16 * 1024;
+
+  @Param({"1000", "2500", "5000", "10000"})
+  public int connections;
+
+  private NotificationStreamRegistry registry;
+  private List<SseEmitter> held;
+  private long baseline;
+
+  @Setup(Level.Iteration)
+  public void measureBaseline() {
+    registry = new NotificationStreamRegistry(connections, 5, TIMEOUT_MS);
+    held = new ArrayList<>(connections);
+    baseline = usedHeapAfterGc();
+  }
+
+  @Benchmark
+  public int openIdleConnections() {
+    while (registry.connectionCount() < connections) {
+      held.add(registry.subscribe(TENANT, UUID.randomUUID(), 3).orElseThrow());
+    }
+    return held.size();
+  }
+
+  @TearDown(Level.Iteration)
+  public void checkRetainedHeap() {
+    long retained = Math.max(0, usedHeapAfterGc() - baseline);
+    long perConnection = retained / connections;
+    System.out.printf(
+        "%n%11d connections | %10d KB retained | %6d B per connection%n",
+        connections, retained / 1024, perConnection);
+    if (registry.subscribe(TENANT, UUID.randomUUID(), 0).isPresent()) {
+      throw new IllegalStateException("Registry accepted a connection beyond max-connections");
+    }
+    registry.closeAll();
+    if (perConnection >= MAX_BYTES_PER_CONNECTION) {
+      throw new IllegalStateException(
+          "Idle connection retains %d bytes, limit is %d"
+              .formatted(perConnection, MAX_BYTES_PER_CONNECTION));
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    var memory = ManagementFactory.getMemoryMXBean();
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      min = Math.min(min, memory.getHeapMemoryUsage().getUsed());
+    }
+    return min;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(NotificationStreamRegistryBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,52 @@
+package io.b2mash.b2b.b2bstrawman.notification.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+class NotificationStreamRegistryTest {
+
+  private static final String TENANT = "tenant_0123456789ab";
+  private static final long TIMEOUT_MS = 1_800_000L;
+
+  @Test
+  void refusesSubscriptionsBeyondMaxConnections() {
+    var registry = new NotificationStreamRegistry(2, 5, TIMEOUT_MS);
+
+    assertThat(registry.subscribe(TENANT, UUID.randomUUID(), 0)).isPresent();
+    assertThat(registry.subscribe(TENANT, UUID.randomUUID(), 0)).isPresent();
+    assertThat(registry.subscribe(TENANT, UUID.randomUUID(), 0)).isEmpty();
+    assertThat(registry.connectionCount()).isEqualTo(2);
+  }
+
+  @Test
+  void evictsOldestConnectionBeyondMaxPerMember() {
+    var registry = new NotificationStreamRegistry(100, 2, TIMEOUT_MS);
+    var memberId = UUID.randomUUID();
+
+    registry.subscribe(TENANT, memberId, 0);
+    registry.subscribe(TENANT, memberId, 0);
+    registry.subscribe(TENANT, memberId, 0);
+    registry.subscribe(TENANT, UUID.randomUUID(), 0);
+
+    assertThat(registry.connectionCount()).isEqualTo(3);
+  }
+
+  @Test
+  void deliverIgnoresMembersWithoutConnections() {
+    var registry = new NotificationStreamRegistry(100, 5, TIMEOUT_MS);
+    registry.subscribe(TENANT, UUID.randomUUID(), 0);
+
+    registry.deliver(
+        new NotificationStreamMessage(
+            registry.instanceId(),
+            TENANT,
+            UUID.randomUUID(),
+            NotificationStreamPublisher.UNREAD_DELTA_EVENT,
+            JsonNodeFactory.instance.objectNode().put("delta", -1)));
+
+    assertThat(registry.connectionCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,71 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for the up-to-date pre-check in {@link TenantMigrationRunner}: a schema whose
+ * latest recorded migration is the classpath head is skipped without running Flyway.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantMigrationRunnerTest {
+
+  private static final String ORG_ID = "org_migration_precheck";
+
+  @Autowired private TenantProvisioningService provisioningService;
+  @Autowired private TenantMigrationRunner migrationRunner;
+  @Autowired private TenantMigrationTracker tracker;
+
+  @Autowired
+  @Qualifier("migrationDataSource")
+  private DataSource migrationDataSource;
+
+  private String schemaName;
+
+  @BeforeAll
+  void setup() {
+    schemaName =
+        provisioningService.provisionTenant(ORG_ID, "Migration Precheck Org", null).schemaName();
+  }
+
+  @Test
+  void headVersionIsNewestTenantScript() {
+    var head = TenantSchemaVersions.resolveHead();
+
+    String latestApplied =
+        new JdbcTemplate(migrationDataSource)
+            .queryForObject(
+                "SELECT version FROM "
+                    + schemaName
+                    + ".flyway_schema_history WHERE version IS NOT NULL"
+                    + " ORDER BY installed_rank DESC LIMIT 1",
+                String.class);
+    assertThat(head).isNotNull().isEqualTo(MigrationVersion.fromVersion(latestApplied));
+  }
+
+  @Test
+  void rerunSkipsSchemasAlreadyAtHead() {
+    long skippedBefore = tracker.skippedCount();
+
+    migrationRunner.run(null);
+
+    assertThat(tracker.skippedCount()).isGreaterThan(skippedBefore);
+    assertThat(tracker.isPending(schemaName)).isFalse();
+    assertThat(tracker.pendingCount()).isZero();
+  }
+}
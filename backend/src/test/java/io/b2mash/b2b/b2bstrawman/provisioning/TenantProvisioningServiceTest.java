@@ -84,6 +84,8 @@ class TenantProvisioningServiceTest {
   @Mock private OrgSettingsRepository orgSettingsRepository;
   @Mock private VerticalProfileRegistry verticalProfileRegistry;
   @Mock private ObjectProvider<ShardRegistry> shardRegistryProvider;
+  // Unstubbed cloneInto() answers false, so these tests exercise the create-and-migrate path.
+  @Mock private TenantSchemaTemplate schemaTemplate;
 
   @Spy @InjectMocks private TenantProvisioningService service;
 
@@ -0,0 +1,86 @@
+package io.b2mash.b2b.b2bstrawman.provisioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for {@link TenantSchemaTemplate}: a clone must be indistinguishable — in
+ * structure, object names, migration-inserted rows and Flyway history — from a schema built by
+ * replaying every tenant migration.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantSchemaTemplateTest {
+
+  private static final String MIGRATED_SCHEMA = "tenant_c10e00000001";
+  private static final String CLONED_SCHEMA = "tenant_c10e00000002";
+
+  @Autowired private TenantSchemaTemplate schemaTemplate;
+  @Autowired private TenantProvisioningService provisioningService;
+
+  @Autowired
+  @Qualifier("migrationDataSource")
+  private DataSource migrationDataSource;
+
+  private JdbcTemplate jdbc;
+
+  @BeforeAll
+  void setup() throws Exception {
+    jdbc = new JdbcTemplate(migrationDataSource);
+    jdbc.execute("DROP SCHEMA IF EXISTS " + MIGRATED_SCHEMA + " CASCADE");
+    jdbc.execute("DROP SCHEMA IF EXISTS " + CLONED_SCHEMA + " CASCADE");
+
+    jdbc.execute("CREATE SCHEMA " + MIGRATED_SCHEMA);
+    provisioningService.runTenantMigrations(MIGRATED_SCHEMA, migrationDataSource);
+    schemaTemplate.ensureCurrent(migrationDataSource);
+  }
+
+  @Test
+  void cloneMatchesSchemaBuiltByFlyway() throws Exception {
+    assertThat(schemaTemplate.cloneInto(CLONED_SCHEMA, migrationDataSource)).isTrue();
+
+    try (var conn = migrationDataSource.getConnection()) {
+      assertThat(TenantSchemaTemplate.fingerprint(conn, CLONED_SCHEMA))
+          .isEqualTo(TenantSchemaTemplate.fingerprint(conn, MIGRATED_SCHEMA));
+    }
+
+    // Rows inserted by the migrations themselves (system roles, capabilities) come across.
+    assertThat(count(CLONED_SCHEMA, "org_roles")).isEqualTo(count(MIGRATED_SCHEMA, "org_roles"));
+    assertThat(count(CLONED_SCHEMA, "org_role_capabilities"))
+        .isEqualTo(count(MIGRATED_SCHEMA, "org_role_capabilities"));
+
+    // Flyway accepts the copied history as-is: nothing left to apply, checksums validate.
+    var result =
+        Flyway.configure()
+            .dataSource(migrationDataSource)
+            .locations(TenantSchemaVersions.MIGRATION_LOCATION)
+            .schemas(CLONED_SCHEMA)
+            .load()
+            .migrate();
+    assertThat(result.migrationsExecuted).isZero();
+  }
+
+  @Test
+  void cloneIntoExistingSchemaReturnsFalseAndLeavesItUntouched() {
+    assertThat(schemaTemplate.cloneInto(MIGRATED_SCHEMA, migrationDataSource)).isFalse();
+    assertThat(count(MIGRATED_SCHEMA, "org_roles")).isEqualTo(3);
+  }
+
+  private long count(String schema, String table) {
+    return jdbc.queryForObject("SELECT count(*) FROM " + schema + "." + table, Long.class);
+  }
+}
@@ -11,6 +11,7 @@ import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
 import io.b2mash.b2b.b2bstrawman.project.Project;
 import io.b2mash.b2b.b2bstrawman.project.ProjectRepository;
 import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import io.b2mash.b2b.b2bstrawman.report.TimeEntryRollupService;
 import io.b2mash.b2b.b2bstrawman.task.Task;
 import io.b2mash.b2b.b2bstrawman.task.TaskRepository;
 import io.b2mash.b2b.b2bstrawman.testutil.TestCustomerFactory;
@@ -51,6 +52,7 @@ class ProjectProfitabilityReportQueryTest {
   @Autowired private ProjectRepository projectRepository;
   @Autowired private TaskRepository taskRepository;
   @Autowired private TimeEntryRepository timeEntryRepository;
+  @Autowired private TimeEntryRollupService timeEntryRollupService;
   @Autowired private CustomerRepository customerRepository;
   @Autowired private CustomerProjectRepository customerProjectRepository;
   @Autowired private TransactionTemplate transactionTemplate;
@@ -177,6 +179,8 @@ class ProjectProfitabilityReportQueryTest {
                       // (the query filters on te.billable)
                       te4.snapshotCostRate(new BigDecimal("80.00"), "ZAR");
                       timeEntryRepository.save(te4);
+                      // Entries saved directly bypass TimeEntryChangedEvent
+                      timeEntryRollupService.rebuild();
                     }));
   }
 
@@ -1,6 +1,7 @@
 package io.b2mash.b2b.b2bstrawman.timeentry;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -347,6 +348,42 @@ class AdminReSnapshotTest {
         .andExpect(status().isForbidden());
   }
 
+  // --- Daily rollup maintenance ---
+
+  @Test
+  @Order(7)
+  void rollupConsistency_afterReSnapshot_isConsistent() throws Exception {
+    // Re-snapshot changes rate snapshots without TimeEntryChangedEvent; the rollup must follow
+    mockMvc
+        .perform(get("/api/admin/time-entries/rollup/consistency").with(ownerJwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rollupRows").value(2))
+        .andExpect(jsonPath("$.mismatchedRows").value(0))
+        .andExpect(jsonPath("$.consistent").value(true));
+  }
+
+  @Test
+  @Order(8)
+  void rollupRebuild_rewritesRowsAndStaysConsistent() throws Exception {
+    mockMvc
+        .perform(post("/api/admin/time-entries/rollup/rebuild").with(ownerJwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rowsWritten").value(2));
+
+    mockMvc
+        .perform(get("/api/admin/time-entries/rollup/consistency").with(ownerJwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.consistent").value(true));
+  }
+
+  @Test
+  @Order(9)
+  void rollupRebuild_byNonAdmin_returns403() throws Exception {
+    mockMvc
+        .perform(post("/api/admin/time-entries/rollup/rebuild").with(memberJwt()))
+        .andExpect(status().isForbidden());
+  }
+
   // --- JWT helpers ---
 
   private JwtRequestPostProcessor ownerJwt() {
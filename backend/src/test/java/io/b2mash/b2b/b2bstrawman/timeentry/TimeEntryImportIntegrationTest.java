@@ -0,0 +1,233 @@
+package io.b2mash.b2b.b2bstrawman.timeentry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import io.b2mash.b2b.b2bstrawman.event.TimeEntryChangedEvent;
+import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RecordApplicationEvents
+class TimeEntryImportIntegrationTest {
+
+  private static final String API_KEY = "test-api-key";
+  private static final String ORG_ID = "org_te_import_b7c1";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private TenantProvisioningService provisioningService;
+  @Autowired private ApplicationEvents events;
+
+  private String projectId;
+  private String taskId;
+
+  @BeforeAll
+  void provisionAndSeed() throws Exception {
+    provisioningService.provisionTenant(ORG_ID, "TE Import Org", null);
+    syncMember(ORG_ID, "user_import_owner", "import_owner@test.com", "Import Owner", "owner");
+
+    var projectResult =
+        mockMvc
+            .perform(
+                post("/api/projects")
+                    .with(ownerJwt())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                    {"name": "Import Project", "description": "test"}
+                    """))
+            .andExpect(status().isCreated())
+            .andReturn();
+    projectId = extractIdFromLocation(projectResult);
+
+    var taskResult =
+        mockMvc
+            .perform(
+                post("/api/projects/" + projectId + "/tasks")
+                    .with(ownerJwt())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                    {"title": "Import Task"}
+                    """))
+            .andExpect(status().isCreated())
+            .andReturn();
+    taskId = extractIdFromLocation(taskResult);
+  }
+
+  @Test
+  void shouldImportCsvRows() throws Exception {
+    String body =
+        """
+        task_id,date,duration_minutes,billable,description
+        %s,2026-04-01,60,true,"Drafting, review"
+        %s,2026-04-02,30,false,
+        """
+            .formatted(taskId, taskId);
+
+    mockMvc
+        .perform(
+            post("/api/time-entries/import")
+                .with(ownerJwt())
+                .contentType("text/csv")
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRows").value(2))
+        .andExpect(jsonPath("$.totalCreated").value(2))
+        .andExpect(jsonPath("$.totalErrors").value(0));
+
+    mockMvc
+        .perform(
+            get("/api/tasks/" + taskId + "/time-entries")
+                .with(ownerJwt())
+                .param("billable", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.date == '2026-04-02')].durationMinutes").value(30));
+  }
+
+  @Test
+  void shouldImportNdjsonAndReportRowErrors() throws Exception {
+    String body =
+        """
+        {"taskId": "%s", "date": "2026-04-05", "durationMinutes": 45}
+        {"taskId": "%s", "date": "2026-04-05", "durationMinutes": 45}
+        not json
+        {"taskId": "%s", "date": "2026-04-06", "durationMinutes": 0}
+        {"taskId": "%s", "date": "2026-04-06", "durationMinutes": 15, "billable": false}
+        """
+            .formatted(taskId, UUID.randomUUID(), taskId, taskId);
+
+    mockMvc
+        .perform(
+            post("/api/time-entries/import")
+                .with(ownerJwt())
+                .contentType("application/x-ndjson")
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRows").value(5))
+        .andExpect(jsonPath("$.totalCreated").value(2))
+        .andExpect(jsonPath("$.totalErrors").value(3))
+        .andExpect(jsonPath("$.errors", hasSize(3)))
+        .andExpect(jsonPath("$.errors[0].index").value(1))
+        .andExpect(jsonPath("$.errors[1].index").value(2))
+        .andExpect(jsonPath("$.errors[2].index").value(3));
+  }
+
+  @Test
+  void shouldPublishOneImportedEventPerProjectListingTheNewEntries() throws Exception {
+    String body =
+        """
+        task_id,date,duration_minutes,billable,description
+        %s,2026-04-09,20,true,First
+        %s,2026-04-10,25,true,Second
+        """
+            .formatted(taskId, taskId);
+
+    mockMvc
+        .perform(
+            post("/api/time-entries/import")
+                .with(ownerJwt())
+                .contentType("text/csv")
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalCreated").value(2));
+
+    var published = events.stream(TimeEntryChangedEvent.class).toList();
+    assertThat(published).hasSize(1);
+    var event = published.getFirst();
+    // Not a CREATED event with a null entity id: no TIME_ENTRY_CREATED automation fires for it
+    assertThat(event.action()).isEqualTo(TimeEntryImportService.IMPORTED_ACTION);
+    assertThat(event.entityId()).isNull();
+    assertThat(event.projectId()).isEqualTo(UUID.fromString(projectId));
+
+    var entries =
+        mockMvc
+            .perform(get("/api/tasks/" + taskId + "/time-entries").with(ownerJwt()))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<String> importedIds =
+        JsonPath.read(
+            entries.getResponse().getContentAsString(),
+            "$[?(@.date == '2026-04-09' || @.date == '2026-04-10')].id");
+    assertThat(event.details().get(TimeEntryImportService.ENTRY_IDS_DETAIL))
+        .asInstanceOf(LIST)
+        .containsExactlyInAnyOrderElementsOf(importedIds);
+  }
+
+  @Test
+  void shouldReject400WhenCsvHeaderIsMissingColumns() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/time-entries/import")
+                .with(ownerJwt())
+                .contentType("text/csv")
+                .content("taskId,date\n%s,2026-04-07\n".formatted(taskId)))
+        .andExpect(status().isBadRequest());
+  }
+
+  // --- Helpers ---
+
+  private String extractIdFromLocation(MvcResult result) {
+    String location = result.getResponse().getHeader("Location");
+    return location.substring(location.lastIndexOf('/') + 1);
+  }
+
+  private String syncMember(
+      String orgId, String clerkUserId, String email, String name, String orgRole)
+      throws Exception {
+    var result =
+        mockMvc
+            .perform(
+                post("/internal/members/sync")
+                    .header("X-API-KEY", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                    {
+                      "clerkOrgId": "%s",
+                      "clerkUserId": "%s",
+                      "email": "%s",
+                      "name": "%s",
+                      "avatarUrl": null,
+                      "orgRole": "%s"
+                    }
+                    """
+                            .formatted(orgId, clerkUserId, email, name, orgRole)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    return JsonPath.read(result.getResponse().getContentAsString(), "$.memberId");
+  }
+
+  private JwtRequestPostProcessor ownerJwt() {
+    return jwt()
+        .jwt(j -> j.subject("user_import_owner").claim("o", Map.of("id", ORG_ID, "rol", "owner")));
+  }
+}
@@ -530,6 +530,35 @@ class InterestServiceIntegrationTest {
     assertThat(allocations).isEmpty();
   }
 
+  @Test
+  void recalculatingDraftRun_replacesAllocations() throws Exception {
+    var runResponse =
+        ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+            .where(RequestScopes.MEMBER_ID, ownerMemberId)
+            .call(
+                () ->
+                    interestService.createInterestRun(
+                        trustAccountId, LocalDate.of(2027, 6, 1), LocalDate.of(2027, 6, 30)));
+
+    var first =
+        ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+            .call(() -> interestService.calculateInterest(runResponse.id()));
+    var second =
+        ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+            .call(() -> interestService.calculateInterest(runResponse.id()));
+
+    assertThat(second.totalInterest()).isEqualByComparingTo(first.totalInterest());
+
+    var allocations =
+        ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema)
+            .call(() -> interestService.getAllocations(runResponse.id()));
+    // One allocation per client with a balance -- the first calculation's rows are gone
+    assertThat(allocations)
+        .extracting(InterestService.InterestAllocationResponse::customerId)
+        .doesNotHaveDuplicates()
+        .contains(UUID.fromString(customerId1), UUID.fromString(customerId2));
+  }
+
   // ==========================================================================
   // 445.7 -- Edge Case Tests (3 tests)
   // ==========================================================================
@@ -0,0 +1,103 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation;
+
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Candidate;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Decision;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Line;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Auto-matching a synthetic month-long statement against its trust account's candidates. Lines
+ * mix the match tiers roughly as a busy account does: most match by amount and date, some by
+ * reference, some only within the close-date window, and a share have no counterpart at all.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile} and then this class's {@link #main} on the test
+ * classpath. Not a test — Surefire does not pick up {@code *Benchmark} classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankStatementMatcherBenchmark {
+
+  private static final LocalDate PERIOD_START = LocalDate.of(2026, 1, 1);
+
+  @Param({"5000", "50000"})
+  private int lineCount;
+
+  private BankStatementMatcher matcher;
+  private List<Line> lines;
+  private List<Candidate> candidates;
+
+  @Setup
+  public void generateStatement() {
+    matcher =
+        new BankStatementMatcher(
+            Set.of("DEPOSIT", "TRANSFER_IN", "INTEREST_CREDIT")::contains,
+            Set.of("PAYMENT", "DISBURSEMENT_PAYMENT", "FEE_TRANSFER")::contains);
+    var random = new Random(42);
+    lines = new ArrayList<>(lineCount);
+    candidates = new ArrayList<>(lineCount);
+
+    for (int i = 0; i < lineCount; i++) {
+      boolean credit = random.nextBoolean();
+      // Amounts repeat across the month (retainers, fixed fees), so amount alone is ambiguous.
+      var amount = BigDecimal.valueOf(100 + random.nextInt(lineCount / 4 + 1) * 25L, 0);
+      var date = PERIOD_START.plusDays(random.nextInt(31));
+      var reference = "REF-" + i;
+      int tier = random.nextInt(10);
+
+      lines.add(
+          new Line(
+              UUID.randomUUID(),
+              credit ? amount : amount.negate(),
+              date,
+              tier < 3 ? reference.toLowerCase() : null));
+      if (tier < 9) {
+        var candidateDate = tier == 8 ? date.plusDays(1 + random.nextInt(3)) : date;
+        candidates.add(
+            new Candidate(
+                UUID.randomUUID(),
+                credit ? "DEPOSIT" : "PAYMENT",
+                amount,
+                candidateDate,
+                tier < 3 ? reference : null));
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Decision> match() {
+    return matcher.match(lines, candidates);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(BankStatementMatcherBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,147 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Candidate;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Decision;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Line;
+import io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.reconciliation.BankStatementMatcher.Outcome;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BankStatementMatcherTest {
+
+  private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+  private final BankStatementMatcher matcher =
+      new BankStatementMatcher(
+          Set.of("DEPOSIT", "TRANSFER_IN")::contains,
+          Set.of("PAYMENT", "DISBURSEMENT_PAYMENT")::contains);
+
+  @Test
+  void referenceMatchIsCaseInsensitiveAndIgnoresScale() {
+    var line = line("5000", DATE.plusDays(2), "dep-001");
+    var deposit = candidate("DEPOSIT", "5000.00", DATE, "DEP-001");
+
+    var decisions = matcher.match(List.of(line), List.of(deposit));
+
+    assertThat(decisions)
+        .containsExactly(
+            new Decision(
+                line.id(),
+                Outcome.AUTO_MATCHED,
+                deposit.id(),
+                BankStatementMatcher.REFERENCE_CONFIDENCE));
+  }
+
+  @Test
+  void uniqueAmountAndDateAutoMatchesAtThreshold() {
+    var line = line("250.00", DATE, null);
+    var deposit = candidate("DEPOSIT", "250.00", DATE, "OTHER");
+
+    var decision = matcher.match(List.of(line), List.of(deposit)).getFirst();
+
+    assertThat(decision.outcome()).isEqualTo(Outcome.AUTO_MATCHED);
+    assertThat(decision.confidence()).isEqualTo(BankStatementMatcher.AUTO_MATCH_THRESHOLD);
+  }
+
+  @Test
+  void uniqueAmountWithinCloseDateWindowIsOnlySuggested() {
+    var line = line("250.00", DATE, null);
+    var deposit = candidate("DEPOSIT", "250.00", DATE.minusDays(3), null);
+
+    var decision = matcher.match(List.of(line), List.of(deposit)).getFirst();
+
+    assertThat(decision.outcome()).isEqualTo(Outcome.SUGGESTED);
+    assertThat(decision.transactionId()).isEqualTo(deposit.id());
+  }
+
+  @Test
+  void ambiguousCandidatesOnlyRecordAmountConfidence() {
+    var line = line("250.00", DATE, null);
+    var first = candidate("DEPOSIT", "250.00", DATE, null);
+    var second = candidate("DEPOSIT", "250.00", DATE, null);
+
+    var decision = matcher.match(List.of(line), List.of(first, second)).getFirst();
+
+    assertThat(decision.outcome()).isEqualTo(Outcome.AMOUNT_ONLY);
+    assertThat(decision.transactionId()).isNull();
+    assertThat(decision.confidence()).isEqualTo(BankStatementMatcher.AMOUNT_ONLY_CONFIDENCE);
+  }
+
+  @Test
+  void lineWithoutAmountMatchGetsNoDecision() {
+    var decisions =
+        matcher.match(
+            List.of(line("99.00", DATE, null)),
+            List.of(candidate("DEPOSIT", "100.00", DATE, null)));
+
+    assertThat(decisions).isEmpty();
+  }
+
+  @Test
+  void autoMatchedCandidateIsNotOfferedToLaterLines() {
+    var byReference = line("100.00", DATE, "INV-7");
+    var byDate = line("100.00", DATE, null);
+    var referenced = candidate("DEPOSIT", "100.00", DATE, "INV-7");
+    var other = candidate("DEPOSIT", "100.00", DATE, null);
+
+    var decisions = matcher.match(List.of(byReference, byDate), List.of(referenced, other));
+
+    // The reference match leaves a single amount/date candidate for the second line.
+    assertThat(decisions)
+        .extracting(Decision::outcome, Decision::transactionId)
+        .containsExactly(
+            tuple(Outcome.AUTO_MATCHED, referenced.id()),
+            tuple(Outcome.AUTO_MATCHED, other.id()));
+  }
+
+  @Test
+  void creditLinesOnlyMatchCreditTypesAndDebitLinesDebitTypes() {
+    var credit = line("400.00", DATE, null);
+    var debit = line("-400.00", DATE, null);
+    var payment = candidate("PAYMENT", "400.00", DATE, null);
+    var deposit = candidate("DEPOSIT", "400.00", DATE, null);
+
+    var decisions = matcher.match(List.of(credit, debit), List.of(payment, deposit));
+
+    assertThat(decisions)
+        .extracting(Decision::lineId, Decision::transactionId)
+        .containsExactlyInAnyOrder(
+            tuple(credit.id(), deposit.id()),
+            tuple(debit.id(), payment.id()));
+  }
+
+  @Test
+  void largeStatementMatchesEveryLineOnce() {
+    var lines = new ArrayList<Line>();
+    var candidates = new ArrayList<Candidate>();
+    for (int i = 0; i < 5_000; i++) {
+      var amount = BigDecimal.valueOf(10_000 + i, 2);
+      var date = DATE.plusDays(i % 28);
+      boolean credit = i % 2 == 0;
+      lines.add(new Line(UUID.randomUUID(), credit ? amount : amount.negate(), date, null));
+      candidates.add(
+          new Candidate(UUID.randomUUID(), credit ? "DEPOSIT" : "PAYMENT", amount, date, null));
+    }
+
+    var decisions = matcher.match(lines, candidates);
+
+    assertThat(decisions).hasSize(5_000).allMatch(d -> d.outcome() == Outcome.AUTO_MATCHED);
+    assertThat(decisions.stream().map(Decision::transactionId).distinct()).hasSize(5_000);
+  }
+
+  private static Line line(String amount, LocalDate date, String reference) {
+    return new Line(UUID.randomUUID(), new BigDecimal(amount), date, reference);
+  }
+
+  private static Candidate candidate(String type, String amount, LocalDate date, String reference) {
+    return new Candidate(UUID.randomUUID(), type, new BigDecimal(amount), date, reference);
+  }
+}
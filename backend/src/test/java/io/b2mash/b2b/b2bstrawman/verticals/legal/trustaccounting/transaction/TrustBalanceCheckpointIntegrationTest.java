@@ -0,0 +1,175 @@
+package io.b2mash.b2b.b2bstrawman.verticals.legal.trustaccounting.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.b2mash.b2b.b2bstrawman.TestcontainersConfiguration;
+import io.b2mash.b2b.b2bstrawman.multitenancy.RequestScopes;
+import io.b2mash.b2b.b2bstrawman.provisioning.TenantProvisioningService;
+import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsRepository;
+import io.b2mash.b2b.b2bstrawman.settings.OrgSettingsService;
+import io.b2mash.b2b.b2bstrawman.testutil.TestEntityHelper;
+import io.b2mash.b2b.b2bstrawman.testutil.TestJwtFactory;
+import io.b2mash.b2b.b2bstrawman.testutil.TestMemberHelper;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrustBalanceCheckpointIntegrationTest {
+
+  private static final String ORG_ID = "org_trust_checkpoint_test";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private TenantProvisioningService provisioningService;
+  @Autowired private OrgSettingsRepository orgSettingsRepository;
+  @Autowired private OrgSettingsService orgSettingsService;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private TrustTransactionRepository trustTransactionRepository;
+  @Autowired private TrustBalanceCheckpointVerifier verifier;
+  @Autowired private EntityManager entityManager;
+
+  private String tenantSchema;
+  private UUID trustAccountId;
+  private UUID customerId;
+
+  @BeforeAll
+  void setup() throws Exception {
+    tenantSchema =
+        provisioningService
+            .provisionTenant(ORG_ID, "Trust Checkpoint Test Org", null)
+            .schemaName();
+    TestMemberHelper.syncMember(
+        mockMvc,
+        ORG_ID,
+        "user_checkpoint_owner",
+        "checkpoint_owner@test.com",
+        "Checkpoint Owner",
+        "owner");
+
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx -> {
+                  var settings = orgSettingsService.getOrCreateForCurrentTenant();
+                  settings.setEnabledModules(List.of("trust_accounting"));
+                  return orgSettingsRepository.save(settings);
+                }));
+
+    var ownerJwt = TestJwtFactory.ownerJwt(ORG_ID, "user_checkpoint_owner");
+    var accountResult =
+        mockMvc
+            .perform(
+                post("/api/trust-accounts")
+                    .with(ownerJwt)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        """
+                        {
+                          "accountName": "Checkpoint Test Trust Account",
+                          "bankName": "First National Bank",
+                          "branchCode": "250655",
+                          "accountNumber": "62000000141",
+                          "accountType": "GENERAL",
+                          "isPrimary": false,
+                          "requireDualApproval": false,
+                          "openedDate": "2026-01-01"
+                        }
+                        """))
+            .andExpect(status().isCreated())
+            .andReturn();
+    trustAccountId = UUID.fromString(TestEntityHelper.extractId(accountResult));
+    customerId =
+        UUID.fromString(
+            TestEntityHelper.createCustomer(
+                mockMvc, ownerJwt, "Checkpoint Client", "checkpoint@test.com"));
+
+    createDeposit("1000.00", "CKP-001", "2026-01-10");
+    createDeposit("250.00", "CKP-002", "2026-03-05");
+    createDeposit("400.00", "CKP-003", "2026-03-20");
+  }
+
+  @Test
+  void balanceAsOfDateCombinesEarlierMonthsWithPartialMonth() {
+    assertThat(clientBalanceAsOf("2026-02-28")).isEqualByComparingTo("1000.00");
+    assertThat(clientBalanceAsOf("2026-03-05")).isEqualByComparingTo("1250.00");
+    assertThat(clientBalanceAsOf("2026-03-31")).isEqualByComparingTo("1650.00");
+    assertThat(
+            inTenant(
+                () ->
+                    transactionTemplate.execute(
+                        tx -> trustTransactionRepository.calculateCashbookBalance(trustAccountId))))
+        .isEqualByComparingTo("1650.00");
+  }
+
+  @Test
+  void verifierRebuildsCheckpointsThatDisagreeWithLedger() {
+    assertThat(inTenant(verifier::processTenant)).isZero();
+
+    inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    entityManager
+                        .createNativeQuery(
+                            "UPDATE trust_client_balance_months SET net_amount = net_amount + 1")
+                        .executeUpdate()));
+    assertThat(clientBalanceAsOf("2026-02-28")).isEqualByComparingTo("1001.00");
+
+    assertThat(inTenant(verifier::processTenant)).isPositive();
+    assertThat(clientBalanceAsOf("2026-02-28")).isEqualByComparingTo("1000.00");
+    assertThat(inTenant(verifier::processTenant)).isZero();
+  }
+
+  private BigDecimal clientBalanceAsOf(String date) {
+    return inTenant(
+        () ->
+            transactionTemplate.execute(
+                tx ->
+                    trustTransactionRepository.calculateClientBalanceAsOfDate(
+                        customerId, trustAccountId, LocalDate.parse(date))));
+  }
+
+  private void createDeposit(String amount, String reference, String date) throws Exception {
+    mockMvc
+        .perform(
+            post("/api/trust-accounts/" + trustAccountId + "/transactions/deposit")
+                .with(TestJwtFactory.ownerJwt(ORG_ID, "user_checkpoint_owner"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {
+                      "customerId": "%s",
+                      "amount": %s,
+                      "reference": "%s",
+                      "description": "Checkpoint deposit",
+                      "transactionDate": "%s"
+                    }
+                    """
+                        .formatted(customerId, amount, reference, date)))
+        .andExpect(status().isCreated());
+  }
+
+  private <T> T inTenant(Supplier<T> action) {
+    return ScopedValue.where(RequestScopes.TENANT_ID, tenantSchema).call(action::get);
+  }
+}
@@ -1,12 +1,13 @@
 "use server";
 
 import { fetchProjectActivity } from "@/lib/actions/activity";
-import type { ActivityResponse } from "@/lib/actions/activity";
+import type { ActivityCursor, ActivityResponse } from "@/lib/actions/activity";
 
 export async function loadMoreActivity(
   projectId: string,
   entityType?: string,
-  page?: number
+  page?: number,
+  after?: ActivityCursor
 ): Promise<ActivityResponse> {
-  return fetchProjectActivity(projectId, entityType || undefined, page ?? 0, 20);
+  return fetchProjectActivity(projectId, entityType || undefined, page ?? 0, 20, after);
 }
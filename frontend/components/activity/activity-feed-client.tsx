@@ -85,7 +85,13 @@ export function ActivityFeedClient({
     setIsLoadingMore(true);
     try {
       const nextPage = page + 1;
-      const data = await loadMoreActivity(projectId, filter ?? undefined, nextPage);
+      const last = items[items.length - 1];
+      const data = await loadMoreActivity(
+        projectId,
+        filter ?? undefined,
+        nextPage,
+        last ? { occurredAt: last.occurredAt, id: last.id } : undefined
+      );
       setItems((prev) => [...prev, ...data.content]);
       setTotalPages(data.page.totalPages);
       setPage(nextPage);
@@ -24,16 +24,27 @@ export interface ActivityResponse {
   };
 }
 
+/** The last item already loaded; the next page starts after it (keyset pagination). */
+export interface ActivityCursor {
+  occurredAt: string;
+  id: string;
+}
+
 export async function fetchProjectActivity(
   projectId: string,
   entityType?: string,
   page?: number,
-  size?: number
+  size?: number,
+  after?: ActivityCursor
 ): Promise<ActivityResponse> {
   const params = new URLSearchParams();
   if (entityType) params.set("entityType", entityType);
   if (page !== undefined) params.set("page", String(page));
   params.set("size", String(size ?? 20));
+  if (after) {
+    params.set("before", after.occurredAt);
+    params.set("beforeId", after.id);
+  }
 
   const query = params.toString();
   return api.get<ActivityResponse>(